@@ -0,0 +1,22 @@
+package com.tanaguru.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.boot.web.servlet.server.ConfigurableServletWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The audit runner server shares the common configuration with the rest server,
+ * its own port avoids a conflict when both run on the same host
+ */
+@Configuration
+public class AuditRunnerServerConfig {
+    @Value("${auditrunner.server.port:9003}")
+    private int serverPort;
+
+    @Bean
+    public WebServerFactoryCustomizer<ConfigurableServletWebServerFactory> auditRunnerServerPortCustomizer() {
+        return factory -> factory.setPort(serverPort);
+    }
+}
@@ -50,8 +50,11 @@ public class TanaguruCLI implements CommandLineRunner {
     private static final String CRAWLER_MAX_DOCUMENT_OPTION_NAME = "crawlerMaxDocument";
     private static final String CRAWLER_EXCLUSION_REGEX_OPTION_NAME = "crawlerExclusionRegex";
     private static final String CRAWLER_INCLUSION_REGEX_OPTION_NAME = "crawlerInclusionRegex";
+    private static final String CRAWLER_SITEMAP_OPTION_NAME = "crawlerSitemap";
     private static final String WEBDRIVER_RESOLUTIONS_OPTION_NAME = "webdriverResolution";
     private static final String WEBDRIVER_BROWSER_OPTION_NAME = "webdriverBrowser";
+    private static final String WEBDRIVER_BLOCKED_TYPES_OPTION_NAME = "webdriverBlockedTypes";
+    private static final String WEBDRIVER_BLOCKED_DOMAINS_OPTION_NAME = "webdriverBlockedDomains";
     private final AuditFactory auditFactory;
     private final AuditRunnerService auditRunnerService;
     private ProjectRepository projectRepository;
@@ -167,9 +170,12 @@ public class TanaguruCLI implements CommandLineRunner {
         options.addOption(CRAWLER_MAX_DOCUMENT_OPTION_NAME, CRAWLER_MAX_DOCUMENT_OPTION_NAME, true, "Crawler max document");
         options.addOption(CRAWLER_EXCLUSION_REGEX_OPTION_NAME, CRAWLER_EXCLUSION_REGEX_OPTION_NAME, true, "Crawler exclusion regex");
         options.addOption(CRAWLER_INCLUSION_REGEX_OPTION_NAME, CRAWLER_INCLUSION_REGEX_OPTION_NAME, true, "Crawler inclusion regex");
+        options.addOption(CRAWLER_SITEMAP_OPTION_NAME, "Add the pages of the seeds sitemaps to the crawler seeds");
 
         options.addOption(WEBDRIVER_RESOLUTIONS_OPTION_NAME, WEBDRIVER_RESOLUTIONS_OPTION_NAME, true, "Webdriver resolutions");
         options.addOption(WEBDRIVER_BROWSER_OPTION_NAME, WEBDRIVER_BROWSER_OPTION_NAME, true, "Webdriver browser");
+        options.addOption(WEBDRIVER_BLOCKED_TYPES_OPTION_NAME, WEBDRIVER_BLOCKED_TYPES_OPTION_NAME, true, "Resource types not loaded by the browser (media;font;beacon;image)");
+        options.addOption(WEBDRIVER_BLOCKED_DOMAINS_OPTION_NAME, WEBDRIVER_BLOCKED_DOMAINS_OPTION_NAME, true, "Domains not loaded by the browser");
 
         return options;
     }
@@ -666,6 +672,9 @@ public class TanaguruCLI implements CommandLineRunner {
                 if (crawlerInclusionRegex != null) {
                     auditParameters.put(EAuditParameter.CRAWLER_INCLUSION_REGEX, crawlerInclusionRegex);
                 }
+                if (commandLine.hasOption(CRAWLER_SITEMAP_OPTION_NAME)) {
+                    auditParameters.put(EAuditParameter.CRAWLER_SITEMAP, "true");
+                }
         }
         String waitTime = commandLine.getOptionValue(WAIT_TIME_OPTION_NAME);
         if (waitTime != null) {
@@ -691,6 +700,14 @@ public class TanaguruCLI implements CommandLineRunner {
         if (webdriverBrowser != null) {
             auditParameters.put(EAuditParameter.WEBDRIVER_BROWSER, webdriverBrowser);
         }
+        String webdriverBlockedTypes = commandLine.getOptionValue(WEBDRIVER_BLOCKED_TYPES_OPTION_NAME);
+        if (webdriverBlockedTypes != null) {
+            auditParameters.put(EAuditParameter.WEBDRIVER_BLOCKED_TYPES, webdriverBlockedTypes);
+        }
+        String webdriverBlockedDomains = commandLine.getOptionValue(WEBDRIVER_BLOCKED_DOMAINS_OPTION_NAME);
+        if (webdriverBlockedDomains != null) {
+            auditParameters.put(EAuditParameter.WEBDRIVER_BLOCKED_DOMAINS, webdriverBlockedDomains);
+        }
         if (commandLine.hasOption(ENABLE_SCREENSHOT_OPTION_NAME)) {
             auditParameters.put(EAuditParameter.ENABLE_SCREENSHOT, "True");
         }
@@ -58,6 +58,7 @@ public enum CustomError {
     NO_MAIN_REFERENCE,
     NO_USABLE_REFERENCE,
     PAGE_NOT_FOUND,
+    PAGE_SOURCE_NOT_FOUND,
     
     PROJECT_CANNOT_PROMOTE_USER,
     PROJECT_LIMIT_FOR_CONTRACT,
@@ -68,6 +69,7 @@ public enum CustomError {
     
     SCENARIO_NOT_FOUND,
     SCHEDULER_ALREADY_EXISTS_FOR_AUDIT,
+    SCREENSHOT_NOT_FOUND,
     
     TANAGURU_TEST_NOT_FOUND,
     TEST_HIERARCHY_NOT_FOUND,
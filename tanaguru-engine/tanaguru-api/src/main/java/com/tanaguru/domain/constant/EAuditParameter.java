@@ -20,7 +20,10 @@ public enum EAuditParameter {
     CRAWLER_MAX_DOCUMENT,
     CRAWLER_EXCLUSION_REGEX,
     CRAWLER_INCLUSION_REGEX,
+    CRAWLER_SITEMAP,
 
     WEBDRIVER_RESOLUTIONS,
-    WEBDRIVER_BROWSER;
+    WEBDRIVER_BROWSER,
+    WEBDRIVER_BLOCKED_TYPES,
+    WEBDRIVER_BLOCKED_DOMAINS;
 }
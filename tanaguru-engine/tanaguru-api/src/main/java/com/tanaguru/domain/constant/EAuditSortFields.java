@@ -0,0 +1,23 @@
+package com.tanaguru.domain.constant;
+
+/**
+ * Sortable fields when listing the @see Audit of a @see Project
+ */
+public enum EAuditSortFields {
+    date("date"),
+    type("audit.type"),
+    status("audit.status");
+
+    private final String property;
+
+    EAuditSortFields(String property) {
+        this.property = property;
+    }
+
+    /**
+     * @return The property path relative to @see Act
+     */
+    public String getProperty() {
+        return property;
+    }
+}
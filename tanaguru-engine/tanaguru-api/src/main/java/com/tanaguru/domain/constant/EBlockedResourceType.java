@@ -0,0 +1,11 @@
+package com.tanaguru.domain.constant;
+
+/**
+ * Types of resources the browsers can skip while loading the pages of an audit
+ */
+public enum EBlockedResourceType {
+    MEDIA,
+    FONT,
+    BEACON,
+    IMAGE
+}
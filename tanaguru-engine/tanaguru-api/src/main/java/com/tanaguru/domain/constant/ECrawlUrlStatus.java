@@ -0,0 +1,10 @@
+package com.tanaguru.domain.constant;
+
+/**
+ * Status of an url of a crawl shared by several runners
+ */
+public enum ECrawlUrlStatus {
+    QUEUED,
+    CLAIMED,
+    DONE
+}
@@ -0,0 +1,49 @@
+package com.tanaguru.domain.dto;
+
+import com.tanaguru.domain.entity.pageresult.ElementRole;
+
+/**
+ * Lean projection of an @see ElementResult, without its @see TestResult association
+ */
+public class ElementResultDTO {
+    private long id;
+    private String status;
+    private String xpath;
+    private String cssSelector;
+    private String accessibleName;
+    private ElementRole role;
+
+    public ElementResultDTO(){}
+    public ElementResultDTO(long id, String status, String xpath, String cssSelector, String accessibleName, ElementRole role){
+        this.id = id;
+        this.status = status;
+        this.xpath = xpath;
+        this.cssSelector = cssSelector;
+        this.accessibleName = accessibleName;
+        this.role = role;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getXpath() {
+        return xpath;
+    }
+
+    public String getCssSelector() {
+        return cssSelector;
+    }
+
+    public String getAccessibleName() {
+        return accessibleName;
+    }
+
+    public ElementRole getRole() {
+        return role;
+    }
+}
@@ -76,6 +76,10 @@ public class Audit implements Serializable {
     @OneToOne(mappedBy = "audit", cascade = CascadeType.REMOVE)
     private AuditScheduler auditScheduler;
 
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Audit scheduledFrom;
+
     @JsonIgnore
     public Map<EAuditParameter, AuditParameterValue> getParametersAsMap() {
         Map<EAuditParameter, AuditParameterValue> result = new EnumMap<>(EAuditParameter.class);
@@ -200,6 +204,14 @@ public class Audit implements Serializable {
         this.deleted = deleted;
     }
 
+    public Audit getScheduledFrom() {
+        return scheduledFrom;
+    }
+
+    public void setScheduledFrom(Audit scheduledFrom) {
+        this.scheduledFrom = scheduledFrom;
+    }
+
     @Override
     public boolean equals(Object o) {
         if(!(o instanceof Audit)){
@@ -0,0 +1,77 @@
+package com.tanaguru.domain.entity.audit;
+
+import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonIdentityReference;
+import com.fasterxml.jackson.annotation.ObjectIdGenerators;
+
+import javax.persistence.*;
+import java.util.Date;
+
+/**
+ * Progress of a running audit, saved after each audited page so that another runner can resume it.
+ * The pages of the audit with a rank lower than the next rank are complete.
+ */
+@Entity
+@Table(name = "audit_checkpoint")
+public class AuditCheckpoint {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id")
+    @JsonIdentityReference(alwaysAsId = true)
+    @OneToOne
+    private Audit audit;
+
+    @Column
+    private int nextRank;
+
+    @Column
+    private String progress;
+
+    @Column
+    private Date dateUpdate;
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public Audit getAudit() {
+        return audit;
+    }
+
+    public void setAudit(Audit audit) {
+        this.audit = audit;
+    }
+
+    public int getNextRank() {
+        return nextRank;
+    }
+
+    public void setNextRank(int nextRank) {
+        this.nextRank = nextRank;
+    }
+
+    /**
+     * @return The progress of the runner, depending on the type of the audit
+     */
+    public String getProgress() {
+        return progress;
+    }
+
+    public void setProgress(String progress) {
+        this.progress = progress;
+    }
+
+    public Date getDateUpdate() {
+        return dateUpdate;
+    }
+
+    public void setDateUpdate(Date dateUpdate) {
+        this.dateUpdate = dateUpdate;
+    }
+}
@@ -0,0 +1,120 @@
+package com.tanaguru.domain.entity.audit;
+
+import com.tanaguru.domain.constant.ECrawlUrlStatus;
+
+import javax.persistence.*;
+import java.util.Date;
+
+/**
+ * Url of a crawl shared by several runners, unique by fingerprint of its canonical url in the audit
+ */
+@Entity
+@Table(name = "crawl_frontier_url")
+public class CrawlFrontierUrl {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @Column
+    private long auditId;
+
+    @Column
+    private long fingerprint;
+
+    @Column
+    private String url;
+
+    @Column
+    private int depth;
+
+    @Column
+    @Enumerated(EnumType.STRING)
+    private ECrawlUrlStatus status;
+
+    @Column
+    private Integer documentNumber;
+
+    @Column
+    private String node;
+
+    @Column
+    private Date dateClaim;
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public long getAuditId() {
+        return auditId;
+    }
+
+    public void setAuditId(long auditId) {
+        this.auditId = auditId;
+    }
+
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(long fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    public ECrawlUrlStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ECrawlUrlStatus status) {
+        this.status = status;
+    }
+
+    /**
+     * @return The number of the document in the crawl, given when the url is first claimed
+     */
+    public Integer getDocumentNumber() {
+        return documentNumber;
+    }
+
+    public void setDocumentNumber(Integer documentNumber) {
+        this.documentNumber = documentNumber;
+    }
+
+    /**
+     * @return The runner node that claimed the url
+     */
+    public String getNode() {
+        return node;
+    }
+
+    public void setNode(String node) {
+        this.node = node;
+    }
+
+    public Date getDateClaim() {
+        return dateClaim;
+    }
+
+    public void setDateClaim(Date dateClaim) {
+        this.dateClaim = dateClaim;
+    }
+}
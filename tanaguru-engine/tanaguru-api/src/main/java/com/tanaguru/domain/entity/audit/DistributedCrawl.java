@@ -0,0 +1,79 @@
+package com.tanaguru.domain.entity.audit;
+
+import javax.persistence.*;
+import java.util.Date;
+
+/**
+ * Limits of a crawl shared by several runners. Documents are counted when their url is claimed,
+ * the runner that finishes the crawl ends the audit.
+ */
+@Entity
+@Table(name = "distributed_crawl")
+public class DistributedCrawl {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @Column
+    private long auditId;
+
+    @Column
+    private int documentCount;
+
+    @Column
+    private int maxDocument;
+
+    @Column
+    private Date dateStart;
+
+    @Column
+    private boolean finished;
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public long getAuditId() {
+        return auditId;
+    }
+
+    public void setAuditId(long auditId) {
+        this.auditId = auditId;
+    }
+
+    public int getDocumentCount() {
+        return documentCount;
+    }
+
+    public void setDocumentCount(int documentCount) {
+        this.documentCount = documentCount;
+    }
+
+    public int getMaxDocument() {
+        return maxDocument;
+    }
+
+    public void setMaxDocument(int maxDocument) {
+        this.maxDocument = maxDocument;
+    }
+
+    public Date getDateStart() {
+        return dateStart;
+    }
+
+    public void setDateStart(Date dateStart) {
+        this.dateStart = dateStart;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public void setFinished(boolean finished) {
+        this.finished = finished;
+    }
+}
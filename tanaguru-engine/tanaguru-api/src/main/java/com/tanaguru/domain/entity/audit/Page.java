@@ -56,6 +56,10 @@ public class Page implements Serializable {
     @NotEmpty
     private String url;
 
+    @JsonIgnore
+    @Column
+    private String contentHash;
+
     @JsonIgnore
     @OneToOne(mappedBy = "page", cascade = CascadeType.REMOVE, fetch = FetchType.LAZY)
     private PageContent pageContent;
@@ -131,4 +135,12 @@ public class Page implements Serializable {
     public void setStatusResults(Collection<StatusResult> statusResults) {
         this.statusResults = statusResults;
     }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
 }
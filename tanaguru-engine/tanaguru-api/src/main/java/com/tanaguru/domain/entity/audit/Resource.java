@@ -14,6 +14,11 @@ import java.io.Serializable;
 @Entity
 @Table(name = "resource")
 public class Resource implements Serializable {
+    /**
+     * Extension of the zip archives of assets served with the documents of an upload audit
+     */
+    public static final String ASSET_BUNDLE_EXTENSION = ".zip";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private long id;
@@ -66,6 +71,14 @@ public class Resource implements Serializable {
         return project;
     }
 
+    /**
+     * @return True if the resource is a zip archive of assets, its content being encoded in base64
+     */
+    @JsonIgnore
+    public boolean isAssetBundle() {
+        return name != null && name.toLowerCase().endsWith(ASSET_BUNDLE_EXTENSION);
+    }
+
     public boolean isDeleted() {
         return isDeleted;
     }
@@ -0,0 +1,124 @@
+package com.tanaguru.driver;
+
+import com.tanaguru.domain.constant.EBlockedResourceType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Resources the browser of an audit does not load : the accessibility tests only need the DOM and the styles,
+ * so media, fonts, beacons, images and third party domains only slow the page loads down.
+ */
+public class ResourceBlocking {
+    public static final ResourceBlocking NONE = new ResourceBlocking(
+            Collections.emptySet(),
+            Collections.emptyList());
+
+    private static final String SEPARATOR = ";";
+    private static final Pattern DOMAIN_PATTERN = Pattern.compile(
+            "[a-z0-9]([a-z0-9-]*[a-z0-9])?(\\.[a-z0-9]([a-z0-9-]*[a-z0-9])?)*");
+
+    private final Set<EBlockedResourceType> types;
+    private final List<String> domains;
+
+    /**
+     * @param types   The blocked resource types
+     * @param domains The blocked domains, with their sub domains
+     */
+    public ResourceBlocking(Set<EBlockedResourceType> types, List<String> domains) {
+        this.types = types.isEmpty() ?
+                Collections.emptySet() :
+                Collections.unmodifiableSet(EnumSet.copyOf(types));
+        this.domains = Collections.unmodifiableList(new ArrayList<>(domains));
+    }
+
+    /**
+     * @param types       The WEBDRIVER_BLOCKED_TYPES parameter value, as media;font;beacon;image, may be null
+     * @param domains     The WEBDRIVER_BLOCKED_DOMAINS parameter value, as example.com;ads.example.org, may be null
+     * @param blockImages True to block the images even if not in the types, when the audit takes no screenshot
+     * @return The resource blocking of the audit
+     * @throws IllegalArgumentException if a type or a domain is invalid
+     */
+    public static ResourceBlocking parse(String types, String domains, boolean blockImages) {
+        Set<EBlockedResourceType> blockedTypes = EnumSet.noneOf(EBlockedResourceType.class);
+        for (String type : split(types)) {
+            blockedTypes.add(EBlockedResourceType.valueOf(type.toUpperCase(Locale.ROOT)));
+        }
+        if (blockImages) {
+            blockedTypes.add(EBlockedResourceType.IMAGE);
+        }
+
+        List<String> blockedDomains = new ArrayList<>();
+        for (String domain : split(domains)) {
+            String normalized = domain.toLowerCase(Locale.ROOT);
+            if (normalized.startsWith("*.")) {
+                normalized = normalized.substring(2);
+            } else if (normalized.startsWith(".")) {
+                normalized = normalized.substring(1);
+            }
+            if (!DOMAIN_PATTERN.matcher(normalized).matches()) {
+                throw new IllegalArgumentException("Invalid blocked domain " + domain);
+            }
+            if (!blockedDomains.contains(normalized)) {
+                blockedDomains.add(normalized);
+            }
+        }
+        return new ResourceBlocking(blockedTypes, blockedDomains);
+    }
+
+    private static List<String> split(String value) {
+        List<String> result = new ArrayList<>();
+        if (value != null) {
+            for (String item : value.split(SEPARATOR)) {
+                if (!item.trim().isEmpty()) {
+                    result.add(item.trim());
+                }
+            }
+        }
+        return result;
+    }
+
+    public Set<EBlockedResourceType> getTypes() {
+        return types;
+    }
+
+    public boolean isBlocked(EBlockedResourceType type) {
+        return types.contains(type);
+    }
+
+    public List<String> getDomains() {
+        return domains;
+    }
+
+    public boolean isEmpty() {
+        return types.isEmpty() && domains.isEmpty();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ResourceBlocking that = (ResourceBlocking) o;
+        return types.equals(that.types) && domains.equals(that.domains);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(types, domains);
+    }
+
+    @Override
+    public String toString() {
+        return "types " + types + ", domains " + domains;
+    }
+}
@@ -1,6 +1,7 @@
 package com.tanaguru.driver.factory;
 
 import com.tanaguru.domain.constant.BrowserName;
+import com.tanaguru.driver.ResourceBlocking;
 import org.openqa.selenium.remote.RemoteWebDriver;
 
 import java.util.Optional;
@@ -13,5 +14,13 @@ public interface TanaguruDriverFactory {
      * Create a TanaguruDriver from the audit parameters map
      * @return A configured TanaguruDriver
      */
-    RemoteWebDriver create(BrowserName webdriverBrowser);
+    default RemoteWebDriver create(BrowserName webdriverBrowser) {
+        return create(webdriverBrowser, ResourceBlocking.NONE);
+    }
+
+    /**
+     * Create a TanaguruDriver not loading some resources
+     * @return A configured TanaguruDriver
+     */
+    RemoteWebDriver create(BrowserName webdriverBrowser, ResourceBlocking resourceBlocking);
 }
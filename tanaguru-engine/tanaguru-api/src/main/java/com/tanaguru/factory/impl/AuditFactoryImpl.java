@@ -111,12 +111,25 @@ public class AuditFactoryImpl implements AuditFactory {
         audit.setName(from.getName() + " - " + new Date().toString());
         audit.setType(from.getType());
         audit.setPrivate(from.isPrivate());
+        audit.setShareCode(String.valueOf(new Date().hashCode()));
+        // Audits of a same scheduler share their base audit, their unchanged pages reuse each other results
+        audit.setScheduledFrom(from.getScheduledFrom() != null ? from.getScheduledFrom() : from);
         audit = auditRepository.save(audit);
 
+        Collection<AuditReference> auditReferences = new ArrayList<>();
+        for (AuditReference auditReferenceFrom : auditReferenceRepository.findAllByAudit(from)) {
+            AuditReference auditReference = new AuditReference();
+            auditReference.setAudit(audit);
+            auditReference.setTestHierarchy(auditReferenceFrom.getTestHierarchy());
+            auditReference.setMain(auditReferenceFrom.isMain());
+            auditReferences.add(auditReferenceRepository.save(auditReference));
+        }
+        audit.setAuditReferences(auditReferences);
+
         Collection<AuditAuditParameterValue> auditAuditParameterValues = new ArrayList<>();
         for(AuditAuditParameterValue auditAuditParameterValueFrom : from.getParameters()){
             AuditAuditParameterValue auditAuditParameterValue = new AuditAuditParameterValue();
-            auditAuditParameterValue.setAudit(from);
+            auditAuditParameterValue.setAudit(audit);
             auditAuditParameterValue.setAuditParameterValue(auditAuditParameterValueFrom.getAuditParameterValue());
             auditAuditParameterValues.add(auditAuditParameterValueRepository.save(auditAuditParameterValue));
         }
@@ -12,6 +12,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -38,6 +39,28 @@ public interface ActRepository extends JpaRepository<Act, Long> {
     Page<Audit> findAllAuditByProjectAndAudit_Type(@Param("project") Project project, @Param("type") EAuditType type, Pageable pageable);
 
 
+    /**
+     * Find a page of not deleted @see Audit for a given @see Project
+     * Sort properties are relative to @see Act (date, audit.type, audit.status...)
+     * @param project The @see Project
+     * @param pageable The page request
+     * @return The @see Audit page
+     */
+    @Query(value = "SELECT act.audit from Act as act where act.project=:project and act.audit.deleted=false",
+            countQuery = "SELECT count(act) from Act as act where act.project=:project and act.audit.deleted=false")
+    Page<Audit> findAllAuditByProject(@Param("project") Project project, Pageable pageable);
+
+    /**
+     * Find the next not deleted @see Audit for a given @see Project, starting after a given audit id (keyset pagination)
+     * Audits are ordered by descending id, only the page size of the pageable is used
+     * @param project The @see Project
+     * @param lastId The id of the last @see Audit already fetched
+     * @param pageable The page request
+     * @return The @see Audit list
+     */
+    @Query("SELECT act.audit from Act as act where act.project=:project and act.audit.deleted=false and act.audit.id<:lastId order by act.audit.id desc")
+    List<Audit> findAllAuditByProjectAndAudit_IdLessThan(@Param("project") Project project, @Param("lastId") long lastId, Pageable pageable);
+
     org.springframework.data.domain.Page<Act> findAll(Pageable pageable);
     org.springframework.data.domain.Page<Act> findAllByProject(Project project, Pageable pageable);
 
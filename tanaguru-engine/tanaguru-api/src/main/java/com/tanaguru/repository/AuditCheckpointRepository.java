@@ -0,0 +1,28 @@
+package com.tanaguru.repository;
+
+import com.tanaguru.domain.constant.EAuditStatus;
+import com.tanaguru.domain.entity.audit.Audit;
+import com.tanaguru.domain.entity.audit.AuditCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface AuditCheckpointRepository extends JpaRepository<AuditCheckpoint, Long> {
+    Optional<AuditCheckpoint> findByAudit(Audit audit);
+
+    /**
+     * @param status The status of the audits
+     * @return The checkpoints of the audits with the status
+     */
+    Collection<AuditCheckpoint> findAllByAudit_Status(EAuditStatus status);
+
+    @Modifying
+    @Query(value = "DELETE FROM audit_checkpoint ac WHERE ac.audit_id = :auditId", nativeQuery = true)
+    int deleteAllByAudit_Id(@Param("auditId") long auditId);
+}
@@ -6,7 +6,9 @@ import com.tanaguru.domain.entity.audit.AuditLog;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Collection;
@@ -21,4 +23,13 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
     
     @Query("SELECT a FROM AuditLog a WHERE a.audit = ?1 AND a.level IN ?2")
     Page<AuditLog> findAllByAuditAndLevel(Audit audit, Collection<EAuditLogLevel> levels, Pageable pageable);
+
+    /**
+     * Delete all logs of a given audit id in one statement
+     * @param auditId The audit id
+     * @return The number of deleted rows
+     */
+    @Modifying
+    @Query(value = "DELETE FROM audit_log al WHERE al.audit_id = :auditId", nativeQuery = true)
+    int deleteAllByAudit_Id(@Param("auditId") long auditId);
 }
@@ -11,6 +11,7 @@ import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Collection;
 import java.util.Date;
+import java.util.Optional;
 import java.util.stream.Stream;
 import javax.persistence.QueryHint;
 
@@ -31,4 +32,28 @@ public interface AuditRepository extends JpaRepository<Audit, Long> {
     
     @Query("select a from Audit a")
     Stream<Audit> getAll();
+
+    /**
+     * Find the @see Audit of a given @see Page
+     * @param pageId The @see Page id
+     * @return The @see Audit
+     */
+    @Query("SELECT p.audit FROM Page p WHERE p.id=:pageId")
+    Optional<Audit> findByPageId(@Param("pageId") long pageId);
+
+    /**
+     * Find the @see Audit of a given @see TestResult
+     * @param testResultId The @see TestResult id
+     * @return The @see Audit
+     */
+    @Query("SELECT tr.page.audit FROM TestResult tr WHERE tr.id=:testResultId")
+    Optional<Audit> findByTestResultId(@Param("testResultId") long testResultId);
+
+    /**
+     * Find the @see Audit of a given @see TestHierarchyResult
+     * @param testHierarchyResultId The @see TestHierarchyResult id
+     * @return The @see Audit
+     */
+    @Query("SELECT thr.page.audit FROM TestHierarchyResult thr WHERE thr.id=:testHierarchyResultId")
+    Optional<Audit> findByTestHierarchyResultId(@Param("testHierarchyResultId") long testHierarchyResultId);
 }
@@ -0,0 +1,72 @@
+package com.tanaguru.repository;
+
+import com.tanaguru.domain.constant.ECrawlUrlStatus;
+import com.tanaguru.domain.entity.audit.CrawlFrontierUrl;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public interface CrawlFrontierUrlRepository extends JpaRepository<CrawlFrontierUrl, Long> {
+    /**
+     * Queue an url unless the crawl already has one with the same fingerprint
+     *
+     * @return 1 if the url was queued, 0 if it was already known
+     */
+    @Modifying
+    @Query(value = "INSERT INTO crawl_frontier_url (audit_id, fingerprint, url, depth, status) " +
+            "VALUES (:auditId, :fingerprint, :url, :depth, 'QUEUED') " +
+            "ON CONFLICT (audit_id, fingerprint) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("auditId") long auditId, @Param("fingerprint") long fingerprint,
+                       @Param("url") String url, @Param("depth") int depth);
+
+    /**
+     * Lock the next url to claim, skipping the ones locked by the other runners
+     *
+     * @param auditId The audit Id
+     * @return The url, empty if none is queued
+     */
+    @Query(value = "SELECT * FROM crawl_frontier_url WHERE audit_id = :auditId AND status = 'QUEUED' " +
+            "ORDER BY depth, id LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<CrawlFrontierUrl> findQueuedForUpdate(@Param("auditId") long auditId);
+
+    /**
+     * Lock an url claimed before a date by a runner that may have stopped
+     *
+     * @param auditId The audit Id
+     * @param date The date of the oldest claim still running
+     * @return The url, empty if none is stale
+     */
+    @Query(value = "SELECT * FROM crawl_frontier_url WHERE audit_id = :auditId AND status = 'CLAIMED' " +
+            "AND date_claim < :date ORDER BY id LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<CrawlFrontierUrl> findClaimedBeforeForUpdate(@Param("auditId") long auditId, @Param("date") Date date);
+
+    long countByAuditIdAndStatus(long auditId, ECrawlUrlStatus status);
+
+    @Query("SELECT DISTINCT u.auditId FROM CrawlFrontierUrl u WHERE u.status = :status")
+    Collection<Long> findAllAuditIdByStatus(@Param("status") ECrawlUrlStatus status);
+
+    @Modifying
+    @Query(value = "UPDATE crawl_frontier_url SET status = 'DONE' WHERE id = :id", nativeQuery = true)
+    int setDone(@Param("id") long id);
+
+    /**
+     * Change the claim date of the urls claimed by a runner
+     *
+     * @return The number of urls changed
+     */
+    @Modifying
+    @Query(value = "UPDATE crawl_frontier_url SET date_claim = :date WHERE audit_id = :auditId AND status = 'CLAIMED' " +
+            "AND node = :node", nativeQuery = true)
+    int setClaimDateByNode(@Param("auditId") long auditId, @Param("node") String node, @Param("date") Date date);
+
+    @Modifying
+    @Query(value = "DELETE FROM crawl_frontier_url WHERE audit_id = :auditId", nativeQuery = true)
+    int deleteAllByAuditId(@Param("auditId") long auditId);
+}
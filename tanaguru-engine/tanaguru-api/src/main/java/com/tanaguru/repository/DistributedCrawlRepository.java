@@ -0,0 +1,49 @@
+package com.tanaguru.repository;
+
+import com.tanaguru.domain.entity.audit.DistributedCrawl;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.Optional;
+
+@Repository
+public interface DistributedCrawlRepository extends JpaRepository<DistributedCrawl, Long> {
+    Optional<DistributedCrawl> findByAuditId(long auditId);
+
+    /**
+     * Open the crawl of an audit unless a runner already did
+     */
+    @Modifying
+    @Query(value = "INSERT INTO distributed_crawl (audit_id, document_count, max_document, date_start, finished) " +
+            "VALUES (:auditId, 0, :maxDocument, :dateStart, false) " +
+            "ON CONFLICT (audit_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("auditId") long auditId, @Param("maxDocument") int maxDocument,
+                       @Param("dateStart") Date dateStart);
+
+    /**
+     * Count one more document, within the max document and the max duration of the crawl
+     *
+     * @param auditId The audit Id
+     * @param minDateStart The start date of the crawls still within their max duration
+     * @return 1 if the document was counted, 0 if the crawl reached its limits
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE distributed_crawl SET document_count = document_count + 1 WHERE audit_id = :auditId " +
+            "AND document_count < max_document AND date_start > :minDateStart AND NOT finished", nativeQuery = true)
+    int incrementDocumentCount(@Param("auditId") long auditId, @Param("minDateStart") Date minDateStart);
+
+    /**
+     * @return 1 for the only runner finishing the crawl, 0 if it was already finished
+     */
+    @Modifying
+    @Query(value = "UPDATE distributed_crawl SET finished = true WHERE audit_id = :auditId AND NOT finished", nativeQuery = true)
+    int finish(@Param("auditId") long auditId);
+
+    @Modifying
+    @Query(value = "DELETE FROM distributed_crawl WHERE audit_id = :auditId", nativeQuery = true)
+    int deleteByAuditId(@Param("auditId") long auditId);
+}
@@ -1,16 +1,81 @@
 package com.tanaguru.repository;
 
+import com.tanaguru.domain.dto.ElementResultDTO;
 import com.tanaguru.domain.entity.pageresult.ElementResult;
 import com.tanaguru.domain.entity.pageresult.TestResult;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Collection;
+import java.util.List;
 
 @Repository
 public interface ElementResultRepository extends JpaRepository<ElementResult, Long> {
     Collection<ElementResult> findAllByIdIn(Collection<Long> ids);
     Page<ElementResult> findAllByTestResult(TestResult testResult, Pageable pageable);
+
+    /**
+     * Find the next @see ElementResult projections of a @see TestResult after a given id, ordered by id (keyset pagination)
+     * Only the page size of the pageable is used
+     * @param testResultId The @see TestResult id
+     * @param lastId The id of the last @see ElementResult already fetched
+     * @param pageable The page request
+     * @return The @see ElementResultDTO list
+     */
+    @Query("SELECT new com.tanaguru.domain.dto.ElementResultDTO(er.id, er.status, er.xpath, er.cssSelector, er.accessibleName, er.role) " +
+            "FROM ElementResult er WHERE er.testResult.id=:testResultId and er.id>:lastId ORDER BY er.id")
+    List<ElementResultDTO> findAllDTOByTestResultAfter(
+            @Param("testResultId") long testResultId,
+            @Param("lastId") long lastId,
+            Pageable pageable);
+
+    /**
+     * Find the next @see ElementResult projections of a @see TestResult with the given status after a given id, ordered by id (keyset pagination)
+     * Only the page size of the pageable is used
+     * @param testResultId The @see TestResult id
+     * @param statuses The accepted statuses
+     * @param lastId The id of the last @see ElementResult already fetched
+     * @param pageable The page request
+     * @return The @see ElementResultDTO list
+     */
+    @Query("SELECT new com.tanaguru.domain.dto.ElementResultDTO(er.id, er.status, er.xpath, er.cssSelector, er.accessibleName, er.role) " +
+            "FROM ElementResult er WHERE er.testResult.id=:testResultId and er.status in :statuses and er.id>:lastId ORDER BY er.id")
+    List<ElementResultDTO> findAllDTOByTestResultAndStatusAfter(
+            @Param("testResultId") long testResultId,
+            @Param("statuses") Collection<String> statuses,
+            @Param("lastId") long lastId,
+            Pageable pageable);
+
+    /**
+     * Delete all @see ElementResult of the given @see Page ids in one statement
+     * @param pageIds The @see Page ids
+     * @return The number of deleted rows
+     */
+    @Modifying
+    @Query(value = "DELETE FROM element_result er WHERE er.test_result_id IN " +
+            "(SELECT tr.id FROM test_result tr WHERE tr.page_id IN :pageIds)", nativeQuery = true)
+    int deleteAllByPageIdIn(@Param("pageIds") Collection<Long> pageIds);
+
+    /**
+     * Copy all @see ElementResult of a @see Page to another one in one statement.
+     * The @see TestResult of the target page must be copied first, they are matched by test
+     * @param fromPageId The @see Page id to copy from
+     * @param toPageId The @see Page id to copy to
+     * @return The number of inserted rows
+     */
+    @Modifying
+    @Query(value = "INSERT INTO element_result (test_result_id, accessible_name, status, xpath, css_selector, " +
+            "can_be_reached_using_keyboard_with, is_not_exposed_due_to, is_not_visible_due_to, role) " +
+            "SELECT ntr.id, er.accessible_name, er.status, er.xpath, er.css_selector, " +
+            "er.can_be_reached_using_keyboard_with, er.is_not_exposed_due_to, er.is_not_visible_due_to, er.role " +
+            "FROM element_result er " +
+            "INNER JOIN test_result tr ON er.test_result_id = tr.id " +
+            "INNER JOIN test_result ntr ON ntr.page_id = :toPageId AND ntr.tanaguru_test_id = tr.tanaguru_test_id " +
+            "WHERE tr.page_id = :fromPageId ORDER BY er.id", nativeQuery = true)
+    int copyAllByPageId(@Param("fromPageId") long fromPageId, @Param("toPageId") long toPageId);
 }
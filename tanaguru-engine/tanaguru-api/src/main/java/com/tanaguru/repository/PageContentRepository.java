@@ -3,6 +3,9 @@ package com.tanaguru.repository;
 import com.tanaguru.domain.entity.audit.Audit;
 import com.tanaguru.domain.entity.audit.PageContent;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Collection;
 import java.util.Optional;
@@ -10,4 +13,35 @@ import java.util.Optional;
 public interface PageContentRepository extends JpaRepository<PageContent, Long> {
     Optional<PageContent> findFirstByPage_Audit(Audit audit);
     Collection<PageContent> findAllByPage_Audit(Audit audit);
+
+    /**
+     * @param auditId The @see Audit id
+     * @return True if at least one @see Page of the @see Audit has a screenshot
+     */
+    boolean existsByPage_Audit_IdAndScreenshotIsNotNull(long auditId);
+
+    /**
+     * Find the screenshot of a @see Page as stored in database, without decrypting it
+     * @param pageId The @see Page id
+     * @return The encrypted screenshot
+     */
+    @Query(value = "SELECT pc.screenshot FROM page_content pc WHERE pc.page_id=:pageId", nativeQuery = true)
+    Optional<String> findEncryptedScreenshotByPageId(@Param("pageId") long pageId);
+
+    /**
+     * Find the source of a @see Page as stored in database, without decrypting it
+     * @param pageId The @see Page id
+     * @return The encrypted source
+     */
+    @Query(value = "SELECT pc.source FROM page_content pc WHERE pc.page_id=:pageId", nativeQuery = true)
+    Optional<String> findEncryptedSourceByPageId(@Param("pageId") long pageId);
+
+    /**
+     * Delete all @see PageContent of the given @see Page ids in one statement
+     * @param pageIds The @see Page ids
+     * @return The number of deleted rows
+     */
+    @Modifying
+    @Query(value = "DELETE FROM page_content pc WHERE pc.page_id IN :pageIds", nativeQuery = true)
+    int deleteAllByPageIdIn(@Param("pageIds") Collection<Long> pageIds);
 }
@@ -5,11 +5,14 @@ import com.tanaguru.domain.entity.audit.Page;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.stream.Stream;
 
 
@@ -49,4 +52,58 @@ public interface PageRepository extends JpaRepository<Page, Long> {
      */
     Collection<Page> findAllByAuditDateStartLessThanEqualAndAuditDateEndGreaterThanEqual(Date endDate, Date startDate);
 
+    /**
+     * Find the ids of the pages of a given audit id, without loading the pages
+     *
+     * @param auditId The audit Id
+     * @param pageable The page request limiting the number of ids
+     * @return The page ids
+     */
+    @Query("SELECT p.id FROM Page p WHERE p.audit.id = :auditId ORDER BY p.id")
+    List<Long> findAllIdByAudit_Id(@Param("auditId") long auditId, Pageable pageable);
+
+    /**
+     * Find the ids of the pages of a given audit id within a range of ranks, without loading the pages
+     *
+     * @param auditId The audit Id
+     * @param from The lowest rank of the pages
+     * @param to The highest rank of the pages
+     * @return The page ids
+     */
+    @Query("SELECT p.id FROM Page p WHERE p.audit.id = :auditId AND p.rank BETWEEN :from AND :to ORDER BY p.id")
+    List<Long> findAllIdByAudit_IdAndRankBetween(@Param("auditId") long auditId, @Param("from") int from, @Param("to") int to);
+
+    /**
+     * @param auditId The audit Id
+     * @return The number of pages of the audit
+     */
+    long countByAudit_Id(long auditId);
+
+    /**
+     * Delete the pages of the given ids in one statement. Their results and content must be deleted first
+     *
+     * @param pageIds The page ids
+     * @return The number of deleted rows
+     */
+    @Modifying
+    @Query(value = "DELETE FROM page p WHERE p.id IN :pageIds", nativeQuery = true)
+    int deleteAllByIdIn(@Param("pageIds") Collection<Long> pageIds);
+
+    /**
+     * Find the last page with the given content hash among the audits of a scheduler, the given audit excepted
+     *
+     * @param contentHash The content hash of the page
+     * @param baseAuditId The base audit id of the scheduler
+     * @param auditId The audit id to exclude
+     * @param pageable The page request limiting the number of ids
+     * @return The page ids, last first
+     */
+    @Query("SELECT p.id FROM Page p JOIN p.audit a LEFT JOIN a.scheduledFrom sf " +
+            "WHERE p.contentHash = :contentHash AND a.id <> :auditId AND a.deleted = false " +
+            "AND (a.id = :baseAuditId OR sf.id = :baseAuditId) ORDER BY p.id DESC")
+    List<Long> findLastIdByContentHashAndScheduledFrom(
+            @Param("contentHash") String contentHash,
+            @Param("baseAuditId") long baseAuditId,
+            @Param("auditId") long auditId,
+            Pageable pageable);
 }
@@ -5,6 +5,7 @@ import com.tanaguru.domain.entity.audit.Page;
 import com.tanaguru.domain.entity.audit.TestHierarchy;
 import com.tanaguru.domain.entity.pageresult.StatusResult;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -36,4 +37,29 @@ public interface StatusResultRepository extends JpaRepository<StatusResult, Long
     
     @Query(value = "SELECT COALESCE(sum(nbElementFailed),0) FROM StatusResult WHERE id in :ids")
     int getSumNumberOfErrorsForPages(@Param("ids") List<Long> pageIdList);
+
+    /**
+     * Delete all @see StatusResult of the given @see Page ids in one statement
+     * @param pageIds The @see Page ids
+     * @return The number of deleted rows
+     */
+    @Modifying
+    @Query(value = "DELETE FROM status_result sr WHERE sr.page_id IN :pageIds", nativeQuery = true)
+    int deleteAllByPageIdIn(@Param("pageIds") Collection<Long> pageIds);
+
+    /**
+     * Copy all @see StatusResult of a @see Page to another one in one statement
+     * @param fromPageId The @see Page id to copy from
+     * @param toPageId The @see Page id to copy to
+     * @return The number of inserted rows
+     */
+    @Modifying
+    @Query(value = "INSERT INTO status_result (page_id, reference_id, nb_element_cant_tell, nb_element_failed, " +
+            "nb_element_passed, nb_test_failed, nb_test_passed, nb_test_inapplicable, nb_test_cant_tell, " +
+            "nb_element_tested, nb_element_untested, nb_test_untested) " +
+            "SELECT :toPageId, sr.reference_id, sr.nb_element_cant_tell, sr.nb_element_failed, " +
+            "sr.nb_element_passed, sr.nb_test_failed, sr.nb_test_passed, sr.nb_test_inapplicable, sr.nb_test_cant_tell, " +
+            "sr.nb_element_tested, sr.nb_element_untested, sr.nb_test_untested " +
+            "FROM status_result sr WHERE sr.page_id = :fromPageId", nativeQuery = true)
+    int copyAllByPageId(@Param("fromPageId") long fromPageId, @Param("toPageId") long toPageId);
 }
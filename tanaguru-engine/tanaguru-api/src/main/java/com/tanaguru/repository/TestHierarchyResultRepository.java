@@ -5,6 +5,9 @@ import com.tanaguru.domain.entity.audit.Page;
 import com.tanaguru.domain.entity.audit.TestHierarchy;
 import com.tanaguru.domain.entity.pageresult.TestHierarchyResult;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Collection;
@@ -20,4 +23,76 @@ public interface TestHierarchyResultRepository extends JpaRepository<TestHierarc
     Collection<TestHierarchyResult> findAllByPage_InAndTestHierarchy(Collection<Page> pages, TestHierarchy testHierarchy);
     Collection<TestHierarchyResult> findAllByPageAndTestHierarchy(Page page, TestHierarchy testHierarchy);
     Collection<TestHierarchyResult> findAllByPage_AuditAndTestHierarchy(Audit audit, TestHierarchy testHierarchy);
+
+    /**
+     * Delete the links between @see TestHierarchyResult and @see TestResult of the given @see Page ids in one statement
+     * @param pageIds The @see Page ids
+     * @return The number of deleted rows
+     */
+    @Modifying
+    @Query(value = "DELETE FROM test_hierarchy_result_test_result thrtr WHERE thrtr.test_hierarchy_result_id IN " +
+            "(SELECT thr.id FROM test_hierarchy_result thr WHERE thr.page_id IN :pageIds)", nativeQuery = true)
+    int deleteTestResultLinksByPageIdIn(@Param("pageIds") Collection<Long> pageIds);
+
+    /**
+     * Delete all @see TestHierarchyResult of the given @see Page ids in one statement.
+     * Parents and children belong to the same @see Page, so the parent constraint is satisfied at the end of the statement
+     * @param pageIds The @see Page ids
+     * @return The number of deleted rows
+     */
+    @Modifying
+    @Query(value = "DELETE FROM test_hierarchy_result thr WHERE thr.page_id IN :pageIds", nativeQuery = true)
+    int deleteAllByPageIdIn(@Param("pageIds") Collection<Long> pageIds);
+
+    /**
+     * Copy all @see TestHierarchyResult of a @see Page to another one in one statement, without their parents
+     * @param fromPageId The @see Page id to copy from
+     * @param toPageId The @see Page id to copy to
+     * @return The number of inserted rows
+     */
+    @Modifying
+    @Query(value = "INSERT INTO test_hierarchy_result (page_id, test_hierarchy_id, nb_element_cant_tell, " +
+            "nb_element_failed, nb_element_passed, nb_test_failed, nb_test_passed, nb_test_inapplicable, " +
+            "nb_test_cant_tell, nb_failed, nb_passed, nb_inapplicable, nb_untested, nb_cant_tell, " +
+            "nb_element_tested, nb_anomaly_ignored, status, nb_element_untested, nb_test_untested) " +
+            "SELECT :toPageId, thr.test_hierarchy_id, thr.nb_element_cant_tell, " +
+            "thr.nb_element_failed, thr.nb_element_passed, thr.nb_test_failed, thr.nb_test_passed, thr.nb_test_inapplicable, " +
+            "thr.nb_test_cant_tell, thr.nb_failed, thr.nb_passed, thr.nb_inapplicable, thr.nb_untested, thr.nb_cant_tell, " +
+            "thr.nb_element_tested, thr.nb_anomaly_ignored, thr.status, thr.nb_element_untested, thr.nb_test_untested " +
+            "FROM test_hierarchy_result thr WHERE thr.page_id = :fromPageId ORDER BY thr.id", nativeQuery = true)
+    int copyAllByPageId(@Param("fromPageId") long fromPageId, @Param("toPageId") long toPageId);
+
+    /**
+     * Link the copied @see TestHierarchyResult of a @see Page to their copied parents, matched by @see TestHierarchy
+     * @param fromPageId The @see Page id copied from
+     * @param toPageId The @see Page id copied to
+     * @return The number of updated rows
+     */
+    @Modifying
+    @Query(value = "UPDATE test_hierarchy_result thr SET parent_id = nparent.id " +
+            "FROM test_hierarchy_result othr " +
+            "INNER JOIN test_hierarchy_result oparent ON othr.parent_id = oparent.id " +
+            "INNER JOIN test_hierarchy_result nparent ON nparent.page_id = :toPageId " +
+            "AND nparent.test_hierarchy_id = oparent.test_hierarchy_id " +
+            "WHERE othr.page_id = :fromPageId AND thr.page_id = :toPageId " +
+            "AND thr.test_hierarchy_id = othr.test_hierarchy_id", nativeQuery = true)
+    int copyParentsByPageId(@Param("fromPageId") long fromPageId, @Param("toPageId") long toPageId);
+
+    /**
+     * Copy the links between @see TestHierarchyResult and @see TestResult of a @see Page to another one in one statement.
+     * Both must be copied first, they are matched by @see TestHierarchy and test
+     * @param fromPageId The @see Page id copied from
+     * @param toPageId The @see Page id copied to
+     * @return The number of inserted rows
+     */
+    @Modifying
+    @Query(value = "INSERT INTO test_hierarchy_result_test_result (test_hierarchy_result_id, test_result_id) " +
+            "SELECT nthr.id, ntr.id FROM test_hierarchy_result_test_result thrtr " +
+            "INNER JOIN test_hierarchy_result thr ON thrtr.test_hierarchy_result_id = thr.id " +
+            "INNER JOIN test_result tr ON thrtr.test_result_id = tr.id " +
+            "INNER JOIN test_hierarchy_result nthr ON nthr.page_id = :toPageId " +
+            "AND nthr.test_hierarchy_id = thr.test_hierarchy_id " +
+            "INNER JOIN test_result ntr ON ntr.page_id = :toPageId AND ntr.tanaguru_test_id = tr.tanaguru_test_id " +
+            "WHERE thr.page_id = :fromPageId", nativeQuery = true)
+    int copyTestResultLinksByPageId(@Param("fromPageId") long fromPageId, @Param("toPageId") long toPageId);
 }
@@ -5,11 +5,13 @@ import com.tanaguru.domain.entity.audit.TanaguruTest;
 import com.tanaguru.domain.entity.audit.TestHierarchy;
 import com.tanaguru.domain.entity.pageresult.TestResult;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Collection;
+import java.util.Optional;
 
 /**
  * @author rcharre
@@ -31,4 +33,37 @@ public interface TestResultRepository extends JpaRepository<TestResult, Long> {
             "INNER JOIN TanaguruTest tt ON tr.tanaguruTest=tt " +
             "INNER JOIN tt.testHierarchies th WHERE tr.page=:page and th.reference=:reference")
     Collection<TestResult> findTestResultByReference(@Param("page")Page page, @Param("reference")TestHierarchy reference);
+
+    /**
+     * Find the @see Audit id of a given @see TestResult without loading its associations
+     *
+     * @param id The @see TestResult id
+     * @return The @see Audit id if the @see TestResult exists
+     */
+    @Query("SELECT tr.page.audit.id FROM TestResult tr WHERE tr.id=:id")
+    Optional<Long> findAuditIdById(@Param("id") long id);
+
+    /**
+     * Delete all @see TestResult of the given @see Page ids in one statement.
+     * Their @see ElementResult and @see TestHierarchyResult links must be deleted first
+     * @param pageIds The @see Page ids
+     * @return The number of deleted rows
+     */
+    @Modifying
+    @Query(value = "DELETE FROM test_result tr WHERE tr.page_id IN :pageIds", nativeQuery = true)
+    int deleteAllByPageIdIn(@Param("pageIds") Collection<Long> pageIds);
+
+    /**
+     * Copy all @see TestResult of a @see Page to another one in one statement
+     * @param fromPageId The @see Page id to copy from
+     * @param toPageId The @see Page id to copy to
+     * @return The number of inserted rows
+     */
+    @Modifying
+    @Query(value = "INSERT INTO test_result (tanaguru_test_id, page_id, status, marks, nb_element_tested, " +
+            "nb_element_failed, nb_element_passed, nb_element_cant_tell, nb_element_untested) " +
+            "SELECT tr.tanaguru_test_id, :toPageId, tr.status, tr.marks, tr.nb_element_tested, " +
+            "tr.nb_element_failed, tr.nb_element_passed, tr.nb_element_cant_tell, tr.nb_element_untested " +
+            "FROM test_result tr WHERE tr.page_id = :fromPageId", nativeQuery = true)
+    int copyAllByPageId(@Param("fromPageId") long fromPageId, @Param("toPageId") long toPageId);
 }
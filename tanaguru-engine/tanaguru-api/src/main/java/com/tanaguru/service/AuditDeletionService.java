@@ -0,0 +1,12 @@
+package com.tanaguru.service;
+
+import com.tanaguru.domain.entity.audit.Audit;
+
+public interface AuditDeletionService {
+    /**
+     * Delete a given @see Audit and all its results, by chunks of @see Page committed in separate transactions.
+     * An interrupted deletion can be resumed by calling this method again
+     * @param audit The given @see Audit
+     */
+    void deleteAudit(Audit audit);
+}
@@ -9,6 +9,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.Collection;
+import java.util.Optional;
 
 
 /**
@@ -50,6 +51,33 @@ public interface AuditService {
      */
     org.springframework.data.domain.Page<Audit> findAllByProject(Project project, Pageable pageable);
 
+    /**
+     * Find the next @see Audit for a given @see Project after a given audit id, by descending id
+     *
+     * @param project The given @see Project
+     * @param lastId The id of the last @see Audit already fetched, or null for the first call
+     * @param size The maximum number of @see Audit to return
+     * @return An @see Audit list
+     */
+    Collection<Audit> findAllByProjectAfter(Project project, Long lastId, int size);
+
+    /**
+     * Find the last @see Audit for a given @see Project
+     *
+     * @param project The given @see Project
+     * @return The last @see Audit if any
+     */
+    Optional<Audit> findLastByProject(Project project);
+
+    /**
+     * Find the last @see Audit for a given @see Project and a given type
+     *
+     * @param project The given @see Project
+     * @param type The @see EAuditType
+     * @return The last @see Audit if any
+     */
+    Optional<Audit> findLastByProjectAndType(Project project, EAuditType type);
+
     /**
      *
      * @param audit The @see Audit
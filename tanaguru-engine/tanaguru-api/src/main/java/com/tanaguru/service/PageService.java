@@ -16,6 +16,32 @@ public interface PageService {
      * @param audit The given @see Audit
      */
     void deletePageByAudit(Audit audit);
+
+    /**
+     * Delete at most chunkSize @see Page of a given @see Audit id, with their content and results,
+     * using one set-based statement per table
+     * @param auditId The given @see Audit id
+     * @param chunkSize The maximum number of @see Page to delete
+     * @return The number of deleted @see Page, 0 when the @see Audit has no more @see Page
+     */
+    int deletePageChunkByAudit(long auditId, int chunkSize);
+
+    /**
+     * Delete the @see Page of a given @see Audit id from a rank, with their content and results
+     * @param auditId The given @see Audit id
+     * @param rank The lowest rank of the deleted @see Page
+     * @return The number of deleted @see Page
+     */
+    int deletePageByAuditFromRank(long auditId, int rank);
+
+    /**
+     * Delete the @see Page of a given @see Audit id within a range of ranks, with their content and results
+     * @param auditId The given @see Audit id
+     * @param from The lowest rank of the deleted @see Page
+     * @param to The highest rank of the deleted @see Page
+     * @return The number of deleted @see Page
+     */
+    int deletePageByAuditAndRankBetween(long auditId, int from, int to);
     
     /**
      * Return a json object with the information of the page
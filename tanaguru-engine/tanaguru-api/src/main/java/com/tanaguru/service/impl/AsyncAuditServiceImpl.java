@@ -3,30 +3,31 @@ package com.tanaguru.service.impl;
 import com.tanaguru.domain.entity.audit.Audit;
 import com.tanaguru.repository.AuditRepository;
 import com.tanaguru.service.AsyncAuditService;
-import com.tanaguru.service.AuditService;
+import com.tanaguru.service.AuditDeletionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
-import javax.transaction.Transactional;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
+/**
+ * Not transactional : the deletion commits each chunk of pages in its own transaction
+ */
 @Service
-@Transactional
 public class AsyncAuditServiceImpl implements AsyncAuditService {
     private static final Logger LOGGER = LoggerFactory.getLogger(AsyncAuditServiceImpl.class);
 
-    private final AuditService auditService;
+    private final AuditDeletionService auditDeletionService;
     private final AuditRepository auditRepository;
 
-    private final Set<Audit> deletionSet = Collections.synchronizedSet( new HashSet<>());
+    private final Set<Long> deletionSet = Collections.synchronizedSet( new HashSet<>());
 
-    public AsyncAuditServiceImpl(AuditService auditService, AuditRepository auditRepository) {
-        this.auditService = auditService;
+    public AsyncAuditServiceImpl(AuditDeletionService auditDeletionService, AuditRepository auditRepository) {
+        this.auditDeletionService = auditDeletionService;
         this.auditRepository = auditRepository;
     }
 
@@ -40,9 +41,12 @@ public class AsyncAuditServiceImpl implements AsyncAuditService {
     @Async("threadPoolTaskExecutor")
     @Override
     public void deleteAudit(Audit audit) {
-        if(!deletionSet.contains(audit)){
-            deletionSet.add(audit);
-            auditService.deleteAudit(audit);
+        if(deletionSet.add(audit.getId())){
+            try {
+                auditDeletionService.deleteAudit(audit);
+            } finally {
+                deletionSet.remove(audit.getId());
+            }
         }
     }
 }
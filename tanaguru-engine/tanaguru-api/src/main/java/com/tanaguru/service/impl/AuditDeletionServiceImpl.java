@@ -0,0 +1,71 @@
+package com.tanaguru.service.impl;
+
+import com.tanaguru.domain.entity.audit.Audit;
+import com.tanaguru.repository.AuditRepository;
+import com.tanaguru.repository.PageRepository;
+import com.tanaguru.service.AuditDeletionService;
+import com.tanaguru.service.AuditService;
+import com.tanaguru.service.PageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Each chunk of pages is deleted in its own transaction, so that locks are released between chunks
+ * and a deletion interrupted by a restart keeps what was already deleted.
+ */
+@Service
+public class AuditDeletionServiceImpl implements AuditDeletionService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AuditDeletionServiceImpl.class);
+
+    private final AuditRepository auditRepository;
+    private final AuditService auditService;
+    private final PageRepository pageRepository;
+    private final PageService pageService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${audit.deletion.chunk-size:500}")
+    private int chunkSize;
+
+    @Autowired
+    public AuditDeletionServiceImpl(
+            AuditRepository auditRepository,
+            AuditService auditService,
+            PageRepository pageRepository,
+            PageService pageService,
+            PlatformTransactionManager transactionManager) {
+        this.auditRepository = auditRepository;
+        this.auditService = auditService;
+        this.pageRepository = pageRepository;
+        this.pageService = pageService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public void deleteAudit(Audit audit) {
+        long auditId = audit.getId();
+        long total = pageRepository.countByAudit_Id(auditId);
+        LOGGER.info("[Audit {}] delete {} pages by chunks of {}", auditId, total, chunkSize);
+
+        long deleted = 0;
+        int chunk;
+        do {
+            Integer result = transactionTemplate.execute(status -> pageService.deletePageChunkByAudit(auditId, chunkSize));
+            chunk = result == null ? 0 : result;
+            deleted += chunk;
+            if (chunk > 0) {
+                LOGGER.info("[Audit {}] deleted {}/{} pages", auditId, deleted, total);
+            }
+        } while (chunk > 0);
+
+        transactionTemplate.execute(status -> {
+            auditRepository.findById(auditId).ifPresent(auditService::deleteAudit);
+            return null;
+        });
+    }
+}
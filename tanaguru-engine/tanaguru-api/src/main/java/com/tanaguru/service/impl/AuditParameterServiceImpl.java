@@ -8,6 +8,7 @@ import com.tanaguru.domain.constant.EAuditParameter;
 import com.tanaguru.domain.constant.EAuditType;
 import com.tanaguru.domain.constant.EParameterFamily;
 import com.tanaguru.domain.entity.audit.Audit;
+import com.tanaguru.domain.entity.audit.Resource;
 import com.tanaguru.domain.entity.audit.parameter.AuditAuditParameterValue;
 import com.tanaguru.domain.entity.audit.parameter.AuditParameter;
 import com.tanaguru.domain.entity.audit.parameter.AuditParameterFamily;
@@ -15,6 +16,7 @@ import com.tanaguru.domain.entity.audit.parameter.AuditParameterValue;
 import com.tanaguru.domain.entity.membership.project.Project;
 import com.tanaguru.domain.exception.CustomEntityNotFoundException;
 import com.tanaguru.domain.exception.CustomInvalidEntityException;
+import com.tanaguru.driver.ResourceBlocking;
 import com.tanaguru.helper.AESEncrypt;
 import com.tanaguru.helper.UrlHelper;
 import com.tanaguru.repository.*;
@@ -213,8 +215,14 @@ public class AuditParameterServiceImpl implements AuditParameterService {
                     break;
 
                 case DOM_ID:
-                    long resourceId = Long.parseLong(value);
-                    result = resourceRepository.existsById(resourceId);
+                    // Documents audited together and the asset bundles they use, bundles alone have nothing to audit
+                    String[] resourceIds = value.split(";");
+                    List<Resource> resources = new ArrayList<>();
+                    for (String resourceId : resourceIds) {
+                        resourceRepository.findById(Long.parseLong(resourceId)).ifPresent(resources::add);
+                    }
+                    result = resources.size() == resourceIds.length &&
+                            resources.stream().anyMatch(resource -> !resource.isAssetBundle());
                     break;
 
                 case SCENARIO_ID:
@@ -272,6 +280,20 @@ public class AuditParameterServiceImpl implements AuditParameterService {
                     result = crawlerMaxDepth <= MAX_CRAWLER_DEPTH && crawlerMaxDepth > 0;
                     break;
 
+                case WEBDRIVER_BLOCKED_TYPES:
+                    ResourceBlocking.parse(value, null, false);
+                    result = true;
+                    break;
+
+                case WEBDRIVER_BLOCKED_DOMAINS:
+                    ResourceBlocking.parse(null, value, false);
+                    result = true;
+                    break;
+
+                case CRAWLER_SITEMAP:
+                    result = Boolean.TRUE.toString().equalsIgnoreCase(value) || Boolean.FALSE.toString().equalsIgnoreCase(value);
+                    break;
+
                 case ENABLE_SCREENSHOT:
                     boolean enableScreenshot = Boolean.parseBoolean(value);
                     result = true;
@@ -12,14 +12,14 @@ import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -74,11 +74,22 @@ public class AuditServiceImpl implements AuditService {
     }
 
     public org.springframework.data.domain.Page<Audit> findAllByProject(Project project, Pageable pageable) {
-        Collection<Audit> audits = actRepository.findAllByProject(project).stream()
-                .map((Act::getAudit))
-                .collect(Collectors.toList());
-        return new PageImpl<>(new ArrayList<>(audits), pageable, audits.size());
+        return actRepository.findAllAuditByProject(project, pageable);
+    }
+
+    public Collection<Audit> findAllByProjectAfter(Project project, Long lastId, int size) {
+        return actRepository.findAllAuditByProjectAndAudit_IdLessThan(
+                project,
+                lastId == null ? Long.MAX_VALUE : lastId,
+                PageRequest.of(0, size));
+    }
+
+    public Optional<Audit> findLastByProject(Project project) {
+        return actRepository.findFirstByProjectOrderByDateDesc(project).map(Act::getAudit);
+    }
 
+    public Optional<Audit> findLastByProjectAndType(Project project, EAuditType type) {
+        return actRepository.findFirstByProjectAndAudit_TypeOrderByDateDesc(project, type).map(Act::getAudit);
     }
 
     public void deleteAuditByProject(Project project) {
@@ -116,6 +127,9 @@ public class AuditServiceImpl implements AuditService {
         LOGGER.info("[Audit " + audit.getId() + "] delete parameters");
         deleteAuditParameterByAudit(audit);
 
+        LOGGER.info("[Audit {}] delete logs", audit.getId());
+        auditLogRepository.deleteAllByAudit_Id(audit.getId());
+
         Collection<TestHierarchy> auditReferences = audit.getAuditReferences().stream()
                 .map(AuditReference::getTestHierarchy)
                 .collect(Collectors.toList());
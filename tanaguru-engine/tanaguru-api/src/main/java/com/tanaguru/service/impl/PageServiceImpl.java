@@ -14,6 +14,8 @@ import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
@@ -32,6 +34,7 @@ public class PageServiceImpl implements PageService {
     private final AuditActService auditActService;
     private final AuditReferenceRepository auditReferenceRepository;
     private final ElementResultRepository elementResultRepository;
+    private final PageContentRepository pageContentRepository;
     private final PageRepository pageRepository;
     private final StatusResultRepository statusResultRepository;
     private final TanaguruTestService tanaguruTestService;
@@ -41,11 +44,15 @@ public class PageServiceImpl implements PageService {
     private final TestHierarchyService testHierarchyService;
     private final TestResultRepository testResultRepository;
 
+    @Value("${audit.deletion.chunk-size:500}")
+    private int deletionChunkSize;
+
     @Autowired
     public PageServiceImpl(ActRepository actRepository,
                            AuditActService auditActService,
                            AuditReferenceRepository auditReferenceRepository,
                            ElementResultRepository elementResultRepository,
+                           PageContentRepository pageContentRepository,
                            PageRepository pageRepository,
                            StatusResultRepository statusResultRepository,
                            TanaguruTestService tanaguruTestService,
@@ -57,6 +64,7 @@ public class PageServiceImpl implements PageService {
         this.auditActService = auditActService;
         this.auditReferenceRepository = auditReferenceRepository;
         this.elementResultRepository = elementResultRepository;
+        this.pageContentRepository = pageContentRepository;
         this.pageRepository = pageRepository;
         this.statusResultRepository = statusResultRepository;
         this.tanaguruTestService = tanaguruTestService;
@@ -76,10 +84,40 @@ public class PageServiceImpl implements PageService {
     @Override
     public void deletePageByAudit(Audit audit) {
         LOGGER.info("[Audit {}] Delete pages", audit.getId());
-        for (Page page : pageRepository.findAllByAudit_Id(audit.getId())) {
-            deletePage(page);
+        int deleted;
+        do {
+            deleted = deletePageChunkByAudit(audit.getId(), deletionChunkSize);
+        } while (deleted > 0);
+    }
+
+    @Override
+    public int deletePageChunkByAudit(long auditId, int chunkSize) {
+        return deletePageIds(pageRepository.findAllIdByAudit_Id(auditId, PageRequest.of(0, chunkSize)));
+    }
+
+    @Override
+    public int deletePageByAuditFromRank(long auditId, int rank) {
+        return deletePageByAuditAndRankBetween(auditId, rank, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int deletePageByAuditAndRankBetween(long auditId, int from, int to) {
+        return deletePageIds(pageRepository.findAllIdByAudit_IdAndRankBetween(auditId, from, to));
+    }
+
+    private int deletePageIds(List<Long> pageIds) {
+        if (pageIds.isEmpty()) {
+            return 0;
         }
 
+        //Children first, results are never loaded in the persistence context
+        elementResultRepository.deleteAllByPageIdIn(pageIds);
+        testHierarchyResultRepository.deleteTestResultLinksByPageIdIn(pageIds);
+        testHierarchyResultRepository.deleteAllByPageIdIn(pageIds);
+        statusResultRepository.deleteAllByPageIdIn(pageIds);
+        testResultRepository.deleteAllByPageIdIn(pageIds);
+        pageContentRepository.deleteAllByPageIdIn(pageIds);
+        return pageRepository.deleteAllByIdIn(pageIds);
     }
 
     /**
@@ -255,12 +255,15 @@ public class ProjectServiceImpl implements ProjectService {
 
     public void deleteProject(Project project) {
         LOGGER.info("[Project {}] delete", project.getId());
+        //Audits are found through the acts and flagged first, so that their deletion is resumed after a restart
+        Collection<Audit> audits = auditService.findAllByProject(project);
+        audits.forEach(audit -> audit.setDeleted(true));
+
         actRepository.deleteAllByProject(project);
         projectUserRepository.deleteAllByProject(project);
         projectRepository.deleteById(project.getId());
 
-        auditService.findAllByProject(project)
-                .forEach(asyncAuditService::deleteAudit);
+        audits.forEach(asyncAuditService::deleteAudit);
     }
 
     public Project modifyProject(Project project, String name, String domain) {
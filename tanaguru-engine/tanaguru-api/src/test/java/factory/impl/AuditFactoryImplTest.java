@@ -2,12 +2,17 @@ package factory.impl;
 
 import com.tanaguru.domain.constant.EAuditType;
 import com.tanaguru.domain.entity.audit.Audit;
+import com.tanaguru.domain.entity.audit.AuditReference;
+import com.tanaguru.domain.entity.audit.TestHierarchy;
 import com.tanaguru.domain.entity.audit.parameter.AuditParameter;
 import com.tanaguru.domain.entity.audit.parameter.AuditParameterValue;
 import com.tanaguru.factory.impl.AuditFactoryImpl;
+import com.tanaguru.repository.AuditAuditParameterValueRepository;
+import com.tanaguru.repository.AuditReferenceRepository;
 import com.tanaguru.repository.AuditRepository;
 import com.tanaguru.service.AuditParameterService;
 import com.tanaguru.service.AuditService;
+import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
@@ -30,6 +35,12 @@ public class AuditFactoryImplTest {
     @Mock
     private AuditService auditService;
 
+    @Mock
+    private AuditReferenceRepository auditReferenceRepository;
+
+    @Mock
+    private AuditAuditParameterValueRepository auditAuditParameterValueRepository;
+
 
     @InjectMocks
     private AuditFactoryImpl auditFactory;
@@ -50,4 +61,35 @@ public class AuditFactoryImplTest {
         auditFactory.createAudit("", new HashMap<>(), EAuditType.SITE, true, null, new ArrayList<>(Collections.EMPTY_LIST), null);
         Mockito.verify(auditParameterService, Mockito.times(1)).getParameterMapForAuditTypeWithParameterOverride(Mockito.any(EAuditType.class), Mockito.any(HashMap.class), Mockito.any());
     }
+
+    @Test
+    public void createFromAuditTest_KeepsBaseAuditAndReferences() {
+        Audit base = new Audit();
+        base.setId(1);
+        base.setName("base");
+        base.setType(EAuditType.SITE);
+        base.setParameters(new ArrayList<>());
+
+        TestHierarchy testHierarchy = new TestHierarchy();
+        AuditReference auditReference = new AuditReference();
+        auditReference.setAudit(base);
+        auditReference.setTestHierarchy(testHierarchy);
+        auditReference.setMain(true);
+
+        Mockito.when(auditRepository.save(Mockito.any(Audit.class))).then(invocation -> invocation.getArgument(0));
+        Mockito.when(auditReferenceRepository.findAllByAudit(base)).thenReturn(Collections.singletonList(auditReference));
+        Mockito.when(auditReferenceRepository.save(Mockito.any(AuditReference.class))).then(invocation -> invocation.getArgument(0));
+
+        Audit scheduled = auditFactory.createFromAudit(base);
+        Assert.assertSame(base, scheduled.getScheduledFrom());
+        Assert.assertFalse(scheduled.getShareCode().isEmpty());
+
+        AuditReference copy = scheduled.getAuditReferences().iterator().next();
+        Assert.assertSame(scheduled, copy.getAudit());
+        Assert.assertSame(testHierarchy, copy.getTestHierarchy());
+        Assert.assertTrue(copy.isMain());
+
+        Audit next = auditFactory.createFromAudit(scheduled);
+        Assert.assertSame(base, next.getScheduledFrom());
+    }
 }
@@ -3,6 +3,7 @@ package service.impl;
 import com.tanaguru.domain.constant.EAuditParameter;
 import com.tanaguru.domain.constant.EAuditType;
 import com.tanaguru.domain.constant.EParameterFamily;
+import com.tanaguru.domain.entity.audit.Resource;
 import com.tanaguru.domain.entity.audit.Scenario;
 import com.tanaguru.domain.entity.audit.parameter.AuditParameter;
 import com.tanaguru.domain.entity.audit.parameter.AuditParameterFamily;
@@ -148,8 +149,8 @@ public class AuditParameterServiceImplTest {
 
     @Test
     public void checkParameterValueIsValid_DOMIDValid() {
-        Mockito.when(resourceRepository.existsById(0L))
-                .thenReturn(true);
+        Mockito.when(resourceRepository.findById(0L))
+                .thenReturn(Optional.of(createResource("page.html")));
         assertTrue(auditParameterServiceImpl.checkParameterValueIsValid(EAuditParameter.DOM_ID, "0", null));
     }
 
@@ -160,11 +161,30 @@ public class AuditParameterServiceImplTest {
 
     @Test
     public void checkParameterValueIsValid_DOMIDNotExists() {
-        Mockito.when(resourceRepository.existsById(0L))
-                .thenReturn(false);
+        Mockito.when(resourceRepository.findById(0L))
+                .thenReturn(Optional.empty());
         assertFalse(auditParameterServiceImpl.checkParameterValueIsValid(EAuditParameter.DOM_ID, "0", null));
     }
 
+    @Test
+    public void checkParameterValueIsValid_DOMIDSeveral() {
+        Mockito.when(resourceRepository.findById(0L))
+                .thenReturn(Optional.of(createResource("page.html")));
+        Mockito.when(resourceRepository.findById(1L))
+                .thenReturn(Optional.of(createResource("assets.zip")));
+        Mockito.when(resourceRepository.findById(2L))
+                .thenReturn(Optional.empty());
+        assertTrue(auditParameterServiceImpl.checkParameterValueIsValid(EAuditParameter.DOM_ID, "0;1", null));
+        assertFalse(auditParameterServiceImpl.checkParameterValueIsValid(EAuditParameter.DOM_ID, "0;2", null));
+    }
+
+    @Test
+    public void checkParameterValueIsValid_DOMIDBundlesOnly() {
+        Mockito.when(resourceRepository.findById(1L))
+                .thenReturn(Optional.of(createResource("assets.zip")));
+        assertFalse(auditParameterServiceImpl.checkParameterValueIsValid(EAuditParameter.DOM_ID, "1", null));
+    }
+
     @Test
     public void checkParameterValueIsValid_ScenarioIDValid() {
         Scenario scenario = new Scenario();
@@ -344,4 +364,31 @@ public class AuditParameterServiceImplTest {
     public void checkParameterValueIsValid_crawlermaxdepthValid() {
         assertTrue(auditParameterServiceImpl.checkParameterValueIsValid(EAuditParameter.CRAWLER_MAX_DEPTH, "" + (MAX_CRAWLER_DEPTH - 1), null));
     }
+
+    @Test
+    public void checkParameterValueIsValid_webdriverBlockedTypesValid() {
+        assertTrue(auditParameterServiceImpl.checkParameterValueIsValid(EAuditParameter.WEBDRIVER_BLOCKED_TYPES, "media;Font;beacon", null));
+    }
+
+    @Test
+    public void checkParameterValueIsValid_webdriverBlockedTypesInvalid() {
+        assertFalse(auditParameterServiceImpl.checkParameterValueIsValid(EAuditParameter.WEBDRIVER_BLOCKED_TYPES, "media;script", null));
+    }
+
+    @Test
+    public void checkParameterValueIsValid_webdriverBlockedDomainsValid() {
+        assertTrue(auditParameterServiceImpl.checkParameterValueIsValid(EAuditParameter.WEBDRIVER_BLOCKED_DOMAINS, "", null));
+        assertTrue(auditParameterServiceImpl.checkParameterValueIsValid(EAuditParameter.WEBDRIVER_BLOCKED_DOMAINS, "doubleclick.net;*.ads.example.com", null));
+    }
+
+    @Test
+    public void checkParameterValueIsValid_webdriverBlockedDomainsInvalid() {
+        assertFalse(auditParameterServiceImpl.checkParameterValueIsValid(EAuditParameter.WEBDRIVER_BLOCKED_DOMAINS, "https://example.com/", null));
+    }
+
+    private Resource createResource(String name) {
+        Resource resource = new Resource();
+        resource.setName(name);
+        return resource;
+    }
 }
@@ -1,6 +1,8 @@
 package service.impl;
 
 import com.tanaguru.domain.entity.audit.Audit;
+import com.tanaguru.domain.entity.membership.Act;
+import com.tanaguru.domain.entity.membership.project.Project;
 import com.tanaguru.repository.ActRepository;
 import com.tanaguru.repository.AuditLogRepository;
 import com.tanaguru.repository.AuditRepository;
@@ -11,7 +13,14 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collections;
+import java.util.Optional;
 
 @RunWith(MockitoJUnitRunner.class)
 public class AuditServiceImplTest {
@@ -53,4 +62,37 @@ public class AuditServiceImplTest {
 
         Assert.assertFalse(auditService.canShowAudit(audit, "test2"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void findAllByProject_pageIsComputedByRepository() {
+        Project project = new Project();
+        Audit audit = new Audit();
+        Pageable pageable = PageRequest.of(2, 5);
+        Mockito.when(actRepository.findAllAuditByProject(project, pageable))
+                .thenReturn(new PageImpl<>(Collections.singletonList(audit), pageable, 11));
+
+        org.springframework.data.domain.Page<Audit> result = auditService.findAllByProject(project, pageable);
+        Assert.assertEquals(11, result.getTotalElements());
+        Assert.assertEquals(1, result.getContent().size());
+        Mockito.verify(actRepository, Mockito.never()).findAllByProject(project);
+    }
+
+    @Test
+    public void findAllByProjectAfter_firstCall() {
+        Project project = new Project();
+        auditService.findAllByProjectAfter(project, null, 20);
+        Mockito.verify(actRepository).findAllAuditByProjectAndAudit_IdLessThan(project, Long.MAX_VALUE, PageRequest.of(0, 20));
+    }
+
+    @Test
+    public void findLastByProject_usesLastAct() {
+        Project project = new Project();
+        Audit audit = new Audit();
+        Act act = new Act();
+        act.setAudit(audit);
+        Mockito.when(actRepository.findFirstByProjectOrderByDateDesc(project)).thenReturn(Optional.of(act));
+
+        Assert.assertSame(audit, auditService.findLastByProject(project).orElse(null));
+        Mockito.verify(actRepository, Mockito.never()).findAllAuditByProject(Mockito.any(), Mockito.any());
+    }
+}
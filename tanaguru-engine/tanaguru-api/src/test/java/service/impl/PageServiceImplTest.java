@@ -0,0 +1,67 @@
+package service.impl;
+
+import com.tanaguru.repository.ElementResultRepository;
+import com.tanaguru.repository.PageContentRepository;
+import com.tanaguru.repository.PageRepository;
+import com.tanaguru.repository.StatusResultRepository;
+import com.tanaguru.repository.TestHierarchyResultRepository;
+import com.tanaguru.repository.TestResultRepository;
+import com.tanaguru.service.impl.PageServiceImpl;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PageServiceImplTest {
+    @Mock
+    private ElementResultRepository elementResultRepository;
+
+    @Mock
+    private PageContentRepository pageContentRepository;
+
+    @Mock
+    private PageRepository pageRepository;
+
+    @Mock
+    private StatusResultRepository statusResultRepository;
+
+    @Mock
+    private TestHierarchyResultRepository testHierarchyResultRepository;
+
+    @Mock
+    private TestResultRepository testResultRepository;
+
+    @InjectMocks
+    private PageServiceImpl pageService;
+
+    @Test
+    public void deletePageByAuditFromRank_deletesPagesAndResults() {
+        List<Long> pageIds = Arrays.asList(7L, 8L);
+        Mockito.when(pageRepository.findAllIdByAudit_IdAndRankBetween(12, 5, Integer.MAX_VALUE)).thenReturn(pageIds);
+        Mockito.when(pageRepository.deleteAllByIdIn(pageIds)).thenReturn(2);
+
+        Assert.assertEquals(2, pageService.deletePageByAuditFromRank(12, 5));
+        Mockito.verify(elementResultRepository).deleteAllByPageIdIn(pageIds);
+        Mockito.verify(testHierarchyResultRepository).deleteTestResultLinksByPageIdIn(pageIds);
+        Mockito.verify(testHierarchyResultRepository).deleteAllByPageIdIn(pageIds);
+        Mockito.verify(statusResultRepository).deleteAllByPageIdIn(pageIds);
+        Mockito.verify(testResultRepository).deleteAllByPageIdIn(pageIds);
+        Mockito.verify(pageContentRepository).deleteAllByPageIdIn(pageIds);
+    }
+
+    @Test
+    public void deletePageByAuditFromRank_nothingAfterRank() {
+        Mockito.when(pageRepository.findAllIdByAudit_IdAndRankBetween(12, 5, Integer.MAX_VALUE)).thenReturn(Collections.emptyList());
+
+        Assert.assertEquals(0, pageService.deletePageByAuditFromRank(12, 5));
+        Mockito.verify(pageRepository, Mockito.never()).deleteAllByIdIn(Mockito.any());
+    }
+}
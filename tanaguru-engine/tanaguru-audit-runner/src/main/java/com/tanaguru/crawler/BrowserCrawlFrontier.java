@@ -0,0 +1,237 @@
+package com.tanaguru.crawler;
+
+import com.tanaguru.helper.UrlCanonicalizer;
+import com.tanaguru.helper.UrlFilter;
+import edu.uci.ics.crawler4j.fetcher.PageFetcher;
+import edu.uci.ics.crawler4j.robotstxt.RobotstxtServer;
+import edu.uci.ics.crawler4j.url.URLCanonicalizer;
+import edu.uci.ics.crawler4j.url.WebURL;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Frontier of a crawl driven by the browser of the audit runner.
+ * Pages are only loaded by the browser, the links of the rendered DOM are added back here
+ * and filtered with the same rules as the {@link TanaguruCrawler} : domain of the seeds, depth,
+ * inclusion and exclusion regex, robots.txt and max document.
+ */
+public class BrowserCrawlFrontier {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BrowserCrawlFrontier.class);
+
+    private final Deque<CrawlUrl> queue = new ArrayDeque<>();
+    private final Set<Long> visitedUrlFingerprints = new HashSet<>();
+    private final Set<String> domains = new HashSet<>();
+    private final long maxCrawlTime;
+    private final int maxDocument;
+    private final int maxDepth;
+    private final UrlFilter exclusionFilter;
+    private final UrlFilter inclusionFilter;
+    private final PageFetcher pageFetcher;
+    private final RobotstxtServer robotstxtServer;
+
+    private long startedTime = -1;
+    private int documentCount = 0;
+
+    /**
+     * @param maxCrawlTime    The max duration of the crawling in seconds
+     * @param maxDocument     The maximum page to crawl
+     * @param maxDepth        The maximum depth to crawl to, -1 for unlimited
+     * @param exclusionRegex  Url to exclude of the crawling
+     * @param inclusionRegex  Url to include in the crawling
+     * @param pageFetcher     Fetcher of the robots.txt files, null if robots.txt are ignored
+     * @param robotstxtServer Robots.txt rules, null if robots.txt are ignored
+     */
+    public BrowserCrawlFrontier(long maxCrawlTime,
+                                int maxDocument,
+                                int maxDepth,
+                                String exclusionRegex,
+                                String inclusionRegex,
+                                PageFetcher pageFetcher,
+                                RobotstxtServer robotstxtServer) {
+        this.maxCrawlTime = maxCrawlTime * 1000;
+        this.maxDocument = maxDocument;
+        this.maxDepth = maxDepth;
+        this.exclusionFilter = UrlFilter.compile(exclusionRegex);
+        this.inclusionFilter = UrlFilter.compile(inclusionRegex);
+        this.pageFetcher = pageFetcher;
+        this.robotstxtServer = robotstxtServer;
+    }
+
+    /**
+     * Add a seed, or a page of a sitemap. Like the seeds of a crawler4j controller, it is dropped if the robots.txt
+     * of its host does not allow it, its domain still being crawled.
+     */
+    public void addSeed(String url) {
+        WebURL webURL = toWebURL(url);
+        if (webURL == null) {
+            LOGGER.warn("Invalid seed {}", url);
+        } else if (visitedUrlFingerprints.add(UrlCanonicalizer.fingerprint(webURL.getURL()))) {
+            domains.add(webURL.getDomain());
+            if (isAllowedByRobots(webURL)) {
+                push(new CrawlUrl(webURL.getURL(), 0));
+            } else {
+                LOGGER.info("Robots.txt does not allow seed {}", url);
+            }
+        }
+    }
+
+    /**
+     * Crawl the domain of a seed, added by another runner sharing the frontier
+     */
+    public void addSeedDomain(String url) {
+        WebURL webURL = toWebURL(url);
+        if (webURL != null) {
+            domains.add(webURL.getDomain());
+        }
+    }
+
+    /**
+     * @return The next url to load, or null if the crawl is over
+     */
+    public CrawlUrl next() {
+        long now = new Date().getTime();
+        if (startedTime == -1) {
+            startedTime = now;
+        }
+
+        CrawlUrl result = null;
+        if (documentCount >= maxDocument) {
+            LOGGER.info("Max document reached, stop crawling...");
+        } else if (now - startedTime >= maxCrawlTime) {
+            LOGGER.info("Crawler time over, stop crawling...");
+        } else {
+            result = queue.poll();
+            if (result != null) {
+                documentCount++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Add the links found on a loaded page
+     *
+     * @param parent The loaded page
+     * @param links  The absolute urls of its links
+     */
+    public void addLinks(CrawlUrl parent, Collection<String> links) {
+        if (maxDepth != -1 && parent.getDepth() >= maxDepth) {
+            return;
+        }
+
+        for (String link : links) {
+            WebURL webURL = toWebURL(link);
+            if (webURL != null && shouldVisit(webURL)) {
+                push(new CrawlUrl(webURL.getURL(), parent.getDepth() + 1));
+            }
+        }
+    }
+
+    /**
+     * Queue an url that passed the filters
+     */
+    protected void push(CrawlUrl crawlUrl) {
+        queue.add(crawlUrl);
+    }
+
+    protected boolean shouldVisit(WebURL url) {
+        // Filters are only checked once by canonical url
+        return visitedUrlFingerprints.add(UrlCanonicalizer.fingerprint(url.getURL())) &&
+                domains.contains(url.getDomain()) &&
+                (exclusionFilter.isEmpty() || !exclusionFilter.matches(url.getURL())) &&
+                (inclusionFilter.isEmpty() || inclusionFilter.matches(url.getURL())) &&
+                isAllowedByRobots(url);
+    }
+
+    private boolean isAllowedByRobots(WebURL url) {
+        return robotstxtServer == null || robotstxtServer.allows(url);
+    }
+
+    /**
+     * @return The state of the crawl, to resume it with {@link #restore(Snapshot)}
+     */
+    public Snapshot snapshot() {
+        Snapshot result = new Snapshot();
+        result.queue = new ArrayList<>(queue);
+        result.visitedUrlFingerprints = new ArrayList<>(visitedUrlFingerprints);
+        result.domains = new ArrayList<>(domains);
+        result.documentCount = documentCount;
+        result.crawlTime = startedTime == -1 ? 0 : new Date().getTime() - startedTime;
+        return result;
+    }
+
+    /**
+     * Replace the seeds by the state of a previous crawl, the crawl time going on from where it stopped
+     *
+     * @param snapshot The state of the previous crawl
+     */
+    public void restore(Snapshot snapshot) {
+        queue.clear();
+        queue.addAll(snapshot.queue);
+        visitedUrlFingerprints.clear();
+        visitedUrlFingerprints.addAll(snapshot.visitedUrlFingerprints);
+        domains.clear();
+        domains.addAll(snapshot.domains);
+        documentCount = snapshot.documentCount;
+        startedTime = new Date().getTime() - snapshot.crawlTime;
+    }
+
+    /**
+     * Release the robots.txt fetcher
+     */
+    public void close() {
+        if (pageFetcher != null) {
+            pageFetcher.shutDown();
+        }
+    }
+
+    private static WebURL toWebURL(String url) {
+        WebURL result = null;
+        if (url.startsWith("http://") || url.startsWith("https://")) {
+            String canonicalUrl = URLCanonicalizer.getCanonicalURL(url);
+            if (canonicalUrl != null) {
+                result = new WebURL();
+                result.setURL(canonicalUrl);
+            }
+        }
+        return result;
+    }
+
+    public static class CrawlUrl {
+        private final String url;
+        private final int depth;
+
+        public CrawlUrl(String url, int depth) {
+            this.url = url;
+            this.depth = depth;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public int getDepth() {
+            return depth;
+        }
+    }
+
+    /**
+     * State of a crawl : the urls to load, the urls already queued, the domains of the seeds,
+     * the number of loaded pages and the crawl time in milliseconds
+     */
+    public static class Snapshot {
+        private Collection<CrawlUrl> queue;
+        private Collection<Long> visitedUrlFingerprints;
+        private Collection<String> domains;
+        private int documentCount;
+        private long crawlTime;
+    }
+}
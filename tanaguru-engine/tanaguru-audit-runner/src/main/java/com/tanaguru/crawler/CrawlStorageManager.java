@@ -0,0 +1,136 @@
+package com.tanaguru.crawler;
+
+import edu.uci.ics.crawler4j.util.IO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Storage folders of the crawls, all created in a folder of the runner process under auditrunner.crawler.outputDir.
+ * The process folder is locked while the runner lives, so the folders left by a crashed runner are deleted
+ * at the next startup without touching the ones of the other runners sharing the output directory.
+ */
+@Component
+public class CrawlStorageManager {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CrawlStorageManager.class);
+
+    private static final String PROCESS_FOLDER_PREFIX = "runner-";
+    private static final String CRAWL_FOLDER_PREFIX = "crawl-";
+    private static final String LOCK_FILE = ".lock";
+    // A runner creates its lock file right after its folder
+    private static final long LOCK_CREATION_DELAY = TimeUnit.MINUTES.toMillis(1);
+
+    private final Path outputDir;
+    private Path processFolder;
+    private FileChannel lockChannel;
+
+    @Autowired
+    public CrawlStorageManager(@Value("${auditrunner.crawler.outputDir}") String outputDir) {
+        this(Paths.get(outputDir));
+    }
+
+    public CrawlStorageManager(Path outputDir) {
+        this.outputDir = outputDir;
+    }
+
+    /**
+     * Delete the folders of the stopped runners then create the one of this runner
+     */
+    @PostConstruct
+    public synchronized void init() throws IOException {
+        Files.createDirectories(outputDir);
+        deleteStaleFolders();
+
+        processFolder = Files.createTempDirectory(outputDir, PROCESS_FOLDER_PREFIX);
+        lockChannel = FileChannel.open(processFolder.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        lockChannel.lock();
+        LOGGER.debug("Crawl storage folder {}", processFolder);
+    }
+
+    /**
+     * @return A new empty folder, unique even for crawls created at the same time
+     */
+    public synchronized Path createCrawlFolder() throws IOException {
+        if (processFolder == null) {
+            init();
+        }
+        return Files.createTempDirectory(processFolder, CRAWL_FOLDER_PREFIX);
+    }
+
+    /**
+     * @return The folder of this runner, for the crawl configurations never storing anything
+     */
+    public synchronized Path getProcessFolder() throws IOException {
+        if (processFolder == null) {
+            init();
+        }
+        return processFolder;
+    }
+
+    /**
+     * Release the lock of this runner and delete its folder with the remaining crawl folders
+     */
+    @PreDestroy
+    public synchronized void destroy() {
+        if (processFolder == null) {
+            return;
+        }
+        try {
+            lockChannel.close();
+        } catch (IOException e) {
+            LOGGER.warn("Unable to release crawl storage lock : {}", e.getMessage());
+        }
+        delete(processFolder);
+        processFolder = null;
+    }
+
+    /**
+     * @param folder A crawl folder to delete with its content
+     */
+    public static void delete(Path folder) {
+        if (Files.exists(folder) && !IO.deleteFolder(folder.toFile())) {
+            LOGGER.warn("Unable to delete crawl storage folder {}", folder);
+        }
+    }
+
+    private void deleteStaleFolders() throws IOException {
+        try (DirectoryStream<Path> folders = Files.newDirectoryStream(outputDir, PROCESS_FOLDER_PREFIX + "*")) {
+            for (Path folder : folders) {
+                if (Files.isDirectory(folder) && isStale(folder)) {
+                    LOGGER.info("Delete crawl storage folder {} of a stopped runner", folder);
+                    delete(folder);
+                }
+            }
+        }
+    }
+
+    private static boolean isStale(Path folder) throws IOException {
+        Path lockFile = folder.resolve(LOCK_FILE);
+        if (!Files.exists(lockFile)) {
+            return System.currentTimeMillis() - Files.getLastModifiedTime(folder).toMillis() > LOCK_CREATION_DELAY;
+        }
+
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.WRITE)) {
+            FileLock lock = channel.tryLock();
+            return lock != null;
+        } catch (OverlappingFileLockException e) {
+            // Locked by this JVM
+            return false;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.tanaguru.crawler;
+
+import edu.uci.ics.crawler4j.fetcher.PageFetcher;
+import edu.uci.ics.crawler4j.robotstxt.RobotstxtServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Frontier of a browser crawl shared by the runners of several nodes through a {@link DistributedCrawlStore}.
+ * Each runner filters the links it finds with the same rules as the {@link BrowserCrawlFrontier} before queuing them
+ * in the store, and claims the urls to load from the store. A runner without url to claim waits for the urls the
+ * other runners may still find, until the crawl is over.
+ */
+public class DistributedCrawlFrontier extends BrowserCrawlFrontier {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DistributedCrawlFrontier.class);
+    private static final long CLAIM_RETRY_DELAY = 2000;
+
+    private final DistributedCrawlStore distributedCrawlStore;
+    private final long auditId;
+    private final long maxCrawlTime;
+    private final int maxDocument;
+    private final int pagesPerDocument;
+
+    private volatile boolean interrupted = false;
+    private volatile boolean over = false;
+
+    /**
+     * @param distributedCrawlStore The store shared by the runners
+     * @param auditId               The id of the audit
+     * @param pagesPerDocument      The number of pages audited for each url
+     * @param maxCrawlTime          The max duration of the crawling in seconds
+     * @param maxDocument           The maximum page to crawl, by all the runners
+     * @param maxDepth              The maximum depth to crawl to, -1 for unlimited
+     * @param exclusionRegex        Url to exclude of the crawling
+     * @param inclusionRegex        Url to include in the crawling
+     * @param pageFetcher           Fetcher of the robots.txt files, null if robots.txt are ignored
+     * @param robotstxtServer       Robots.txt rules, null if robots.txt are ignored
+     */
+    public DistributedCrawlFrontier(DistributedCrawlStore distributedCrawlStore,
+                                    long auditId,
+                                    int pagesPerDocument,
+                                    long maxCrawlTime,
+                                    int maxDocument,
+                                    int maxDepth,
+                                    String exclusionRegex,
+                                    String inclusionRegex,
+                                    PageFetcher pageFetcher,
+                                    RobotstxtServer robotstxtServer) {
+        super(maxCrawlTime, maxDocument, maxDepth, exclusionRegex, inclusionRegex, pageFetcher, robotstxtServer);
+        this.distributedCrawlStore = distributedCrawlStore;
+        this.auditId = auditId;
+        this.maxCrawlTime = maxCrawlTime * 1000;
+        this.maxDocument = maxDocument;
+        this.pagesPerDocument = pagesPerDocument;
+    }
+
+    /**
+     * Open the crawl in the store, by the runner starting the audit before it adds the seeds
+     */
+    public void open() {
+        distributedCrawlStore.open(auditId, maxDocument);
+    }
+
+    @Override
+    protected void push(CrawlUrl crawlUrl) {
+        distributedCrawlStore.add(auditId, crawlUrl.getUrl(), crawlUrl.getDepth());
+    }
+
+    /**
+     * @return The next url claimed by this runner, or null if the crawl is over
+     */
+    @Override
+    public CrawlUrl next() {
+        while (!interrupted) {
+            ClaimedUrl result = distributedCrawlStore.claim(auditId, maxCrawlTime, pagesPerDocument);
+            if (result != null) {
+                return result;
+            }
+            if (distributedCrawlStore.isOver(auditId, maxCrawlTime)) {
+                LOGGER.info("[Audit {}] Distributed crawl over", auditId);
+                over = true;
+                return null;
+            }
+            try {
+                Thread.sleep(CLAIM_RETRY_DELAY);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stop waiting for urls to claim
+     */
+    public void interrupt() {
+        interrupted = true;
+    }
+
+    /**
+     * @param crawlUrl An url returned by {@link #next()}, loaded and audited
+     */
+    public void done(CrawlUrl crawlUrl) {
+        distributedCrawlStore.done((ClaimedUrl) crawlUrl);
+    }
+
+    /**
+     * @return True if {@link #next()} ended because the crawl is over, false if it was interrupted
+     */
+    public boolean isOver() {
+        return over;
+    }
+
+    /**
+     * Finish the crawl if no url is being loaded and no more url can be claimed
+     *
+     * @return True for the only runner finishing the crawl
+     */
+    public boolean finish() {
+        return distributedCrawlStore.isOver(auditId, maxCrawlTime) && distributedCrawlStore.finish(auditId);
+    }
+
+    /**
+     * Let the other runners claim the urls claimed by this runner right away, after it stopped before the end of the crawl
+     */
+    public void release() {
+        int released = distributedCrawlStore.release(auditId);
+        if (released > 0) {
+            LOGGER.info("[Audit {}] {} claimed urls released", auditId, released);
+        }
+    }
+
+    /**
+     * Url claimed by a runner, numbered in the order of the first claims of the crawl
+     */
+    public static class ClaimedUrl extends CrawlUrl {
+        private final long id;
+        private final int documentNumber;
+
+        public ClaimedUrl(long id, String url, int depth, int documentNumber) {
+            super(url, depth);
+            this.id = id;
+            this.documentNumber = documentNumber;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public int getDocumentNumber() {
+            return documentNumber;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.tanaguru.crawler;
+
+import java.util.Collection;
+
+/**
+ * Frontier of the site crawls shared by several runner nodes
+ */
+public interface DistributedCrawlStore {
+    /**
+     * Open the crawl of an audit, unless another runner already did
+     *
+     * @param auditId     The audit id
+     * @param maxDocument The maximum page to crawl, by all the runners
+     */
+    void open(long auditId, int maxDocument);
+
+    /**
+     * Queue an url, unless the crawl already has the same canonical url
+     *
+     * @param auditId The audit id
+     * @param url     The canonical url
+     * @param depth   The depth of the url
+     */
+    void add(long auditId, String url, int depth);
+
+    /**
+     * Claim the next url, or an url claimed by a runner that stopped without loading it.
+     * The pages persisted for an url claimed again are deleted.
+     *
+     * @param auditId          The audit id
+     * @param maxCrawlTime     The max duration of the crawl in milliseconds
+     * @param pagesPerDocument The number of pages audited for each url
+     * @return The claimed url, null if none is queued or the crawl reached its limits
+     */
+    DistributedCrawlFrontier.ClaimedUrl claim(long auditId, long maxCrawlTime, int pagesPerDocument);
+
+    /**
+     * @param claimedUrl A claimed url, loaded and audited
+     */
+    void done(DistributedCrawlFrontier.ClaimedUrl claimedUrl);
+
+    /**
+     * @param auditId      The audit id
+     * @param maxCrawlTime The max duration of the crawl in milliseconds
+     * @return True if no url is being loaded and no more url can be claimed
+     */
+    boolean isOver(long auditId, long maxCrawlTime);
+
+    /**
+     * Drop the crawl and its urls
+     *
+     * @param auditId The audit id
+     * @return True for the only runner finishing the crawl
+     */
+    boolean finish(long auditId);
+
+    /**
+     * Make the urls claimed by this runner stale, so the other runners claim them again without waiting for the
+     * claim timeout
+     *
+     * @param auditId The audit id
+     * @return The number of urls released
+     */
+    int release(long auditId);
+
+    /**
+     * @return The ids of the audits whose crawl has queued urls
+     */
+    Collection<Long> findOpenAuditIds();
+}
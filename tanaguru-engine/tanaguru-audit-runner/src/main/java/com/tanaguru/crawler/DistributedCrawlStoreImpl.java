@@ -0,0 +1,133 @@
+package com.tanaguru.crawler;
+
+import com.tanaguru.domain.constant.ECrawlUrlStatus;
+import com.tanaguru.domain.entity.audit.CrawlFrontierUrl;
+import com.tanaguru.domain.entity.audit.DistributedCrawl;
+import com.tanaguru.helper.UrlCanonicalizer;
+import com.tanaguru.repository.CrawlFrontierUrlRepository;
+import com.tanaguru.repository.DistributedCrawlRepository;
+import com.tanaguru.service.PageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.transaction.Transactional;
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Frontier stored in the database : urls are deduplicated by a unique fingerprint, claimed with row locks skipped by
+ * the other runners, and documents are counted on the crawl row. An url claimed for longer than the claim timeout is
+ * claimed again, with the same document number.
+ */
+@Component
+@Transactional
+public class DistributedCrawlStoreImpl implements DistributedCrawlStore {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DistributedCrawlStoreImpl.class);
+
+    private final CrawlFrontierUrlRepository crawlFrontierUrlRepository;
+    private final DistributedCrawlRepository distributedCrawlRepository;
+    private final PageService pageService;
+    private final String node = ManagementFactory.getRuntimeMXBean().getName();
+
+    @Value("${auditrunner.crawler.distributed.claim-timeout:600}")
+    private long claimTimeout;
+
+    @Autowired
+    public DistributedCrawlStoreImpl(CrawlFrontierUrlRepository crawlFrontierUrlRepository,
+                                     DistributedCrawlRepository distributedCrawlRepository,
+                                     PageService pageService) {
+        this.crawlFrontierUrlRepository = crawlFrontierUrlRepository;
+        this.distributedCrawlRepository = distributedCrawlRepository;
+        this.pageService = pageService;
+    }
+
+    @Override
+    public void open(long auditId, int maxDocument) {
+        distributedCrawlRepository.insertIfAbsent(auditId, maxDocument, new Date());
+    }
+
+    @Override
+    public void add(long auditId, String url, int depth) {
+        crawlFrontierUrlRepository.insertIfAbsent(auditId, UrlCanonicalizer.fingerprint(url), url, depth);
+    }
+
+    @Override
+    public DistributedCrawlFrontier.ClaimedUrl claim(long auditId, long maxCrawlTime, int pagesPerDocument) {
+        Date now = new Date();
+        List<CrawlFrontierUrl> urls = crawlFrontierUrlRepository.findClaimedBeforeForUpdate(auditId, getStaleClaimDate(now));
+        if (!urls.isEmpty()) {
+            CrawlFrontierUrl staleUrl = urls.get(0);
+            int deleted = pageService.deletePageByAuditAndRankBetween(auditId,
+                    (staleUrl.getDocumentNumber() - 1) * pagesPerDocument + 1, staleUrl.getDocumentNumber() * pagesPerDocument);
+            LOGGER.warn("[Audit {}] Url {} claimed again after {} stopped loading it, {} pages deleted",
+                    auditId, staleUrl.getUrl(), staleUrl.getNode(), deleted);
+        } else {
+            urls = crawlFrontierUrlRepository.findQueuedForUpdate(auditId);
+            if (urls.isEmpty() ||
+                    distributedCrawlRepository.incrementDocumentCount(auditId, new Date(now.getTime() - maxCrawlTime)) == 0) {
+                return null;
+            }
+            urls.get(0).setDocumentNumber(distributedCrawlRepository.findByAuditId(auditId)
+                    .map(DistributedCrawl::getDocumentCount)
+                    .orElseThrow(IllegalStateException::new));
+        }
+
+        CrawlFrontierUrl url = urls.get(0);
+        url.setStatus(ECrawlUrlStatus.CLAIMED);
+        url.setNode(node);
+        url.setDateClaim(now);
+        url = crawlFrontierUrlRepository.save(url);
+        return new DistributedCrawlFrontier.ClaimedUrl(url.getId(), url.getUrl(), url.getDepth(), url.getDocumentNumber());
+    }
+
+    @Override
+    public void done(DistributedCrawlFrontier.ClaimedUrl claimedUrl) {
+        crawlFrontierUrlRepository.setDone(claimedUrl.getId());
+    }
+
+    @Override
+    public boolean isOver(long auditId, long maxCrawlTime) {
+        Optional<DistributedCrawl> distributedCrawl = distributedCrawlRepository.findByAuditId(auditId);
+        if (!distributedCrawl.isPresent() || distributedCrawl.get().isFinished()) {
+            return true;
+        }
+
+        // Stale claims are claimed again by the runners waiting for the end of the crawl
+        if (crawlFrontierUrlRepository.countByAuditIdAndStatus(auditId, ECrawlUrlStatus.CLAIMED) > 0) {
+            return false;
+        }
+        return distributedCrawl.get().getDocumentCount() >= distributedCrawl.get().getMaxDocument() ||
+                new Date().getTime() - distributedCrawl.get().getDateStart().getTime() >= maxCrawlTime ||
+                crawlFrontierUrlRepository.countByAuditIdAndStatus(auditId, ECrawlUrlStatus.QUEUED) == 0;
+    }
+
+    @Override
+    public boolean finish(long auditId) {
+        if (distributedCrawlRepository.finish(auditId) == 0) {
+            return false;
+        }
+        crawlFrontierUrlRepository.deleteAllByAuditId(auditId);
+        distributedCrawlRepository.deleteByAuditId(auditId);
+        return true;
+    }
+
+    @Override
+    public int release(long auditId) {
+        return crawlFrontierUrlRepository.setClaimDateByNode(auditId, node, new Date(0));
+    }
+
+    @Override
+    public Collection<Long> findOpenAuditIds() {
+        return crawlFrontierUrlRepository.findAllAuditIdByStatus(ECrawlUrlStatus.QUEUED);
+    }
+
+    private Date getStaleClaimDate(Date now) {
+        return new Date(now.getTime() - claimTimeout * 1000);
+    }
+}
@@ -0,0 +1,61 @@
+package com.tanaguru.crawler;
+
+import com.tanaguru.politeness.HostRateLimiter;
+import edu.uci.ics.crawler4j.crawler.CrawlConfig;
+import edu.uci.ics.crawler4j.crawler.exceptions.PageBiggerThanMaxSizeException;
+import edu.uci.ics.crawler4j.fetcher.PageFetchResult;
+import edu.uci.ics.crawler4j.fetcher.PageFetcher;
+import edu.uci.ics.crawler4j.url.WebURL;
+import org.apache.http.Header;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Page fetcher waiting for the {@link HostRateLimiter} before each request and reporting the response to it,
+ * instead of the single politeness delay of crawler4j shared by all hosts
+ */
+public class PolitePageFetcher extends PageFetcher {
+    private static final String RETRY_AFTER_HEADER = "Retry-After";
+
+    private final HostRateLimiter hostRateLimiter;
+
+    public PolitePageFetcher(CrawlConfig config, HostRateLimiter hostRateLimiter) {
+        super(config);
+        this.hostRateLimiter = hostRateLimiter;
+    }
+
+    @Override
+    public PageFetchResult fetchPage(WebURL webUrl) throws InterruptedException, IOException, PageBiggerThanMaxSizeException {
+        HostRateLimiter.Permit permit = hostRateLimiter.acquire(webUrl.getURL());
+        int statusCode = HostRateLimiter.UNKNOWN_STATUS;
+        long retryAfter = 0;
+        try {
+            PageFetchResult result = super.fetchPage(webUrl);
+            statusCode = result.getStatusCode();
+            retryAfter = getRetryAfter(result);
+            return result;
+        } finally {
+            permit.release(statusCode, retryAfter);
+        }
+    }
+
+    /**
+     * @param result A fetch result
+     * @return The delay in milliseconds asked by the Retry-After header, 0 if none or given as a date
+     */
+    private static long getRetryAfter(PageFetchResult result) {
+        if (result.getResponseHeaders() != null) {
+            for (Header header : result.getResponseHeaders()) {
+                if (RETRY_AFTER_HEADER.equalsIgnoreCase(header.getName())) {
+                    try {
+                        return TimeUnit.SECONDS.toMillis(Long.parseLong(header.getValue().trim()));
+                    } catch (NumberFormatException e) {
+                        return 0;
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+}
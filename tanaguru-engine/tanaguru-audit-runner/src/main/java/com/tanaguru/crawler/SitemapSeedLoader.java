@@ -0,0 +1,322 @@
+package com.tanaguru.crawler;
+
+import com.tanaguru.helper.UrlFilter;
+import edu.uci.ics.crawler4j.fetcher.PageFetchResult;
+import edu.uci.ics.crawler4j.fetcher.PageFetcher;
+import edu.uci.ics.crawler4j.url.URLCanonicalizer;
+import edu.uci.ics.crawler4j.url.WebURL;
+import org.apache.http.HttpStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackInputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Expand the seeds of a site audit with the pages listed in the sitemaps of their hosts.
+ * Sitemaps are read from the Sitemap directives of the robots.txt, or /sitemap.xml, and streamed,
+ * gzipped or not. Sitemap indexes are followed. Only the best ranked pages by priority then last
+ * modification are kept, within the seeds domains, the inclusion and exclusion rules and the max document.
+ */
+public class SitemapSeedLoader {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SitemapSeedLoader.class);
+
+    private static final String ROBOTS_PATH = "/robots.txt";
+    private static final String DEFAULT_SITEMAP_PATH = "/sitemap.xml";
+    private static final String SITEMAP_DIRECTIVE = "sitemap:";
+    private static final String SITEMAP_ELEMENT = "sitemap";
+    private static final String URL_ELEMENT = "url";
+    private static final String LOC_ELEMENT = "loc";
+    private static final String PRIORITY_ELEMENT = "priority";
+    private static final String LASTMOD_ELEMENT = "lastmod";
+    private static final int MAX_SITEMAPS = 50;
+    private static final int MAX_REDIRECTS = 3;
+    private static final double DEFAULT_PRIORITY = 0.5;
+    private static final int LASTMOD_DATE_LENGTH = 10;
+
+    private static final Comparator<SitemapEntry> RANK_ORDER =
+            Comparator.comparingDouble(SitemapEntry::getPriority)
+                    .thenComparing(SitemapEntry::getLastModification);
+
+    private final PageFetcher pageFetcher;
+    private final UrlFilter inclusionFilter;
+    private final UrlFilter exclusionFilter;
+    private final int maxDocument;
+    private final XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+
+    private final Set<String> domains = new HashSet<>();
+    private final Set<String> hosts = new LinkedHashSet<>();
+    private final Deque<String> sitemaps = new ArrayDeque<>();
+    private final Set<String> readSitemaps = new HashSet<>();
+    private final PriorityQueue<SitemapEntry> bestEntries = new PriorityQueue<>(RANK_ORDER);
+    private final Set<String> bestUrls = new HashSet<>();
+
+    public SitemapSeedLoader(PageFetcher pageFetcher,
+                             Collection<String> seeds,
+                             String inclusionRegex,
+                             String exclusionRegex,
+                             int maxDocument) {
+        this.pageFetcher = pageFetcher;
+        this.inclusionFilter = UrlFilter.compile(inclusionRegex);
+        this.exclusionFilter = UrlFilter.compile(exclusionRegex);
+        this.maxDocument = maxDocument;
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        for (String seed : seeds) {
+            try {
+                URL url = new URL(seed);
+                WebURL webURL = new WebURL();
+                webURL.setURL(seed);
+                domains.add(webURL.getDomain());
+                hosts.add(url.getProtocol() + "://" + url.getAuthority());
+            } catch (IOException e) {
+                LOGGER.warn("Invalid seed {}", seed);
+            }
+        }
+    }
+
+    /**
+     * Read the sitemaps of the seeds hosts
+     *
+     * @return The pages to add to the seeds, best ranked first
+     */
+    public List<String> load() {
+        for (String host : hosts) {
+            Collection<String> robotsSitemaps = new ArrayList<>();
+            fetch(host + ROBOTS_PATH, (content) -> robotsSitemaps.addAll(readRobotsSitemaps(content)));
+            if (robotsSitemaps.isEmpty()) {
+                sitemaps.add(host + DEFAULT_SITEMAP_PATH);
+            } else {
+                sitemaps.addAll(robotsSitemaps);
+            }
+        }
+
+        while (!sitemaps.isEmpty() && readSitemaps.size() < MAX_SITEMAPS) {
+            String sitemap = sitemaps.poll();
+            if (readSitemaps.add(sitemap)) {
+                LOGGER.debug("Read sitemap {}", sitemap);
+                fetch(sitemap, this::readSitemap);
+            }
+        }
+
+        List<String> result = getResult();
+        LOGGER.info("{} pages added to the seeds from {} sitemaps", result.size(), readSitemaps.size());
+        return result;
+    }
+
+    /**
+     * @return The best ranked pages read so far, best first
+     */
+    protected List<String> getResult() {
+        List<SitemapEntry> entries = new ArrayList<>(bestEntries);
+        entries.sort(RANK_ORDER.reversed());
+        List<String> result = new ArrayList<>();
+        for (SitemapEntry entry : entries) {
+            result.add(entry.getUrl());
+        }
+        return result;
+    }
+
+    protected static Collection<String> readRobotsSitemaps(InputStream content) throws IOException {
+        Collection<String> result = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(content, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (line.toLowerCase(Locale.ROOT).startsWith(SITEMAP_DIRECTIVE)) {
+                result.add(line.substring(SITEMAP_DIRECTIVE.length()).trim());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Stream a sitemap or a sitemap index
+     *
+     * @param content The sitemap content, gzipped or not
+     */
+    protected void readSitemap(InputStream content) throws IOException, XMLStreamException {
+        XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(ungzip(content));
+        try {
+            String parent = null;
+            String element = null;
+            String loc = null;
+            String priority = null;
+            String lastmod = null;
+            StringBuilder text = new StringBuilder();
+
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        element = reader.getLocalName();
+                        if (SITEMAP_ELEMENT.equals(element) || URL_ELEMENT.equals(element)) {
+                            parent = element;
+                            loc = null;
+                            priority = null;
+                            lastmod = null;
+                        }
+                        text.setLength(0);
+                        break;
+
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.CDATA:
+                        text.append(reader.getText());
+                        break;
+
+                    case XMLStreamConstants.END_ELEMENT:
+                        String name = reader.getLocalName();
+                        if (LOC_ELEMENT.equals(name)) {
+                            loc = text.toString().trim();
+                        } else if (PRIORITY_ELEMENT.equals(name)) {
+                            priority = text.toString().trim();
+                        } else if (LASTMOD_ELEMENT.equals(name)) {
+                            lastmod = text.toString().trim();
+                        } else if (name.equals(parent) && loc != null && !loc.isEmpty()) {
+                            if (SITEMAP_ELEMENT.equals(parent)) {
+                                sitemaps.add(loc);
+                            } else {
+                                addEntry(loc, priority, lastmod);
+                            }
+                            parent = null;
+                        }
+                        text.setLength(0);
+                        break;
+
+                    default:
+                        break;
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    private void addEntry(String loc, String priority, String lastmod) {
+        String url = URLCanonicalizer.getCanonicalURL(loc);
+        if (maxDocument <= 0 || url == null || bestUrls.contains(url) || !isAllowed(url)) {
+            return;
+        }
+
+        double entryPriority = DEFAULT_PRIORITY;
+        if (priority != null) {
+            try {
+                entryPriority = Double.parseDouble(priority);
+            } catch (NumberFormatException e) {
+                LOGGER.trace("Invalid sitemap priority {} for {}", priority, url);
+            }
+        }
+
+        // W3C datetimes are compared on their date, the time zones being lost in a lexical comparison
+        String lastModification = lastmod == null ? "" :
+                lastmod.substring(0, Math.min(LASTMOD_DATE_LENGTH, lastmod.length()));
+
+        SitemapEntry entry = new SitemapEntry(url, entryPriority, lastModification);
+        if (bestEntries.size() < maxDocument) {
+            bestEntries.add(entry);
+            bestUrls.add(url);
+        } else if (RANK_ORDER.compare(entry, bestEntries.peek()) > 0) {
+            bestUrls.remove(bestEntries.poll().getUrl());
+            bestEntries.add(entry);
+            bestUrls.add(url);
+        }
+    }
+
+    private boolean isAllowed(String url) {
+        WebURL webURL = new WebURL();
+        webURL.setURL(url);
+        return domains.contains(webURL.getDomain()) &&
+                (exclusionFilter.isEmpty() || !exclusionFilter.matches(url)) &&
+                (inclusionFilter.isEmpty() || inclusionFilter.matches(url));
+    }
+
+    private void fetch(String url, ContentReader contentReader) {
+        String location = url;
+        for (int redirect = 0; redirect <= MAX_REDIRECTS && location != null; redirect++) {
+            WebURL webURL = new WebURL();
+            webURL.setURL(location);
+            location = null;
+
+            PageFetchResult fetchResult = null;
+            try {
+                fetchResult = pageFetcher.fetchPage(webURL);
+                int statusCode = fetchResult.getStatusCode();
+                if (statusCode == HttpStatus.SC_OK && fetchResult.getEntity() != null) {
+                    try (InputStream content = fetchResult.getEntity().getContent()) {
+                        contentReader.read(content);
+                    }
+                } else if (statusCode >= HttpStatus.SC_MULTIPLE_CHOICES && statusCode < HttpStatus.SC_BAD_REQUEST) {
+                    location = fetchResult.getMovedToUrl();
+                } else {
+                    LOGGER.debug("Unable to fetch {}, status {}", url, statusCode);
+                }
+            } catch (Exception e) {
+                LOGGER.warn("Unable to read {} : {}", url, e.getMessage());
+            } finally {
+                if (fetchResult != null) {
+                    fetchResult.discardContentIfNotConsumed();
+                }
+            }
+        }
+    }
+
+    private static InputStream ungzip(InputStream content) throws IOException {
+        PushbackInputStream pushbackInputStream = new PushbackInputStream(content, 2);
+        byte[] magic = new byte[2];
+        int read = pushbackInputStream.readNBytes(magic, 0, 2);
+        pushbackInputStream.unread(magic, 0, read);
+        return read == 2 && (magic[0] & 0xff) == 0x1f && (magic[1] & 0xff) == 0x8b ?
+                new GZIPInputStream(pushbackInputStream) :
+                pushbackInputStream;
+    }
+
+    @FunctionalInterface
+    private interface ContentReader {
+        void read(InputStream content) throws IOException, XMLStreamException;
+    }
+
+    private static class SitemapEntry {
+        private final String url;
+        private final double priority;
+        private final String lastModification;
+
+        SitemapEntry(String url, double priority, String lastModification) {
+            this.url = url;
+            this.priority = priority;
+            this.lastModification = lastModification;
+        }
+
+        String getUrl() {
+            return url;
+        }
+
+        double getPriority() {
+            return priority;
+        }
+
+        String getLastModification() {
+            return lastModification;
+        }
+    }
+}
@@ -28,7 +28,10 @@ public class TanaguruCrawler extends WebCrawler {
         return controller.getResult().size() < controller.getMaxDocument() &&
                 new Date().getTime() - startedTime < controller.getMaxCrawlTime() &&
                 super.shouldVisit(referringPage, url) &&
+                // A link from another seed domain must not mark the url visited
                 checkSameDomain(referringPage, url) &&
+                // Url filters are only checked once by canonical url
+                controller.markVisited(url.getURL()) &&
                 checkExclusionRegex(controller, url.getURL()) &&
                 checkInclusionRegex(controller, url.getURL());
     }
@@ -38,13 +41,13 @@ public class TanaguruCrawler extends WebCrawler {
     }
 
     protected boolean checkExclusionRegex(TanaguruCrawlerController controller, String url){
-        return controller.getExclusionRegex().pattern().isEmpty()
-                || !controller.getExclusionRegex().matcher(url).matches();
+        return controller.getExclusionFilter().isEmpty()
+                || !controller.getExclusionFilter().matches(url);
     }
 
     protected boolean checkInclusionRegex(TanaguruCrawlerController controller, String url){
-        return controller.getInclusionRegex().pattern().isEmpty()
-                || controller.getInclusionRegex().matcher(url).matches();
+        return controller.getInclusionFilter().isEmpty()
+                || controller.getInclusionFilter().matches(url);
     }
 
     @Override
@@ -1,16 +1,16 @@
 package com.tanaguru.crawler;
 
 import com.tanaguru.crawler.listener.TanaguruCrawlerListener;
+import com.tanaguru.helper.UrlFilter;
 
 import java.util.List;
-import java.util.regex.Pattern;
 
 public interface TanaguruCrawlerController {
     List<String> getResult();
 
-    Pattern getExclusionRegex();
+    UrlFilter getExclusionFilter();
 
-    Pattern getInclusionRegex();
+    UrlFilter getInclusionFilter();
 
     int getMaxDocument();
 
@@ -20,6 +20,13 @@ public interface TanaguruCrawlerController {
 
     void addNewPage(String url);
 
+    /**
+     * Mark an url as visited, urls are compared on their canonical form
+     * @param url The url
+     * @return False if the url has already been visited
+     */
+    boolean markVisited(String url);
+
     void addListener(TanaguruCrawlerListener tanaguruCrawlerListener);
 
     void removeListener(TanaguruCrawlerListener tanaguruCrawlerListener);
@@ -29,4 +36,9 @@ public interface TanaguruCrawlerController {
     void waitUntilFinish();
 
     void shutdown();
+
+    /**
+     * Release the crawl storage and delete its folder, once the crawl is over or if it is never run
+     */
+    void close();
 }
@@ -1,54 +1,107 @@
 package com.tanaguru.crawler;
 
 import com.tanaguru.crawler.listener.TanaguruCrawlerListener;
+import com.tanaguru.helper.UrlCanonicalizer;
+import com.tanaguru.helper.UrlFilter;
 import edu.uci.ics.crawler4j.crawler.CrawlConfig;
 import edu.uci.ics.crawler4j.crawler.CrawlController;
+import com.sleepycat.je.Environment;
+import com.sleepycat.je.EnvironmentConfig;
 import edu.uci.ics.crawler4j.fetcher.PageFetcher;
+import edu.uci.ics.crawler4j.frontier.DocIDServer;
+import edu.uci.ics.crawler4j.frontier.Frontier;
 import edu.uci.ics.crawler4j.robotstxt.RobotstxtServer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.regex.Pattern;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class TanaguruCrawlerControllerImpl extends CrawlController implements TanaguruCrawlerController {
     private static final Logger LOGGER = LoggerFactory.getLogger(TanaguruCrawlerControllerImpl.class);
     private static final int NUMBER_OF_CRAWLER = 1;
+    private static final String MEMORY_FOLDER = "memory";
+    private static final long ENV_CLOSE_TIMEOUT = 10000;
+    private static final long ENV_CLOSE_POLL = 50;
     private List<String> result = new ArrayList<>();
+    private final Set<Long> visitedUrlFingerprints = ConcurrentHashMap.newKeySet();
 
     private long maxCrawlTime;
     private int maxDocument;
-    private Pattern exclusionRegex;
-    private Pattern inclusionRegex;
+    private UrlFilter exclusionFilter;
+    private UrlFilter inclusionFilter;
 
     private Collection<TanaguruCrawlerListener> listeners = new ArrayList<>();
 
+    private final String storageFolder;
+    private Environment memoryEnv;
+    private boolean started = false;
+    private boolean closed = false;
+
+    /**
+     * @param crawlerConfig  The crawl configuration, its storage folder is deleted on close
+     * @param maxCrawlTime   The max duration of the crawling in seconds
+     * @param maxDocument    The maximum page to crawl
+     * @param exclusionRegex Url to exclude of the crawling
+     * @param inclusionRegex Url to include in the crawling
+     * @param inMemory       True to keep the frontier and the seen urls in memory instead of the storage folder
+     */
     public TanaguruCrawlerControllerImpl(CrawlConfig crawlerConfig,
                                          PageFetcher pageFetcher,
                                          RobotstxtServer robotstxtServer,
                                          long maxCrawlTime,
                                          int maxDocument,
                                          String exclusionRegex,
-                                         String inclusionRegex) throws Exception {
+                                         String inclusionRegex,
+                                         boolean inMemory) throws Exception {
         super(crawlerConfig, pageFetcher, robotstxtServer);
+        this.storageFolder = crawlerConfig.getCrawlStorageFolder();
         this.maxDocument = maxDocument;
         this.maxCrawlTime = maxCrawlTime * 1000;
-        this.exclusionRegex = Pattern.compile(exclusionRegex);
-        this.inclusionRegex = Pattern.compile(inclusionRegex);
+        this.exclusionFilter = UrlFilter.compile(exclusionRegex);
+        this.inclusionFilter = UrlFilter.compile(inclusionRegex);
+        if (inMemory) {
+            useMemoryFrontier(crawlerConfig);
+        }
+    }
+
+    /**
+     * Replace the frontier and the doc id server opened by crawler4j in its storage folder
+     * by ones kept in a memory only environment, never written to disk
+     */
+    private void useMemoryFrontier(CrawlConfig crawlerConfig) {
+        frontier.close();
+        docIdServer.close();
+
+        File memoryFolder = new File(storageFolder, MEMORY_FOLDER);
+        if (!memoryFolder.mkdir()) {
+            throw new IllegalStateException("Unable to create crawler memory folder " + memoryFolder);
+        }
+        EnvironmentConfig envConfig = new EnvironmentConfig();
+        envConfig.setAllowCreate(true);
+        envConfig.setTransactional(false);
+        envConfig.setLocking(false);
+        envConfig.setConfigParam(EnvironmentConfig.LOG_MEM_ONLY, "true");
+        memoryEnv = new Environment(memoryFolder, envConfig);
+        setDocIdServer(new DocIDServer(memoryEnv, crawlerConfig));
+        setFrontier(new Frontier(memoryEnv, crawlerConfig));
     }
 
     public List<String> getResult() {
         return result;
     }
 
-    public Pattern getExclusionRegex() {
-        return exclusionRegex;
+    public UrlFilter getExclusionFilter() {
+        return exclusionFilter;
     }
 
-    public Pattern getInclusionRegex() {
-        return inclusionRegex;
+    public UrlFilter getInclusionFilter() {
+        return inclusionFilter;
     }
 
     public long getMaxCrawlTime() {
@@ -56,9 +109,47 @@ public class TanaguruCrawlerControllerImpl extends CrawlController implements Ta
     }
 
     public void run() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            started = true;
+        }
         super.start(TanaguruCrawler.class, NUMBER_OF_CRAWLER);
     }
 
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        // crawler4j closes its storage at the end of a started crawl, just after notifying its end
+        if (!started) {
+            frontier.close();
+            docIdServer.close();
+            pageFetcher.shutDown();
+            env.close();
+        }
+        waitEnvClosed();
+        if (memoryEnv != null) {
+            memoryEnv.close();
+        }
+        CrawlStorageManager.delete(Paths.get(storageFolder));
+    }
+
+    private void waitEnvClosed() {
+        long deadline = System.currentTimeMillis() + ENV_CLOSE_TIMEOUT;
+        while (env.isValid() && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(ENV_CLOSE_POLL);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
     public synchronized void addNewPage(String url) {
         result.add(url);
         for (TanaguruCrawlerListener tanaguruCrawlerListener : listeners) {
@@ -69,6 +160,16 @@ public class TanaguruCrawlerControllerImpl extends CrawlController implements Ta
         }
     }
 
+    public boolean markVisited(String url) {
+        return visitedUrlFingerprints.add(UrlCanonicalizer.fingerprint(url));
+    }
+
+    @Override
+    public void addSeed(String pageUrl) {
+        markVisited(pageUrl);
+        super.addSeed(pageUrl);
+    }
+
     public void addListener(TanaguruCrawlerListener tanaguruCrawlerListener) {
         this.listeners.add(tanaguruCrawlerListener);
     }
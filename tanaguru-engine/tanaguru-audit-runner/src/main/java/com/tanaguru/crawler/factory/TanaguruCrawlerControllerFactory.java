@@ -1,5 +1,8 @@
 package com.tanaguru.crawler.factory;
 
+import com.tanaguru.crawler.BrowserCrawlFrontier;
+import com.tanaguru.crawler.DistributedCrawlFrontier;
+import com.tanaguru.crawler.DistributedCrawlStore;
 import com.tanaguru.crawler.TanaguruCrawlerController;
 
 import java.util.Collection;
@@ -16,6 +19,7 @@ public interface TanaguruCrawlerControllerFactory {
      * @param exclusionRegex Url to exclude of the crawling
      * @param maxPage        The maximum page to crawl
      * @param maxDepth       The maximum depth to crawl to
+     * @param useSitemaps    Add the pages of the seeds sitemaps to the seeds
      * @return TanaguruCrawlerController
      */
     TanaguruCrawlerController create(Collection<String> seeds,
@@ -24,7 +28,58 @@ public interface TanaguruCrawlerControllerFactory {
                                                String exclusionRegex,
                                                int maxPage,
                                                int maxDepth,
+                                               boolean useSitemaps,
                                                String basicAuthUrl,
                                                String basicAuthPassword,
                                                String basicAuthLogin) throws Exception;
+
+    /**
+     * @param seeds          Starting points of the crawl
+     * @param maxDuration    The max duration of the crawling
+     * @param inclusionRegex Url to include in the crawling
+     * @param exclusionRegex Url to exclude of the crawling
+     * @param maxPage        The maximum page to crawl
+     * @param maxDepth       The maximum depth to crawl to
+     * @param useSitemaps    Add the pages of the seeds sitemaps to the seeds
+     * @return BrowserCrawlFrontier for a crawl driven by the audit runner browser
+     */
+    BrowserCrawlFrontier createBrowserCrawlFrontier(Collection<String> seeds,
+                                                    long maxDuration,
+                                                    String inclusionRegex,
+                                                    String exclusionRegex,
+                                                    int maxPage,
+                                                    int maxDepth,
+                                                    boolean useSitemaps,
+                                                    String basicAuthUrl,
+                                                    String basicAuthLogin,
+                                                    String basicAuthPassword) throws Exception;
+
+    /**
+     * @param distributedCrawlStore The store of the frontier shared by the runners
+     * @param auditId               The id of the audit
+     * @param pagesPerDocument      The number of pages audited for each url
+     * @param seeds                 Starting points of the crawl
+     * @param maxDuration           The max duration of the crawling
+     * @param inclusionRegex        Url to include in the crawling
+     * @param exclusionRegex        Url to exclude of the crawling
+     * @param maxPage               The maximum page to crawl, by all the runners
+     * @param maxDepth              The maximum depth to crawl to
+     * @param useSitemaps           Add the pages of the seeds sitemaps to the seeds
+     * @param worker                True for a runner joining the crawl, that only keeps the domains of the seeds
+     * @return DistributedCrawlFrontier for a crawl driven by the browsers of several audit runners
+     */
+    DistributedCrawlFrontier createDistributedCrawlFrontier(DistributedCrawlStore distributedCrawlStore,
+                                                            long auditId,
+                                                            int pagesPerDocument,
+                                                            Collection<String> seeds,
+                                                            long maxDuration,
+                                                            String inclusionRegex,
+                                                            String exclusionRegex,
+                                                            int maxPage,
+                                                            int maxDepth,
+                                                            boolean useSitemaps,
+                                                            boolean worker,
+                                                            String basicAuthUrl,
+                                                            String basicAuthLogin,
+                                                            String basicAuthPassword) throws Exception;
 }
@@ -1,7 +1,14 @@
 package com.tanaguru.crawler.factory;
 
+import com.tanaguru.crawler.BrowserCrawlFrontier;
+import com.tanaguru.crawler.CrawlStorageManager;
+import com.tanaguru.crawler.DistributedCrawlFrontier;
+import com.tanaguru.crawler.DistributedCrawlStore;
+import com.tanaguru.crawler.PolitePageFetcher;
+import com.tanaguru.crawler.SitemapSeedLoader;
 import com.tanaguru.crawler.TanaguruCrawlerController;
 import com.tanaguru.crawler.TanaguruCrawlerControllerImpl;
+import com.tanaguru.politeness.HostRateLimiter;
 import edu.uci.ics.crawler4j.crawler.CrawlConfig;
 import edu.uci.ics.crawler4j.crawler.authentication.BasicAuthInfo;
 import edu.uci.ics.crawler4j.fetcher.PageFetcher;
@@ -12,18 +19,16 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Date;
 
 @Component
 public class TanaguruCrawlerControllerFactoryImpl implements TanaguruCrawlerControllerFactory {
     private static final Logger LOGGER = LoggerFactory.getLogger(TanaguruCrawlerControllerFactoryImpl.class);
     private static final String USER_AGENT_NAME = "tanaguru";
-
-    @Value("${auditrunner.crawler.outputDir}")
-    private String outputDir;
+    private static final int SITEMAP_MAX_DOWNLOAD_SIZE = 50 * 1024 * 1024;
 
     @Value("${auditrunner.proxy.host}")
     private String proxyHost;
@@ -43,11 +48,15 @@ public class TanaguruCrawlerControllerFactoryImpl implements TanaguruCrawlerCont
     @Value("${auditrunner.crawler.follow-robots}")
     private boolean followRobots;
 
-    private void prepareEnv() {
-        File outDir = new File(outputDir);
-        if (!outDir.exists() && !outDir.mkdirs()) {
-            throw new IllegalStateException("Unable to create crawler output directory");
-        }
+    @Value("${auditrunner.crawler.memory-threshold:500}")
+    private int memoryThreshold;
+
+    private final HostRateLimiter hostRateLimiter;
+    private final CrawlStorageManager crawlStorageManager;
+
+    public TanaguruCrawlerControllerFactoryImpl(HostRateLimiter hostRateLimiter, CrawlStorageManager crawlStorageManager) {
+        this.hostRateLimiter = hostRateLimiter;
+        this.crawlStorageManager = crawlStorageManager;
     }
 
     public TanaguruCrawlerController create(
@@ -57,43 +66,192 @@ public class TanaguruCrawlerControllerFactoryImpl implements TanaguruCrawlerCont
             String exclusionRegex,
             int maxPage,
             int maxDepth,
+            boolean useSitemaps,
             String basicAuthUrl,
             String basicAuthPassword,
             String basicAuthLogin) throws Exception {
 
         LOGGER.debug("Create crawler controller");
-        this.prepareEnv();
-        CrawlConfig crawlerConfig = getCrawlerConfig(maxDepth, basicAuthUrl, basicAuthLogin, basicAuthPassword, seeds);
-        PageFetcher pageFetcher = new PageFetcher(crawlerConfig);
-        RobotstxtConfig robotstxtConfig = new RobotstxtConfig();
-        robotstxtConfig.setUserAgentName(USER_AGENT_NAME);
-        robotstxtConfig.setEnabled(followRobots);
-        RobotstxtServer robotstxtServer = new RobotstxtServer(robotstxtConfig, pageFetcher);
-        TanaguruCrawlerController crawlerController = new TanaguruCrawlerControllerImpl(
-                crawlerConfig,
+        Path storageFolder = crawlStorageManager.createCrawlFolder();
+        TanaguruCrawlerController crawlerController;
+        try {
+            CrawlConfig crawlerConfig = getCrawlerConfig(storageFolder, maxDepth, basicAuthUrl, basicAuthLogin, basicAuthPassword, seeds);
+            PageFetcher pageFetcher = new PolitePageFetcher(crawlerConfig, hostRateLimiter);
+            RobotstxtConfig robotstxtConfig = new RobotstxtConfig();
+            robotstxtConfig.setUserAgentName(USER_AGENT_NAME);
+            robotstxtConfig.setEnabled(followRobots);
+            RobotstxtServer robotstxtServer = new RobotstxtServer(robotstxtConfig, pageFetcher);
+            crawlerController = new TanaguruCrawlerControllerImpl(
+                    crawlerConfig,
+                    pageFetcher,
+                    robotstxtServer,
+                    maxDuration,
+                    maxPage,
+                    exclusionRegex,
+                    inclusionRegex,
+                    maxPage > 0 && maxPage <= memoryThreshold
+            );
+        } catch (Exception e) {
+            CrawlStorageManager.delete(storageFolder);
+            throw e;
+        }
+
+        try {
+            Collection<String> allSeeds = useSitemaps ?
+                    addSitemapSeeds(seeds, inclusionRegex, exclusionRegex, maxPage, maxDepth, basicAuthUrl, basicAuthLogin, basicAuthPassword) :
+                    seeds;
+            for (String seed : allSeeds) {
+                crawlerController.addSeed(seed);
+            }
+        } catch (Exception e) {
+            crawlerController.close();
+            throw e;
+        }
+
+        return crawlerController;
+    }
+
+    public BrowserCrawlFrontier createBrowserCrawlFrontier(
+            Collection<String> seeds,
+            long maxDuration,
+            String inclusionRegex,
+            String exclusionRegex,
+            int maxPage,
+            int maxDepth,
+            boolean useSitemaps,
+            String basicAuthUrl,
+            String basicAuthLogin,
+            String basicAuthPassword) throws Exception {
+
+        LOGGER.debug("Create browser crawl frontier");
+        PageFetcher pageFetcher = createRobotsPageFetcher(maxDepth, basicAuthUrl, basicAuthLogin, basicAuthPassword, seeds);
+        BrowserCrawlFrontier browserCrawlFrontier = new BrowserCrawlFrontier(
+                maxDuration,
+                maxPage,
+                maxDepth,
+                exclusionRegex,
+                inclusionRegex,
                 pageFetcher,
-                robotstxtServer,
+                createRobotstxtServer(pageFetcher)
+        );
+        addSeeds(browserCrawlFrontier, seeds, inclusionRegex, exclusionRegex, maxPage, maxDepth, useSitemaps, basicAuthUrl, basicAuthLogin, basicAuthPassword);
+        return browserCrawlFrontier;
+    }
+
+    public DistributedCrawlFrontier createDistributedCrawlFrontier(
+            DistributedCrawlStore distributedCrawlStore,
+            long auditId,
+            int pagesPerDocument,
+            Collection<String> seeds,
+            long maxDuration,
+            String inclusionRegex,
+            String exclusionRegex,
+            int maxPage,
+            int maxDepth,
+            boolean useSitemaps,
+            boolean worker,
+            String basicAuthUrl,
+            String basicAuthLogin,
+            String basicAuthPassword) throws Exception {
+
+        LOGGER.debug("Create distributed crawl frontier");
+        PageFetcher pageFetcher = createRobotsPageFetcher(maxDepth, basicAuthUrl, basicAuthLogin, basicAuthPassword, seeds);
+        DistributedCrawlFrontier distributedCrawlFrontier = new DistributedCrawlFrontier(
+                distributedCrawlStore,
+                auditId,
+                pagesPerDocument,
                 maxDuration,
                 maxPage,
+                maxDepth,
                 exclusionRegex,
-                inclusionRegex
+                inclusionRegex,
+                pageFetcher,
+                createRobotstxtServer(pageFetcher)
         );
+        if (worker) {
+            seeds.forEach(distributedCrawlFrontier::addSeedDomain);
+        } else {
+            distributedCrawlFrontier.open();
+            addSeeds(distributedCrawlFrontier, seeds, inclusionRegex, exclusionRegex, maxPage, maxDepth, useSitemaps, basicAuthUrl, basicAuthLogin, basicAuthPassword);
+        }
+        return distributedCrawlFrontier;
+    }
 
-        for (String seed : seeds) {
-            crawlerController.addSeed(seed);
+    /**
+     * @return The fetcher of the robots.txt files, null if they are ignored
+     */
+    private PageFetcher createRobotsPageFetcher(int maxDepth, String basicAuthUrl, String basicAuthLogin, String basicAuthPassword,
+                                                Collection<String> seeds) throws Exception {
+        if (!followRobots) {
+            return null;
         }
+        CrawlConfig crawlerConfig = getCrawlerConfig(crawlStorageManager.getProcessFolder(), maxDepth, basicAuthUrl, basicAuthLogin, basicAuthPassword, seeds);
+        return new PolitePageFetcher(crawlerConfig, hostRateLimiter);
+    }
 
-        return crawlerController;
+    private static RobotstxtServer createRobotstxtServer(PageFetcher pageFetcher) {
+        if (pageFetcher == null) {
+            return null;
+        }
+        RobotstxtConfig robotstxtConfig = new RobotstxtConfig();
+        robotstxtConfig.setUserAgentName(USER_AGENT_NAME);
+        return new RobotstxtServer(robotstxtConfig, pageFetcher);
     }
 
-    private CrawlConfig getCrawlerConfig(int maxDepth, String basicAuthUrl, String basicAuthLogin, String basicAuthPassword, Collection<String> seeds) throws Exception {
+    private void addSeeds(BrowserCrawlFrontier browserCrawlFrontier,
+                          Collection<String> seeds,
+                          String inclusionRegex,
+                          String exclusionRegex,
+                          int maxPage,
+                          int maxDepth,
+                          boolean useSitemaps,
+                          String basicAuthUrl,
+                          String basicAuthLogin,
+                          String basicAuthPassword) throws Exception {
+        Collection<String> allSeeds = useSitemaps ?
+                addSitemapSeeds(seeds, inclusionRegex, exclusionRegex, maxPage, maxDepth, basicAuthUrl, basicAuthLogin, basicAuthPassword) :
+                seeds;
+        for (String seed : allSeeds) {
+            browserCrawlFrontier.addSeed(seed);
+        }
+    }
+
+    private Collection<String> addSitemapSeeds(
+            Collection<String> seeds,
+            String inclusionRegex,
+            String exclusionRegex,
+            int maxPage,
+            int maxDepth,
+            String basicAuthUrl,
+            String basicAuthLogin,
+            String basicAuthPassword) throws Exception {
+
+        CrawlConfig sitemapConfig = getCrawlerConfig(crawlStorageManager.getProcessFolder(), maxDepth, basicAuthUrl, basicAuthLogin, basicAuthPassword, seeds);
+        sitemapConfig.setMaxDownloadSize(SITEMAP_MAX_DOWNLOAD_SIZE);
+        PageFetcher sitemapFetcher = new PolitePageFetcher(sitemapConfig, hostRateLimiter);
+        Collection<String> result = new ArrayList<>(seeds);
+        try {
+            result.addAll(new SitemapSeedLoader(sitemapFetcher, seeds, inclusionRegex, exclusionRegex, maxPage).load());
+        } finally {
+            sitemapFetcher.shutDown();
+        }
+        return result;
+    }
+
+    /**
+     * @param storageFolder The folder of the crawl storage, only written by a crawler controller
+     */
+    private CrawlConfig getCrawlerConfig(Path storageFolder, int maxDepth, String basicAuthUrl, String basicAuthLogin, String basicAuthPassword, Collection<String> seeds) throws Exception {
         CrawlConfig crawlerConfig = new CrawlConfig();
-        String auditDir = String.valueOf(new Date().getTime());
-        crawlerConfig.setCrawlStorageFolder(outputDir + auditDir);
+        crawlerConfig.setCrawlStorageFolder(storageFolder.toString());
         crawlerConfig.setMaxDepthOfCrawling(maxDepth);
         crawlerConfig.setFollowRedirects(true);
         crawlerConfig.setIncludeHttpsPages(true);
         crawlerConfig.setUserAgentString(USER_AGENT_NAME);
+        if (hostRateLimiter.isEnabled()) {
+            // Requests are paced by host by the rate limiter
+            crawlerConfig.setPolitenessDelay(0);
+        }
 
         if (!basicAuthLogin.isEmpty()) {
             crawlerConfig.addAuthInfo(
@@ -0,0 +1,45 @@
+package com.tanaguru.driver.blocking;
+
+import org.openqa.selenium.JavascriptExecutor;
+
+import java.util.List;
+
+/**
+ * Bytes transferred and load time of the current page, as reported by the navigation and resource timings
+ * of the browser. Cross origin resources without a Timing-Allow-Origin header count for 0 bytes.
+ */
+public class PageWeight {
+    private static final String SCRIPT =
+            "var navigation = performance.getEntriesByType('navigation')[0];\n" +
+            "var bytes = navigation ? navigation.transferSize : 0;\n" +
+            "performance.getEntriesByType('resource').forEach(function (entry) { bytes += entry.transferSize || 0; });\n" +
+            "return [Math.round(bytes), navigation ? Math.round(navigation.loadEventEnd - navigation.startTime) : 0];";
+
+    private final long bytes;
+    private final long loadTime;
+
+    public PageWeight(long bytes, long loadTime) {
+        this.bytes = bytes;
+        this.loadTime = loadTime;
+    }
+
+    /**
+     * @param driver The driver of the loaded page
+     * @return The weight of the page
+     */
+    public static PageWeight read(JavascriptExecutor driver) {
+        List<?> values = (List<?>) driver.executeScript(SCRIPT);
+        return new PageWeight(((Number) values.get(0)).longValue(), ((Number) values.get(1)).longValue());
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return The load time in milliseconds
+     */
+    public long getLoadTime() {
+        return loadTime;
+    }
+}
@@ -0,0 +1,156 @@
+package com.tanaguru.driver.blocking;
+
+import com.google.gson.Gson;
+import com.tanaguru.domain.constant.EBlockedResourceType;
+import com.tanaguru.driver.ResourceBlocking;
+import com.tanaguru.driver.executor.DevToolsPageExecutor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Enforcement of a {@link ResourceBlocking} by the browsers : blocked url patterns sent through the DevTools protocol
+ * for Chrome, preferences and a proxy auto-config script sending the blocked domains nowhere for Firefox.
+ */
+public class ResourceBlocker {
+    // Closed port of the local host, the requests sent through it fail at once
+    private static final String BLOCKING_PROXY = "PROXY 127.0.0.1:9";
+    private static final String DIRECT = "DIRECT";
+    private static final String PAC_URL_PREFIX = "data:application/x-ns-proxy-autoconfig;base64,";
+    private static final String BEACON_SCRIPT = "navigator.sendBeacon = function () { return true; };";
+    private static final String PROXY_EXCLUSIONS_SEPARATOR = "[,;]";
+
+    private static final Map<EBlockedResourceType, List<String>> EXTENSIONS = new EnumMap<>(EBlockedResourceType.class);
+
+    static {
+        EXTENSIONS.put(EBlockedResourceType.MEDIA, Arrays.asList(
+                "mp4", "m4v", "webm", "ogv", "mov", "m3u8", "mpd", "ts", "mp3", "m4a", "ogg", "oga", "wav", "flac", "aac"));
+        EXTENSIONS.put(EBlockedResourceType.FONT, Arrays.asList(
+                "woff", "woff2", "ttf", "otf", "eot"));
+        EXTENSIONS.put(EBlockedResourceType.IMAGE, Arrays.asList(
+                "png", "jpg", "jpeg", "gif", "webp", "avif", "svg", "bmp", "ico"));
+    }
+
+    private final ResourceBlocking resourceBlocking;
+    private final Gson gson = new Gson();
+
+    public ResourceBlocker(ResourceBlocking resourceBlocking) {
+        this.resourceBlocking = resourceBlocking;
+    }
+
+    public boolean isEmpty() {
+        return resourceBlocking.isEmpty();
+    }
+
+    /**
+     * @return The url patterns of the blocked domains and of the files of the blocked types
+     */
+    public List<String> getChromeUrlPatterns() {
+        List<String> result = new ArrayList<>();
+        for (String domain : resourceBlocking.getDomains()) {
+            result.add("*://" + domain + "/*");
+            result.add("*://" + domain + ":*");
+            result.add("*://*." + domain + "/*");
+            result.add("*://*." + domain + ":*");
+        }
+        for (Map.Entry<EBlockedResourceType, List<String>> extensions : EXTENSIONS.entrySet()) {
+            if (resourceBlocking.isBlocked(extensions.getKey())) {
+                for (String extension : extensions.getValue()) {
+                    result.add("*." + extension);
+                    result.add("*." + extension + "?*");
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Block the resources for all the next page loads of a Chrome session
+     */
+    public void blockChromeResources(DevToolsPageExecutor devTools) {
+        if (!getChromeUrlPatterns().isEmpty()) {
+            setChromeUrlsBlocked(devTools, true);
+        }
+        if (resourceBlocking.isBlocked(EBlockedResourceType.BEACON)) {
+            devTools.execute("Page.addScriptToEvaluateOnNewDocument", Collections.singletonMap("source", BEACON_SCRIPT));
+        }
+    }
+
+    /**
+     * @param blocked False to load the blocked urls again, beacons stay blocked
+     */
+    public void setChromeUrlsBlocked(DevToolsPageExecutor devTools, boolean blocked) {
+        devTools.execute("Network.enable", Collections.emptyMap());
+        devTools.execute("Network.setBlockedURLs", Collections.singletonMap("urls",
+                blocked ? getChromeUrlPatterns() : Collections.emptyList()));
+    }
+
+    /**
+     * @param proxy           The proxy of the other requests as host:port, empty for none
+     * @param proxyExclusions The hosts not using the proxy
+     * @return The preferences of the Firefox profile
+     */
+    public Map<String, Object> getFirefoxPreferences(String proxy, String proxyExclusions) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (resourceBlocking.isBlocked(EBlockedResourceType.IMAGE)) {
+            result.put("permissions.default.image", 2);
+        }
+        if (resourceBlocking.isBlocked(EBlockedResourceType.FONT)) {
+            result.put("gfx.downloadable_fonts.enabled", false);
+            result.put("browser.display.use_document_fonts", 0);
+        }
+        if (resourceBlocking.isBlocked(EBlockedResourceType.MEDIA)) {
+            result.put("media.autoplay.default", 5);
+            result.put("media.preload.default", 0);
+            result.put("media.preload.auto", 0);
+        }
+        if (resourceBlocking.isBlocked(EBlockedResourceType.BEACON)) {
+            result.put("beacon.enabled", false);
+        }
+        if (!resourceBlocking.getDomains().isEmpty()) {
+            result.put("network.proxy.type", 2);
+            result.put("network.proxy.autoconfig_url", PAC_URL_PREFIX + Base64.getEncoder().encodeToString(
+                    getProxyAutoConfig(proxy, proxyExclusions).getBytes(StandardCharsets.UTF_8)));
+        }
+        return result;
+    }
+
+    /**
+     * @return The proxy auto-config script of the blocked domains, keeping the proxy for the other hosts
+     */
+    String getProxyAutoConfig(String proxy, String proxyExclusions) {
+        StringBuilder result = new StringBuilder("function FindProxyForURL(url, host) {\n");
+        result.append("    host = host.toLowerCase();\n");
+        result.append("    var blocked = ").append(gson.toJson(resourceBlocking.getDomains())).append(";\n");
+        result.append("    for (var i = 0; i < blocked.length; i++) {\n");
+        result.append("        if (host === blocked[i] || dnsDomainIs(host, '.' + blocked[i])) {\n");
+        result.append("            return '").append(BLOCKING_PROXY).append("';\n");
+        result.append("        }\n");
+        result.append("    }\n");
+        if (proxy.isEmpty()) {
+            result.append("    return '").append(DIRECT).append("';\n");
+        } else {
+            List<String> exclusions = new ArrayList<>();
+            for (String exclusion : proxyExclusions.split(PROXY_EXCLUSIONS_SEPARATOR)) {
+                if (!exclusion.trim().isEmpty()) {
+                    exclusions.add(exclusion.trim());
+                }
+            }
+            result.append("    var excluded = ").append(gson.toJson(exclusions)).append(";\n");
+            result.append("    for (var j = 0; j < excluded.length; j++) {\n");
+            result.append("        if (shExpMatch(host, excluded[j])) {\n");
+            result.append("            return '").append(DIRECT).append("';\n");
+            result.append("        }\n");
+            result.append("    }\n");
+            result.append("    return ").append(gson.toJson("PROXY " + proxy)).append(";\n");
+        }
+        return result.append("}\n").toString();
+    }
+}
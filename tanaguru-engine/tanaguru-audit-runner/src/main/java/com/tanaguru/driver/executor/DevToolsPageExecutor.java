@@ -0,0 +1,188 @@
+package com.tanaguru.driver.executor;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.reflect.TypeToken;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.SessionId;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Page commands sent to Chrome through the DevTools protocol endpoint of chromedriver, one round trip each :
+ * the core script is evaluated without the WebDriver script wrapper, resolutions are emulated viewports
+ * instead of window resizes and screenshots are encoded in jpeg by the browser.
+ * The scripts are terminated by the browser after the script timeout, the connections are closed with the driver.
+ */
+public class DevToolsPageExecutor implements PageExecutor, Closeable {
+    private static final String EXECUTE_CDP_PATH = "/session/%s/goog/cdp/execute";
+    private static final String SOURCE_EXPRESSION = "new XMLSerializer().serializeToString(document)";
+    private static final int SCREENSHOT_QUALITY = 100;
+    private static final double SCREENSHOT_SCALE = 0.5;
+    // Lets the browser report the script timeout before the response is given up
+    private static final Duration READ_TIMEOUT_MARGIN = Duration.ofSeconds(10);
+    private static final Type MAP_TYPE = new TypeToken<Map<String, Object>>() {
+    }.getType();
+
+    private final HttpClient.Factory httpClientFactory;
+    private final HttpClient httpClient;
+    private final String path;
+    private final Duration scriptTimeout;
+    private final Gson gson = new Gson();
+
+    private Dimension resolution;
+
+    /**
+     * @param driverAddress The address of chromedriver
+     * @param sessionId     The session of the driver
+     * @param scriptTimeout The time after which the evaluated scripts are terminated
+     */
+    public DevToolsPageExecutor(URL driverAddress, SessionId sessionId, Duration scriptTimeout) {
+        // Its own factory, so the connections of this executor are closed without closing those of the driver
+        this.httpClientFactory = HttpClient.Factory.createDefault();
+        this.httpClient = httpClientFactory.builder()
+                .readTimeout(scriptTimeout.plus(READ_TIMEOUT_MARGIN))
+                .createClient(driverAddress);
+        this.path = String.format(EXECUTE_CDP_PATH, sessionId);
+        this.scriptTimeout = scriptTimeout;
+    }
+
+    /**
+     * @param driver A driver
+     * @return True if the driver is a local chromedriver session
+     */
+    public static boolean supports(RemoteWebDriver driver) {
+        return driver instanceof ChromeDriver && driver.getCommandExecutor() instanceof HttpCommandExecutor;
+    }
+
+    /**
+     * @param driver        A driver supported by this executor
+     * @param scriptTimeout The time after which the evaluated scripts are terminated
+     */
+    public static DevToolsPageExecutor create(RemoteWebDriver driver, Duration scriptTimeout) {
+        return new DevToolsPageExecutor(
+                ((HttpCommandExecutor) driver.getCommandExecutor()).getAddressOfRemoteServer(),
+                driver.getSessionId(),
+                scriptTimeout);
+    }
+
+    @Override
+    public void setResolution(Dimension resolution) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("width", resolution.width);
+        params.put("height", resolution.height);
+        params.put("deviceScaleFactor", 1);
+        params.put("mobile", false);
+        execute("Emulation.setDeviceMetricsOverride", params);
+        this.resolution = resolution;
+    }
+
+    @Override
+    public String executeCoreScript(String coreScript) {
+        return evaluate("(function() {\n" + coreScript + "\n})()");
+    }
+
+    @Override
+    public String getPageSource() {
+        return evaluate(SOURCE_EXPRESSION);
+    }
+
+    @Override
+    public String takeScreenshot() {
+        Map<String, Object> params = new HashMap<>();
+        params.put("format", "jpeg");
+        params.put("quality", SCREENSHOT_QUALITY);
+        if (resolution != null) {
+            Map<String, Object> clip = new HashMap<>();
+            clip.put("x", 0);
+            clip.put("y", 0);
+            clip.put("width", resolution.width);
+            clip.put("height", resolution.height);
+            clip.put("scale", SCREENSHOT_SCALE);
+            params.put("clip", clip);
+        }
+        return (String) execute("Page.captureScreenshot", params).get("data");
+    }
+
+    /**
+     * @param expression A javascript expression
+     * @return Its value, returned as a string
+     */
+    private String evaluate(String expression) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("expression", expression);
+        params.put("returnByValue", true);
+        params.put("timeout", scriptTimeout.toMillis());
+        Map<String, Object> result = execute("Runtime.evaluate", params);
+
+        Object exceptionDetails = result.get("exceptionDetails");
+        if (exceptionDetails instanceof Map) {
+            Object exception = ((Map<?, ?>) exceptionDetails).get("exception");
+            Object description = exception instanceof Map ? ((Map<?, ?>) exception).get("description") : null;
+            throw new JavascriptException(String.valueOf(description != null ?
+                    description :
+                    ((Map<?, ?>) exceptionDetails).get("text")));
+        }
+
+        Object remoteObject = result.get("result");
+        Object value = remoteObject instanceof Map ? ((Map<?, ?>) remoteObject).get("value") : null;
+        return value == null ? null : value.toString();
+    }
+
+    /**
+     * @param command A DevTools protocol command
+     * @param params  Its parameters
+     * @return The result of the command
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> execute(String command, Map<String, Object> params) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("cmd", command);
+        body.put("params", params);
+        HttpRequest request = new HttpRequest(HttpMethod.POST, path);
+        request.setHeader("Content-Type", "application/json; charset=utf-8");
+        request.setContent(gson.toJson(body).getBytes(StandardCharsets.UTF_8));
+
+        HttpResponse response;
+        Map<String, Object> content;
+        try {
+            response = httpClient.execute(request);
+            content = gson.fromJson(response.getContentString(), MAP_TYPE);
+        } catch (IOException | JsonSyntaxException e) {
+            throw new WebDriverException("DevTools command " + command + " failed", e);
+        }
+
+        Object value = content == null ? null : content.get("value");
+        Object status = content == null ? null : content.get("status");
+        if (response.getStatus() != 200 || (status instanceof Number && ((Number) status).intValue() != 0)) {
+            Object message = value instanceof Map ? ((Map<?, ?>) value).get("message") : value;
+            throw new WebDriverException("DevTools command " + command + " failed : " + message);
+        }
+        return value instanceof Map ? (Map<String, Object>) value : Collections.emptyMap();
+    }
+
+    /**
+     * Close the connections to chromedriver, the session itself is quit with its driver
+     */
+    @Override
+    public void close() {
+        httpClientFactory.cleanupIdleClients();
+    }
+}
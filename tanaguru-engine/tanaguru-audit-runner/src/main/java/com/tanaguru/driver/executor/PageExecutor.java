@@ -0,0 +1,31 @@
+package com.tanaguru.driver.executor;
+
+import org.openqa.selenium.Dimension;
+
+import java.io.IOException;
+
+/**
+ * Commands sent by an audit runner to the page loaded by one of its drivers
+ */
+public interface PageExecutor {
+    /**
+     * @param resolution The size of the viewport the page is laid out in
+     */
+    void setResolution(Dimension resolution);
+
+    /**
+     * @param coreScript The core script, ending with a return statement
+     * @return The result returned by the script
+     */
+    String executeCoreScript(String coreScript);
+
+    /**
+     * @return The serialized DOM of the page
+     */
+    String getPageSource();
+
+    /**
+     * @return The screenshot of the viewport scaled by half, as a base64 jpeg
+     */
+    String takeScreenshot() throws IOException;
+}
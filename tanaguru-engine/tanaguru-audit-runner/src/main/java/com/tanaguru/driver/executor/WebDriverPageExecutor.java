@@ -0,0 +1,51 @@
+package com.tanaguru.driver.executor;
+
+import com.tanaguru.helper.ImageHelper;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Base64;
+
+/**
+ * Page commands sent as classic WebDriver commands, for every browser
+ */
+public class WebDriverPageExecutor implements PageExecutor {
+    private static final float SCREENSHOT_QUALITY_COMPRESSION = 1f;
+
+    private final RemoteWebDriver driver;
+
+    public WebDriverPageExecutor(RemoteWebDriver driver) {
+        this.driver = driver;
+    }
+
+    @Override
+    public void setResolution(Dimension resolution) {
+        driver.manage().window().setSize(resolution);
+    }
+
+    @Override
+    public String executeCoreScript(String coreScript) {
+        return (String) driver.executeScript(coreScript);
+    }
+
+    @Override
+    public String getPageSource() {
+        return driver.getPageSource();
+    }
+
+    @Override
+    public String takeScreenshot() throws IOException {
+        BufferedImage screenshotImage = null;
+        BufferedImage screenImage = ImageHelper.getFromByteArray(driver.getScreenshotAs(OutputType.BYTES));
+        BufferedImage jpgImage = new BufferedImage(screenImage.getWidth(), screenImage.getHeight(), BufferedImage.TYPE_INT_RGB);
+        jpgImage.createGraphics().drawImage(screenImage, 0, 0, Color.BLACK, null);
+        jpgImage = ImageHelper.scaleImage(jpgImage, 0.5f);
+        screenshotImage = ImageHelper.appendImages(screenshotImage, jpgImage);
+        return Base64.getEncoder().encodeToString(
+                ImageHelper.compressImage(screenshotImage, SCREENSHOT_QUALITY_COMPRESSION, "jpg"));
+    }
+}
@@ -0,0 +1,48 @@
+package com.tanaguru.driver.factory;
+
+import org.openqa.selenium.firefox.FirefoxProfile;
+
+import java.io.IOException;
+
+/**
+ * Firefox profile encoded once and shared by the drivers. FirefoxOptions lays the profile out on disk and zips it
+ * for each new driver, this profile returns the encoding of its template instead.
+ * <p>
+ * Its preferences can not be changed, setPreference throws an UnsupportedOperationException : they are set on the
+ * template before it is encoded. FirefoxOptions copies the preferences given to addPreference into its profile when
+ * it is serialized, so the options using this profile must not be given preferences.
+ */
+class EncodedFirefoxProfile extends FirefoxProfile {
+    private final String json;
+
+    /**
+     * @param template The complete profile
+     * @throws IOException if the profile can not be laid out or zipped
+     */
+    EncodedFirefoxProfile(FirefoxProfile template) throws IOException {
+        this.json = template.toJson();
+    }
+
+    /**
+     * @throws UnsupportedOperationException always, the preferences are those of the template
+     */
+    @Override
+    public void setPreference(String key, String value) {
+        throw new UnsupportedOperationException("Encoded profile");
+    }
+
+    @Override
+    public void setPreference(String key, boolean value) {
+        throw new UnsupportedOperationException("Encoded profile");
+    }
+
+    @Override
+    public void setPreference(String key, int value) {
+        throw new UnsupportedOperationException("Encoded profile");
+    }
+
+    @Override
+    public String toJson() {
+        return json;
+    }
+}
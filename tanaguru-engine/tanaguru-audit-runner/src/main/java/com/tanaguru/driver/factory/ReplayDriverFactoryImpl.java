@@ -0,0 +1,93 @@
+package com.tanaguru.driver.factory;
+
+import com.tanaguru.domain.constant.BrowserName;
+import com.tanaguru.driver.ResourceBlocking;
+import com.tanaguru.driver.replay.ReplayFixture;
+import com.tanaguru.driver.replay.ReplayWebDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Driver factory replaying recorded pages instead of starting a browser,
+ * to measure the throughput of the result pipeline.
+ * Each subdirectory of the fixtures directory is a recorded page, see {@link ReplayFixture}.
+ */
+@Component
+@ConditionalOnProperty(
+        name = "auditrunner.driver",
+        havingValue = "replay"
+)
+public class ReplayDriverFactoryImpl implements TanaguruDriverFactory {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplayDriverFactoryImpl.class);
+    private static final int DEFAULT_SCREENSHOT_WIDTH = 1280;
+    private static final int DEFAULT_SCREENSHOT_HEIGHT = 1080;
+
+    @Value("${auditrunner.replay.fixtures}")
+    private String fixturesPath;
+
+    @Value("${auditrunner.replay.page-load-latency:0}")
+    private long pageLoadLatency;
+
+    @Value("${auditrunner.replay.script-latency:0}")
+    private long scriptLatency;
+
+    private List<ReplayFixture> fixtures;
+    private byte[] defaultScreenshot;
+
+    @PostConstruct
+    public void loadFixtures() throws IOException {
+        Path directory = Paths.get(fixturesPath);
+        if (!Files.isDirectory(directory)) {
+            throw new IllegalStateException("Replay fixtures directory not found : " + fixturesPath);
+        }
+
+        List<Path> fixtureDirectories;
+        try (Stream<Path> children = Files.list(directory)) {
+            fixtureDirectories = children.filter(Files::isDirectory).sorted().collect(Collectors.toList());
+        }
+
+        List<ReplayFixture> loaded = new ArrayList<>();
+        for (Path fixtureDirectory : fixtureDirectories) {
+            ReplayFixture fixture = ReplayFixture.read(fixtureDirectory);
+            if (fixture == null) {
+                LOGGER.warn("Ignoring replay fixture {} without {}", fixtureDirectory, ReplayFixture.RESULT_FILE);
+            } else {
+                loaded.add(fixture);
+            }
+        }
+        if (loaded.isEmpty()) {
+            throw new IllegalStateException("No replay fixture found in " + fixturesPath);
+        }
+        fixtures = Collections.unmodifiableList(loaded);
+
+        BufferedImage blank = new BufferedImage(DEFAULT_SCREENSHOT_WIDTH, DEFAULT_SCREENSHOT_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(blank, "png", outputStream);
+        defaultScreenshot = outputStream.toByteArray();
+
+        LOGGER.warn("Audits are replayed from {} recorded pages, no browser will be started", fixtures.size());
+    }
+
+    @Override
+    public RemoteWebDriver create(BrowserName webdriverBrowser, ResourceBlocking resourceBlocking) {
+        return new ReplayWebDriver(fixtures, defaultScreenshot, pageLoadLatency, scriptLatency);
+    }
+}
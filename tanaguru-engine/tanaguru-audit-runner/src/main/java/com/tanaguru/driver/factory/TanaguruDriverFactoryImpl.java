@@ -1,6 +1,9 @@
 package com.tanaguru.driver.factory;
 
 import com.tanaguru.domain.constant.BrowserName;
+import com.tanaguru.driver.ResourceBlocking;
+import com.tanaguru.driver.blocking.ResourceBlocker;
+import com.tanaguru.driver.executor.DevToolsPageExecutor;
 import org.openqa.selenium.Proxy;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
@@ -13,16 +16,28 @@ import org.openqa.selenium.remote.RemoteWebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 @Component
 @Primary
+@ConditionalOnProperty(
+        name = "auditrunner.driver",
+        havingValue = "browser",
+        matchIfMissing = true
+)
 public class TanaguruDriverFactoryImpl implements TanaguruDriverFactory {
     private final Logger LOGGER = LoggerFactory.getLogger(TanaguruDriverFactoryImpl.class);
 
@@ -68,16 +83,50 @@ public class TanaguruDriverFactoryImpl implements TanaguruDriverFactory {
     @Value("${auditrunner.proxy.exclusionUrls}")
     private String proxyExclusionUrls;
 
+    @Value("${auditrunner.driver.warm.max:0}")
+    private int maxWarmDrivers;
+
+    @Value("${auditrunner.driver.warm.idle-timeout:300}")
+    private long warmDriverIdleTimeout;
+
+    /**
+     * Firefox profiles laid out and encoded once, by preferences of the resource blocking
+     */
+    private final Map<Map<String, Object>, FirefoxProfile> firefoxProfiles = new ConcurrentHashMap<>();
+
+    private WarmDriverPool warmDriverPool;
+
     @PostConstruct
     public void setEnv() {
         System.setProperty(FirefoxDriver.SystemProperty.DRIVER_USE_MARIONETTE, "true");
         System.setProperty(FirefoxDriver.SystemProperty.BROWSER_LOGFILE, "/dev/null");
         System.setProperty("webdriver.gecko.driver", geckodriver);
         System.setProperty("webdriver.chrome.driver",chromedriver);
+        if (maxWarmDrivers > 0) {
+            warmDriverPool = new WarmDriverPool(this::createDriver, maxWarmDrivers, warmDriverIdleTimeout);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (warmDriverPool != null) {
+            warmDriverPool.shutdown();
+        }
     }
 
     @Override
-    public RemoteWebDriver create(BrowserName browserName) {
+    public RemoteWebDriver create(BrowserName browserName, ResourceBlocking resourceBlocking) {
+        if (warmDriverPool != null) {
+            RemoteWebDriver warmDriver = warmDriverPool.take(browserName, resourceBlocking);
+            if (warmDriver != null) {
+                return warmDriver;
+            }
+        }
+        return createDriver(browserName, resourceBlocking);
+    }
+
+    private RemoteWebDriver createDriver(BrowserName browserName, ResourceBlocking resourceBlocking) {
+        ResourceBlocker resourceBlocker = new ResourceBlocker(resourceBlocking);
         RemoteWebDriver remoteWebDriver = null;
         try{
             switch (browserName) {
@@ -86,11 +135,17 @@ public class TanaguruDriverFactoryImpl implements TanaguruDriverFactory {
                     setChromePreferences(chromeOptions);
                     remoteWebDriver = new ChromeDriver(chromeOptions);
                     remoteWebDriver.manage().deleteAllCookies();
+                    if (!resourceBlocker.isEmpty()) {
+                        try (DevToolsPageExecutor devTools = DevToolsPageExecutor.create(
+                                remoteWebDriver, Duration.ofSeconds(scriptTimeout))) {
+                            resourceBlocker.blockChromeResources(devTools);
+                        }
+                    }
                     break;
 
                 case FIREFOX:
                     FirefoxOptions firefoxOptions = new FirefoxOptions();
-                    FirefoxProfile firefoxProfile = createFirefoxProfile();
+                    FirefoxProfile firefoxProfile = getFirefoxProfile(resourceBlocker);
 
                     firefoxOptions.setBinary(firefoxBinaryPath);
                     firefoxOptions.setHeadless(true);
@@ -139,7 +194,22 @@ public class TanaguruDriverFactoryImpl implements TanaguruDriverFactory {
         setUpChromeProxy(options);
     }
     
-    private FirefoxProfile createFirefoxProfile() {
+    /**
+     * @return The profile of the preferences of a resource blocking, created and encoded on first use
+     */
+    private FirefoxProfile getFirefoxProfile(ResourceBlocker resourceBlocker) {
+        String proxy = !proxyPort.isEmpty() && !proxyHost.isEmpty() ? proxyHost + ":" + proxyPort : "";
+        Map<String, Object> blockingPreferences = resourceBlocker.getFirefoxPreferences(proxy, proxyExclusionUrls);
+        return firefoxProfiles.computeIfAbsent(blockingPreferences, preferences -> {
+            try {
+                return new EncodedFirefoxProfile(createFirefoxProfile(preferences));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to encode the firefox profile", e);
+            }
+        });
+    }
+
+    private FirefoxProfile createFirefoxProfile(Map<String, Object> blockingPreferences) {
         LOGGER.trace("Create firefox profile");
         File firefoxProfileFile = new File(firefoxProfilePath);
         FirefoxProfile firefoxProfile = firefoxProfileFile.exists() ?
@@ -166,6 +236,16 @@ public class TanaguruDriverFactoryImpl implements TanaguruDriverFactory {
 
         setUpFirefoxProxy(firefoxProfile);
 
+        blockingPreferences.forEach((key, value) -> {
+            if (value instanceof Boolean) {
+                firefoxProfile.setPreference(key, (Boolean) value);
+            } else if (value instanceof Integer) {
+                firefoxProfile.setPreference(key, (Integer) value);
+            } else {
+                firefoxProfile.setPreference(key, String.valueOf(value));
+            }
+        });
+
         return firefoxProfile;
     }
 
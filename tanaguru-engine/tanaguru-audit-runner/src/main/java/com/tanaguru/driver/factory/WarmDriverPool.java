@@ -0,0 +1,242 @@
+package com.tanaguru.driver.factory;
+
+import com.tanaguru.domain.constant.BrowserName;
+import com.tanaguru.driver.ResourceBlocking;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * Idle browsers started in the background, handed to the next audits asking for the same browser and resource
+ * blocking. The browsers kept warm for each of them follow the number of drivers asked for during the idle timeout,
+ * within the maximum number of idle browsers of the pool. Browsers idle for longer than the timeout are quit.
+ */
+public class WarmDriverPool {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WarmDriverPool.class);
+    private static final long REFILL_PERIOD_SECONDS = 10;
+
+    private final BiFunction<BrowserName, ResourceBlocking, RemoteWebDriver> driverCreator;
+    private final int maxIdle;
+    private final long idleTimeout;
+    private final ScheduledExecutorService executor;
+    private final Map<DriverKey, Deque<IdleDriver>> idleDrivers = new HashMap<>();
+    private final Map<DriverKey, Deque<Long>> demands = new HashMap<>();
+
+    private boolean shutdown;
+
+    /**
+     * @param driverCreator The creator of new drivers
+     * @param maxIdle       The maximum number of idle browsers
+     * @param idleTimeout   The time a browser stays idle and a demand is remembered, in seconds
+     */
+    public WarmDriverPool(BiFunction<BrowserName, ResourceBlocking, RemoteWebDriver> driverCreator, int maxIdle, long idleTimeout) {
+        this(driverCreator, maxIdle, idleTimeout, Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "warm-driver-pool");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        executor.scheduleWithFixedDelay(this::refill, REFILL_PERIOD_SECONDS, REFILL_PERIOD_SECONDS, TimeUnit.SECONDS);
+    }
+
+    WarmDriverPool(BiFunction<BrowserName, ResourceBlocking, RemoteWebDriver> driverCreator, int maxIdle, long idleTimeout,
+                   ScheduledExecutorService executor) {
+        this.driverCreator = driverCreator;
+        this.maxIdle = maxIdle;
+        this.idleTimeout = TimeUnit.SECONDS.toNanos(idleTimeout);
+        this.executor = executor;
+    }
+
+    /**
+     * Take an idle browser and start its replacement in the background
+     *
+     * @param browserName      The browser
+     * @param resourceBlocking The resources blocked by the browser
+     * @return An idle driver, null if none is ready
+     */
+    public RemoteWebDriver take(BrowserName browserName, ResourceBlocking resourceBlocking) {
+        DriverKey key = new DriverKey(browserName, resourceBlocking);
+        IdleDriver idleDriver;
+        synchronized (this) {
+            if (shutdown) {
+                return null;
+            }
+            demands.computeIfAbsent(key, k -> new ArrayDeque<>()).addLast(System.nanoTime());
+            Deque<IdleDriver> drivers = idleDrivers.get(key);
+            idleDriver = drivers == null ? null : drivers.pollFirst();
+        }
+        try {
+            executor.execute(this::refill);
+        } catch (RejectedExecutionException e) {
+            // The pool has been shut down since the demand was recorded, the driver is not replaced
+            LOGGER.debug("Warm {} driver not replaced, the pool is shut down", browserName);
+        }
+
+        if (idleDriver == null || isExpired(idleDriver, System.nanoTime())) {
+            if (idleDriver != null) {
+                quit(idleDriver.driver);
+            }
+            return null;
+        }
+        try {
+            idleDriver.driver.getWindowHandle();
+            LOGGER.debug("Warm {} driver taken", browserName);
+            return idleDriver.driver;
+        } catch (WebDriverException e) {
+            LOGGER.warn("Warm {} driver lost : {}", browserName, e.getMessage());
+            quit(idleDriver.driver);
+            return null;
+        }
+    }
+
+    /**
+     * Quit the expired browsers and start the browsers missing for the recent demand, one at a time
+     */
+    void refill() {
+        DriverKey key;
+        while ((key = nextMissingDriver()) != null) {
+            try {
+                RemoteWebDriver driver = driverCreator.apply(key.browserName, key.resourceBlocking);
+                boolean added;
+                synchronized (this) {
+                    added = !shutdown;
+                    if (added) {
+                        idleDrivers.computeIfAbsent(key, k -> new ArrayDeque<>()).addLast(new IdleDriver(driver, System.nanoTime()));
+                    }
+                }
+                if (!added) {
+                    quit(driver);
+                }
+                LOGGER.debug("Warm {} driver started", key.browserName);
+            } catch (RuntimeException e) {
+                LOGGER.error("Unable to start a warm {} driver : {}", key.browserName, e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return The key of a driver missing for the recent demand, null if none is missing
+     */
+    private DriverKey nextMissingDriver() {
+        long now = System.nanoTime();
+        Collection<RemoteWebDriver> expired = new ArrayList<>();
+        DriverKey result = null;
+        synchronized (this) {
+            if (shutdown) {
+                return null;
+            }
+            int idle = 0;
+            for (Iterator<Map.Entry<DriverKey, Deque<IdleDriver>>> it = idleDrivers.entrySet().iterator(); it.hasNext(); ) {
+                Deque<IdleDriver> drivers = it.next().getValue();
+                drivers.removeIf(idleDriver -> isExpired(idleDriver, now) && expired.add(idleDriver.driver));
+                if (drivers.isEmpty()) {
+                    it.remove();
+                }
+                idle += drivers.size();
+            }
+
+            for (Iterator<Map.Entry<DriverKey, Deque<Long>>> it = demands.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<DriverKey, Deque<Long>> demand = it.next();
+                Deque<Long> times = demand.getValue();
+                while (!times.isEmpty() && now - times.peekFirst() > idleTimeout) {
+                    times.pollFirst();
+                }
+                if (times.isEmpty()) {
+                    it.remove();
+                } else if (result == null && idle < maxIdle) {
+                    Deque<IdleDriver> drivers = idleDrivers.get(demand.getKey());
+                    if ((drivers == null ? 0 : drivers.size()) < Math.min(maxIdle, times.size())) {
+                        result = demand.getKey();
+                    }
+                }
+            }
+        }
+        expired.forEach(WarmDriverPool::quit);
+        return result;
+    }
+
+    /**
+     * Stop starting browsers and quit the idle ones
+     */
+    public void shutdown() {
+        Collection<IdleDriver> drivers = new ArrayList<>();
+        synchronized (this) {
+            shutdown = true;
+            idleDrivers.values().forEach(drivers::addAll);
+            idleDrivers.clear();
+        }
+        executor.shutdownNow();
+        drivers.forEach(idleDriver -> quit(idleDriver.driver));
+    }
+
+    /**
+     * @return The number of idle browsers
+     */
+    public synchronized int getIdleCount() {
+        return idleDrivers.values().stream().mapToInt(Deque::size).sum();
+    }
+
+    private boolean isExpired(IdleDriver idleDriver, long now) {
+        return now - idleDriver.since > idleTimeout;
+    }
+
+    private static void quit(RemoteWebDriver driver) {
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            LOGGER.debug("Error while quitting a warm driver : {}", e.getMessage());
+        }
+    }
+
+    private static class IdleDriver {
+        private final RemoteWebDriver driver;
+        private final long since;
+
+        IdleDriver(RemoteWebDriver driver, long since) {
+            this.driver = driver;
+            this.since = since;
+        }
+    }
+
+    private static class DriverKey {
+        private final BrowserName browserName;
+        private final ResourceBlocking resourceBlocking;
+
+        DriverKey(BrowserName browserName, ResourceBlocking resourceBlocking) {
+            this.browserName = browserName;
+            this.resourceBlocking = resourceBlocking;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            DriverKey driverKey = (DriverKey) o;
+            return browserName == driverKey.browserName && resourceBlocking.equals(driverKey.resourceBlocking);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(browserName, resourceBlocking);
+        }
+    }
+}
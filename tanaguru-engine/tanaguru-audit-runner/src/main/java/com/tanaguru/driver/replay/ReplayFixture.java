@@ -0,0 +1,84 @@
+package com.tanaguru.driver.replay;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Recorded page replayed by a {@link ReplayWebDriver}.
+ * A fixture is a directory containing :
+ * <ul>
+ *     <li>result.json : the output of the core script, required</li>
+ *     <li>source.html : the page source</li>
+ *     <li>screenshot.png : the page screenshot</li>
+ *     <li>title.txt : the page title</li>
+ * </ul>
+ */
+public class ReplayFixture {
+    public static final String RESULT_FILE = "result.json";
+    public static final String SOURCE_FILE = "source.html";
+    public static final String SCREENSHOT_FILE = "screenshot.png";
+    public static final String TITLE_FILE = "title.txt";
+
+    private final String name;
+    private final String result;
+    private final String source;
+    private final String title;
+    private final byte[] screenshot;
+
+    public ReplayFixture(String name, String result, String source, String title, byte[] screenshot) {
+        this.name = name;
+        this.result = result;
+        this.source = source;
+        this.title = title;
+        this.screenshot = screenshot;
+    }
+
+    /**
+     * Read a fixture directory
+     * @param directory The fixture directory
+     * @return The fixture, or null if the directory does not contain a result
+     * @throws IOException if a fixture file cannot be read
+     */
+    public static ReplayFixture read(Path directory) throws IOException {
+        Path resultPath = directory.resolve(RESULT_FILE);
+        if (!Files.isRegularFile(resultPath)) {
+            return null;
+        }
+
+        Path sourcePath = directory.resolve(SOURCE_FILE);
+        Path titlePath = directory.resolve(TITLE_FILE);
+        Path screenshotPath = directory.resolve(SCREENSHOT_FILE);
+        return new ReplayFixture(
+                directory.getFileName().toString(),
+                readString(resultPath),
+                Files.isRegularFile(sourcePath) ? readString(sourcePath) : "",
+                Files.isRegularFile(titlePath) ? readString(titlePath).trim() : null,
+                Files.isRegularFile(screenshotPath) ? Files.readAllBytes(screenshotPath) : null);
+    }
+
+    private static String readString(Path path) throws IOException {
+        return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public byte[] getScreenshot() {
+        return screenshot;
+    }
+}
@@ -0,0 +1,134 @@
+package com.tanaguru.driver.replay;
+
+import com.tanaguru.runner.factory.ScriptFactory;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.remote.CapabilityType;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.Response;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Browserless driver replaying recorded pages, used to load test the result pipeline.
+ * Each loaded url is bound to one of the fixtures, the core script returns its recorded result
+ * and every other script or browser command is ignored.
+ */
+public class ReplayWebDriver extends RemoteWebDriver {
+    private static final Capabilities CAPABILITIES = new ImmutableCapabilities(CapabilityType.BROWSER_NAME, "replay");
+    private static final String CHUNKED_RESULT_PREFIX = ScriptFactory.CHUNKED_RESULT_STATEMENT.substring(
+            0, ScriptFactory.CHUNKED_RESULT_STATEMENT.indexOf('%'));
+
+    private final List<ReplayFixture> fixtures;
+    private final byte[] defaultScreenshot;
+    private final long pageLoadLatency;
+    private final long scriptLatency;
+
+    private String currentUrl = "about:blank";
+    private ReplayFixture currentFixture;
+
+    /**
+     * @param fixtures          The recorded pages, must not be empty
+     * @param defaultScreenshot Png screenshot used when a fixture has none
+     * @param pageLoadLatency   Time in milliseconds spent to load a page
+     * @param scriptLatency     Time in milliseconds spent to execute the core script
+     */
+    public ReplayWebDriver(List<ReplayFixture> fixtures, byte[] defaultScreenshot, long pageLoadLatency, long scriptLatency) {
+        this.fixtures = fixtures;
+        this.defaultScreenshot = defaultScreenshot;
+        this.pageLoadLatency = pageLoadLatency;
+        this.scriptLatency = scriptLatency;
+        this.currentFixture = fixtures.get(0);
+    }
+
+    @Override
+    public void get(String url) {
+        pause(pageLoadLatency);
+        currentUrl = url;
+        currentFixture = fixtures.get(Math.floorMod(url.hashCode(), fixtures.size()));
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        return currentUrl;
+    }
+
+    @Override
+    public String getTitle() {
+        return currentFixture.getTitle() != null ? currentFixture.getTitle() : currentUrl;
+    }
+
+    @Override
+    public String getPageSource() {
+        return currentFixture.getSource();
+    }
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        if (isCoreScript(script.trim())) {
+            pause(scriptLatency);
+            return currentFixture.getResult();
+        }
+        return null;
+    }
+
+    /**
+     * @return True if the script ends with one of the result statements of the core script. The recorded result is
+     * returned whatever the statement, chunked results being returned at once.
+     */
+    private static boolean isCoreScript(String script) {
+        String lastStatement = script.substring(script.lastIndexOf('\n') + 1);
+        return lastStatement.equals(ScriptFactory.RESULT_STATEMENT)
+                || lastStatement.equals(ScriptFactory.COMPACT_RESULT_STATEMENT)
+                || lastStatement.startsWith(CHUNKED_RESULT_PREFIX);
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        return null;
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> outputType) {
+        return outputType.convertFromPngBytes(
+                currentFixture.getScreenshot() != null ? currentFixture.getScreenshot() : defaultScreenshot);
+    }
+
+    @Override
+    public Capabilities getCapabilities() {
+        return CAPABILITIES;
+    }
+
+    @Override
+    public void quit() {
+        // Nothing to release
+    }
+
+    /**
+     * Window, timeouts and cookies commands sent through manage() have no effect
+     */
+    @Override
+    protected Response execute(String driverCommand, Map<String, ?> parameters) {
+        Response response = new Response();
+        response.setStatus(0);
+        response.setState("success");
+        return response;
+    }
+
+    @Override
+    public String toString() {
+        return "ReplayWebDriver (" + fixtures.size() + " fixtures)";
+    }
+
+    private static void pause(long latency) {
+        if (latency > 0) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.tanaguru.politeness;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Politeness state of one host : a token bucket pacing the requests and a concurrency limit, both adapted
+ * AIMD-style. Healthy responses raise them additively, throttling statuses, errors and response times rising
+ * above their baseline halve them, at most once per response time window.
+ */
+class HostBucket {
+    private static final double RATE_INCREASE = 0.1;
+    private static final double MIN_RATE = 0.1;
+    private static final double DECREASE_FACTOR = 0.5;
+    private static final double FAST_LATENCY_WEIGHT = 0.3;
+    private static final double BASELINE_LATENCY_WEIGHT = 0.05;
+    private static final double LATENCY_BACKOFF_FACTOR = 2;
+    private static final int MIN_LATENCY_SAMPLES = 5;
+    private static final long MIN_DECREASE_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+    private static final long MAX_RETRY_AFTER = TimeUnit.MINUTES.toNanos(2);
+    private static final long MAX_WAIT_MILLIS = 1000;
+
+    private final double maxRate;
+    private final double minRate;
+    private final int maxConcurrency;
+
+    private double rate;
+    private double tokens = 1;
+    private double concurrencyLimit = 1;
+    private int inFlight = 0;
+    private long lastRefill;
+    private long lastDecrease;
+    private long lastUse;
+    private long blockedUntil;
+    private double fastLatency;
+    private double baselineLatency;
+    private int latencySamples = 0;
+
+    /**
+     * @param rate           The initial number of requests by second
+     * @param maxRate        The maximum number of requests by second
+     * @param maxConcurrency The maximum number of concurrent requests
+     * @param now            The creation time, from System.nanoTime()
+     */
+    HostBucket(double rate, double maxRate, int maxConcurrency, long now) {
+        this.maxRate = maxRate;
+        this.minRate = Math.min(MIN_RATE, maxRate);
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.rate = Math.max(minRate, Math.min(rate, maxRate));
+        this.lastRefill = now;
+        this.lastUse = now;
+        this.lastDecrease = now - MIN_DECREASE_INTERVAL;
+    }
+
+    /**
+     * Wait for a token and a concurrency slot
+     */
+    synchronized void acquire() throws InterruptedException {
+        long wait;
+        while ((wait = tryAcquire(System.nanoTime())) != 0) {
+            wait(wait < 0 ? MAX_WAIT_MILLIS : Math.max(1, Math.min(MAX_WAIT_MILLIS, TimeUnit.NANOSECONDS.toMillis(wait))));
+        }
+    }
+
+    /**
+     * @param now The current time, from System.nanoTime()
+     * @return 0 if a request can start now, the nanoseconds to wait for the next token,
+     * or -1 to wait for the end of a running request
+     */
+    synchronized long tryAcquire(long now) {
+        lastUse = now;
+        if (now < blockedUntil) {
+            return blockedUntil - now;
+        }
+        if (inFlight >= (int) concurrencyLimit) {
+            return -1;
+        }
+
+        double capacity = Math.max(1, rate);
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * rate / TimeUnit.SECONDS.toNanos(1));
+        lastRefill = now;
+        if (tokens < 1) {
+            return Math.max(1, (long) ((1 - tokens) / rate * TimeUnit.SECONDS.toNanos(1)));
+        }
+
+        tokens--;
+        inFlight++;
+        return 0;
+    }
+
+    /**
+     * End a request and adapt the limits to its response
+     *
+     * @param healthy      False if the host throttled, failed or timed out
+     * @param responseTime The response time in nanoseconds
+     * @param retryAfter   The delay asked by the host before the next request in nanoseconds, 0 if none
+     * @param now          The current time, from System.nanoTime()
+     */
+    synchronized void release(boolean healthy, long responseTime, long retryAfter, long now) {
+        inFlight = Math.max(0, inFlight - 1);
+        lastUse = now;
+
+        boolean slow = false;
+        if (healthy) {
+            if (latencySamples == 0) {
+                fastLatency = responseTime;
+                baselineLatency = responseTime;
+            } else {
+                fastLatency += FAST_LATENCY_WEIGHT * (responseTime - fastLatency);
+                baselineLatency += BASELINE_LATENCY_WEIGHT * (responseTime - baselineLatency);
+            }
+            latencySamples++;
+            slow = latencySamples >= MIN_LATENCY_SAMPLES && fastLatency > LATENCY_BACKOFF_FACTOR * baselineLatency;
+        }
+
+        if (!healthy || slow) {
+            decrease(now);
+        } else {
+            rate = Math.min(maxRate, rate + RATE_INCREASE);
+            concurrencyLimit = Math.min(maxConcurrency, concurrencyLimit + 1 / concurrencyLimit);
+        }
+
+        if (retryAfter > 0) {
+            blockedUntil = Math.max(blockedUntil, now + Math.min(retryAfter, MAX_RETRY_AFTER));
+        }
+        notifyAll();
+    }
+
+    private void decrease(long now) {
+        if (now - lastDecrease < Math.max(MIN_DECREASE_INTERVAL, (long) fastLatency)) {
+            return;
+        }
+        lastDecrease = now;
+        rate = Math.max(minRate, rate * DECREASE_FACTOR);
+        concurrencyLimit = Math.max(1, concurrencyLimit * DECREASE_FACTOR);
+        tokens = Math.min(tokens, 0);
+    }
+
+    /**
+     * @param now     The current time, from System.nanoTime()
+     * @param timeout The idle duration in nanoseconds
+     * @return True if no request used the bucket during the timeout
+     */
+    synchronized boolean isIdle(long now, long timeout) {
+        return inFlight == 0 && now - lastUse > timeout && now >= blockedUntil;
+    }
+
+    synchronized double getRate() {
+        return rate;
+    }
+
+    synchronized double getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    synchronized int getInFlight() {
+        return inFlight;
+    }
+}
@@ -0,0 +1,241 @@
+package com.tanaguru.politeness;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.HttpStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Politeness shared by the crawler fetches and the browser page loads of all the audits of the runner.
+ * Each host has its own token bucket and concurrency limit, adapted to its responses, within the limits
+ * configured for its domain. The current limits of each host are published on the meter registry.
+ */
+@Component
+public class HostRateLimiter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HostRateLimiter.class);
+
+    public static final String RATE_GAUGE = "tanaguru.politeness.rate";
+    public static final String CONCURRENCY_GAUGE = "tanaguru.politeness.concurrency";
+    public static final int UNKNOWN_STATUS = -1;
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final long IDLE_TIMEOUT = TimeUnit.MINUTES.toNanos(10);
+    private static final String DOMAINS_SEPARATOR = ";";
+    private static final String LIMITS_SEPARATOR = ":";
+
+    private static final Permit NO_PERMIT = new Permit(null, 0) {
+        @Override
+        public void release(int statusCode, long retryAfterMillis) {
+        }
+    };
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final double rate;
+    private final HostLimits defaultLimits;
+    private final Map<String, HostLimits> domainLimits = new HashMap<>();
+    private final Map<String, HostBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, Collection<Meter>> meters = new ConcurrentHashMap<>();
+
+    private volatile long lastEviction = System.nanoTime();
+
+    @Autowired
+    public HostRateLimiter(ObjectProvider<MeterRegistry> meterRegistry,
+                           @Value("${auditrunner.politeness.enabled:true}") boolean enabled,
+                           @Value("${auditrunner.politeness.rate:2}") double rate,
+                           @Value("${auditrunner.politeness.max-rate:10}") double maxRate,
+                           @Value("${auditrunner.politeness.max-concurrency:4}") int maxConcurrency,
+                           @Value("${auditrunner.politeness.domains:}") String domains) {
+        this(meterRegistry.getIfAvailable(SimpleMeterRegistry::new), enabled, rate, maxRate, maxConcurrency, domains);
+    }
+
+    /**
+     * @param meterRegistry  The registry of the rate gauges
+     * @param enabled        False to never wait
+     * @param rate           The initial number of requests by second to a host
+     * @param maxRate        The maximum number of requests by second to a host
+     * @param maxConcurrency The maximum number of concurrent requests to a host
+     * @param domains        The limits of some domains and their sub domains, as domain:maxRate:maxConcurrency;...
+     */
+    public HostRateLimiter(MeterRegistry meterRegistry,
+                           boolean enabled,
+                           double rate,
+                           double maxRate,
+                           int maxConcurrency,
+                           String domains) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.rate = rate;
+        this.defaultLimits = new HostLimits(maxRate, maxConcurrency);
+
+        for (String domain : domains.split(DOMAINS_SEPARATOR)) {
+            String[] limits = domain.trim().split(LIMITS_SEPARATOR);
+            if (limits.length == 3) {
+                try {
+                    domainLimits.put(limits[0].toLowerCase(Locale.ROOT),
+                            new HostLimits(Double.parseDouble(limits[1]), Integer.parseInt(limits[2])));
+                } catch (NumberFormatException e) {
+                    LOGGER.warn("Invalid politeness limits {}", domain);
+                }
+            } else if (!domain.trim().isEmpty()) {
+                LOGGER.warn("Invalid politeness limits {}", domain);
+            }
+        }
+    }
+
+    /**
+     * Wait until a request to the host of the url is allowed
+     *
+     * @param url The requested url
+     * @return The permit to release with the response of the host
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public Permit acquire(String url) throws InterruptedException {
+        String host = getHost(url);
+        if (!enabled || host == null) {
+            return NO_PERMIT;
+        }
+
+        evictIdleHosts();
+        HostBucket bucket = buckets.computeIfAbsent(host, this::createBucket);
+        bucket.acquire();
+        return new Permit(bucket, System.nanoTime());
+    }
+
+    /**
+     * @return False if the requests are never delayed
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param url A url
+     * @return The current number of requests by second allowed to its host, or NaN if it has no limits yet
+     */
+    public double getRate(String url) {
+        String host = getHost(url);
+        HostBucket bucket = host == null ? null : buckets.get(host);
+        return bucket == null ? Double.NaN : bucket.getRate();
+    }
+
+    private HostBucket createBucket(String host) {
+        HostLimits limits = getLimits(host);
+        HostBucket bucket = new HostBucket(rate, limits.maxRate, limits.maxConcurrency, System.nanoTime());
+        meters.put(host, Arrays.asList(
+                Gauge.builder(RATE_GAUGE, bucket, HostBucket::getRate)
+                        .tag("host", host)
+                        .register(meterRegistry),
+                Gauge.builder(CONCURRENCY_GAUGE, bucket, HostBucket::getConcurrencyLimit)
+                        .tag("host", host)
+                        .register(meterRegistry)));
+        LOGGER.debug("Politeness limits of {} : {} requests/s, {} concurrent requests", host, limits.maxRate, limits.maxConcurrency);
+        return bucket;
+    }
+
+    /**
+     * @param host A host
+     * @return The limits of the most specific configured domain of the host, or the default ones
+     */
+    private HostLimits getLimits(String host) {
+        String domain = host;
+        while (true) {
+            HostLimits limits = domainLimits.get(domain);
+            if (limits != null) {
+                return limits;
+            }
+            int dot = domain.indexOf('.');
+            if (dot == -1) {
+                return defaultLimits;
+            }
+            domain = domain.substring(dot + 1);
+        }
+    }
+
+    private void evictIdleHosts() {
+        long now = System.nanoTime();
+        if (now - lastEviction < IDLE_TIMEOUT) {
+            return;
+        }
+        lastEviction = now;
+        for (Map.Entry<String, HostBucket> entry : buckets.entrySet()) {
+            if (entry.getValue().isIdle(now, IDLE_TIMEOUT) && buckets.remove(entry.getKey(), entry.getValue())) {
+                Collection<Meter> hostMeters = meters.remove(entry.getKey());
+                if (hostMeters != null) {
+                    hostMeters.forEach(meterRegistry::remove);
+                }
+            }
+        }
+    }
+
+    private static String getHost(String url) {
+        try {
+            String host = new URL(url).getHost();
+            return host.isEmpty() ? null : host.toLowerCase(Locale.ROOT);
+        } catch (MalformedURLException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Right to send one request to a host, to release once its response is received
+     */
+    public static class Permit {
+        private final HostBucket bucket;
+        private final long start;
+        private boolean released = false;
+
+        private Permit(HostBucket bucket, long start) {
+            this.bucket = bucket;
+            this.start = start;
+        }
+
+        /**
+         * @param statusCode The http status of the response, or UNKNOWN_STATUS if the request failed
+         */
+        public void release(int statusCode) {
+            release(statusCode, 0);
+        }
+
+        /**
+         * @param statusCode       The http status of the response, or UNKNOWN_STATUS if the request failed
+         * @param retryAfterMillis The delay asked by the host before the next request, 0 if none
+         */
+        public void release(int statusCode, long retryAfterMillis) {
+            synchronized (this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+            }
+
+            long now = System.nanoTime();
+            boolean healthy = statusCode != UNKNOWN_STATUS &&
+                    statusCode != TOO_MANY_REQUESTS &&
+                    statusCode != HttpStatus.SC_SERVICE_UNAVAILABLE;
+            bucket.release(healthy, now - start, TimeUnit.MILLISECONDS.toNanos(retryAfterMillis), now);
+        }
+    }
+
+    private static class HostLimits {
+        private final double maxRate;
+        private final int maxConcurrency;
+
+        HostLimits(double maxRate, int maxConcurrency) {
+            this.maxRate = maxRate;
+            this.maxConcurrency = maxConcurrency;
+        }
+    }
+}
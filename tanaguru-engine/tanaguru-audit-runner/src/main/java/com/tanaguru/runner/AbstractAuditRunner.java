@@ -4,45 +4,105 @@ import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
 import com.tanaguru.domain.constant.EAuditLogLevel;
 import com.tanaguru.domain.entity.audit.Audit;
-import com.tanaguru.helper.ImageHelper;
+import com.tanaguru.driver.ResourceBlocking;
+import com.tanaguru.driver.blocking.PageWeight;
+import com.tanaguru.driver.blocking.ResourceBlocker;
+import com.tanaguru.driver.executor.DevToolsPageExecutor;
+import com.tanaguru.driver.executor.PageExecutor;
+import com.tanaguru.driver.executor.WebDriverPageExecutor;
+import com.tanaguru.helper.UrlCanonicalizer;
+import com.tanaguru.politeness.HostRateLimiter;
 import com.tanaguru.runner.listener.AuditRunnerListener;
+import com.tanaguru.runner.metrics.AuditTimings;
+import com.tanaguru.runner.metrics.EAuditRunnerStage;
+import com.tanaguru.webextresult.ChunkedResultReader;
+import com.tanaguru.webextresult.CompactResultDecoder;
 import com.tanaguru.webextresult.WebextPageResult;
 import org.openqa.selenium.Dimension;
 import org.openqa.selenium.*;
+import org.apache.http.HttpStatus;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.awt.*;
-import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.math.BigInteger;
+import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Base64;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 public abstract class AbstractAuditRunner implements AuditRunner {
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractAuditRunner.class);
 
     private static final int MAX_CANVAS_SIZE = 32767;
     private static final int DEFAULT_WINDOW_SIZE = 1080;
-    private static final float SCREENSHOT_QUALITY_COMPRESSION = 1f;
+    private static final String CONTENT_HASH_ALGORITHM = "SHA-256";
+    // The default auditrunner.scriptTimeout, for the runners not configured by the factory
+    private static final Duration DEFAULT_SCRIPT_TIMEOUT = Duration.ofSeconds(10);
 
     private final Audit audit;
     private final RemoteWebDriver tanaguruDriver;
     private final Collection<AuditRunnerListener> listeners = new ArrayList<>();
-    private final Collection<String> visitedUrl = new ArrayList<>();
+    private Set<Long> visitedUrlFingerprints = ConcurrentHashMap.newKeySet();
     private final Collection<Integer> resolutions;
+    private final List<RemoteWebDriver> resolutionDrivers = new ArrayList<>();
+    private final List<RemoteWebDriver> laneDrivers = new ArrayList<>();
+    private final List<AbstractAuditRunner> lanes = new CopyOnWriteArrayList<>();
+    private final Map<RemoteWebDriver, PageExecutor> pageExecutors = new IdentityHashMap<>();
     private final String basicAuthUrl;
     private final String basicAuthLogin;
     private final String basicAuthPassword;
     private final boolean enableScreenShot;
     private final Gson gson = new Gson();
+    private final CompactResultDecoder compactResultDecoder = new CompactResultDecoder();
     private final long waitTime;
     private final String coreScript;
-
-    private boolean stop = false;
+    private final AuditTimings timings;
+
+    private volatile boolean stop = false;
+    private boolean suspended = false;
+    private boolean incremental = false;
+    private boolean devTools = false;
+    private Duration scriptTimeout = DEFAULT_SCRIPT_TIMEOUT;
+    private AbstractAuditRunner parent;
+    private ResourceBlocking resourceBlocking;
+    private ResourceBlocker resourceBlocker;
+    private boolean measureBlockingSavings = false;
+    private DevToolsPageExecutor blockingDevTools;
+    private HostRateLimiter hostRateLimiter;
+    private ExecutorService resolutionExecutor;
+    private List<Future<?>> resolutionLoads;
+    private ExecutorService laneExecutor;
+    private List<Future<?>> laneRuns;
+    private byte[] coreScriptHash;
     private int currentRank = 1;
+    private int steps = 0;
+    private int skippedSteps = 0;
+    private int checkpointPages = 1;
+    private long checkpointInterval = 0;
+    private int pagesSinceCheckpoint = 0;
+    private long lastCheckpoint = System.nanoTime();
 
     public AbstractAuditRunner(
             Audit audit,
@@ -53,7 +113,8 @@ public abstract class AbstractAuditRunner implements AuditRunner {
             String basicAuthUrl,
             String basicAuthLogin,
             String basicAuthPassword,
-            boolean enableScreenShot) {
+            boolean enableScreenShot,
+            AuditTimings timings) {
         this.audit = audit;
         this.tanaguruDriver = driver;
         this.waitTime = waitTime;
@@ -63,6 +124,38 @@ public abstract class AbstractAuditRunner implements AuditRunner {
         this.basicAuthPassword = basicAuthPassword;
         this.enableScreenShot = enableScreenShot;
         this.coreScript = coreScript;
+        this.timings = timings;
+    }
+
+    /**
+     * Runner auditing a part of the documents of another runner on its own driver, with the same settings.
+     * Its events are sent to the listeners of the other runner, and it neither starts nor ends the audit.
+     *
+     * @param parent The runner of the audit
+     * @param driver The driver of this runner
+     */
+    protected AbstractAuditRunner(AbstractAuditRunner parent, RemoteWebDriver driver) {
+        this(parent.audit,
+                driver,
+                parent.coreScript,
+                parent.waitTime,
+                parent.resolutions,
+                parent.basicAuthUrl,
+                parent.basicAuthLogin,
+                parent.basicAuthPassword,
+                parent.enableScreenShot,
+                parent.timings);
+        this.parent = parent;
+        // A page is audited once by the runner and its lanes
+        this.visitedUrlFingerprints = parent.visitedUrlFingerprints;
+        this.incremental = parent.incremental;
+        this.devTools = parent.devTools;
+        this.scriptTimeout = parent.scriptTimeout;
+        this.hostRateLimiter = parent.hostRateLimiter;
+        if (parent.resourceBlocking != null) {
+            setResourceBlocking(parent.resourceBlocking, parent.measureBlockingSavings);
+        }
+        this.listeners.add(new LaneListener(parent));
     }
 
     public WebDriver getTanaguruDriver() {
@@ -71,146 +164,493 @@ public abstract class AbstractAuditRunner implements AuditRunner {
 
     public final void run() {
         LOGGER.info("[Audit {}] Start runner", audit.getId());
-        for (AuditRunnerListener tanaguruDriverListener : listeners) {
-            tanaguruDriverListener.onAuditStart(this);
+        if (isAuditStart()) {
+            notifyListeners(listener -> listener.onAuditStart(this));
+        } else {
+            LOGGER.info("[Audit {}] Runner joins the audit", audit.getId());
         }
 
         try {
-            //Use basic auth
-            if (!basicAuthUrl.isEmpty() && !basicAuthLogin.isEmpty() && !basicAuthPassword.isEmpty()) {
-                URL url = new URL(basicAuthUrl);
-                StringBuilder strb = new StringBuilder();
-                strb.append(url.getProtocol());
-                strb.append("://");
-                strb.append(basicAuthLogin);
-                strb.append(":");
-                strb.append(basicAuthPassword);
-                strb.append("@");
-                strb.append(url.getHost());
-                if (url.getPort() != -1) {
-                    strb.append(":");
-                    strb.append(url.getPort());
-                }
-                strb.append(url.getPath());
-                tanaguruDriver.get(strb.toString());
+            authenticate(tanaguruDriver);
+            for (RemoteWebDriver resolutionDriver : resolutionDrivers) {
+                authenticate(resolutionDriver);
             }
             this.runImpl();
         } catch (Exception e) {
             LOGGER.error("Error during run : " + e.getMessage());
             auditLog(EAuditLogLevel.ERROR, "Error during run : " + e.getMessage());
         }
+        awaitLanes();
+
+        if (resolutionExecutor != null) {
+            resolutionExecutor.shutdownNow();
+        }
+        quit(tanaguruDriver);
+        for (RemoteWebDriver resolutionDriver : resolutionDrivers) {
+            quit(resolutionDriver);
+        }
+        for (RemoteWebDriver laneDriver : laneDrivers) {
+            quit(laneDriver);
+        }
+
+        if (suspended) {
+            LOGGER.info("[Audit {}] Runner suspended at page rank {}", audit.getId(), currentRank);
+            return;
+        }
+        if (!isAuditEnd()) {
+            LOGGER.info("[Audit {}] Runner ended, the audit goes on with other runners", audit.getId());
+            return;
+        }
+
+        LOGGER.info("[Audit {}] Runner ended", audit.getId());
+        notifyListeners(listener -> listener.onAuditEnd(this));
+    }
+
+    /**
+     * Use basic auth
+     */
+    private void authenticate(RemoteWebDriver driver) throws MalformedURLException {
+        if (!basicAuthUrl.isEmpty() && !basicAuthLogin.isEmpty() && !basicAuthPassword.isEmpty()) {
+            URL url = new URL(basicAuthUrl);
+            StringBuilder strb = new StringBuilder();
+            strb.append(url.getProtocol());
+            strb.append("://");
+            strb.append(basicAuthLogin);
+            strb.append(":");
+            strb.append(basicAuthPassword);
+            strb.append("@");
+            strb.append(url.getHost());
+            if (url.getPort() != -1) {
+                strb.append(":");
+                strb.append(url.getPort());
+            }
+            strb.append(url.getPath());
+            driver.get(strb.toString());
+        }
+    }
 
+    private void quit(RemoteWebDriver driver) {
+        PageExecutor pageExecutor = pageExecutors.remove(driver);
+        if (pageExecutor != null) {
+            closePageExecutor(pageExecutor);
+        }
+        if (driver == tanaguruDriver && blockingDevTools != null) {
+            blockingDevTools.close();
+            blockingDevTools = null;
+        }
         try {
             LOGGER.debug("[Audit {}] Closing webdriver", audit.getId());
-            tanaguruDriver.quit();
+            driver.quit();
         } catch (Exception e) {
             LOGGER.error("[Audit {}] Error while closing webdriver : {}", audit.getId(), e.getMessage());
             auditLog(EAuditLogLevel.ERROR, "Error while closing webdriver : " + e.getMessage());
         }
-
-        LOGGER.info("[Audit {}] Runner ended", audit.getId());
-        for (AuditRunnerListener auditRunnerListener : listeners) {
-            auditRunnerListener.onAuditEnd(this);
-        }
     }
 
     protected abstract void runImpl();
 
-    public final void onGetNewPage(String url, String name, boolean auditIfAlreadyVisited) {
-        int firstHash = url.indexOf('#');
-        int lastSlash = url.lastIndexOf('/');
+    /**
+     * @return False if the runner joins an audit started by another runner
+     */
+    protected boolean isAuditStart() {
+        return parent == null;
+    }
+
+    /**
+     * Called once when the runner ends without being suspended
+     *
+     * @return False if other runners go on with the audit, the listeners are then not told of its end
+     */
+    protected boolean isAuditEnd() {
+        return parent == null;
+    }
 
+    public final void onGetNewPage(String url, String name, boolean auditIfAlreadyVisited) {
         //Cut anchor but keep url for framework that use hash in url as Vue.js
-        if (firstHash != -1 && lastSlash != -1 && lastSlash < firstHash) {
-            url = url.substring(0, firstHash);
+        url = UrlCanonicalizer.removeFragment(url);
+
+        boolean alreadyVisited = !visitedUrlFingerprints.add(UrlCanonicalizer.fingerprint(url));
+        // The steps audited before the checkpoint of a resumed audit are only replayed
+        if (steps++ < skippedSteps) {
+            LOGGER.debug("[Audit {}] Step {} already audited on page {}", audit.getId(), steps, url);
+            return;
+        }
+        if (!alreadyVisited || auditIfAlreadyVisited) {
+            auditPage(url, name);
         }
+        onStepEnd(steps);
+    }
 
-        boolean alreadyVisited = visitedUrl.contains(url);
+    /**
+     * Called after each new page event, audited or not
+     *
+     * @param step The number of new page events since the start of the audit
+     */
+    protected void onStepEnd(int step) {
+    }
 
-        if (alreadyVisited) {
-            if (auditIfAlreadyVisited) {
-                auditPage(url, name);
-            }
-        } else {
-            visitedUrl.add(url);
-            auditPage(url, name);
+    @Override
+    public final void resume(int nextRank, String progress) {
+        LOGGER.info("[Audit {}] Resume runner at page rank {}", audit.getId(), nextRank);
+        currentRank = nextRank;
+        if (progress != null) {
+            resumeImpl(progress);
+        }
+    }
+
+    /**
+     * Restore the progress saved by a checkpoint. Runners that do not save their progress start over.
+     *
+     * @param progress The progress given to {@link #checkpoint(Supplier)}
+     */
+    protected void resumeImpl(String progress) {
+    }
+
+    /**
+     * Notify the listeners that the runner can be resumed from its progress, the pages audited so far being complete.
+     * The progress is only saved every {@link #setCheckpointInterval(int, long) checkpoint interval}, the pages audited
+     * after the last saved checkpoint are audited again when the runner is resumed.
+     *
+     * @param progress The progress of the runner, serialized in json when the checkpoint is saved
+     */
+    protected final void checkpoint(Supplier<?> progress) {
+        pagesSinceCheckpoint++;
+        long now = System.nanoTime();
+        if (!(checkpointPages > 0 && pagesSinceCheckpoint >= checkpointPages)
+                && !(checkpointInterval > 0 && now - lastCheckpoint >= checkpointInterval)) {
+            return;
         }
+        pagesSinceCheckpoint = 0;
+        lastCheckpoint = now;
+        String json = gson.toJson(progress.get());
+        notifyListeners(listener -> listener.onAuditCheckpoint(this, currentRank, json));
+    }
+
+    protected final <T> T readProgress(String progress, Class<T> type) {
+        return gson.fromJson(progress, type);
+    }
+
+    /**
+     * Rank the next pages after the pages of the previous documents, when documents are audited by several runners
+     *
+     * @param documentNumber The number of the document in the audit, starting at 1
+     */
+    protected void setDocumentNumber(int documentNumber) {
+        currentRank = (documentNumber - 1) * resolutions.size() + 1;
+    }
+
+    /**
+     * @param count The number of new page events replayed without auditing them
+     */
+    protected void skipSteps(int count) {
+        this.skippedSteps = count;
+    }
+
+    /**
+     * @return The fingerprints of the canonical urls of the pages loaded so far, updated while the runner goes on
+     */
+    protected Collection<Long> getVisitedUrlFingerprints() {
+        return Collections.unmodifiableSet(visitedUrlFingerprints);
+    }
+
+    protected void addVisitedUrlFingerprints(Collection<Long> fingerprints) {
+        visitedUrlFingerprints.addAll(fingerprints);
     }
 
     private void auditPage(String url, String name) {
         LOGGER.info("[Audit {}] Execute tests on page {}", audit.getId(), url);
+        List<Future<?>> loads = resolutionLoads;
+        resolutionLoads = null;
+        // Each resolution reserves its rank in the order of the resolutions, reused, failed or audited in parallel
+        int baseRank = currentRank;
+        currentRank += resolutions.size();
+        if (loads == null) {
+            int rank = baseRank;
+            for (Integer width : resolutions) {
+                ResolutionAudit resolutionAudit = new ResolutionAudit(tanaguruDriver, width, url, name, rank++);
+                resolutionAudit.prepare();
+                if (!resolutionAudit.isUnchanged()) {
+                    resolutionAudit.evaluate();
+                    resolutionAudit.emit();
+                }
+            }
+        } else {
+            auditResolutionsInParallel(url, name, baseRank, loads);
+        }
+    }
+
+    /**
+     * Audit the first resolution on the runner driver and the others on their own drivers at the same time.
+     * The listeners are still called by the runner thread, in the order of the resolutions.
+     *
+     * @param baseRank The rank of the first resolution
+     * @param loads    The loads of the page by the drivers of the resolutions
+     */
+    private void auditResolutionsInParallel(String url, String name, int baseRank, List<Future<?>> loads) {
+        List<ResolutionAudit> resolutionAudits = new ArrayList<>();
+        Iterator<RemoteWebDriver> drivers = resolutionDrivers.iterator();
         for (Integer width : resolutions) {
-            Dimension resolution = new Dimension(width, DEFAULT_WINDOW_SIZE);
-            String definiteName = name + "_" + width;
+            RemoteWebDriver driver = resolutionAudits.isEmpty() ? tanaguruDriver : drivers.next();
+            resolutionAudits.add(new ResolutionAudit(driver, width, url, name, baseRank + resolutionAudits.size()));
+        }
 
-            tanaguruDriver.manage().window().setSize(resolution);
-            String screenshot = null;
-            if (enableScreenShot) {
-                LOGGER.debug("[Audit {}] Take screenshot for url {}", audit.getId(), url);
+        awaitResolutionLoads(loads);
+        runInParallel(resolutionAudits, ResolutionAudit::prepare);
+        List<ResolutionAudit> changedResolutionAudits = new ArrayList<>();
+        for (ResolutionAudit resolutionAudit : resolutionAudits) {
+            if (!resolutionAudit.isUnchanged()) {
+                changedResolutionAudits.add(resolutionAudit);
+            }
+        }
+        runInParallel(changedResolutionAudits, ResolutionAudit::evaluate);
+        for (ResolutionAudit resolutionAudit : changedResolutionAudits) {
+            resolutionAudit.emit();
+        }
+    }
 
+    /**
+     * Run an action on the runner thread for the runner driver and on the resolution executor for the others
+     */
+    private void runInParallel(List<ResolutionAudit> resolutionAudits, Consumer<ResolutionAudit> action) {
+        List<Future<?>> futures = new ArrayList<>();
+        for (ResolutionAudit resolutionAudit : resolutionAudits) {
+            futures.add(resolutionAudit.driver == tanaguruDriver ?
+                    null :
+                    resolutionExecutor.submit(() -> action.accept(resolutionAudit)));
+        }
+        for (ResolutionAudit resolutionAudit : resolutionAudits) {
+            if (resolutionAudit.driver == tanaguruDriver) {
+                action.accept(resolutionAudit);
+            }
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            if (futures.get(i) != null) {
                 try {
-                    screenshot = takeScreenshot(resolution);
-                } catch (IOException e) {
-                    LOGGER.error("[Audit {}] Failed to take screenshot on page {} cause : {}", audit.getId(), url, e.getMessage());
-                    auditLog(EAuditLogLevel.ERROR, "Failed to take screenshot on page " + url + " cause : " + e.getMessage());
+                    futures.get(i).get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    resolutionAudits.get(i).error = e;
+                } catch (ExecutionException e) {
+                    resolutionAudits.get(i).error = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
                 }
             }
+        }
+    }
 
-            try {
-                String result = (String) tanaguruDriver.executeScript(coreScript);
-                String source = tanaguruDriver.getPageSource();
-                for (AuditRunnerListener tanaguruDriverListener : listeners) {
-                    tanaguruDriverListener.onAuditNewPage(this, definiteName, url, currentRank, gson.fromJson(result, WebextPageResult.class), screenshot, source);
+    /**
+     * Start loading a page on the drivers of the resolutions, when they are audited in parallel
+     *
+     * @param url The url being loaded by the runner driver
+     */
+    private void loadOnResolutionDrivers(String url) {
+        if (resolutionLoads != null) {
+            // The previous page was not audited
+            awaitResolutionLoads(resolutionLoads);
+            resolutionLoads = null;
+        }
+        if (resolutionExecutor == null) {
+            return;
+        }
+
+        List<Future<?>> loads = new ArrayList<>();
+        // The first resolution is audited on the runner driver
+        Iterator<Integer> widths = resolutions.stream().skip(1).iterator();
+        for (RemoteWebDriver resolutionDriver : resolutionDrivers) {
+            int width = widths.next();
+            loads.add(resolutionExecutor.submit(() -> {
+                if (loadPage(resolutionDriver, width, url)) {
+                    long start = System.nanoTime();
+                    Thread.sleep(waitTime);
+                    timings.record(EAuditRunnerStage.WAIT, width, start);
                 }
-                currentRank++;
-            } catch (WebDriverException e) {
-                LOGGER.error("[Audit {}] Script error on page {}\n{}\n", audit.getId(), url, e.getMessage());
-                auditLog(EAuditLogLevel.ERROR, "Error during script execution on page " + url + "\n"
-                        + e.getMessage());
-            } catch (JsonSyntaxException e) {
-                LOGGER.error("[Audit {}] Error while parsing result on page {}\n{}\n", audit.getId(), url, e.getMessage());
-                auditLog(EAuditLogLevel.ERROR, "Error while parsing result on page " + url + "\n"
-                        + e.getMessage());
+                return null;
+            }));
+        }
+        resolutionLoads = loads;
+    }
+
+    private void awaitResolutionLoads(List<Future<?>> loads) {
+        for (Future<?> load : loads) {
+            try {
+                load.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                LOGGER.error("[Audit {}] Error while loading page on a resolution driver : {}", audit.getId(), e.getCause().getMessage());
             }
         }
     }
 
-    private String takeScreenshot(Dimension resolution) throws IOException {
-        BufferedImage screenshotImage = null;
-        BufferedImage screenImage = ImageHelper.getFromByteArray(tanaguruDriver.getScreenshotAs(OutputType.BYTES));
-        BufferedImage jpgImage = new BufferedImage(screenImage.getWidth(), screenImage.getHeight(), BufferedImage.TYPE_INT_RGB);
-        jpgImage.createGraphics().drawImage(screenImage, 0, 0, Color.BLACK, null);
-        jpgImage = ImageHelper.scaleImage(jpgImage, 0.5f);
-        screenshotImage = ImageHelper.appendImages(screenshotImage, jpgImage);
-        /*int yOffset = 0;
-        while(yOffset < resolution.height){
-            if(resolution.height - yOffset < DEFAULT_WINDOW_SIZE * 2){
-                tanaguruDriver.manage().window().setSize(new Dimension(resolution.width, resolution.height - yOffset));
-                tanaguruDriver.executeScript("window.scrollTo(0, " + yOffset + ");");
+    private boolean isUnchanged(String name, String url, int rank, int width, String contentHash, String screenshot, String source) {
+        boolean result = false;
+        synchronized (listeners) {
+            for (AuditRunnerListener tanaguruDriverListener : listeners) {
+                result |= tanaguruDriverListener.onAuditUnchangedPage(this, name, url, rank, width, contentHash, screenshot, source);
             }
-            BufferedImage screenImage = ImageHelper.getFromByteArray(tanaguruDriver.getScreenshotAs(OutputType.BYTES));
-            BufferedImage jpgImage = new BufferedImage(screenImage.getWidth(), screenImage.getHeight(), BufferedImage.TYPE_INT_RGB);
-            jpgImage.createGraphics().drawImage(screenImage, 0, 0, Color.BLACK, null);
-            jpgImage = ImageHelper.scaleImage(jpgImage, 0.2f);
+        }
+        return result;
+    }
 
-            screenshotImage = ImageHelper.appendImages(screenshotImage, jpgImage);
+    /**
+     * Hash of what the results of a page depend on : the core script and its tests, the resolution, the url and the loaded source.
+     * The stylesheets, images and fonts of the page are not hashed, so their changes alone keep the page unchanged
+     */
+    private String hashContent(int width, String url, String source) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance(CONTENT_HASH_ALGORITHM);
+            messageDigest.update(getCoreScriptHash());
+            messageDigest.update((width + "\n" + url + "\n").getBytes(StandardCharsets.UTF_8));
+            if (source != null) {
+                messageDigest.update(source.getBytes(StandardCharsets.UTF_8));
+            }
+            return String.format("%064x", new BigInteger(1, messageDigest.digest()));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 
-            yOffset += screenImage.getHeight();
-            tanaguruDriver.executeScript("window.scrollTo(0, " + yOffset + ");");
+    private synchronized byte[] getCoreScriptHash() throws NoSuchAlgorithmException {
+        if (coreScriptHash == null) {
+            coreScriptHash = MessageDigest.getInstance(CONTENT_HASH_ALGORITHM).digest(coreScript.getBytes(StandardCharsets.UTF_8));
         }
-        tanaguruDriver.executeScript("window.scrollTo(0, 0);");*/
-        return Base64.getEncoder().encodeToString(
-                ImageHelper.compressImage(screenshotImage, SCREENSHOT_QUALITY_COMPRESSION, "jpg"));
+        return coreScriptHash;
     }
 
     public void addListener(AuditRunnerListener auditRunnerListener) {
         LOGGER.debug("[Audit {}] Listener added to runner", audit.getId());
-        this.listeners.add(auditRunnerListener);
+        synchronized (listeners) {
+            this.listeners.add(auditRunnerListener);
+        }
     }
 
     public void removeListener(AuditRunnerListener auditRunnerListener) {
         LOGGER.debug("[Audit {}] Listener removed from runner", audit.getId());
-        this.listeners.remove(auditRunnerListener);
+        synchronized (listeners) {
+            this.listeners.remove(auditRunnerListener);
+        }
+    }
+
+    /**
+     * Call the listeners one event at a time, the lanes of the runner sending their events from their own thread
+     */
+    private void notifyListeners(Consumer<AuditRunnerListener> event) {
+        synchronized (listeners) {
+            for (AuditRunnerListener listener : listeners) {
+                event.accept(listener);
+            }
+        }
+    }
+
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    public void setCheckpointInterval(int pages, long seconds) {
+        this.checkpointPages = pages;
+        this.checkpointInterval = TimeUnit.SECONDS.toNanos(seconds);
+    }
+
+    public void setHostRateLimiter(HostRateLimiter hostRateLimiter) {
+        this.hostRateLimiter = hostRateLimiter;
+    }
+
+    public void setDevTools(boolean devTools, Duration scriptTimeout) {
+        this.devTools = devTools;
+        this.scriptTimeout = scriptTimeout;
+        for (PageExecutor pageExecutor : pageExecutors.values()) {
+            closePageExecutor(pageExecutor);
+        }
+        pageExecutors.clear();
+    }
+
+    public void setResourceBlocking(ResourceBlocking resourceBlocking, boolean measureSavings) {
+        this.resourceBlocking = resourceBlocking;
+        this.resourceBlocker = new ResourceBlocker(resourceBlocking);
+        this.measureBlockingSavings = measureSavings;
+    }
+
+    /**
+     * @return The executor of the page commands of a driver, through the DevTools protocol for Chrome if enabled
+     */
+    private PageExecutor getPageExecutor(RemoteWebDriver driver) {
+        return pageExecutors.computeIfAbsent(driver, (key) ->
+                devTools && DevToolsPageExecutor.supports(key) ?
+                        DevToolsPageExecutor.create(key, scriptTimeout) :
+                        new WebDriverPageExecutor(key));
+    }
+
+    private void closePageExecutor(PageExecutor pageExecutor) {
+        if (pageExecutor instanceof DevToolsPageExecutor) {
+            ((DevToolsPageExecutor) pageExecutor).close();
+        }
+    }
+
+    public void setResolutionDrivers(Collection<RemoteWebDriver> resolutionDrivers) {
+        if (!resolutionDrivers.isEmpty() && resolutionDrivers.size() != resolutions.size() - 1) {
+            throw new IllegalArgumentException("One driver is expected by resolution after the first one");
+        }
+        this.resolutionDrivers.clear();
+        this.resolutionDrivers.addAll(resolutionDrivers);
+        if (resolutionExecutor != null) {
+            resolutionExecutor.shutdown();
+            resolutionExecutor = null;
+        }
+        if (!resolutionDrivers.isEmpty()) {
+            resolutionExecutor = Executors.newFixedThreadPool(resolutionDrivers.size());
+        }
+    }
+
+    public void setLaneDrivers(Collection<RemoteWebDriver> laneDrivers) {
+        this.laneDrivers.clear();
+        this.laneDrivers.addAll(laneDrivers);
+    }
+
+    /**
+     * Start a lane on each lane driver, auditing documents of this runner at the same time as this runner.
+     * Does nothing if the runner has no lane driver.
+     *
+     * @param laneCreator The creator of a lane on a driver, calling {@link #AbstractAuditRunner(AbstractAuditRunner, RemoteWebDriver)}
+     */
+    protected final void startLanes(Function<RemoteWebDriver, ? extends AbstractAuditRunner> laneCreator) {
+        if (laneDrivers.isEmpty()) {
+            return;
+        }
+        LOGGER.info("[Audit {}] Start {} lanes", audit.getId(), laneDrivers.size());
+        laneExecutor = Executors.newFixedThreadPool(laneDrivers.size());
+        laneRuns = new ArrayList<>();
+        for (RemoteWebDriver laneDriver : laneDrivers) {
+            AbstractAuditRunner lane = laneCreator.apply(laneDriver);
+            lanes.add(lane);
+            if (stop) {
+                lane.interrupt();
+            }
+            laneRuns.add(laneExecutor.submit(lane::run));
+        }
+        // The lanes quit their drivers
+        laneDrivers.clear();
+    }
+
+    /**
+     * Wait for the end of the lanes started by {@link #startLanes(Function)}
+     */
+    protected final void awaitLanes() {
+        if (laneExecutor == null) {
+            return;
+        }
+        try {
+            for (Future<?> laneRun : laneRuns) {
+                laneRun.get();
+            }
+        } catch (InterruptedException e) {
+            interrupt();
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            LOGGER.error("[Audit {}] Error in a lane : {}", audit.getId(), e.getCause().getMessage());
+        }
+        laneExecutor.shutdown();
+        laneExecutor = null;
+        laneRuns = null;
     }
 
     public boolean isStop() {
@@ -219,31 +659,129 @@ public abstract class AbstractAuditRunner implements AuditRunner {
 
     public void interrupt() {
         stop = true;
+        for (AbstractAuditRunner lane : lanes) {
+            lane.interrupt();
+        }
+    }
+
+    public void suspend() {
+        suspended = true;
+        interrupt();
     }
 
     public void webDriverGet(String url) {
+        loadOnResolutionDrivers(url);
+        PageWeight unblockedWeight = loadUnblocked(url);
+        if (loadPage(tanaguruDriver, null, url)) {
+            reportBlockingSavings(url, unblockedWeight);
+            if (waitContent(url)) {
+                onGetNewPage(url, tanaguruDriver.getTitle(), false);
+            }
+        }
+    }
+
+    /**
+     * Load a page without blocking its urls, to measure what blocking them saves. Only Chrome can stop blocking them.
+     *
+     * @return The weight of the page, null if not measured
+     */
+    private PageWeight loadUnblocked(String url) {
+        if (!measureBlockingSavings || resourceBlocker == null || resourceBlocker.getChromeUrlPatterns().isEmpty() ||
+                !DevToolsPageExecutor.supports(tanaguruDriver)) {
+            return null;
+        }
+
+        try {
+            if (blockingDevTools == null) {
+                blockingDevTools = DevToolsPageExecutor.create(tanaguruDriver, scriptTimeout);
+                // Both loads download all their resources
+                blockingDevTools.execute("Network.setCacheDisabled", Collections.singletonMap("cacheDisabled", true));
+            }
+            resourceBlocker.setChromeUrlsBlocked(blockingDevTools, false);
+            try {
+                return loadPage(tanaguruDriver, null, url) ? PageWeight.read(tanaguruDriver) : null;
+            } finally {
+                resourceBlocker.setChromeUrlsBlocked(blockingDevTools, true);
+            }
+        } catch (WebDriverException e) {
+            LOGGER.warn("[Audit {}] Unable to measure resource blocking on page {} : {}", audit.getId(), url, e.getMessage());
+            return null;
+        }
+    }
+
+    private void reportBlockingSavings(String url, PageWeight unblockedWeight) {
+        if (unblockedWeight == null) {
+            return;
+        }
         try {
-            tanaguruDriver.get(url);
+            PageWeight weight = PageWeight.read(tanaguruDriver);
+            long savedBytes = unblockedWeight.getBytes() - weight.getBytes();
+            long savedTime = unblockedWeight.getLoadTime() - weight.getLoadTime();
+            LOGGER.info("[Audit {}] Resource blocking saved {} bytes and {} ms on page {}", audit.getId(), savedBytes, savedTime, url);
+            auditLog(EAuditLogLevel.INFO, "Resource blocking saved " + savedBytes + " bytes and " + savedTime + " ms on page " + url);
+        } catch (WebDriverException e) {
+            LOGGER.warn("[Audit {}] Unable to measure resource blocking on page {} : {}", audit.getId(), url, e.getMessage());
+        }
+    }
+
+    /**
+     * @return False if interrupted while waiting for the politeness of the host
+     */
+    private boolean loadPage(RemoteWebDriver driver, Integer width, String url) {
+        HostRateLimiter.Permit permit = null;
+        if (hostRateLimiter != null) {
+            try {
+                permit = hostRateLimiter.acquire(url);
+            } catch (InterruptedException e) {
+                LOGGER.debug("Politeness wait interrupted for url {}", url);
+                auditLog(EAuditLogLevel.ERROR, "Thread interrupted while waiting to load page " + url);
+                return false;
+            }
+        }
+
+        long start = System.nanoTime();
+        // The browser does not expose the http status, only the load time and timeouts adapt the politeness
+        int statusCode = HostRateLimiter.UNKNOWN_STATUS;
+        try {
+            driver.get(url);
+            if (width == null) {
+                timings.record(EAuditRunnerStage.PAGE_LOAD, start);
+            } else {
+                timings.record(EAuditRunnerStage.PAGE_LOAD, width, start);
+            }
+            statusCode = HttpStatus.SC_OK;
         } catch (TimeoutException e) {
+            timings.recordError(EAuditRunnerStage.PAGE_LOAD);
             LOGGER.debug("Webdriver timeout for url {}", url);
             auditLog(EAuditLogLevel.WARNING, "Webdriver automatic wait time timed out when loading page " + url + ". This is not an error, it just means that the browser does not have the time to load the page with your current configuration. If you see this WARNING more often you should probably increase the wait time in your server configuration and check how long your website takes to load on a fresh installed browser.");
+        } finally {
+            if (permit != null) {
+                permit.release(statusCode);
+            }
         }
+        return true;
+    }
 
+    /**
+     * @return False if interrupted while waiting
+     */
+    private boolean waitContent(String url) {
         try {
             LOGGER.debug("Custom wait time {}", waitTime);
             auditLog(EAuditLogLevel.INFO, "Custom wait time " + waitTime);
+            long start = System.nanoTime();
             Thread.sleep(waitTime);
-            onGetNewPage(url, tanaguruDriver.getTitle(), false);
+            timings.record(EAuditRunnerStage.WAIT, start);
+            return true;
         } catch (InterruptedException e) {
             LOGGER.debug("Waiting time interrupted for url {}", url);
             auditLog(EAuditLogLevel.ERROR, "Thread interrupted while waiting content to load");
+            return false;
         }
     }
 
     protected void auditLog(EAuditLogLevel logLevel, String message) {
-        for (AuditRunnerListener tanaguruDriverListener : listeners) {
-            tanaguruDriverListener.onAuditLog(this, logLevel, message);
-        }
+        notifyListeners(listener -> listener.onAuditLog(this, logLevel, message));
     }
 
     public RemoteWebDriver getDriver() {
@@ -254,4 +792,218 @@ public abstract class AbstractAuditRunner implements AuditRunner {
     public Audit getAudit() {
         return audit;
     }
+
+    public AuditTimings getTimings() {
+        return timings;
+    }
+
+    /**
+     * Listener of a lane, sending its pages and logs to the listeners of the runner of the audit
+     */
+    private static class LaneListener implements AuditRunnerListener {
+        private final AbstractAuditRunner parent;
+
+        LaneListener(AbstractAuditRunner parent) {
+            this.parent = parent;
+        }
+
+        @Override
+        public void onAuditStart(AuditRunner auditRunner) {
+        }
+
+        @Override
+        public void onAuditNewPage(AuditRunner auditRunner, String name, String url, int rank, int width, WebextPageResult result, String screenshot, String source, String contentHash) {
+            parent.notifyListeners(listener -> listener.onAuditNewPage(parent, name, url, rank, width, result, screenshot, source, contentHash));
+        }
+
+        @Override
+        public boolean onAuditUnchangedPage(AuditRunner auditRunner, String name, String url, int rank, int width, String contentHash, String screenshot, String source) {
+            boolean result = false;
+            synchronized (parent.listeners) {
+                for (AuditRunnerListener listener : parent.listeners) {
+                    result |= listener.onAuditUnchangedPage(parent, name, url, rank, width, contentHash, screenshot, source);
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public void onAuditCheckpoint(AuditRunner auditRunner, int nextRank, String progress) {
+        }
+
+        @Override
+        public void onAuditEnd(AuditRunner auditRunner) {
+        }
+
+        @Override
+        public void onAuditLog(AuditRunner auditRunner, EAuditLogLevel logLevel, String message) {
+            parent.notifyListeners(listener -> listener.onAuditLog(parent, logLevel, message));
+        }
+    }
+
+    /**
+     * Audit of a page at one resolution. The driver calls may run on the resolution executor,
+     * the listeners are only called by the runner thread.
+     */
+    private class ResolutionAudit {
+        private final RemoteWebDriver driver;
+        private final PageExecutor pageExecutor;
+        private final int width;
+        private final String url;
+        private final String name;
+        private final int rank;
+
+        private String screenshot;
+        private String loadedSource;
+        private String contentHash;
+        private String result;
+        private String source;
+        private Exception error;
+
+        ResolutionAudit(RemoteWebDriver driver, int width, String url, String name, int rank) {
+            this.driver = driver;
+            this.pageExecutor = getPageExecutor(driver);
+            this.width = width;
+            this.url = url;
+            this.name = name + "_" + width;
+            this.rank = rank;
+        }
+
+        /**
+         * Resize the window, take the screenshot and hash the loaded content
+         */
+        void prepare() {
+            Dimension resolution = new Dimension(width, DEFAULT_WINDOW_SIZE);
+            try {
+                pageExecutor.setResolution(resolution);
+            } catch (WebDriverException e) {
+                error = e;
+                return;
+            }
+
+            if (enableScreenShot) {
+                LOGGER.debug("[Audit {}] Take screenshot for url {}", audit.getId(), url);
+
+                long start = System.nanoTime();
+                try {
+                    screenshot = pageExecutor.takeScreenshot();
+                    timings.record(EAuditRunnerStage.SCREENSHOT, width, start);
+                } catch (IOException | WebDriverException e) {
+                    timings.recordError(EAuditRunnerStage.SCREENSHOT);
+                    LOGGER.error("[Audit {}] Failed to take screenshot on page {} cause : {}", audit.getId(), url, e.getMessage());
+                    auditLog(EAuditLogLevel.ERROR, "Failed to take screenshot on page " + url + " cause : " + e.getMessage());
+                }
+            }
+
+            if (incremental) {
+                try {
+                    long start = System.nanoTime();
+                    loadedSource = pageExecutor.getPageSource();
+                    timings.record(EAuditRunnerStage.PAGE_SOURCE, width, start);
+                    contentHash = hashContent(width, url, loadedSource);
+                } catch (WebDriverException e) {
+                    error = e;
+                }
+            }
+        }
+
+        /**
+         * @return True if the results of a previous audit were reused for this unchanged page
+         */
+        boolean isUnchanged() {
+            // Only the scheduled runs of an audit reuse results, the others only store the content hash
+            if (error != null || contentHash == null || audit.getScheduledFrom() == null ||
+                    !AbstractAuditRunner.this.isUnchanged(name, url, rank, width, contentHash, screenshot, loadedSource)) {
+                return false;
+            }
+            LOGGER.debug("[Audit {}] Unchanged page {} at resolution {}", audit.getId(), url, width);
+            return true;
+        }
+
+        /**
+         * Run the core script
+         */
+        void evaluate() {
+            if (error != null) {
+                return;
+            }
+            try {
+                long start = System.nanoTime();
+                result = pageExecutor.executeCoreScript(coreScript);
+                timings.record(EAuditRunnerStage.CORE_SCRIPT, width, start);
+
+                start = System.nanoTime();
+                source = pageExecutor.getPageSource();
+                timings.record(EAuditRunnerStage.PAGE_SOURCE, width, start);
+            } catch (WebDriverException e) {
+                error = e;
+            }
+        }
+
+        /**
+         * Send the result to the listeners
+         */
+        void emit() {
+            if (error != null) {
+                timings.recordError(EAuditRunnerStage.CORE_SCRIPT);
+                LOGGER.error("[Audit {}] Script error on page {}\n{}\n", audit.getId(), url, error.getMessage());
+                auditLog(EAuditLogLevel.ERROR, "Error during script execution on page " + url + "\n"
+                        + error.getMessage());
+                return;
+            }
+
+            WebextPageResult pageResult;
+            try {
+                long start = System.nanoTime();
+                boolean compact = CompactResultDecoder.isCompact(result);
+                timings.recordResultSize(result == null ? 0 : result.length(), compact);
+                if (ChunkedResultReader.isChunked(result)) {
+                    pageResult = readChunkedResult();
+                } else if (compact) {
+                    pageResult = compactResultDecoder.decode(result);
+                } else {
+                    pageResult = gson.fromJson(result, WebextPageResult.class);
+                }
+                timings.record(EAuditRunnerStage.RESULT_PARSING, width, start);
+            } catch (JsonSyntaxException e) {
+                timings.recordError(EAuditRunnerStage.RESULT_PARSING);
+                LOGGER.error("[Audit {}] Error while parsing result on page {}\n{}\n", audit.getId(), url, e.getMessage());
+                auditLog(EAuditLogLevel.ERROR, "Error while parsing result on page " + url + "\n"
+                        + e.getMessage());
+                return;
+            }
+
+            notifyListeners(listener -> listener.onAuditNewPage(AbstractAuditRunner.this, name, url, rank, width, pageResult, screenshot, source, contentHash));
+        }
+
+        /**
+         * Read the results kept in the page before the listeners are called, so they do not wait on the browser
+         */
+        private WebextPageResult readChunkedResult() {
+            ChunkedResultReader chunkedResultReader = new ChunkedResultReader(pageExecutor);
+            try {
+                WebextPageResult pageResult = chunkedResultReader.read(result);
+                reportChunkedRetrieval(chunkedResultReader);
+                return pageResult;
+            } finally {
+                chunkedResultReader.release();
+            }
+        }
+
+        private void reportChunkedRetrieval(ChunkedResultReader chunkedResultReader) {
+            if (chunkedResultReader.isPartial()) {
+                timings.recordError(EAuditRunnerStage.RESULT_PARSING);
+                LOGGER.warn("[Audit {}] Partial result on page {} : {} of {} elements retrieved, stopped at test {}\n{}\n",
+                        audit.getId(), url, chunkedResultReader.getRetrievedElements(), chunkedResultReader.getTotalElements(),
+                        chunkedResultReader.getFailedTest(), chunkedResultReader.getError().getMessage());
+                auditLog(EAuditLogLevel.WARNING, "Partial result on page " + url + " : "
+                        + chunkedResultReader.getRetrievedElements() + " of " + chunkedResultReader.getTotalElements()
+                        + " elements retrieved, stopped at test " + chunkedResultReader.getFailedTest() + "\n"
+                        + chunkedResultReader.getError().getMessage());
+            } else {
+                LOGGER.debug("[Audit {}] Result of page {} retrieved in {} chunks, {} elements", audit.getId(), url,
+                        chunkedResultReader.getChunks(), chunkedResultReader.getTotalElements());
+            }
+        }
+    }
 }
@@ -1,9 +1,15 @@
 package com.tanaguru.runner;
 
 import com.tanaguru.domain.entity.audit.Audit;
+import com.tanaguru.driver.ResourceBlocking;
+import com.tanaguru.politeness.HostRateLimiter;
 import com.tanaguru.runner.listener.AuditRunnerListener;
+import com.tanaguru.runner.metrics.AuditTimings;
 import org.openqa.selenium.remote.RemoteWebDriver;
 
+import java.time.Duration;
+import java.util.Collection;
+
 /**
  * @author rcharre
  */
@@ -30,6 +36,13 @@ public interface AuditRunner extends Runnable {
      */
     Audit getAudit();
 
+    /**
+     * Timings getter
+     *
+     * @return The timings of the audit stages
+     */
+    AuditTimings getTimings();
+
     /**
      * Fire a new page event
      *
@@ -46,5 +59,62 @@ public interface AuditRunner extends Runnable {
 
     RemoteWebDriver getDriver();
 
+    /**
+     * @param incremental True to hash the content of the pages, scheduled audits reusing the results of the pages
+     *                    unchanged since a previous audit of the scheduler
+     */
+    void setIncremental(boolean incremental);
+
+    /**
+     * Save the checkpoints every number of pages or every number of seconds, whichever comes first.
+     * By default a checkpoint is saved after each page.
+     *
+     * @param pages   The number of pages between two checkpoints, 0 to only save them every number of seconds
+     * @param seconds The time between two checkpoints, 0 to only save them every number of pages
+     */
+    void setCheckpointInterval(int pages, long seconds);
+
+    /**
+     * @param devTools      True to send the page commands of Chrome drivers through the DevTools protocol
+     * @param scriptTimeout The time after which the scripts evaluated through the DevTools protocol are terminated
+     */
+    void setDevTools(boolean devTools, Duration scriptTimeout);
+
+    /**
+     * @param resourceBlocking The resources blocked by the drivers
+     * @param measureSavings   True to load each page once more without blocking, to report the bytes and time saved
+     */
+    void setResourceBlocking(ResourceBlocking resourceBlocking, boolean measureSavings);
+
+    /**
+     * @param hostRateLimiter The politeness of the page loads, null to load pages without waiting
+     */
+    void setHostRateLimiter(HostRateLimiter hostRateLimiter);
+
+    /**
+     * @param resolutionDrivers One driver by resolution after the first one, loading each page with the runner driver
+     *                          to audit all the resolutions in parallel, empty to audit them one after the other
+     */
+    void setResolutionDrivers(Collection<RemoteWebDriver> resolutionDrivers);
+
+    /**
+     * @param laneDrivers Drivers auditing documents of the audit at the same time as the runner driver, for the
+     *                    runners of several documents, quit by the runner
+     */
+    void setLaneDrivers(Collection<RemoteWebDriver> laneDrivers);
+
+    /**
+     * Resume the audit from its last checkpoint, before running it
+     *
+     * @param nextRank The rank of the next page
+     * @param progress The progress of the runner saved by the checkpoint, null to start over
+     */
+    void resume(int nextRank, String progress);
+
     void interrupt();
+
+    /**
+     * Interrupt the audit without ending it, to resume it later from its last checkpoint
+     */
+    void suspend();
 }
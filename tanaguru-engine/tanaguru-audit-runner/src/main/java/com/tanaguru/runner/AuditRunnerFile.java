@@ -2,25 +2,39 @@ package com.tanaguru.runner;
 
 
 import com.tanaguru.domain.entity.audit.Audit;
+import com.tanaguru.runner.metrics.AuditTimings;
+import com.tanaguru.upload.UploadContentServer;
 import org.openqa.selenium.remote.RemoteWebDriver;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.nio.file.Files;
 import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+/**
+ * Audit of uploaded documents, loaded from the upload content server. With lane drivers, the documents are shared
+ * between the runner and its lanes, each document keeping the ranks of its position in the audit.
+ */
 public class AuditRunnerFile extends AbstractAuditRunner {
-    private static final Logger LOGGER = LoggerFactory.getLogger(AuditRunnerFile.class);
-    private final String fileContent;
-
+    private final List<String> documentUrls;
+    private final Queue<Integer> documents;
+    private final UploadContentServer uploadContentServer;
+    private final UploadContentServer.PublishedContent publishedContent;
+    private final AtomicBoolean released = new AtomicBoolean();
 
+    /**
+     * @param documentUrls        The urls of the documents on the upload content server
+     * @param uploadContentServer The server of the documents
+     * @param publishedContent    The content of the audit, released at the end of the runner
+     */
     public AuditRunnerFile(
             Audit audit,
-            String fileContent,
+            List<String> documentUrls,
+            UploadContentServer uploadContentServer,
+            UploadContentServer.PublishedContent publishedContent,
             RemoteWebDriver driver,
             String coreScript,
             long waitTime,
@@ -28,7 +42,8 @@ public class AuditRunnerFile extends AbstractAuditRunner {
             String basicAuthUrl,
             String basicAuthLogin,
             String basicAuthPassword,
-            boolean enableScreenShot) {
+            boolean enableScreenShot,
+            AuditTimings timings) {
         super(
                 audit,
                 driver,
@@ -38,33 +53,44 @@ public class AuditRunnerFile extends AbstractAuditRunner {
                 basicAuthUrl,
                 basicAuthLogin,
                 basicAuthPassword,
-                enableScreenShot);
-        this.fileContent = fileContent;
+                enableScreenShot,
+                timings);
+        this.documentUrls = documentUrls;
+        this.documents = IntStream.range(0, documentUrls.size()).boxed()
+                .collect(Collectors.toCollection(ConcurrentLinkedQueue::new));
+        this.uploadContentServer = uploadContentServer;
+        this.publishedContent = publishedContent;
+    }
+
+    private AuditRunnerFile(AuditRunnerFile parent, RemoteWebDriver driver) {
+        super(parent, driver);
+        this.documentUrls = parent.documentUrls;
+        this.documents = parent.documents;
+        this.uploadContentServer = null;
+        this.publishedContent = null;
     }
 
     @Override
     protected void runImpl() {
-        File tempFile = null;
         try {
-            tempFile = File.createTempFile("webresource-" + getAudit().getId(), "html");
-        } catch (IOException e) {
-            LOGGER.error("[Audit {}] Error while creating temporary file for the runner", getAudit().getId());
-        }
-
-        if (tempFile != null && tempFile.exists()) {
-            try (BufferedWriter bw = new BufferedWriter(new FileWriter(tempFile))) {
-                bw.write(fileContent);
-            } catch (IOException e) {
-                LOGGER.error("[Audit {}] Error while initializing temporary file for the runner", getAudit().getId());
+            startLanes(driver -> new AuditRunnerFile(this, driver));
+            Integer document;
+            while (!isStop() && (document = documents.poll()) != null) {
+                setDocumentNumber(document + 1);
+                webDriverGet(documentUrls.get(document));
             }
+            awaitLanes();
+        } finally {
+            releaseContent();
+        }
+    }
 
-            webDriverGet("file://" + tempFile.getAbsolutePath());
-
-            try {
-                Files.delete(tempFile.toPath());
-            } catch (IOException e) {
-                LOGGER.error("[Audit {}] Error while deleting temporary file for the runner", getAudit().getId());
-            }
+    /**
+     * Release the content of the audit on the upload content server, once
+     */
+    public void releaseContent() {
+        if (uploadContentServer != null && released.compareAndSet(false, true)) {
+            uploadContentServer.release(publishedContent);
         }
     }
 }
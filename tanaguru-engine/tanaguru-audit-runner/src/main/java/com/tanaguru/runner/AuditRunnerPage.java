@@ -4,15 +4,19 @@ package com.tanaguru.runner;
 import com.tanaguru.domain.constant.EAuditLogLevel;
 import com.tanaguru.domain.entity.audit.Audit;
 import com.tanaguru.domain.entity.audit.TanaguruTest;
+import com.tanaguru.runner.metrics.AuditTimings;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 public class AuditRunnerPage extends AbstractAuditRunner {
     private static final Logger LOGGER = LoggerFactory.getLogger(AuditRunnerPage.class);
-    private final Collection<String> urls;
+    private final List<String> urls;
+    private int nextUrl = 0;
 
     public AuditRunnerPage(
             Audit audit,
@@ -24,14 +28,16 @@ public class AuditRunnerPage extends AbstractAuditRunner {
             String basicAuthUrl,
             String basicAuthLogin,
             String basicAuthPassword,
-            boolean enableScreenShot) {
-        super(audit, driver, coreScript, waitTime, resolutions, basicAuthUrl, basicAuthLogin, basicAuthPassword, enableScreenShot);
-        this.urls = urls;
+            boolean enableScreenShot,
+            AuditTimings timings) {
+        super(audit, driver, coreScript, waitTime, resolutions, basicAuthUrl, basicAuthLogin, basicAuthPassword, enableScreenShot, timings);
+        this.urls = new ArrayList<>(urls);
     }
 
     @Override
     protected void runImpl() {
-        for (String url : urls) {
+        for (int i = nextUrl; i < urls.size(); i++) {
+            String url = urls.get(i);
             if (super.isStop()) {
                 LOGGER.warn("[Audit {}] Interrupting current audit", super.getAudit().getId());
                 break;
@@ -42,8 +48,17 @@ public class AuditRunnerPage extends AbstractAuditRunner {
                     LOGGER.error("Error happened while auditing page {} : {}", url, e.getMessage());
                     auditLog(EAuditLogLevel.ERROR, "Error happened while auditing page " + url + " : " + e.getMessage());
                 }
-
+                int nextIndex = i + 1;
+                checkpoint(() -> nextIndex);
             }
         }
     }
+
+    /**
+     * @param progress The index of the next url to audit
+     */
+    @Override
+    protected void resumeImpl(String progress) {
+        nextUrl = readProgress(progress, Integer.class);
+    }
 }
@@ -4,6 +4,8 @@ package com.tanaguru.runner;
 import com.tanaguru.domain.constant.EAuditLogLevel;
 import com.tanaguru.domain.entity.audit.Audit;
 import com.tanaguru.domain.entity.audit.TanaguruTest;
+import com.tanaguru.runner.metrics.AuditTimings;
+import com.tanaguru.selenese.SideProjectBounds;
 import com.tanaguru.selenese.command.SeleneseAudit;
 import com.tanaguru.selenese.command.SeleneseClick;
 import com.tanaguru.selenese.command.SeleneseOpen;
@@ -22,10 +24,24 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
+/**
+ * Audit of a selenese scenario. With lane drivers, the test cases of the scenario are shared between the runner and
+ * its lanes, each with its own selenese runner, when the number of pages of each test case is bounded. Each test case
+ * then keeps a block of ranks following the blocks of the previous test cases, and its logs are prefixed by its name.
+ */
 public class AuditRunnerSelenese extends AbstractAuditRunner {
     private static final Logger LOGGER = LoggerFactory.getLogger(AuditRunnerSelenese.class);
     private final String scenario;
+    private final AuditRunnerSelenese parent;
+
+    private Queue<Integer> testCases;
+    private int[] testCaseDocumentNumbers;
+    private boolean resumed = false;
+    private String logPrefix = "";
 
     public AuditRunnerSelenese(
             Audit audit,
@@ -37,7 +53,8 @@ public class AuditRunnerSelenese extends AbstractAuditRunner {
             String basicAuthUrl,
             String basicAuthLogin,
             String basicAuthPassword,
-            boolean enableScreenShot) {
+            boolean enableScreenShot,
+            AuditTimings timings) {
         super(audit,
                 driver,
                 coreScript,
@@ -46,8 +63,16 @@ public class AuditRunnerSelenese extends AbstractAuditRunner {
                 basicAuthUrl,
                 basicAuthLogin,
                 basicAuthPassword,
-                enableScreenShot);
+                enableScreenShot,
+                timings);
         this.scenario = scenario;
+        this.parent = null;
+    }
+
+    private AuditRunnerSelenese(AuditRunnerSelenese parent, RemoteWebDriver driver) {
+        super(parent, driver);
+        this.scenario = parent.scenario;
+        this.parent = parent;
     }
 
     @Override
@@ -56,22 +81,28 @@ public class AuditRunnerSelenese extends AbstractAuditRunner {
         try {
             Selenese selenese = getSeleneseScript(runner);
             TestProject project = (TestProject) selenese;
-            for (Selenese test : project.getSeleneseList()) {
-                if (super.isStop()) {
-                    LOGGER.warn("[Audit {}] Interrupting current audit", super.getAudit().getId());
-                    break;
-                } else {
-                    EAuditLogLevel level = EAuditLogLevel.INFO;
-                    Result result = runner.execute(test);
-                    if(result.getLevel().value == Result.Level.ERROR.value){
-                        level = EAuditLogLevel.ERROR;
-                    }else if(result.getLevel().value == Result.Level.WARNING.value){
-                        level = EAuditLogLevel.WARNING;
+            List<Selenese> tests = project.getSeleneseList();
+            if (parent == null && !resumed) {
+                shareTestCases(tests);
+            }
+            if (testCases == null) {
+                for (Selenese test : tests) {
+                    if (super.isStop()) {
+                        LOGGER.warn("[Audit {}] Interrupting current audit", super.getAudit().getId());
+                        break;
                     }
-
-                    auditLog(level, result.getMessage());
+                    execute(runner, test);
                 }
-
+            } else {
+                Integer testCase;
+                while (!isStop() && (testCase = testCases.poll()) != null) {
+                    Selenese test = tests.get(testCase);
+                    logPrefix = "[" + test.getName() + "] ";
+                    setDocumentNumber(testCaseDocumentNumbers[testCase]);
+                    execute(runner, test);
+                }
+                logPrefix = "";
+                awaitLanes();
             }
         } catch (IOException e) {
             auditLog(EAuditLogLevel.ERROR, "Unable to parse selenese scenario.\n" + e.getMessage());
@@ -79,6 +110,73 @@ public class AuditRunnerSelenese extends AbstractAuditRunner {
         }
     }
 
+    /**
+     * Start the lanes on the test cases of the scenario, if the number of pages of each of them is bounded
+     */
+    private void shareTestCases(List<Selenese> tests) {
+        SideProjectBounds bounds = new SideProjectBounds(scenario);
+        int[] documentNumbers = new int[tests.size()];
+        int documentNumber = 1;
+        for (int i = 0; i < tests.size(); i++) {
+            Integer maxPages = bounds.getMaxPages(tests.get(i).getName());
+            if (maxPages == null) {
+                LOGGER.info("[Audit {}] Pages of test case {} not bounded, test cases run one after the other",
+                        getAudit().getId(), tests.get(i).getName());
+                return;
+            }
+            documentNumbers[i] = documentNumber;
+            documentNumber += maxPages;
+        }
+        testCaseDocumentNumbers = documentNumbers;
+        testCases = new ConcurrentLinkedQueue<>();
+        for (int i = 0; i < tests.size(); i++) {
+            testCases.add(i);
+        }
+        startLanes(driver -> {
+            AuditRunnerSelenese lane = new AuditRunnerSelenese(this, driver);
+            lane.testCases = testCases;
+            lane.testCaseDocumentNumbers = testCaseDocumentNumbers;
+            return lane;
+        });
+    }
+
+    private void execute(Runner runner, Selenese test) {
+        EAuditLogLevel level = EAuditLogLevel.INFO;
+        Result result = runner.execute(test);
+        if(result.getLevel().value == Result.Level.ERROR.value){
+            level = EAuditLogLevel.ERROR;
+        }else if(result.getLevel().value == Result.Level.WARNING.value){
+            level = EAuditLogLevel.WARNING;
+        }
+
+        auditLog(level, result.getMessage());
+    }
+
+    @Override
+    protected void auditLog(EAuditLogLevel logLevel, String message) {
+        super.auditLog(logLevel, logPrefix + message);
+    }
+
+    /**
+     * Each step of the scenario that may audit a page saves the number of steps done.
+     * Test cases run at the same time can not be resumed, they run again.
+     */
+    @Override
+    protected void onStepEnd(int step) {
+        if (testCases == null) {
+            checkpoint(() -> step);
+        }
+    }
+
+    /**
+     * @param progress The number of steps done, the scenario is replayed without auditing them, one test case after the other
+     */
+    @Override
+    protected void resumeImpl(String progress) {
+        resumed = true;
+        skipSteps(readProgress(progress, Integer.class));
+    }
+
     private Runner getRunner() {
         Runner runner = new Runner();
         CommandFactory cf = runner.getCommandFactory();
@@ -103,6 +201,20 @@ public class AuditRunnerSelenese extends AbstractAuditRunner {
         return runner;
     }
 
+    /**
+     * @param scenario A selenese scenario
+     * @return The number of test cases the runner of the scenario may share with its lanes, 0 if it can not be parsed
+     */
+    public static int getTestCaseCount(String scenario) {
+        try (InputStream input = new ByteArrayInputStream(scenario.getBytes())) {
+            Selenese selenese = Parser.parse("selenese.side", input, new Runner().getCommandFactory());
+            return selenese instanceof TestProject ? ((TestProject) selenese).getSeleneseList().size() : 0;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Unable to parse selenese scenario : {}", e.getMessage());
+            return 0;
+        }
+    }
+
     private Selenese getSeleneseScript(Runner runner) throws IOException {
         InputStream input = new ByteArrayInputStream(scenario.getBytes());
         Selenese selenese = Parser.parse("selenese.side", input, runner.getCommandFactory());
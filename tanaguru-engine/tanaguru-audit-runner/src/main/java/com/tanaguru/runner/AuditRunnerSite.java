@@ -5,10 +5,12 @@ import com.tanaguru.crawler.listener.TanaguruCrawlerListener;
 import com.tanaguru.domain.constant.EAuditLogLevel;
 import com.tanaguru.domain.entity.audit.Audit;
 import com.tanaguru.domain.entity.audit.TanaguruTest;
+import com.tanaguru.runner.metrics.AuditTimings;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
 import java.util.Collection;
 
 public class AuditRunnerSite extends AbstractAuditRunner implements TanaguruCrawlerListener {
@@ -25,16 +27,21 @@ public class AuditRunnerSite extends AbstractAuditRunner implements TanaguruCraw
             String basicAuthUrl,
             String basicAuthLogin,
             String basicAuthPassword,
-            boolean enableScreenShot) {
-        super(audit, driver, coreScript, waitTime, resolutions, basicAuthUrl, basicAuthLogin, basicAuthPassword, enableScreenShot);
+            boolean enableScreenShot,
+            AuditTimings timings) {
+        super(audit, driver, coreScript, waitTime, resolutions, basicAuthUrl, basicAuthLogin, basicAuthPassword, enableScreenShot, timings);
         this.crawlerController = crawlerController;
     }
 
     @Override
     protected void runImpl() {
-        crawlerController.addListener(this);
-        crawlerController.run();
-        crawlerController.waitUntilFinish();
+        try {
+            crawlerController.addListener(this);
+            crawlerController.run();
+            crawlerController.waitUntilFinish();
+        } finally {
+            crawlerController.close();
+        }
     }
 
     @Override
@@ -45,6 +52,17 @@ public class AuditRunnerSite extends AbstractAuditRunner implements TanaguruCraw
             LOGGER.error("Error happened while auditing page {} : {}", url, e.getMessage());
             auditLog(EAuditLogLevel.ERROR, "Error happened while auditing page " + url + " : " + e.getMessage());
         }
+        checkpoint(this::getVisitedUrlFingerprints);
+    }
+
+    /**
+     * The frontier of the crawler is not kept, the crawl starts over and the pages already loaded are skipped
+     *
+     * @param progress The fingerprints of the urls already loaded
+     */
+    @Override
+    protected void resumeImpl(String progress) {
+        addVisitedUrlFingerprints(Arrays.asList(readProgress(progress, Long[].class)));
     }
 
     @Override
@@ -0,0 +1,103 @@
+package com.tanaguru.runner;
+
+import com.tanaguru.crawler.BrowserCrawlFrontier;
+import com.tanaguru.domain.constant.EAuditLogLevel;
+import com.tanaguru.domain.entity.audit.Audit;
+import com.tanaguru.runner.metrics.AuditTimings;
+import com.tanaguru.runner.metrics.EAuditRunnerStage;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Site audit crawling with the browser : each page is loaded once, audited,
+ * then the links of its rendered DOM, including the generated ones, feed the crawl
+ */
+public class AuditRunnerSiteBrowser extends AbstractAuditRunner {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AuditRunnerSiteBrowser.class);
+    private static final String LINKS_SCRIPT =
+            "return Array.from(document.querySelectorAll('a[href], area[href]'), function(link) { return link.href; });";
+
+    private final BrowserCrawlFrontier browserCrawlFrontier;
+
+    public AuditRunnerSiteBrowser(
+            Audit audit,
+            BrowserCrawlFrontier browserCrawlFrontier,
+            RemoteWebDriver driver,
+            String coreScript,
+            long waitTime,
+            Collection<Integer> resolutions,
+            String basicAuthUrl,
+            String basicAuthLogin,
+            String basicAuthPassword,
+            boolean enableScreenShot,
+            AuditTimings timings) {
+        super(audit, driver, coreScript, waitTime, resolutions, basicAuthUrl, basicAuthLogin, basicAuthPassword, enableScreenShot, timings);
+        this.browserCrawlFrontier = browserCrawlFrontier;
+    }
+
+    @Override
+    protected void runImpl() {
+        try {
+            BrowserCrawlFrontier.CrawlUrl crawlUrl;
+            while (!super.isStop() && (crawlUrl = browserCrawlFrontier.next()) != null) {
+                onCrawlUrlStart(crawlUrl);
+                try {
+                    webDriverGet(crawlUrl.getUrl());
+                    browserCrawlFrontier.addLinks(crawlUrl, getLinks());
+                } catch (Exception e) {
+                    LOGGER.error("Error happened while auditing page {} : {}", crawlUrl.getUrl(), e.getMessage());
+                    auditLog(EAuditLogLevel.ERROR, "Error happened while auditing page " + crawlUrl.getUrl() + " : " + e.getMessage());
+                }
+                onCrawlUrlEnd(crawlUrl);
+            }
+        } finally {
+            browserCrawlFrontier.close();
+        }
+    }
+
+    /**
+     * Called before loading an url of the frontier
+     */
+    protected void onCrawlUrlStart(BrowserCrawlFrontier.CrawlUrl crawlUrl) {
+    }
+
+    /**
+     * Called after auditing an url of the frontier and adding its links
+     */
+    protected void onCrawlUrlEnd(BrowserCrawlFrontier.CrawlUrl crawlUrl) {
+        checkpoint(browserCrawlFrontier::snapshot);
+    }
+
+    /**
+     * @param progress The snapshot of the frontier after the last audited page
+     */
+    @Override
+    protected void resumeImpl(String progress) {
+        browserCrawlFrontier.restore(readProgress(progress, BrowserCrawlFrontier.Snapshot.class));
+    }
+
+    private Collection<String> getLinks() {
+        Collection<String> result = new ArrayList<>();
+        long start = System.nanoTime();
+        try {
+            Object links = getDriver().executeScript(LINKS_SCRIPT);
+            if (links instanceof Collection) {
+                for (Object link : (Collection<?>) links) {
+                    if (link instanceof String) {
+                        result.add((String) link);
+                    }
+                }
+            }
+            getTimings().record(EAuditRunnerStage.LINK_EXTRACTION, start);
+        } catch (WebDriverException e) {
+            getTimings().recordError(EAuditRunnerStage.LINK_EXTRACTION);
+            LOGGER.error("[Audit {}] Link extraction error\n{}\n", getAudit().getId(), e.getMessage());
+        }
+        return result;
+    }
+}
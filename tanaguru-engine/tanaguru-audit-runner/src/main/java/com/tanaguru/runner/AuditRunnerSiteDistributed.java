@@ -0,0 +1,76 @@
+package com.tanaguru.runner;
+
+import com.tanaguru.crawler.BrowserCrawlFrontier;
+import com.tanaguru.crawler.DistributedCrawlFrontier;
+import com.tanaguru.domain.entity.audit.Audit;
+import com.tanaguru.runner.metrics.AuditTimings;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.util.Collection;
+
+/**
+ * Site audit crawling with the browser, sharing its frontier with the runners of other nodes.
+ * The runner that received the audit starts it, the others join it, and the runner that finishes the crawl ends it.
+ * Pages are ranked by the number of their document in the crawl, whichever runner audits them.
+ */
+public class AuditRunnerSiteDistributed extends AuditRunnerSiteBrowser {
+    private final DistributedCrawlFrontier distributedCrawlFrontier;
+    private final boolean worker;
+
+    /**
+     * @param worker True if the runner joins an audit started by another runner
+     */
+    public AuditRunnerSiteDistributed(
+            Audit audit,
+            DistributedCrawlFrontier distributedCrawlFrontier,
+            boolean worker,
+            RemoteWebDriver driver,
+            String coreScript,
+            long waitTime,
+            Collection<Integer> resolutions,
+            String basicAuthUrl,
+            String basicAuthLogin,
+            String basicAuthPassword,
+            boolean enableScreenShot,
+            AuditTimings timings) {
+        super(audit, distributedCrawlFrontier, driver, coreScript, waitTime, resolutions, basicAuthUrl, basicAuthLogin, basicAuthPassword, enableScreenShot, timings);
+        this.distributedCrawlFrontier = distributedCrawlFrontier;
+        this.worker = worker;
+    }
+
+    @Override
+    protected void onCrawlUrlStart(BrowserCrawlFrontier.CrawlUrl crawlUrl) {
+        setDocumentNumber(((DistributedCrawlFrontier.ClaimedUrl) crawlUrl).getDocumentNumber());
+    }
+
+    /**
+     * The store of the frontier replaces the checkpoints, the urls of a stopped runner are claimed again
+     */
+    @Override
+    protected void onCrawlUrlEnd(BrowserCrawlFrontier.CrawlUrl crawlUrl) {
+        distributedCrawlFrontier.done(crawlUrl);
+    }
+
+    @Override
+    protected boolean isAuditStart() {
+        return !worker;
+    }
+
+    /**
+     * A runner stopped before the end of the crawl hands its claimed urls over to the other runners
+     */
+    @Override
+    protected boolean isAuditEnd() {
+        if (!distributedCrawlFrontier.isOver()) {
+            distributedCrawlFrontier.release();
+            return false;
+        }
+        return distributedCrawlFrontier.finish();
+    }
+
+    @Override
+    public void interrupt() {
+        super.interrupt();
+        distributedCrawlFrontier.interrupt();
+    }
+}
@@ -1,10 +1,13 @@
 package com.tanaguru.runner.factory;
 
 import com.tanaguru.domain.entity.audit.Audit;
+import com.tanaguru.domain.entity.audit.Resource;
 import com.tanaguru.domain.entity.audit.TanaguruTest;
 import com.tanaguru.runner.AuditRunner;
+import com.tanaguru.runner.metrics.AuditTimings;
 import org.openqa.selenium.remote.RemoteWebDriver;
 
+import java.io.IOException;
 import java.util.Collection;
 
 /**
@@ -19,6 +22,14 @@ public interface AuditRunnerFactory {
      */
     AuditRunner create(Audit audit) throws Exception;
 
+    /**
+     * Create an @see AuditRunner joining the distributed crawl of a site @see Audit started by another runner
+     *
+     * @param audit The given @see Audit
+     * @return An @see AuditRunner
+     */
+    AuditRunner createDistributedWorker(Audit audit) throws Exception;
+
     /**
      * Create an @see AuditRunner from an @see Audit and an url list
      *
@@ -31,9 +42,10 @@ public interface AuditRunnerFactory {
      * @param basicAuthPassword Basic authentication password
      * @param enableScreeShot   True to enable webdriver to take screenshot
      * @param tanaguruDriver    The webdriver
+     * @param timings           The timings of the audit
      * @return An @see AuditRunner
      */
-    AuditRunner createPageRunner(Collection<TanaguruTest> references, Audit audit, Collection<String> urls, long waitTime, Collection<Integer> resolutions, String basicAuthUrl, String basicAuthLogin, String basicAuthPassword, boolean enableScreeShot, RemoteWebDriver tanaguruDriver);
+    AuditRunner createPageRunner(Collection<TanaguruTest> references, Audit audit, Collection<String> urls, long waitTime, Collection<Integer> resolutions, String basicAuthUrl, String basicAuthLogin, String basicAuthPassword, boolean enableScreeShot, RemoteWebDriver tanaguruDriver, AuditTimings timings);
 
     /**
      * Create an @see AuditRunner from an @see Audit and an seeds list
@@ -47,9 +59,10 @@ public interface AuditRunnerFactory {
      * @param basicAuthPassword Basic authentication password
      * @param enableScreeShot   True to enable webdriver to take screenshot
      * @param tanaguruDriver    The webdriver
+     * @param timings           The timings of the audit
      * @return An @see AuditRunner
      */
-    AuditRunner createSiteRunner(Collection<TanaguruTest> references, Audit audit, Collection<String> seeds, long waitTime, Collection<Integer> resolutions, String basicAuthUrl, String basicAuthLogin, String basicAuthPassword, boolean enableScreeShot, RemoteWebDriver tanaguruDriver) throws Exception;
+    AuditRunner createSiteRunner(Collection<TanaguruTest> references, Audit audit, Collection<String> seeds, long waitTime, Collection<Integer> resolutions, String basicAuthUrl, String basicAuthLogin, String basicAuthPassword, boolean enableScreeShot, RemoteWebDriver tanaguruDriver, AuditTimings timings) throws Exception;
 
     /**
      * Create an @see AuditRunner from an @see Audit and a selenese scenario
@@ -63,15 +76,16 @@ public interface AuditRunnerFactory {
      * @param basicAuthPassword Basic authentication password
      * @param enableScreeShot   True to enable webdriver to take screenshot
      * @param tanaguruDriver    The webdriver
+     * @param timings           The timings of the audit
      * @return An @see AuditRunner
      */
-    AuditRunner createSeleneseRunner(Collection<TanaguruTest> references, Audit audit, String scenario, long waitTime, Collection<Integer> resolutions, String basicAuthUrl, String basicAuthLogin, String basicAuthPassword, boolean enableScreeShot, RemoteWebDriver tanaguruDriver);
+    AuditRunner createSeleneseRunner(Collection<TanaguruTest> references, Audit audit, String scenario, long waitTime, Collection<Integer> resolutions, String basicAuthUrl, String basicAuthLogin, String basicAuthPassword, boolean enableScreeShot, RemoteWebDriver tanaguruDriver, AuditTimings timings);
 
     /**
-     * Create an @see AuditRunner from an Audit and html page
+     * Create an @see AuditRunner from an Audit and uploaded html pages
      *
      * @param audit             The given audit
-     * @param content           The page content
+     * @param resources         The uploaded pages and the zip archives of their assets
      * @param waitTime          The time to wait before audit start on a page
      * @param resolutions       The breakpoints to audits
      * @param basicAuthUrl      Basic authentication url
@@ -79,7 +93,8 @@ public interface AuditRunnerFactory {
      * @param basicAuthPassword Basic authentication password
      * @param enableScreeShot   True to enable webdriver to take screenshot
      * @param tanaguruDriver    The webdriver
+     * @param timings           The timings of the audit
      * @return An @see AuditRunner
      */
-    AuditRunner createFileRunner(Collection<TanaguruTest> references, Audit audit, String content, long waitTime, Collection<Integer> resolutions, String basicAuthUrl, String basicAuthLogin, String basicAuthPassword, boolean enableScreeShot, RemoteWebDriver tanaguruDriver);
+    AuditRunner createFileRunner(Collection<TanaguruTest> references, Audit audit, Collection<Resource> resources, long waitTime, Collection<Integer> resolutions, String basicAuthUrl, String basicAuthLogin, String basicAuthPassword, boolean enableScreeShot, RemoteWebDriver tanaguruDriver, AuditTimings timings) throws IOException;
 }
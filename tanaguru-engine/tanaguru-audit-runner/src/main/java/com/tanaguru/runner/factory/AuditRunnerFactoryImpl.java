@@ -1,30 +1,47 @@
 package com.tanaguru.runner.factory;
 
 import com.tanaguru.config.PropertyConfig;
+import com.tanaguru.crawler.BrowserCrawlFrontier;
+import com.tanaguru.crawler.DistributedCrawlFrontier;
+import com.tanaguru.crawler.DistributedCrawlStore;
 import com.tanaguru.crawler.TanaguruCrawlerController;
 import com.tanaguru.crawler.factory.TanaguruCrawlerControllerFactory;
 import com.tanaguru.domain.constant.BrowserName;
 import com.tanaguru.domain.constant.CustomError;
 import com.tanaguru.domain.constant.EAuditLogLevel;
 import com.tanaguru.domain.constant.EAuditParameter;
+import com.tanaguru.domain.constant.EAuditType;
 import com.tanaguru.domain.entity.audit.*;
 import com.tanaguru.domain.entity.audit.parameter.AuditParameterValue;
 import com.tanaguru.domain.exception.CustomEntityNotFoundException;
+import com.tanaguru.driver.ResourceBlocking;
 import com.tanaguru.driver.factory.TanaguruDriverFactory;
 import com.tanaguru.helper.AESEncrypt;
+import com.tanaguru.politeness.HostRateLimiter;
+import com.tanaguru.repository.AuditCheckpointRepository;
 import com.tanaguru.repository.AuditReferenceRepository;
 import com.tanaguru.repository.ResourceRepository;
 import com.tanaguru.repository.ScenarioRepository;
 import com.tanaguru.repository.TanaguruTestRepository;
 import com.tanaguru.runner.*;
+import com.tanaguru.runner.metrics.AuditRunnerMetrics;
+import com.tanaguru.runner.metrics.AuditTimings;
+import com.tanaguru.runner.metrics.EAuditRunnerStage;
+import com.tanaguru.selenese.SideProjectBounds;
 import com.tanaguru.service.AuditService;
+import com.tanaguru.service.PageService;
+import com.tanaguru.upload.UploadBundle;
+import com.tanaguru.upload.UploadContentServer;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.transaction.Transactional;
+import java.io.IOException;
+import java.time.Duration;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -41,10 +58,54 @@ public class AuditRunnerFactoryImpl implements AuditRunnerFactory {
     private final TanaguruTestRepository tanaguruTestRepository;
     private final AuditReferenceRepository auditReferenceRepository;
     private final ScriptFactory scriptFactory;
+    private final AuditRunnerMetrics auditRunnerMetrics;
+    private final HostRateLimiter hostRateLimiter;
+    private final AuditCheckpointRepository auditCheckpointRepository;
+    private final PageService pageService;
+    private final DistributedCrawlStore distributedCrawlStore;
+    private final UploadContentServer uploadContentServer;
 
     private final String coreScript;
     private static final String CHROME = "chrome";
     private static final String FIREFOX = "firefox";
+    private static final String BROWSER_CRAWLER_MODE = "browser";
+    private static final String DISTRIBUTED_CRAWLER_MODE = "distributed";
+
+    @Value("${auditrunner.crawler.mode:fetch}")
+    private String crawlerMode;
+
+    @Value("${auditrunner.incremental.enabled:false}")
+    private boolean incrementalEnabled;
+
+    @Value("${auditrunner.checkpoint.pages:50}")
+    private int checkpointPages;
+
+    @Value("${auditrunner.checkpoint.interval:60}")
+    private long checkpointInterval;
+
+    @Value("${auditrunner.resolutions.parallel:false}")
+    private boolean parallelResolutions;
+
+    @Value("${auditrunner.chrome.devtools:false}")
+    private boolean devToolsEnabled;
+
+    @Value("${auditrunner.scriptTimeout:10}")
+    private long scriptTimeout;
+
+    @Value("${auditrunner.blocking.images-without-screenshot:true}")
+    private boolean blockImagesWithoutScreenshot;
+
+    @Value("${auditrunner.blocking.measure:false}")
+    private boolean measureBlockingSavings;
+
+    @Value("${auditrunner.upload.parallel-documents:3}")
+    private int parallelDocuments;
+
+    @Value("${auditrunner.selenese.parallel-test-cases:1}")
+    private int parallelTestCases;
+
+    @Value("${auditrunner.upload.max-bundle-size:100}")
+    private long maxBundleSize;
 
     @Autowired
     public AuditRunnerFactoryImpl(
@@ -53,7 +114,13 @@ public class AuditRunnerFactoryImpl implements AuditRunnerFactory {
             AuditService auditService,
             ScenarioRepository scenarioRepository,
             ResourceRepository resourceRepository,
-            TanaguruTestRepository tanaguruTestRepository, AuditReferenceRepository auditReferenceRepository, ScriptFactory scriptFactory, String coreScript) {
+            TanaguruTestRepository tanaguruTestRepository, AuditReferenceRepository auditReferenceRepository, ScriptFactory scriptFactory, String coreScript,
+            AuditRunnerMetrics auditRunnerMetrics,
+            HostRateLimiter hostRateLimiter,
+            AuditCheckpointRepository auditCheckpointRepository,
+            PageService pageService,
+            DistributedCrawlStore distributedCrawlStore,
+            UploadContentServer uploadContentServer) {
 
         this.tanaguruDriverFactory = tanaguruDriverFactory;
         this.tanaguruCrawlerControllerFactory = tanaguruCrawlerControllerFactory;
@@ -64,10 +131,28 @@ public class AuditRunnerFactoryImpl implements AuditRunnerFactory {
         this.auditReferenceRepository = auditReferenceRepository;
         this.scriptFactory = scriptFactory;
         this.coreScript = coreScript;
+        this.auditRunnerMetrics = auditRunnerMetrics;
+        this.hostRateLimiter = hostRateLimiter;
+        this.auditCheckpointRepository = auditCheckpointRepository;
+        this.pageService = pageService;
+        this.distributedCrawlStore = distributedCrawlStore;
+        this.uploadContentServer = uploadContentServer;
     }
 
     @Override
     public AuditRunner create(Audit audit) throws Exception {
+        return create(audit, false);
+    }
+
+    @Override
+    public AuditRunner createDistributedWorker(Audit audit) throws Exception {
+        return create(audit, true);
+    }
+
+    /**
+     * @param worker True to join the distributed crawl of a site audit started by another runner
+     */
+    private AuditRunner create(Audit audit, boolean worker) throws Exception {
         Collection<AuditReference> references = auditReferenceRepository.findAllByAudit(audit);
         Collection<TanaguruTest> tanaguruTests = tanaguruTestRepository.findDistinctByTestHierarchies_ReferenceInAndIsDeletedIsFalse(
                 references.stream().map(AuditReference::getTestHierarchy)
@@ -105,86 +190,226 @@ public class AuditRunnerFactoryImpl implements AuditRunnerFactory {
                         .split(";"))
                         .map(Integer::parseInt).collect(Collectors.toList());
 
-        RemoteWebDriver tanaguruDriver = tanaguruDriverFactory.create(browserName);
+        ResourceBlocking resourceBlocking = ResourceBlocking.parse(
+                getOptionalValue(parameterStringMap, EAuditParameter.WEBDRIVER_BLOCKED_TYPES),
+                getOptionalValue(parameterStringMap, EAuditParameter.WEBDRIVER_BLOCKED_DOMAINS),
+                blockImagesWithoutScreenshot && !enableScreenShot);
+
+        AuditTimings timings = auditRunnerMetrics.start(audit, browserName);
+        long driverCreationStart = System.nanoTime();
+        RemoteWebDriver tanaguruDriver = tanaguruDriverFactory.create(browserName, resourceBlocking);
+        timings.record(EAuditRunnerStage.DRIVER_CREATION, driverCreationStart);
 
         AuditRunner result = null;
-        switch (audit.getType()) {
-            case PAGE:
-                Collection<String> urls = new ArrayList<>(
-                        Arrays.asList(parameterStringMap.get(EAuditParameter.PAGE_URLS).getValue().split(";"))
-                );
-
-                result = createPageRunner(
-                        tanaguruTests,
-                        audit,
-                        urls,
-                        waitTime,
-                        resolutions,
-                        basicAuthUrl,
-                        basicAuthLogin,
-                        basicAuthPassword,
-                        enableScreenShot,
-                        tanaguruDriver);
-                break;
+        int laneCount = 0;
+        Collection<RemoteWebDriver> resolutionDrivers = Collections.emptyList();
+        Collection<RemoteWebDriver> laneDrivers = Collections.emptyList();
+        try {
+            switch (audit.getType()) {
+                case PAGE:
+                    Collection<String> urls = new ArrayList<>(
+                            Arrays.asList(parameterStringMap.get(EAuditParameter.PAGE_URLS).getValue().split(";"))
+                    );
 
-            case SITE:
-                Collection<String> seeds = new ArrayList<>(
-                        Arrays.asList(parameterStringMap.get(EAuditParameter.SITE_SEEDS).getValue().split(";"))
-                );
-                result = createSiteRunner(
-                        tanaguruTests,
-                        audit,
-                        seeds,
-                        waitTime,
-                        resolutions,
-                        basicAuthUrl,
-                        basicAuthLogin,
-                        basicAuthPassword,
-                        enableScreenShot,
-                        tanaguruDriver);
-                break;
+                    result = createPageRunner(
+                            tanaguruTests,
+                            audit,
+                            urls,
+                            waitTime,
+                            resolutions,
+                            basicAuthUrl,
+                            basicAuthLogin,
+                            basicAuthPassword,
+                            enableScreenShot,
+                            tanaguruDriver,
+                            timings);
+                    break;
 
-            case SCENARIO:
-                long scenarioId = Long.parseLong(parameterStringMap.get(EAuditParameter.SCENARIO_ID).getValue());
-                Scenario scenario = scenarioRepository.findById(scenarioId)
-                        .orElseThrow(() -> new CustomEntityNotFoundException(CustomError.SCENARIO_NOT_FOUND, scenarioId));
-
-                result = createSeleneseRunner(
-                        tanaguruTests,
-                        audit,
-                        new String(Base64.getDecoder().decode(scenario.getContent())),
-                        waitTime,
-                        resolutions,
-                        basicAuthUrl,
-                        basicAuthLogin,
-                        basicAuthPassword,
-                        enableScreenShot,
-                        tanaguruDriver);
-                break;
-            case UPLOAD:
-                long resourceId = Long.parseLong(parameterStringMap.get(EAuditParameter.DOM_ID).getValue());
-                Resource resource = resourceRepository.findById(resourceId)
-                        .orElseThrow(() -> new CustomEntityNotFoundException(CustomError.RESOURCE_NOT_FOUND, resourceId));
-                result = createFileRunner(
-                        tanaguruTests,
-                        audit,
-                        resource.getContent(),
-                        waitTime,
-                        resolutions,
-                        basicAuthUrl,
-                        basicAuthLogin,
-                        basicAuthPassword,
-                        enableScreenShot,
-                        tanaguruDriver);
-                break;
-            default:
-                auditService.log(audit, EAuditLogLevel.ERROR, audit.getType() + " audit type not handled");
-                LOGGER.error("[Audit {}] Audit type not handled", audit.getId());
+                case SITE:
+                    Collection<String> seeds = new ArrayList<>(
+                            Arrays.asList(parameterStringMap.get(EAuditParameter.SITE_SEEDS).getValue().split(";"))
+                    );
+                    result = createSiteRunner(
+                            tanaguruTests,
+                            audit,
+                            seeds,
+                            waitTime,
+                            resolutions,
+                            basicAuthUrl,
+                            basicAuthLogin,
+                            basicAuthPassword,
+                            enableScreenShot,
+                            tanaguruDriver,
+                            timings,
+                            worker);
+                    break;
+
+                case SCENARIO:
+                    long scenarioId = Long.parseLong(parameterStringMap.get(EAuditParameter.SCENARIO_ID).getValue());
+                    Scenario scenario = scenarioRepository.findById(scenarioId)
+                            .orElseThrow(() -> new CustomEntityNotFoundException(CustomError.SCENARIO_NOT_FOUND, scenarioId));
+
+                    String scenarioContent = new String(Base64.getDecoder().decode(scenario.getContent()));
+                    // Test cases only run on lanes when all their pages are bounded, the others run one after the other
+                    if (new SideProjectBounds(scenarioContent).isBounded()) {
+                        laneCount = Math.min(AuditRunnerSelenese.getTestCaseCount(scenarioContent), parallelTestCases) - 1;
+                    }
+                    result = createSeleneseRunner(
+                            tanaguruTests,
+                            audit,
+                            scenarioContent,
+                            waitTime,
+                            resolutions,
+                            basicAuthUrl,
+                            basicAuthLogin,
+                            basicAuthPassword,
+                            enableScreenShot,
+                            tanaguruDriver,
+                            timings);
+                    break;
+                case UPLOAD:
+                    List<Resource> resources = new ArrayList<>();
+                    for (String id : parameterStringMap.get(EAuditParameter.DOM_ID).getValue().split(";")) {
+                        long resourceId = Long.parseLong(id);
+                        resources.add(resourceRepository.findById(resourceId)
+                                .orElseThrow(() -> new CustomEntityNotFoundException(CustomError.RESOURCE_NOT_FOUND, resourceId)));
+                    }
+                    int documentCount = (int) resources.stream().filter(resource -> !resource.isAssetBundle()).count();
+                    laneCount = Math.min(documentCount, parallelDocuments) - 1;
+                    result = createFileRunner(
+                            tanaguruTests,
+                            audit,
+                            resources,
+                            waitTime,
+                            resolutions,
+                            basicAuthUrl,
+                            basicAuthLogin,
+                            basicAuthPassword,
+                            enableScreenShot,
+                            tanaguruDriver,
+                            timings);
+                    break;
+                default:
+                    auditService.log(audit, EAuditLogLevel.ERROR, audit.getType() + " audit type not handled");
+                    LOGGER.error("[Audit {}] Audit type not handled", audit.getId());
+            }
+
+            if (result != null) {
+                // Base audits store the content hashes their scheduled runs compare to
+                result.setIncremental(incrementalEnabled);
+                result.setCheckpointInterval(checkpointPages, checkpointInterval);
+                // Uploaded documents are served by the runner itself
+                if (audit.getType() != EAuditType.UPLOAD) {
+                    result.setHostRateLimiter(hostRateLimiter);
+                }
+                result.setDevTools(devToolsEnabled, Duration.ofSeconds(scriptTimeout));
+                result.setResourceBlocking(resourceBlocking, measureBlockingSavings);
+                // Scenario pages depend on the previous commands and can not be loaded again from their url
+                if (parallelResolutions && resolutions.size() > 1 && audit.getType() != EAuditType.SCENARIO) {
+                    resolutionDrivers = createResolutionDrivers(audit, browserName, resourceBlocking, resolutions.size() - 1, timings);
+                    result.setResolutionDrivers(resolutionDrivers);
+                }
+                // The shared frontier of a distributed crawl already keeps its progress
+                Optional<AuditCheckpoint> checkpoint = result instanceof AuditRunnerSiteDistributed ?
+                        Optional.empty() :
+                        auditCheckpointRepository.findByAudit(audit);
+                // Scenarios resumed from a step replay their test cases one after the other
+                if (laneCount > 0 && !(checkpoint.isPresent() && checkpoint.get().getProgress() != null && audit.getType() == EAuditType.SCENARIO)) {
+                    laneDrivers = createLaneDrivers(audit, browserName, resourceBlocking, laneCount, timings);
+                    result.setLaneDrivers(laneDrivers);
+                }
+                if (checkpoint.isPresent()) {
+                    resume(result, checkpoint.get());
+                }
+            }
+        } catch (Exception e) {
+            // The content published for an upload audit is released by its run
+            if (result instanceof AuditRunnerFile) {
+                ((AuditRunnerFile) result).releaseContent();
+            }
+            // The drivers are only quit by the run of the runner
+            quitDrivers(audit, Collections.singletonList(tanaguruDriver));
+            quitDrivers(audit, resolutionDrivers);
+            quitDrivers(audit, laneDrivers);
+            throw e;
+        }
+        if (result == null) {
+            quitDrivers(audit, Collections.singletonList(tanaguruDriver));
+        }
+        return result;
+    }
+
+    private void quitDrivers(Audit audit, Collection<RemoteWebDriver> drivers) {
+        for (RemoteWebDriver driver : drivers) {
+            try {
+                driver.quit();
+            } catch (Exception e) {
+                LOGGER.error("[Audit {}] Error while closing webdriver : {}", audit.getId(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Resume an audit left running by a crashed or stopped runner. The pages persisted after its last checkpoint
+     * may be incomplete, they are deleted and audited again with the same ranks.
+     */
+    void resume(AuditRunner auditRunner, AuditCheckpoint checkpoint) {
+        Audit audit = auditRunner.getAudit();
+        int deleted = pageService.deletePageByAuditFromRank(audit.getId(), checkpoint.getNextRank());
+        LOGGER.info("[Audit {}] Resume from page rank {}, {} pages audited after the checkpoint deleted",
+                audit.getId(), checkpoint.getNextRank(), deleted);
+        auditRunner.resume(checkpoint.getNextRank(), checkpoint.getProgress());
+    }
+
+    /**
+     * @return The value of a parameter added after the audit may have been created, null if the audit has none
+     */
+    private static String getOptionalValue(Map<EAuditParameter, AuditParameterValue> parameters, EAuditParameter parameter) {
+        AuditParameterValue value = parameters.get(parameter);
+        return value == null ? null : value.getValue();
+    }
+
+    /**
+     * @return The drivers of the resolutions audited in parallel, empty if one of them could not be created
+     */
+    private Collection<RemoteWebDriver> createResolutionDrivers(Audit audit, BrowserName browserName, ResourceBlocking resourceBlocking, int count, AuditTimings timings) {
+        Collection<RemoteWebDriver> result = new ArrayList<>();
+        try {
+            for (int i = 0; i < count; i++) {
+                long driverCreationStart = System.nanoTime();
+                result.add(tanaguruDriverFactory.create(browserName, resourceBlocking));
+                timings.record(EAuditRunnerStage.DRIVER_CREATION, driverCreationStart);
+            }
+        } catch (Exception e) {
+            LOGGER.warn("[Audit {}] Unable to create resolution drivers, resolutions are audited one after the other : {}", audit.getId(), e.getMessage());
+            auditService.log(audit, EAuditLogLevel.WARNING, "Unable to create resolution drivers, resolutions are audited one after the other");
+            for (RemoteWebDriver driver : result) {
+                driver.quit();
+            }
+            result.clear();
         }
         return result;
     }
 
 
+    /**
+     * @return The drivers of the documents or test cases audited in parallel, as many as could be created
+     */
+    private Collection<RemoteWebDriver> createLaneDrivers(Audit audit, BrowserName browserName, ResourceBlocking resourceBlocking, int count, AuditTimings timings) {
+        Collection<RemoteWebDriver> result = new ArrayList<>();
+        try {
+            for (int i = 0; i < count; i++) {
+                long driverCreationStart = System.nanoTime();
+                result.add(tanaguruDriverFactory.create(browserName, resourceBlocking));
+                timings.record(EAuditRunnerStage.DRIVER_CREATION, driverCreationStart);
+            }
+        } catch (Exception e) {
+            LOGGER.warn("[Audit {}] Unable to create lane drivers, {} drivers audit at the same time : {}", audit.getId(), result.size() + 1, e.getMessage());
+            auditService.log(audit, EAuditLogLevel.WARNING, "Unable to create lane drivers, " + (result.size() + 1) + " drivers audit at the same time");
+        }
+        return result;
+    }
+
     public AuditRunner createPageRunner(
             Collection<TanaguruTest> tanaguruTests,
             Audit audit, Collection<String> urls,
@@ -194,7 +419,8 @@ public class AuditRunnerFactoryImpl implements AuditRunnerFactory {
             String basicAuthLogin,
             String basicAuthPassword,
             boolean enableScreenShot,
-            RemoteWebDriver tanaguruDriver) {
+            RemoteWebDriver tanaguruDriver,
+            AuditTimings timings) {
 
         return new AuditRunnerPage(
                 audit,
@@ -206,7 +432,8 @@ public class AuditRunnerFactoryImpl implements AuditRunnerFactory {
                 basicAuthUrl,
                 basicAuthLogin,
                 basicAuthPassword,
-                enableScreenShot);
+                enableScreenShot,
+                timings);
     }
 
     public AuditRunner createSeleneseRunner(
@@ -219,7 +446,8 @@ public class AuditRunnerFactoryImpl implements AuditRunnerFactory {
             String basicAuthLogin,
             String basicAuthPassword,
             boolean enableScreenShot,
-            RemoteWebDriver tanaguruDriver) {
+            RemoteWebDriver tanaguruDriver,
+            AuditTimings timings) {
 
         return new AuditRunnerSelenese(
                 audit,
@@ -231,7 +459,8 @@ public class AuditRunnerFactoryImpl implements AuditRunnerFactory {
                 basicAuthUrl,
                 basicAuthLogin,
                 basicAuthPassword,
-                enableScreenShot);
+                enableScreenShot,
+                timings);
     }
 
     public AuditRunner createSiteRunner(
@@ -244,9 +473,92 @@ public class AuditRunnerFactoryImpl implements AuditRunnerFactory {
             String basicAuthLogin,
             String basicAuthPassword,
             boolean enableScreenShot,
-            RemoteWebDriver tanaguruDriver) throws Exception {
+            RemoteWebDriver tanaguruDriver,
+            AuditTimings timings) throws Exception {
+
+        return createSiteRunner(tanaguruTests, audit, seeds, waitTime, resolutions, basicAuthUrl, basicAuthLogin,
+                basicAuthPassword, enableScreenShot, tanaguruDriver, timings, false);
+    }
+
+    private AuditRunner createSiteRunner(
+            Collection<TanaguruTest> tanaguruTests,
+            Audit audit,
+            Collection<String> seeds,
+            long waitTime,
+            Collection<Integer> resolutions,
+            String basicAuthUrl,
+            String basicAuthLogin,
+            String basicAuthPassword,
+            boolean enableScreenShot,
+            RemoteWebDriver tanaguruDriver,
+            AuditTimings timings,
+            boolean worker) throws Exception {
 
         Map<EAuditParameter, AuditParameterValue> auditParameterValueMap = audit.getParametersAsMap();
+        AuditParameterValue sitemapParameterValue = auditParameterValueMap.get(EAuditParameter.CRAWLER_SITEMAP);
+        boolean useSitemaps = sitemapParameterValue != null && Boolean.parseBoolean(sitemapParameterValue.getValue());
+        if (DISTRIBUTED_CRAWLER_MODE.equals(crawlerMode)) {
+            // The crawl has been opened with its seeds and sitemap pages by the runner that started the audit
+            DistributedCrawlFrontier distributedCrawlFrontier = tanaguruCrawlerControllerFactory.createDistributedCrawlFrontier(
+                    distributedCrawlStore,
+                    audit.getId(),
+                    resolutions.size(),
+                    seeds,
+                    Long.parseLong(auditParameterValueMap.get(EAuditParameter.CRAWLER_MAX_DURATION).getValue()),
+                    auditParameterValueMap.get(EAuditParameter.CRAWLER_INCLUSION_REGEX).getValue(),
+                    auditParameterValueMap.get(EAuditParameter.CRAWLER_EXCLUSION_REGEX).getValue(),
+                    Integer.parseInt(auditParameterValueMap.get(EAuditParameter.CRAWLER_MAX_DOCUMENT).getValue()),
+                    Integer.parseInt(auditParameterValueMap.get(EAuditParameter.CRAWLER_MAX_DEPTH).getValue()),
+                    useSitemaps,
+                    worker,
+                    basicAuthUrl,
+                    basicAuthLogin,
+                    basicAuthPassword
+            );
+
+            return new AuditRunnerSiteDistributed(
+                    audit,
+                    distributedCrawlFrontier,
+                    worker,
+                    tanaguruDriver,
+                    scriptFactory.create(coreScript, tanaguruTests),
+                    waitTime,
+                    resolutions,
+                    basicAuthUrl,
+                    basicAuthLogin,
+                    basicAuthPassword,
+                    enableScreenShot,
+                    timings);
+        }
+
+        if (BROWSER_CRAWLER_MODE.equals(crawlerMode)) {
+            BrowserCrawlFrontier browserCrawlFrontier = tanaguruCrawlerControllerFactory.createBrowserCrawlFrontier(
+                    seeds,
+                    Long.parseLong(auditParameterValueMap.get(EAuditParameter.CRAWLER_MAX_DURATION).getValue()),
+                    auditParameterValueMap.get(EAuditParameter.CRAWLER_INCLUSION_REGEX).getValue(),
+                    auditParameterValueMap.get(EAuditParameter.CRAWLER_EXCLUSION_REGEX).getValue(),
+                    Integer.parseInt(auditParameterValueMap.get(EAuditParameter.CRAWLER_MAX_DOCUMENT).getValue()),
+                    Integer.parseInt(auditParameterValueMap.get(EAuditParameter.CRAWLER_MAX_DEPTH).getValue()),
+                    useSitemaps,
+                    basicAuthUrl,
+                    basicAuthLogin,
+                    basicAuthPassword
+            );
+
+            return new AuditRunnerSiteBrowser(
+                    audit,
+                    browserCrawlFrontier,
+                    tanaguruDriver,
+                    scriptFactory.create(coreScript, tanaguruTests),
+                    waitTime,
+                    resolutions,
+                    basicAuthUrl,
+                    basicAuthLogin,
+                    basicAuthPassword,
+                    enableScreenShot,
+                    timings);
+        }
+
         TanaguruCrawlerController tanaguruCrawlerController = tanaguruCrawlerControllerFactory.create(
                 seeds,
                 Long.parseLong(auditParameterValueMap.get(EAuditParameter.CRAWLER_MAX_DURATION).getValue()),
@@ -254,6 +566,7 @@ public class AuditRunnerFactoryImpl implements AuditRunnerFactory {
                 auditParameterValueMap.get(EAuditParameter.CRAWLER_EXCLUSION_REGEX).getValue(),
                 Integer.parseInt(auditParameterValueMap.get(EAuditParameter.CRAWLER_MAX_DOCUMENT).getValue()),
                 Integer.parseInt(auditParameterValueMap.get(EAuditParameter.CRAWLER_MAX_DEPTH).getValue()),
+                useSitemaps,
                 basicAuthUrl,
                 basicAuthLogin,
                 basicAuthPassword
@@ -269,31 +582,59 @@ public class AuditRunnerFactoryImpl implements AuditRunnerFactory {
                 basicAuthUrl,
                 basicAuthLogin,
                 basicAuthPassword,
-                enableScreenShot);
+                enableScreenShot,
+                timings);
     }
 
     public AuditRunner createFileRunner(
             Collection<TanaguruTest> tanaguruTests,
             Audit audit,
-            String content,
+            Collection<Resource> resources,
             long waitTime,
             Collection<Integer> resolutions,
             String basicAuthUrl,
             String basicAuthLogin,
             String basicAuthPassword,
             boolean enableScreenShot,
-            RemoteWebDriver tanaguruDriver) {
+            RemoteWebDriver tanaguruDriver,
+            AuditTimings timings) throws IOException {
 
-        return new AuditRunnerFile(
-                audit,
-                content,
-                tanaguruDriver,
-                scriptFactory.create(coreScript, tanaguruTests),
-                waitTime,
-                resolutions,
-                basicAuthUrl,
-                basicAuthLogin,
-                basicAuthPassword,
-                enableScreenShot);
+        Map<String, String> documents = new LinkedHashMap<>();
+        Map<String, byte[]> assets = new HashMap<>();
+        for (Resource resource : resources) {
+            if (resource.isAssetBundle()) {
+                assets.putAll(UploadBundle.read(resource.getContent(), maxBundleSize * 1024 * 1024));
+            } else {
+                String path = resource.getName().replaceAll("[^A-Za-z0-9._-]", "_");
+                if (path.isEmpty() || documents.containsKey(path)) {
+                    path = resource.getId() + "_" + path;
+                }
+                documents.put(path, resource.getContent());
+            }
+        }
+        if (documents.isEmpty()) {
+            throw new IllegalArgumentException("No document to audit among the uploaded resources");
+        }
+
+        UploadContentServer.PublishedContent publishedContent = uploadContentServer.publish(documents, assets);
+        try {
+            return new AuditRunnerFile(
+                    audit,
+                    documents.keySet().stream().map(publishedContent::getUrl).collect(Collectors.toList()),
+                    uploadContentServer,
+                    publishedContent,
+                    tanaguruDriver,
+                    scriptFactory.create(coreScript, tanaguruTests),
+                    waitTime,
+                    resolutions,
+                    basicAuthUrl,
+                    basicAuthLogin,
+                    basicAuthPassword,
+                    enableScreenShot,
+                    timings);
+        } catch (RuntimeException e) {
+            uploadContentServer.release(publishedContent);
+            throw e;
+        }
     }
 }
@@ -5,5 +5,21 @@ import com.tanaguru.domain.entity.audit.TanaguruTest;
 import java.util.Collection;
 
 public interface ScriptFactory {
+    /**
+     * Last statement of every created script, returning the serialized results
+     */
+    String RESULT_STATEMENT = "return JSON.stringify(loadTanaguruTests());";
+
+    /**
+     * Last statement of the created scripts returning the results in the compact format of scripts/compact-result.js
+     */
+    String COMPACT_RESULT_STATEMENT = "return JSON.stringify(encodeTanaguruResult(loadTanaguruTests()));";
+
+    /**
+     * Last statement of the created scripts keeping the results in the page, formatted with the number of elements
+     * by chunk. It returns the summary read by ChunkedResultReader.
+     */
+    String CHUNKED_RESULT_STATEMENT = "return JSON.stringify(storeTanaguruResult(loadTanaguruTests(), %d));";
+
     String create(String coreScript, Collection<TanaguruTest> tanaguruTestList);
 }
@@ -2,12 +2,60 @@ package com.tanaguru.runner.factory;
 
 import com.google.gson.Gson;
 import com.tanaguru.domain.entity.audit.TanaguruTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 
 @Component
 public class ScriptFactoryImpl implements ScriptFactory {
+    private static final String COMPACT_RESULT_SCRIPT = "scripts/compact-result.js";
+    private static final String RESULT_CHUNKS_SCRIPT = "scripts/result-chunks.js";
+
+    /**
+     * The script appended to the tests to encode or keep the results, null when the results are returned as plain json
+     */
+    private final String resultScript;
+    private final String resultStatement;
+
+    public ScriptFactoryImpl() {
+        this(false, 0);
+    }
+
+    /**
+     * @param compactResult   True to return the results in the compact format read by CompactResultDecoder
+     * @param resultChunkSize The number of elements by call when the results are kept in the page and read by chunks
+     *                        with ChunkedResultReader, 0 to return all of them at once
+     */
+    @Autowired
+    public ScriptFactoryImpl(@Value("${auditrunner.result.compact:false}") boolean compactResult,
+                             @Value("${auditrunner.result.chunk-size:0}") int resultChunkSize) {
+        if (resultChunkSize > 0) {
+            resultScript = loadScript(RESULT_CHUNKS_SCRIPT);
+            resultStatement = String.format(CHUNKED_RESULT_STATEMENT, resultChunkSize);
+        } else if (compactResult) {
+            resultScript = loadScript(COMPACT_RESULT_SCRIPT);
+            resultStatement = COMPACT_RESULT_STATEMENT;
+        } else {
+            resultScript = null;
+            resultStatement = RESULT_STATEMENT;
+        }
+    }
+
+    private static String loadScript(String path) {
+        try {
+            return StreamUtils.copyToString(new ClassPathResource(path).getInputStream(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to load " + path, e);
+        }
+    }
+
     /**
      * Create an executable script.
      *
@@ -54,7 +102,10 @@ public class ScriptFactoryImpl implements ScriptFactory {
             }
             strb.append("});");
         }
-        strb.append("\nreturn JSON.stringify(loadTanaguruTests());");
+        if (resultScript != null) {
+            strb.append("\n").append(resultScript);
+        }
+        strb.append("\n").append(resultStatement);
         return strb.toString();
     }
 }
@@ -22,11 +22,37 @@ public interface AuditRunnerListener {
      * @param name        The name of the page (title of the page if not given by default)
      * @param url         The url of the page
      * @param rank        The rank of the page in the audit
+     * @param width       The resolution of the page
      * @param result      The @see WebextPageResult of the page
      * @param screenshot  The screenshot of the page
      * @param source      The Source code of the page
+     * @param contentHash The hash of the audited content and rules of the page, null if the audit is not incremental
      */
-    void onAuditNewPage(AuditRunner auditRunner, String name, String url, int rank, WebextPageResult result, String screenshot, String source);
+    void onAuditNewPage(AuditRunner auditRunner, String name, String url, int rank, int width, WebextPageResult result, String screenshot, String source, String contentHash);
+
+    /**
+     * Event fired before testing a page of an incremental audit
+     *
+     * @param auditRunner The audit runner
+     * @param name        The name of the page
+     * @param url         The url of the page
+     * @param rank        The rank of the page in the audit
+     * @param width       The resolution of the page
+     * @param contentHash The hash of the audited content and rules of the page
+     * @param screenshot  The screenshot of the page
+     * @param source      The Source code of the page
+     * @return True if the page is unchanged since a previous audit and its results have been reused
+     */
+    boolean onAuditUnchangedPage(AuditRunner auditRunner, String name, String url, int rank, int width, String contentHash, String screenshot, String source);
+
+    /**
+     * Event fired when the runner can be resumed from its current progress
+     *
+     * @param auditRunner The audit runner
+     * @param nextRank    The rank of the next page, the pages of lower rank being complete
+     * @param progress    The progress of the runner, depending on the type of the audit
+     */
+    void onAuditCheckpoint(AuditRunner auditRunner, int nextRank, String progress);
 
     /**
      * Event fired when @see Audit end
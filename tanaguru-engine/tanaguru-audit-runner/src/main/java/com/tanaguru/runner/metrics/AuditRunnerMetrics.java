@@ -0,0 +1,30 @@
+package com.tanaguru.runner.metrics;
+
+import com.tanaguru.domain.constant.BrowserName;
+import com.tanaguru.domain.entity.audit.Audit;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Create the timings of each audit on the application meter registry.
+ * Without actuator, meters are kept in a local registry and only the audit log rollup is useful
+ */
+@Component
+public class AuditRunnerMetrics {
+    private final MeterRegistry meterRegistry;
+
+    public AuditRunnerMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+    }
+
+    /**
+     * @param audit The @see Audit to time
+     * @param browserName The browser running the @see Audit
+     * @return The timings of the @see Audit
+     */
+    public AuditTimings start(Audit audit, BrowserName browserName) {
+        return new AuditTimings(meterRegistry, audit.getType().name().toLowerCase(), browserName.name().toLowerCase());
+    }
+}
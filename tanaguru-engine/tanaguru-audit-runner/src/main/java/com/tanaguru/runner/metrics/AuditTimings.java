@@ -0,0 +1,131 @@
+package com.tanaguru.runner.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timings of one audit. Each recorded stage is published on the meter registry, tagged by audit type, browser and
+ * resolution, and added to a rollup written in the audit log at the end of the audit
+ */
+public class AuditTimings {
+    public static final String STAGE_TIMER = "tanaguru.audit.runner.stage";
+    public static final String STAGE_ERROR_COUNTER = "tanaguru.audit.runner.stage.errors";
+    public static final String RESULT_SIZE_SUMMARY = "tanaguru.audit.runner.result.size";
+    private static final String NO_RESOLUTION = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final String auditType;
+    private final String browser;
+    private final Map<EAuditRunnerStage, StageRollup> rollups = new EnumMap<>(EAuditRunnerStage.class);
+
+    public AuditTimings(MeterRegistry meterRegistry, String auditType, String browser) {
+        this.meterRegistry = meterRegistry;
+        this.auditType = auditType;
+        this.browser = browser;
+    }
+
+    /**
+     * Record a stage independent of the resolution ending now
+     *
+     * @param stage The stage
+     * @param startNanos The start of the stage, from System.nanoTime()
+     */
+    public void record(EAuditRunnerStage stage, long startNanos) {
+        record(stage, NO_RESOLUTION, startNanos);
+    }
+
+    /**
+     * Record a stage of a resolution ending now. The timings are shared by the lanes and the resolutions audited
+     * in parallel, so each stage is given its resolution
+     *
+     * @param stage The stage
+     * @param width The resolution of the stage
+     * @param startNanos The start of the stage, from System.nanoTime()
+     */
+    public void record(EAuditRunnerStage stage, int width, long startNanos) {
+        record(stage, String.valueOf(width), startNanos);
+    }
+
+    private void record(EAuditRunnerStage stage, String stageResolution, long startNanos) {
+        long duration = System.nanoTime() - startNanos;
+        Timer.builder(STAGE_TIMER)
+                .tag("stage", stage.getTag())
+                .tag("type", auditType)
+                .tag("browser", browser)
+                .tag("resolution", stageResolution)
+                .register(meterRegistry)
+                .record(duration, TimeUnit.NANOSECONDS);
+
+        synchronized (rollups) {
+            rollups.computeIfAbsent(stage, s -> new StageRollup()).add(duration);
+        }
+    }
+
+    /**
+     * @param stage The stage that failed
+     */
+    public void recordError(EAuditRunnerStage stage) {
+        Counter.builder(STAGE_ERROR_COUNTER)
+                .tag("stage", stage.getTag())
+                .tag("type", auditType)
+                .tag("browser", browser)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * @param chars The length of a core script result transferred from the browser
+     * @param compact True if the result has the compact format
+     */
+    public void recordResultSize(int chars, boolean compact) {
+        DistributionSummary.builder(RESULT_SIZE_SUMMARY)
+                .baseUnit("chars")
+                .tag("type", auditType)
+                .tag("browser", browser)
+                .tag("format", compact ? "compact" : "json")
+                .register(meterRegistry)
+                .record(chars);
+    }
+
+    /**
+     * @return The rollup of the recorded stages, one line per stage
+     */
+    public String getRollup() {
+        StringBuilder strb = new StringBuilder("Timings by stage (count, total, mean, max) :");
+        synchronized (rollups) {
+            for (Map.Entry<EAuditRunnerStage, StageRollup> entry : rollups.entrySet()) {
+                StageRollup rollup = entry.getValue();
+                strb.append("\n")
+                        .append(entry.getKey().getTag())
+                        .append(" : ")
+                        .append(rollup.count)
+                        .append(", ")
+                        .append(TimeUnit.NANOSECONDS.toMillis(rollup.total))
+                        .append(" ms, ")
+                        .append(TimeUnit.NANOSECONDS.toMillis(rollup.total / rollup.count))
+                        .append(" ms, ")
+                        .append(TimeUnit.NANOSECONDS.toMillis(rollup.max))
+                        .append(" ms");
+            }
+        }
+        return strb.toString();
+    }
+
+    private static class StageRollup {
+        private long count;
+        private long total;
+        private long max;
+
+        private void add(long duration) {
+            count++;
+            total += duration;
+            max = Math.max(max, duration);
+        }
+    }
+}
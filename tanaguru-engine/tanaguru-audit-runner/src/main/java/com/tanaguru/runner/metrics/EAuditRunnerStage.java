@@ -0,0 +1,28 @@
+package com.tanaguru.runner.metrics;
+
+/**
+ * Timed stages of an audit runner, from the driver creation to the persistence of a page
+ */
+public enum EAuditRunnerStage {
+    DRIVER_CREATION("driver_creation"),
+    PAGE_LOAD("page_load"),
+    WAIT("wait"),
+    SCREENSHOT("screenshot"),
+    CORE_SCRIPT("core_script"),
+    PAGE_SOURCE("page_source"),
+    RESULT_PARSING("result_parsing"),
+    LINK_EXTRACTION("link_extraction"),
+    PAGE_CONTENT_PERSISTENCE("page_content_persistence"),
+    RESULT_ANALYSIS("result_analysis"),
+    RESULT_COPY("result_copy");
+
+    private final String tag;
+
+    EAuditRunnerStage(String tag) {
+        this.tag = tag;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+}
@@ -0,0 +1,110 @@
+package com.tanaguru.selenese;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+/**
+ * Maximum number of pages audited by the test cases and suites of a Selenium IDE project, read from its commands.
+ * Each open, click or store command audits at most one page. Test cases with loops or calling other test cases
+ * have no maximum.
+ */
+public class SideProjectBounds {
+    private static final Collection<String> PAGE_COMMANDS = Arrays.asList("open", "click", "store");
+    private static final Collection<String> UNBOUNDED_COMMANDS = Arrays.asList("do", "forEach", "repeatIf", "run", "times", "while");
+
+    private final Map<String, Integer> maxPages = new HashMap<>();
+    private final Collection<String> unbounded = new HashSet<>();
+    private int testCount;
+
+    /**
+     * @param side The Selenium IDE project, empty bounds if it can not be read
+     */
+    public SideProjectBounds(String side) {
+        try {
+            JsonObject project = JsonParser.parseString(side).getAsJsonObject();
+            Map<String, String> testNames = new HashMap<>();
+            for (JsonElement test : getArray(project, "tests")) {
+                JsonObject testObject = test.getAsJsonObject();
+                String name = getString(testObject, "name");
+                testNames.put(getString(testObject, "id"), name);
+                testCount++;
+                int pages = 0;
+                boolean bounded = true;
+                for (JsonElement command : getArray(testObject, "commands")) {
+                    String commandName = getString(command.getAsJsonObject(), "command");
+                    if (PAGE_COMMANDS.contains(commandName)) {
+                        pages++;
+                    } else if (UNBOUNDED_COMMANDS.contains(commandName)) {
+                        bounded = false;
+                    }
+                }
+                put(name, bounded ? pages : null);
+            }
+            for (JsonElement suite : getArray(project, "suites")) {
+                JsonObject suiteObject = suite.getAsJsonObject();
+                Integer pages = 0;
+                for (JsonElement testId : getArray(suiteObject, "tests")) {
+                    Integer testPages = getMaxPages(testNames.get(testId.getAsString()));
+                    pages = pages == null || testPages == null ? null : pages + testPages;
+                }
+                put(getString(suiteObject, "name"), pages);
+            }
+        } catch (JsonParseException | IllegalStateException | UnsupportedOperationException e) {
+            maxPages.clear();
+            unbounded.clear();
+            testCount = 0;
+        }
+    }
+
+    /**
+     * @return The number of test cases of the project
+     */
+    public int getTestCount() {
+        return testCount;
+    }
+
+    /**
+     * @return True if the project has test cases and every test case and suite has a maximum number of pages
+     */
+    public boolean isBounded() {
+        return testCount > 0 && unbounded.isEmpty();
+    }
+
+    /**
+     * @param name The name of a test case or suite
+     * @return The maximum number of pages it audits at each resolution, null if unknown
+     */
+    public Integer getMaxPages(String name) {
+        return name == null || unbounded.contains(name) ? null : maxPages.get(name);
+    }
+
+    /**
+     * Test cases and suites of the same name have no maximum, they can not be told apart
+     */
+    private void put(String name, Integer pages) {
+        if (name == null || pages == null || maxPages.containsKey(name)) {
+            unbounded.add(name);
+        } else {
+            maxPages.put(name, pages);
+        }
+    }
+
+    private static JsonArray getArray(JsonObject object, String member) {
+        JsonElement result = object.get(member);
+        return result == null || !result.isJsonArray() ? new JsonArray() : result.getAsJsonArray();
+    }
+
+    private static String getString(JsonObject object, String member) {
+        JsonElement result = object.get(member);
+        return result == null || result.isJsonNull() ? null : result.getAsString();
+    }
+}
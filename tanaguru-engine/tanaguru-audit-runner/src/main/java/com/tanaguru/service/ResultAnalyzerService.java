@@ -13,4 +13,12 @@ public interface ResultAnalyzerService {
      */
     void extractWebextPageResult(WebextPageResult webextPageResult, Audit audit, Page page);
 
+    /**
+     * Copy the results of a previously audited page, unchanged since, to a new page
+     *
+     * @param fromPageId The id of the page to copy the results from
+     * @param page The new page
+     */
+    void copyPageResult(long fromPageId, Page page);
+
 }
@@ -110,6 +110,16 @@ public class ResultAnalyzerServiceImpl implements ResultAnalyzerService {
                         null));
     }
 
+    public void copyPageResult(long fromPageId, Page page) {
+        LOGGER.info("[Audit {}] copy result of page {} for page {}", page.getAudit().getId(), fromPageId, page.getId());
+        testResultRepository.copyAllByPageId(fromPageId, page.getId());
+        elementResultRepository.copyAllByPageId(fromPageId, page.getId());
+        testHierarchyResultRepository.copyAllByPageId(fromPageId, page.getId());
+        testHierarchyResultRepository.copyParentsByPageId(fromPageId, page.getId());
+        testHierarchyResultRepository.copyTestResultLinksByPageId(fromPageId, page.getId());
+        statusResultRepository.copyAllByPageId(fromPageId, page.getId());
+    }
+
     public Map<Long, TestResult> extractWebextTestResult(Collection<WebextTestResult> webextTestResults, Page page) {
         Map<Long, TestResult> testResultByTestId = new HashMap<>();
         for (WebextTestResult webextTestResult : webextTestResults) {
@@ -121,7 +131,6 @@ public class ResultAnalyzerServiceImpl implements ResultAnalyzerService {
             testResult.setStatus(webextTestResult.getType());
             testResult = testResultRepository.save(testResult);
 
-            Collection<ElementResult> elementResults = new ArrayList<>();
             for (ElementResult elementResult : webextTestResult.getData()) {
                 elementResult.setTestResult(testResult);
                 switch (elementResult.getStatus()) {
@@ -141,9 +150,8 @@ public class ResultAnalyzerServiceImpl implements ResultAnalyzerService {
                         break;
                     default:
                 }
-                elementResults.add(elementResultRepository.save(elementResult));
+                elementResultRepository.save(elementResult);
             }
-            testResult.setElementResults(elementResults);
             testResultByTestId.put(webextTestResult.getId(), testResultRepository.save(testResult));
         }
 
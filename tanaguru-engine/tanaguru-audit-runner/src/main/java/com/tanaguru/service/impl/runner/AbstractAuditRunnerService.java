@@ -3,6 +3,7 @@ package com.tanaguru.service.impl.runner;
 import com.tanaguru.domain.constant.EAuditLogLevel;
 import com.tanaguru.domain.constant.EAuditType;
 import com.tanaguru.domain.entity.audit.Audit;
+import com.tanaguru.domain.entity.audit.AuditCheckpoint;
 import com.tanaguru.domain.entity.audit.Page;
 import com.tanaguru.domain.entity.audit.PageContent;
 import com.tanaguru.domain.entity.membership.project.ProjectAppUser;
@@ -10,6 +11,8 @@ import com.tanaguru.domain.entity.membership.user.User;
 import com.tanaguru.repository.*;
 import com.tanaguru.runner.AuditRunner;
 import com.tanaguru.runner.listener.AuditRunnerListener;
+import com.tanaguru.runner.metrics.AuditTimings;
+import com.tanaguru.runner.metrics.EAuditRunnerStage;
 import com.tanaguru.service.AuditRunnerService;
 import com.tanaguru.service.AuditService;
 import com.tanaguru.service.MailService;
@@ -20,10 +23,13 @@ import org.apache.commons.lang3.NotImplementedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.mail.MailException;
 
 import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
 
 import static com.tanaguru.domain.constant.EAuditStatus.*;
 
@@ -47,6 +53,7 @@ public abstract class AbstractAuditRunnerService implements AuditRunnerListener,
     protected final ActRepository actRepository;
     protected final ContractUserRepository contractUserRepository;
     protected final ProjectUserRepository projectUserRepository;
+    protected final AuditCheckpointRepository auditCheckpointRepository;
 
 
     @Value("${webapp.url}")
@@ -66,7 +73,8 @@ public abstract class AbstractAuditRunnerService implements AuditRunnerListener,
             MessageService messageService,
             ActRepository actRepository,
             ContractUserRepository contractUserRepository,
-            ProjectUserRepository projectUserRepository) {
+            ProjectUserRepository projectUserRepository,
+            AuditCheckpointRepository auditCheckpointRepository) {
         this.pageRepository = pageRepository;
         this.auditRepository = auditRepository;
         this.auditService = auditService;
@@ -81,42 +89,101 @@ public abstract class AbstractAuditRunnerService implements AuditRunnerListener,
         this.actRepository = actRepository;
         this.contractUserRepository = contractUserRepository;
         this.projectUserRepository = projectUserRepository;
+        this.auditCheckpointRepository = auditCheckpointRepository;
     }
 
     @Override
-    public final void onAuditNewPage(AuditRunner auditRunner, String name, String url, int rank, WebextPageResult result, String screenshot, String source) {
+    public final void onAuditNewPage(AuditRunner auditRunner, String name, String url, int rank, int width, WebextPageResult result, String screenshot, String source, String contentHash) {
         LOGGER.debug("[Audit {}] Persist new page {}", auditRunner.getAudit().getId(), url);
         Audit audit = auditRunner.getAudit();
+        Page page = persistPage(auditRunner, name, url, rank, screenshot, source, contentHash);
+
+        LOGGER.info("[Audit {}] Persisting result for page {}", auditRunner.getAudit().getId(), url);
+        AuditTimings timings = auditRunner.getTimings();
+        long start = System.nanoTime();
+        resultAnalyzerService.extractWebextPageResult(result, audit, page);
+        timings.record(EAuditRunnerStage.RESULT_ANALYSIS, width, start);
+
+        auditService.log(auditRunner.getAudit(), EAuditLogLevel.INFO, "New page audited " + name + " for url " + url);
+        onAuditNewPageImpl(auditRunner, page);
+    }
+
+    @Override
+    public final boolean onAuditUnchangedPage(AuditRunner auditRunner, String name, String url, int rank, int width, String contentHash, String screenshot, String source) {
+        Audit audit = auditRunner.getAudit();
+        if (audit.getScheduledFrom() == null) {
+            return false;
+        }
+
+        List<Long> previousPageIds = pageRepository.findLastIdByContentHashAndScheduledFrom(
+                contentHash, audit.getScheduledFrom().getId(), audit.getId(), PageRequest.of(0, 1));
+        if (previousPageIds.isEmpty()) {
+            return false;
+        }
+
+        long previousPageId = previousPageIds.get(0);
+        LOGGER.debug("[Audit {}] Reuse results of unchanged page {} from page {}", audit.getId(), url, previousPageId);
+        Page page = persistPage(auditRunner, name, url, rank, screenshot, source, contentHash);
+
+        AuditTimings timings = auditRunner.getTimings();
+        long start = System.nanoTime();
+        resultAnalyzerService.copyPageResult(previousPageId, page);
+        timings.record(EAuditRunnerStage.RESULT_COPY, width, start);
+
+        auditService.log(audit, EAuditLogLevel.INFO, "Unchanged page " + name + " for url " + url + ", results reused from page " + previousPageId);
+        onAuditNewPageImpl(auditRunner, page);
+        return true;
+    }
+
+    private Page persistPage(AuditRunner auditRunner, String name, String url, int rank, String screenshot, String source, String contentHash) {
         Page page = new Page();
-        page.setAudit(audit);
+        page.setAudit(auditRunner.getAudit());
         page.setRank(rank);
         page.setName(name);
         page.setUrl(url);
+        page.setContentHash(contentHash);
         page = pageRepository.save(page);
 
+        long start = System.nanoTime();
         PageContent pageContent = new PageContent();
         pageContent.setPage(page);
         pageContent.setScreenshot(screenshot);
         pageContent.setSource(source);
         pageContentRepository.save(pageContent);
-
-        LOGGER.info("[Audit {}] Persisting result for page {}", auditRunner.getAudit().getId(), url);
-        resultAnalyzerService.extractWebextPageResult(result, audit, page);
-
-        auditService.log(auditRunner.getAudit(), EAuditLogLevel.INFO, "New page audited " + name + " for url " + url);
-        onAuditNewPageImpl(auditRunner, page);
+        auditRunner.getTimings().record(EAuditRunnerStage.PAGE_CONTENT_PERSISTENCE, start);
+        return page;
     }
 
     @Override
     public final void onAuditStart(AuditRunner auditRunner) {
         Audit audit = auditRunner.getAudit();
-        audit.setDateStart(new Date());
+        Optional<AuditCheckpoint> checkpoint = auditCheckpointRepository.findByAudit(audit);
+        if (!checkpoint.isPresent()) {
+            audit.setDateStart(new Date());
+        }
         audit.setStatus(RUNNING);
         auditRepository.save(audit);
-        auditService.log(auditRunner.getAudit(), EAuditLogLevel.INFO, "Audit start");
+        if (checkpoint.isPresent()) {
+            auditService.log(auditRunner.getAudit(), EAuditLogLevel.INFO, "Audit resumed from page rank " + checkpoint.get().getNextRank());
+        } else {
+            // A runner restarted before the first page starts over
+            onAuditCheckpoint(auditRunner, 1, null);
+            auditService.log(auditRunner.getAudit(), EAuditLogLevel.INFO, "Audit start");
+        }
         onAuditStartImpl(auditRunner);
     }
 
+    @Override
+    public final void onAuditCheckpoint(AuditRunner auditRunner, int nextRank, String progress) {
+        Audit audit = auditRunner.getAudit();
+        AuditCheckpoint checkpoint = auditCheckpointRepository.findByAudit(audit).orElseGet(AuditCheckpoint::new);
+        checkpoint.setAudit(audit);
+        checkpoint.setNextRank(nextRank);
+        checkpoint.setProgress(progress);
+        checkpoint.setDateUpdate(new Date());
+        auditCheckpointRepository.save(checkpoint);
+    }
+
     @Override
     public final void onAuditEnd(AuditRunner auditRunner) {
         Audit audit = auditRunner.getAudit();
@@ -129,7 +196,9 @@ public abstract class AbstractAuditRunnerService implements AuditRunnerListener,
         }
         audit.setDateEnd(new Date());
         audit = auditRepository.save(audit);
+        auditCheckpointRepository.deleteAllByAudit_Id(audit.getId());
         onAuditEndImpl(auditRunner);
+        auditService.log(auditRunner.getAudit(), EAuditLogLevel.INFO, auditRunner.getTimings().getRollup());
         auditService.log(auditRunner.getAudit(), EAuditLogLevel.INFO, "Audit end");
 
         if (audit.getType().equals(EAuditType.SITE) || audit.getType().equals(EAuditType.SCENARIO) || pages.size() >= 2) {
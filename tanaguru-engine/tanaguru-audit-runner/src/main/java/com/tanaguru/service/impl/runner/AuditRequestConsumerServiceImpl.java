@@ -1,6 +1,8 @@
 package com.tanaguru.service.impl.runner;
 
+import com.tanaguru.crawler.DistributedCrawlStore;
 import com.tanaguru.domain.constant.CustomError;
+import com.tanaguru.domain.constant.EAuditStatus;
 import com.tanaguru.domain.dto.AuditRequest;
 import com.tanaguru.domain.entity.audit.Audit;
 import com.tanaguru.domain.exception.CustomEntityNotFoundException;
@@ -28,6 +30,7 @@ import javax.transaction.Transactional;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 @Service
 @Transactional
@@ -39,11 +42,17 @@ import java.util.Map;
 public class AuditRequestConsumerServiceImpl extends AuditRequestServiceSyncStandaloneImpl {
     private static final Logger LOGGER = LoggerFactory.getLogger(AuditRequestConsumerServiceImpl.class);
 
+    private static final String DISTRIBUTED_CRAWLER_MODE = "distributed";
+
     private final Consumer<String, AuditRequest> auditRequestConsumer;
+    private final DistributedCrawlStore distributedCrawlStore;
 
     @Value("${auditrunner.kafka.topic.auditrequest}")
     private String auditRequestTopicName;
 
+    @Value("${auditrunner.crawler.mode:fetch}")
+    private String crawlerMode;
+
     @Autowired
     public AuditRequestConsumerServiceImpl(
             PageRepository pageRepository,
@@ -61,7 +70,9 @@ public class AuditRequestConsumerServiceImpl extends AuditRequestServiceSyncStan
             MessageService messageService,
             ActRepository actRepository,
             ContractUserRepository contractUserRepository,
-            ProjectUserRepository projectUserRepository) {
+            ProjectUserRepository projectUserRepository,
+            AuditCheckpointRepository auditCheckpointRepository,
+            DistributedCrawlStore distributedCrawlStore) {
 
         super(pageRepository,
                 auditRepository,
@@ -77,8 +88,10 @@ public class AuditRequestConsumerServiceImpl extends AuditRequestServiceSyncStan
                 messageService,
                 actRepository,
                 contractUserRepository,
-                projectUserRepository);
+                projectUserRepository,
+                auditCheckpointRepository);
         this.auditRequestConsumer = auditRequestConsumer;
+        this.distributedCrawlStore = distributedCrawlStore;
     }
 
 
@@ -101,8 +114,29 @@ public class AuditRequestConsumerServiceImpl extends AuditRequestServiceSyncStan
                         .orElseThrow(() -> new CustomEntityNotFoundException(CustomError.AUDIT_NOT_FOUND, auditRequest.getIdAudit() ));
 
                 runAudit(audit);
+                if (isSuspended()) {
+                    // Suspended by the shutdown of the server, the record goes to the next consumer that resumes the audit
+                    LOGGER.warn("[Audit {}] Audit suspended, record not committed", audit.getId());
+                    return;
+                }
                 auditRequestConsumer.commitSync(partitionOffsetAndMetadataMap);
             }
+        } else if (DISTRIBUTED_CRAWLER_MODE.equals(crawlerMode)) {
+            joinDistributedCrawl();
+        }
+    }
+
+    /**
+     * Without audit request, help the crawl of a running site audit started by another consumer
+     */
+    private void joinDistributedCrawl() {
+        for (Long auditId : distributedCrawlStore.findOpenAuditIds()) {
+            Optional<Audit> audit = auditRepository.findById(auditId);
+            if (audit.isPresent() && audit.get().getStatus() == EAuditStatus.RUNNING) {
+                LOGGER.info("[Audit {}] Joining the distributed crawl", auditId);
+                joinAudit(audit.get());
+                return;
+            }
         }
     }
 }
@@ -37,6 +37,7 @@ public class AuditRequestServiceSyncStandaloneImpl extends AbstractAuditRunnerSe
     private final AuditRunnerFactory auditRunnerFactory;
 
     private AuditRunner currentRunner = null;
+    private volatile boolean suspended = false;
 
     @Autowired
     public AuditRequestServiceSyncStandaloneImpl(
@@ -54,7 +55,8 @@ public class AuditRequestServiceSyncStandaloneImpl extends AbstractAuditRunnerSe
             MessageService messageService,
             ActRepository actRepository,
             ContractUserRepository contractUserRepository,
-            ProjectUserRepository projectUserRepository) {
+            ProjectUserRepository projectUserRepository,
+            AuditCheckpointRepository auditCheckpointRepository) {
 
         super(pageRepository,
                 auditRepository,
@@ -69,16 +71,14 @@ public class AuditRequestServiceSyncStandaloneImpl extends AbstractAuditRunnerSe
                 messageService,
                 actRepository,
                 contractUserRepository,
-                projectUserRepository);
+                projectUserRepository,
+                auditCheckpointRepository);
         this.auditRunnerFactory = auditRunnerFactory;
     }
 
     public void runAudit(Audit audit) {
         try {
-            AuditRunner auditRunner = auditRunnerFactory.create(audit);
-            auditRunner.addListener(this);
-            this.currentRunner = auditRunner;
-            auditRunner.run();
+            run(auditRunnerFactory.create(audit));
         } catch (Exception e) {
             audit.setStatus(EAuditStatus.ERROR);
             audit = auditRepository.save(audit);
@@ -87,6 +87,36 @@ public class AuditRequestServiceSyncStandaloneImpl extends AbstractAuditRunnerSe
         }
     }
 
+    /**
+     * Join the distributed crawl of a site audit started by another runner
+     *
+     * @param audit The running audit
+     */
+    public void joinAudit(Audit audit) {
+        try {
+            run(auditRunnerFactory.createDistributedWorker(audit));
+        } catch (Exception e) {
+            LOGGER.warn("[Audit {}] Unable to join audit : {}", audit.getId(), e.getMessage());
+        }
+    }
+
+    private void run(AuditRunner auditRunner) {
+        auditRunner.addListener(this);
+        this.currentRunner = auditRunner;
+        try {
+            auditRunner.run();
+        } finally {
+            this.currentRunner = null;
+        }
+    }
+
+    /**
+     * @return True if the running audit has been suspended by the shutdown of the server
+     */
+    protected boolean isSuspended() {
+        return suspended;
+    }
+
     @Override
     public void onAuditStartImpl(AuditRunner auditRunner) {
     }
@@ -100,11 +130,16 @@ public class AuditRequestServiceSyncStandaloneImpl extends AbstractAuditRunnerSe
         this.currentRunner = null;
     }
 
+    /**
+     * Suspend the running audit, resumed from its last checkpoint by the next runner of the audit
+     */
     @PreDestroy
-    private void cleanRunningAudit() {
+    void cleanRunningAudit() {
+        suspended = true;
         if (currentRunner != null) {
-            LOGGER.warn("[Audit {}] Interrupting audit", currentRunner.getAudit().getId());
-            auditService.log(currentRunner.getAudit(), EAuditLogLevel.ERROR, "Audit interrupted by server");
+            LOGGER.warn("[Audit {}] Suspending audit", currentRunner.getAudit().getId());
+            auditService.log(currentRunner.getAudit(), EAuditLogLevel.WARNING, "Audit suspended by server, it will resume from its last audited page");
+            currentRunner.suspend();
         }
     }
 }
@@ -3,6 +3,7 @@ package com.tanaguru.service.impl.runner;
 import com.tanaguru.domain.constant.EAuditLogLevel;
 import com.tanaguru.domain.constant.EAuditStatus;
 import com.tanaguru.domain.entity.audit.Audit;
+import com.tanaguru.domain.entity.audit.AuditCheckpoint;
 import com.tanaguru.domain.entity.audit.Page;
 import com.tanaguru.repository.*;
 import com.tanaguru.runner.AuditRunner;
@@ -16,6 +17,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
@@ -45,6 +48,9 @@ public class AuditRunnerServiceAsyncStandaloneImpl extends AbstractAuditRunnerSe
     @Value("${auditrunner.maxConcurrentAudit}")
     private int maxConcurrentAudit;
 
+    @Value("${auditrunner.checkpoint.resume-on-startup:false}")
+    private boolean resumeOnStartup;
+
     @Autowired
     public AuditRunnerServiceAsyncStandaloneImpl(
             PageRepository pageRepository,
@@ -61,6 +67,7 @@ public class AuditRunnerServiceAsyncStandaloneImpl extends AbstractAuditRunnerSe
             ActRepository actRepository,
             ContractUserRepository contractUserRepository,
             ProjectUserRepository projectUserRepository,
+            AuditCheckpointRepository auditCheckpointRepository,
             AuditRunnerFactory auditRunnerFactory
     ) {
         super(pageRepository,
@@ -75,7 +82,7 @@ public class AuditRunnerServiceAsyncStandaloneImpl extends AbstractAuditRunnerSe
                 mailService,
                 messageService,
                 actRepository,
-                contractUserRepository, projectUserRepository);
+                contractUserRepository, projectUserRepository, auditCheckpointRepository);
         this.auditRunnerFactory = auditRunnerFactory;
     }
 
@@ -89,6 +96,21 @@ public class AuditRunnerServiceAsyncStandaloneImpl extends AbstractAuditRunnerSe
         }
     }
 
+    /**
+     * Queue the audits left running by a previous run of the server, they resume from their last checkpoint
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeSuspendedAudits() {
+        if (!resumeOnStartup) {
+            return;
+        }
+        for (AuditCheckpoint checkpoint : auditCheckpointRepository.findAllByAudit_Status(EAuditStatus.RUNNING)) {
+            Audit audit = checkpoint.getAudit();
+            LOGGER.info("[Audit {}] Resume audit from page rank {}", audit.getId(), checkpoint.getNextRank());
+            runAudit(audit);
+        }
+    }
+
     /**
      * Scheduled method that launch audits in queue when possible
      */
@@ -160,7 +182,8 @@ public class AuditRunnerServiceAsyncStandaloneImpl extends AbstractAuditRunnerSe
     }
 
     /**
-     * Hooks kill event, cleans audit that will not be launched
+     * Hooks kill event, cleans audit that will not be launched and suspends the running ones,
+     * resumed from their last checkpoint by the next start of the server
      */
     @PreDestroy
     private void cleanRunningAudits() throws InterruptedException {
@@ -173,9 +196,9 @@ public class AuditRunnerServiceAsyncStandaloneImpl extends AbstractAuditRunnerSe
 
         synchronized (concurrentAuditRunnerMap) {
             for (AuditRunner runner : concurrentAuditRunnerMap.keySet()) {
-                LOGGER.warn("[Audit {}] Interrupting audit", runner.getAudit().getId());
-                auditService.log(runner.getAudit(), EAuditLogLevel.WARNING, "Audit Interrupted by server");
-                runner.interrupt();
+                LOGGER.warn("[Audit {}] Suspending audit", runner.getAudit().getId());
+                auditService.log(runner.getAudit(), EAuditLogLevel.WARNING, "Audit suspended by server, it will resume from its last audited page");
+                runner.suspend();
             }
 
             for (AuditRunner runner : concurrentAuditRunnerMap.keySet()) {
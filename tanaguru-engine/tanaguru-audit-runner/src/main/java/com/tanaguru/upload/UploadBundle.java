@@ -0,0 +1,55 @@
+package com.tanaguru.upload;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Reader of the zip archives of assets uploaded with the documents of an upload audit
+ */
+public final class UploadBundle {
+    private UploadBundle() {
+    }
+
+    /**
+     * @param content The archive encoded in base64
+     * @param maxSize The maximum size of the uncompressed assets, in bytes
+     * @return The assets by their path in the archive
+     * @throws IOException if the archive is invalid or its assets exceed the maximum size
+     */
+    public static Map<String, byte[]> read(String content, long maxSize) throws IOException {
+        Map<String, byte[]> result = new HashMap<>();
+        long size = 0;
+        byte[] buffer = new byte[8192];
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(Base64.getMimeDecoder().decode(content)))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                ByteArrayOutputStream asset = new ByteArrayOutputStream();
+                int read;
+                while ((read = zip.read(buffer)) > 0) {
+                    size += read;
+                    if (size > maxSize) {
+                        throw new IOException("Assets larger than " + maxSize + " bytes");
+                    }
+                    asset.write(buffer, 0, read);
+                }
+                String path = entry.getName().replace('\\', '/');
+                while (path.startsWith("/")) {
+                    path = path.substring(1);
+                }
+                result.put(path, asset.toByteArray());
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid archive encoding", e);
+        }
+        return result;
+    }
+}
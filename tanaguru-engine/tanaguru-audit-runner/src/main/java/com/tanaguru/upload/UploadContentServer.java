@@ -0,0 +1,276 @@
+package com.tanaguru.upload;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Loopback HTTP server of the documents and assets of the upload audits, served from memory.
+ * The content of an audit is published under a path made of its hash, so that relative urls of the documents
+ * resolve to the assets of the same audit, and audits of the same content share it. Released content stays cached
+ * for the next audits until the cache exceeds its size.
+ */
+@Component
+public class UploadContentServer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(UploadContentServer.class);
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final String DOCUMENT_CONTENT_TYPE = "text/html; charset=utf-8";
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+    private static final Map<String, String> CONTENT_TYPES = new HashMap<>();
+
+    static {
+        CONTENT_TYPES.put("css", "text/css");
+        CONTENT_TYPES.put("js", "text/javascript");
+        CONTENT_TYPES.put("mjs", "text/javascript");
+        CONTENT_TYPES.put("json", "application/json");
+        CONTENT_TYPES.put("svg", "image/svg+xml");
+        CONTENT_TYPES.put("webp", "image/webp");
+        CONTENT_TYPES.put("woff", "font/woff");
+        CONTENT_TYPES.put("woff2", "font/woff2");
+        CONTENT_TYPES.put("ttf", "font/ttf");
+        CONTENT_TYPES.put("otf", "font/otf");
+        CONTENT_TYPES.put("mp4", "video/mp4");
+        CONTENT_TYPES.put("webm", "video/webm");
+    }
+
+    private final int port;
+    private final long maxCacheSize;
+    private final LinkedHashMap<String, PublishedContent> contents = new LinkedHashMap<>(16, 0.75f, true);
+
+    private HttpServer server;
+    private ExecutorService executor;
+    // Size of the released contents
+    private long cacheSize;
+
+    /**
+     * @param port         The port of the server, 0 for any free port
+     * @param maxCacheSize The size of the released contents kept in memory, in megabytes
+     */
+    @Autowired
+    public UploadContentServer(@Value("${auditrunner.upload.port:0}") int port,
+                               @Value("${auditrunner.upload.cache-size:64}") long maxCacheSize) {
+        this.port = port;
+        this.maxCacheSize = maxCacheSize * 1024 * 1024;
+    }
+
+    /**
+     * Serve the content of an audit until it is released, starting the server on the first call
+     *
+     * @param documents The documents by path, served as html
+     * @param assets    The assets by path, served with the type of their extension
+     * @return The published content
+     */
+    public synchronized PublishedContent publish(Map<String, String> documents, Map<String, byte[]> assets) {
+        Map<String, ServedFile> files = new TreeMap<>();
+        for (Map.Entry<String, byte[]> asset : assets.entrySet()) {
+            files.put(asset.getKey(), new ServedFile(asset.getValue(), getContentType(asset.getKey())));
+        }
+        for (Map.Entry<String, String> document : documents.entrySet()) {
+            files.put(document.getKey(), new ServedFile(document.getValue().getBytes(StandardCharsets.UTF_8), DOCUMENT_CONTENT_TYPE));
+        }
+        String key = hash(files);
+
+        start();
+        PublishedContent result = contents.get(key);
+        if (result == null) {
+            result = new PublishedContent(key, files, "http://" + server.getAddress().getAddress().getHostAddress() + ":" + server.getAddress().getPort() + "/" + key + "/");
+            contents.put(key, result);
+            LOGGER.debug("Upload content {} published, {} files", key, files.size());
+        } else if (result.users == 0) {
+            cacheSize -= result.size;
+        }
+        result.users++;
+        evict();
+        return result;
+    }
+
+    /**
+     * @param publishedContent A content returned by {@link #publish(Map, Map)}, not used anymore by its audit
+     */
+    public synchronized void release(PublishedContent publishedContent) {
+        if (publishedContent.users > 0 && --publishedContent.users == 0) {
+            cacheSize += publishedContent.size;
+            evict();
+        }
+    }
+
+    /**
+     * @return The number of contents served or cached
+     */
+    public synchronized int getContentCount() {
+        return contents.size();
+    }
+
+    /**
+     * Drop the least recently used released contents while the cache exceeds its size
+     */
+    private void evict() {
+        for (Iterator<PublishedContent> it = contents.values().iterator(); it.hasNext() && cacheSize > maxCacheSize; ) {
+            PublishedContent content = it.next();
+            if (content.users == 0) {
+                it.remove();
+                cacheSize -= content.size;
+            }
+        }
+    }
+
+    private void start() {
+        if (server != null) {
+            return;
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "upload-content-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        LOGGER.info("Upload content server listening on {}", server.getAddress());
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+        contents.clear();
+        cacheSize = 0;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            int keyEnd = path.indexOf('/', 1);
+            ServedFile file = null;
+            if (keyEnd > 0 && ("GET".equals(exchange.getRequestMethod()) || "HEAD".equals(exchange.getRequestMethod()))) {
+                file = find(path.substring(1, keyEnd), path.substring(keyEnd + 1));
+            }
+            if (file == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", file.contentType);
+            // The path of a content is its hash
+            exchange.getResponseHeaders().set("Cache-Control", "max-age=86400, immutable");
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, file.content.length == 0 ? -1 : file.content.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(file.content);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private synchronized ServedFile find(String key, String path) {
+        PublishedContent content = contents.get(key);
+        if (content == null) {
+            return null;
+        }
+        ServedFile result = content.files.get(path);
+        if (result == null && (path.isEmpty() || path.endsWith("/"))) {
+            result = content.files.get(path + "index.html");
+        }
+        return result;
+    }
+
+    private static String getContentType(String path) {
+        String extension = path.substring(path.lastIndexOf('.') + 1).toLowerCase();
+        String result = CONTENT_TYPES.get(extension);
+        if (result == null) {
+            result = URLConnection.guessContentTypeFromName(path);
+        }
+        return result == null ? DEFAULT_CONTENT_TYPE : result;
+    }
+
+    private static String hash(Map<String, ServedFile> files) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+            for (Map.Entry<String, ServedFile> file : files.entrySet()) {
+                digest.update(file.getKey().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                digest.update(file.getValue().contentType.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                digest.update(file.getValue().content);
+                digest.update((byte) 0);
+            }
+            return String.format("%064x", new BigInteger(1, digest.digest()));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Documents and assets of an audit served by the server
+     */
+    public static class PublishedContent {
+        private final String key;
+        private final Map<String, ServedFile> files;
+        private final String baseUrl;
+        private final long size;
+        private int users;
+
+        PublishedContent(String key, Map<String, ServedFile> files, String baseUrl) {
+            this.key = key;
+            this.files = files;
+            this.baseUrl = baseUrl;
+            this.size = files.values().stream().mapToLong(file -> file.content.length).sum();
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * @param path The path of a document or asset
+         * @return Its url on the server
+         */
+        public String getUrl(String path) {
+            return baseUrl + path;
+        }
+    }
+
+    private static class ServedFile {
+        private final byte[] content;
+        private final String contentType;
+
+        ServedFile(byte[] content, String contentType) {
+            this.content = content;
+            this.contentType = contentType;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.tanaguru.webextresult;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.tanaguru.domain.entity.pageresult.ElementResult;
+import com.tanaguru.driver.executor.PageExecutor;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reader of the results kept in the page by scripts/result-chunks.js. The summary returned by the core script holds
+ * the tests without their elements, and the elements of each test are then read by bounded chunks. The whole result is
+ * read before it is handed to the listeners, which neither wait on the browser nor read it twice. The first chunk that
+ * can not be read ends the retrieval and the result stays partial.
+ */
+public class ChunkedResultReader {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChunkedResultReader.class);
+    private static final String CHUNKED_PREFIX = "{\"chunked\":";
+    private static final String CHUNK_SCRIPT = "return JSON.stringify(window.__tanaguruResult.tests[%d].data.slice(%d, %d), " +
+            "function (key, value) { return key === 'outer' ? undefined : value; });";
+    private static final String RELEASE_SCRIPT = "delete window.__tanaguruResult; return null;";
+
+    private final Gson gson = new Gson();
+    private final PageExecutor pageExecutor;
+
+    private int chunkSize;
+    private int totalElements;
+    private int retrievedElements;
+    private int chunks;
+    private String failedTest;
+    private Exception error;
+
+    /**
+     * @param pageExecutor The executor of the page holding the results
+     */
+    public ChunkedResultReader(PageExecutor pageExecutor) {
+        this.pageExecutor = pageExecutor;
+    }
+
+    /**
+     * @param result A core script result
+     * @return True if the result is the summary of results kept in the page
+     */
+    public static boolean isChunked(String result) {
+        return result != null && result.startsWith(CHUNKED_PREFIX);
+    }
+
+    /**
+     * @param summary The summary returned by the core script
+     * @return The page result with the elements of its tests read from the page, partial if a chunk could not be read
+     * @throws JsonSyntaxException if the summary is not valid
+     */
+    public WebextPageResult read(String summary) {
+        ChunkedSummary chunkedSummary = gson.fromJson(summary, ChunkedSummary.class);
+        if (chunkedSummary.chunked <= 0 || chunkedSummary.tests == null) {
+            throw new JsonSyntaxException("Invalid chunked result summary");
+        }
+        chunkSize = chunkedSummary.chunked;
+
+        WebextPageResult result = new WebextPageResult();
+        result.setTags(chunkedSummary.tags);
+        for (ChunkedTestResult test : chunkedSummary.tests) {
+            totalElements += test.elements;
+        }
+        Collection<WebextTestResult> tests = new ArrayList<>();
+        for (int i = 0; i < chunkedSummary.tests.size(); i++) {
+            ChunkedTestResult test = chunkedSummary.tests.get(i);
+            test.setData(readElements(i, test));
+            tests.add(test);
+        }
+        result.setTests(tests);
+        return result;
+    }
+
+    /**
+     * Remove the results from the page
+     */
+    public void release() {
+        try {
+            pageExecutor.executeCoreScript(RELEASE_SCRIPT);
+        } catch (WebDriverException e) {
+            LOGGER.debug("Unable to release the results kept in the page : {}", e.getMessage());
+        }
+    }
+
+    public int getTotalElements() {
+        return totalElements;
+    }
+
+    public int getRetrievedElements() {
+        return retrievedElements;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    /**
+     * @return True if a chunk could not be read
+     */
+    public boolean isPartial() {
+        return error != null;
+    }
+
+    /**
+     * @return The name of the test whose chunk could not be read, null if the result is complete
+     */
+    public String getFailedTest() {
+        return failedTest;
+    }
+
+    /**
+     * @return The error that ended the retrieval, null if the result is complete
+     */
+    public Exception getError() {
+        return error;
+    }
+
+    /**
+     * Read the elements of a test chunk by chunk, until the first chunk that can not be read
+     */
+    private List<ElementResult> readElements(int test, ChunkedTestResult testResult) {
+        List<ElementResult> elements = new ArrayList<>(testResult.elements);
+        while (error == null && elements.size() < testResult.elements) {
+            try {
+                List<ElementResult> chunk = readChunk(test, elements.size(), Math.min(elements.size() + chunkSize, testResult.elements));
+                if (chunk.isEmpty()) {
+                    throw new JsonSyntaxException("Empty chunk");
+                }
+                elements.addAll(chunk);
+            } catch (WebDriverException | JsonSyntaxException e) {
+                error = e;
+                failedTest = testResult.getName();
+            }
+        }
+        return elements;
+    }
+
+    private List<ElementResult> readChunk(int test, int from, int to) {
+        String chunk = pageExecutor.executeCoreScript(String.format(CHUNK_SCRIPT, test, from, to));
+        ElementResult[] elements = gson.fromJson(chunk, ElementResult[].class);
+        if (elements == null) {
+            throw new JsonSyntaxException("Missing chunk");
+        }
+        chunks++;
+        retrievedElements += elements.length;
+        LOGGER.debug("Retrieved elements {} to {} of test {}, {} of {} elements of the page",
+                from, from + elements.length, test, retrievedElements, totalElements);
+        return Arrays.asList(elements);
+    }
+
+    private static class ChunkedSummary {
+        private int chunked;
+        private Collection<WebextTagResult> tags;
+        private List<ChunkedTestResult> tests;
+    }
+
+    private static class ChunkedTestResult extends WebextTestResult {
+        private int elements;
+    }
+}
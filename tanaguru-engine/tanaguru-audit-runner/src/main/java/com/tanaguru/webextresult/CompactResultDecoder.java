@@ -0,0 +1,299 @@
+package com.tanaguru.webextresult;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.tanaguru.domain.constant.TestStatusName;
+import com.tanaguru.domain.entity.pageresult.ElementResult;
+import com.tanaguru.domain.entity.pageresult.ElementRole;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decoder of the compact result of the core script, encoded by scripts/compact-result.js, in one pass without
+ * intermediate tree. Each string of the page is a single instance shared by all its uses, the statuses are the
+ * {@link TestStatusName} constants, and the elements are decoded directly as the {@link ElementResult} to persist.
+ */
+public class CompactResultDecoder {
+    public static final int FORMAT = 1;
+    private static final String FORMAT_PREFIX = "{\"format\":";
+
+    /**
+     * First strings of the table, known by both sides and never written
+     */
+    public static final List<String> STATUSES = Collections.unmodifiableList(Arrays.asList(
+            TestStatusName.STATUS_FAILED,
+            TestStatusName.STATUS_SUCCESS,
+            TestStatusName.STATUS_INAPPLICABLE,
+            TestStatusName.STATUS_NOT_TESTED,
+            TestStatusName.STATUS_CANT_TELL));
+
+    private static final Type MAP_TYPE = new TypeToken<Map<String, Collection<String>>>() {
+    }.getType();
+
+    private final Gson gson = new Gson();
+
+    /**
+     * @param result A core script result
+     * @return True if the result has the compact format, false for the plain json of the page result
+     */
+    public static boolean isCompact(String result) {
+        return result != null && result.startsWith(FORMAT_PREFIX);
+    }
+
+    /**
+     * @param result A compact core script result
+     * @return The page result
+     * @throws JsonSyntaxException if the result is not a valid compact result
+     */
+    public WebextPageResult decode(String result) {
+        try (JsonReader reader = new JsonReader(new StringReader(result))) {
+            return new PageDecoder(reader).read();
+        } catch (IOException | IllegalStateException | IndexOutOfBoundsException e) {
+            throw new JsonSyntaxException("Invalid compact result : " + e.getMessage(), e);
+        }
+    }
+
+    private class PageDecoder {
+        private final JsonReader reader;
+        private final List<String> strings = new ArrayList<>(STATUSES);
+        private final List<ElementRole> roles = new ArrayList<>();
+        private final List<List<String>> lists = new ArrayList<>();
+
+        PageDecoder(JsonReader reader) {
+            this.reader = reader;
+        }
+
+        WebextPageResult read() throws IOException {
+            WebextPageResult result = new WebextPageResult();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "format":
+                        int format = reader.nextInt();
+                        if (format != FORMAT) {
+                            throw new JsonSyntaxException("Unsupported result format " + format);
+                        }
+                        break;
+                    case "strings":
+                        readStrings();
+                        break;
+                    case "roles":
+                        readRoles();
+                        break;
+                    case "lists":
+                        readLists();
+                        break;
+                    case "tags":
+                        result.setTags(readTags());
+                        break;
+                    case "tests":
+                        result.setTests(readTests());
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return result;
+        }
+
+        private void readStrings() throws IOException {
+            String previous = "";
+            reader.beginArray();
+            while (reader.hasNext()) {
+                int prefix = reader.nextInt();
+                String value = previous.substring(0, prefix).concat(reader.nextString());
+                strings.add(value);
+                previous = value;
+            }
+            reader.endArray();
+        }
+
+        private void readRoles() throws IOException {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                reader.beginArray();
+                ElementRole role = new ElementRole();
+                role.setImplicit(readString());
+                role.setExplicit(readString());
+                reader.endArray();
+                roles.add(role);
+            }
+            reader.endArray();
+        }
+
+        private void readLists() throws IOException {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                lists.add(readStringList());
+            }
+            reader.endArray();
+        }
+
+        private Collection<WebextTagResult> readTags() throws IOException {
+            Collection<WebextTagResult> result = new ArrayList<>();
+            reader.beginArray();
+            while (reader.hasNext()) {
+                reader.beginArray();
+                WebextTagResult tag = new WebextTagResult();
+                tag.setId(readString());
+                tag.setName(readString());
+                tag.setStatus(readString());
+                tag.setNbfailures(reader.nextInt());
+                reader.endArray();
+                result.add(tag);
+            }
+            reader.endArray();
+            return result;
+        }
+
+        private Collection<WebextTestResult> readTests() throws IOException {
+            Collection<WebextTestResult> result = new ArrayList<>();
+            reader.beginArray();
+            while (reader.hasNext()) {
+                result.add(readTest());
+            }
+            reader.endArray();
+            return result;
+        }
+
+        private WebextTestResult readTest() throws IOException {
+            WebextTestResult test = new WebextTestResult();
+            test.setData(new ArrayList<>());
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "id":
+                        test.setId(reader.nextLong());
+                        break;
+                    case "name":
+                        test.setName(readString());
+                        break;
+                    case "description":
+                        test.setDescription(readString());
+                        break;
+                    case "lang":
+                        test.setLang(readString());
+                        break;
+                    case "type":
+                        test.setType(readString());
+                        break;
+                    case "counter":
+                        test.setCounter(reader.nextInt());
+                        break;
+                    case "tags":
+                        test.setTags(readStringList());
+                        break;
+                    case "elements":
+                        test.setData(readElements());
+                        break;
+                    case "ressources":
+                        test.setRessources(gson.fromJson(reader, MAP_TYPE));
+                        break;
+                    case "marks":
+                        test.setMarks(gson.fromJson(reader, MAP_TYPE));
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return test;
+        }
+
+        /**
+         * @return The elements of a test, from their columns
+         */
+        private Collection<ElementResult> readElements() throws IOException {
+            Map<String, int[]> columns = new HashMap<>();
+            int count = 0;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                int[] column = readIndexes();
+                columns.put(name, column);
+                count = Math.max(count, column.length);
+            }
+            reader.endObject();
+
+            int[] status = columns.get("status");
+            int[] xpath = columns.get("xpath");
+            int[] cssSelector = columns.get("cssSelector");
+            int[] accessibleName = columns.get("accessibleName");
+            int[] role = columns.get("role");
+            int[] keyboard = columns.get("canBeReachedUsingKeyboardWith");
+            int[] notVisible = columns.get("isNotVisibleDueTo");
+            int[] notExposed = columns.get("isNotExposedDueTo");
+
+            Collection<ElementResult> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                ElementResult element = new ElementResult();
+                element.setStatus(get(strings, status, i));
+                element.setXpath(get(strings, xpath, i));
+                element.setCssSelector(get(strings, cssSelector, i));
+                element.setAccessibleName(get(strings, accessibleName, i));
+                element.setRole(get(roles, role, i));
+                element.setCanBeReachedUsingKeyboardWith(get(lists, keyboard, i));
+                element.setIsNotVisibleDueTo(get(lists, notVisible, i));
+                element.setIsNotExposedDueTo(get(lists, notExposed, i));
+                result.add(element);
+            }
+            return result;
+        }
+
+        private int[] readIndexes() throws IOException {
+            int[] result = new int[16];
+            int size = 0;
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (size == result.length) {
+                    result = Arrays.copyOf(result, size * 2);
+                }
+                result[size++] = reader.nextInt();
+            }
+            reader.endArray();
+            return Arrays.copyOf(result, size);
+        }
+
+        private List<String> readStringList() throws IOException {
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                return null;
+            }
+            List<String> result = new ArrayList<>();
+            reader.beginArray();
+            while (reader.hasNext()) {
+                result.add(readString());
+            }
+            reader.endArray();
+            return result;
+        }
+
+        private String readString() throws IOException {
+            int index = reader.nextInt();
+            return index < 0 ? null : strings.get(index);
+        }
+    }
+
+    /**
+     * @return The value of the table at the index of the row of a column, null if the column or the index is missing
+     */
+    private static <T> T get(List<T> table, int[] column, int row) {
+        if (column == null || row >= column.length || column[row] < 0) {
+            return null;
+        }
+        return table.get(column[row]);
+    }
+}
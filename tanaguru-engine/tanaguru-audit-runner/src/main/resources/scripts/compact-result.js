@@ -0,0 +1,123 @@
+/**
+ * Compact encoding of the result of loadTanaguruTests, decoded by CompactResultDecoder.
+ * Every string is written once in a table and referenced by its index, each entry of the table only carrying
+ * what differs from the previous one. The statuses are the first indexes of the table and are not written.
+ * The elements of each test are written by column, their roles and lists of strings are shared by index too.
+ * The outer html of the elements is not written, the runner does not keep it.
+ */
+function encodeTanaguruResult(result) {
+    var statuses = ['failed', 'passed', 'inapplicable', 'untested', 'cantTell'];
+    var stringIndexes = new Map();
+    var strings = [];
+    var stringCount = statuses.length;
+    var previous = '';
+    var roleIndexes = new Map();
+    var roles = [];
+    var listIndexes = new Map();
+    var lists = [];
+
+    statuses.forEach(function (status, index) {
+        stringIndexes.set(status, index);
+    });
+
+    function stringIndex(value) {
+        if (value === undefined || value === null) {
+            return -1;
+        }
+        value = String(value);
+        var index = stringIndexes.get(value);
+        if (index === undefined) {
+            var prefix = 0;
+            var max = Math.min(previous.length, value.length);
+            while (prefix < max && previous.charCodeAt(prefix) === value.charCodeAt(prefix)) {
+                prefix++;
+            }
+            // Never split a surrogate pair
+            if (prefix > 0 && (value.charCodeAt(prefix - 1) & 0xFC00) === 0xD800) {
+                prefix--;
+            }
+            strings.push(prefix, value.substring(prefix));
+            previous = value;
+            index = stringCount++;
+            stringIndexes.set(value, index);
+        }
+        return index;
+    }
+
+    function roleIndex(role) {
+        if (!role) {
+            return -1;
+        }
+        var encoded = [stringIndex(role.implicit), stringIndex(role.explicit)];
+        var key = encoded.join(',');
+        var index = roleIndexes.get(key);
+        if (index === undefined) {
+            index = roles.length;
+            roles.push(encoded);
+            roleIndexes.set(key, index);
+        }
+        return index;
+    }
+
+    function listIndex(values) {
+        if (values === undefined || values === null) {
+            return -1;
+        }
+        var list = (Array.isArray(values) ? values : [values]).map(stringIndex);
+        var key = list.join(',');
+        var index = listIndexes.get(key);
+        if (index === undefined) {
+            index = lists.length;
+            lists.push(list);
+            listIndexes.set(key, index);
+        }
+        return index;
+    }
+
+    function column(data, index, key) {
+        return data.map(function (element) {
+            return index(element[key]);
+        });
+    }
+
+    // Column by column, the values of a column following each other in the table share longer prefixes
+    function encodeElements(data) {
+        data = data || [];
+        return {
+            status: column(data, stringIndex, 'status'),
+            xpath: column(data, stringIndex, 'xpath'),
+            cssSelector: column(data, stringIndex, 'cssSelector'),
+            accessibleName: column(data, stringIndex, 'accessibleName'),
+            role: column(data, roleIndex, 'role'),
+            canBeReachedUsingKeyboardWith: column(data, listIndex, 'canBeReachedUsingKeyboardWith'),
+            isNotVisibleDueTo: column(data, listIndex, 'isNotVisibleDueTo'),
+            isNotExposedDueTo: column(data, listIndex, 'isNotExposedDueTo')
+        };
+    }
+
+    var tests = result.tests.map(function (test) {
+        var encoded = {
+            id: test.id,
+            name: stringIndex(test.name),
+            description: stringIndex(test.description),
+            lang: stringIndex(test.lang),
+            type: stringIndex(test.type),
+            counter: test.counter || 0,
+            tags: test.tags ? test.tags.map(stringIndex) : undefined,
+            elements: encodeElements(test.data)
+        };
+        if (test.ressources) {
+            encoded.ressources = test.ressources;
+        }
+        if (test.marks) {
+            encoded.marks = test.marks;
+        }
+        return encoded;
+    });
+    var tags = result.tags.map(function (tag) {
+        return [stringIndex(tag.id), stringIndex(tag.name), stringIndex(tag.status), tag.nbfailures || 0];
+    });
+
+    // The tables first, the decoder reads the result in one pass
+    return {format: 1, strings: strings, roles: roles, lists: lists, tags: tags, tests: tests};
+}
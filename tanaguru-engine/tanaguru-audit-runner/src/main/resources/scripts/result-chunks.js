@@ -0,0 +1,21 @@
+/**
+ * Keep the result of loadTanaguruTests in the page and return its summary, the elements of each test being read
+ * later by chunks of chunkSize elements by ChunkedResultReader.
+ */
+function storeTanaguruResult(result, chunkSize) {
+    window.__tanaguruResult = result;
+    return {
+        chunked: chunkSize,
+        tags: result.tags,
+        tests: result.tests.map(function (test) {
+            var summary = {};
+            Object.keys(test).forEach(function (key) {
+                if (key !== 'data') {
+                    summary[key] = test[key];
+                }
+            });
+            summary.elements = test.data ? test.data.length : 0;
+            return summary;
+        })
+    };
+}
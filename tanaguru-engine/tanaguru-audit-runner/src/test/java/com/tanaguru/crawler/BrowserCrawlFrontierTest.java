@@ -0,0 +1,88 @@
+package com.tanaguru.crawler;
+
+import com.google.gson.Gson;
+import com.tanaguru.helper.CrawlerRegexBuilder;
+import edu.uci.ics.crawler4j.robotstxt.RobotstxtServer;
+import edu.uci.ics.crawler4j.url.WebURL;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+
+public class BrowserCrawlFrontierTest {
+
+    private BrowserCrawlFrontier createFrontier(int maxDocument, int maxDepth, String exclusion) {
+        BrowserCrawlFrontier browserCrawlFrontier = new BrowserCrawlFrontier(
+                60, maxDocument, maxDepth, CrawlerRegexBuilder.buildRegexFromString(exclusion), "", null, null);
+        browserCrawlFrontier.addSeed("http://test.com/");
+        return browserCrawlFrontier;
+    }
+
+    @Test
+    public void addLinksFiltered() {
+        BrowserCrawlFrontier browserCrawlFrontier = createFrontier(10, 1, "private");
+        BrowserCrawlFrontier.CrawlUrl seed = browserCrawlFrontier.next();
+        browserCrawlFrontier.addLinks(seed, Arrays.asList(
+                "http://test.com/a",
+                "http://test.com/a#top",
+                "http://test.com/",
+                "http://test2.com/b",
+                "http://test.com/private",
+                "mailto:contact@test.com"));
+
+        BrowserCrawlFrontier.CrawlUrl child = browserCrawlFrontier.next();
+        Assert.assertEquals("http://test.com/a", child.getUrl());
+        Assert.assertEquals(1, child.getDepth());
+        Assert.assertNull(browserCrawlFrontier.next());
+    }
+
+    @Test
+    public void addLinksMaxDepth() {
+        BrowserCrawlFrontier browserCrawlFrontier = createFrontier(10, 0, "");
+        browserCrawlFrontier.addLinks(browserCrawlFrontier.next(), Arrays.asList("http://test.com/a"));
+        Assert.assertNull(browserCrawlFrontier.next());
+    }
+
+    @Test
+    public void nextMaxDocument() {
+        BrowserCrawlFrontier browserCrawlFrontier = createFrontier(2, -1, "");
+        browserCrawlFrontier.addLinks(browserCrawlFrontier.next(), Arrays.asList("http://test.com/a", "http://test.com/b"));
+        Assert.assertNotNull(browserCrawlFrontier.next());
+        Assert.assertNull(browserCrawlFrontier.next());
+    }
+
+    @Test
+    public void restoreSnapshot() {
+        BrowserCrawlFrontier browserCrawlFrontier = createFrontier(3, -1, "");
+        browserCrawlFrontier.addLinks(browserCrawlFrontier.next(), Arrays.asList("http://test.com/a", "http://test.com/b"));
+        Assert.assertEquals("http://test.com/a", browserCrawlFrontier.next().getUrl());
+        Gson gson = new Gson();
+        String snapshot = gson.toJson(browserCrawlFrontier.snapshot());
+
+        BrowserCrawlFrontier resumedFrontier = createFrontier(3, -1, "");
+        resumedFrontier.restore(gson.fromJson(snapshot, BrowserCrawlFrontier.Snapshot.class));
+        BrowserCrawlFrontier.CrawlUrl next = resumedFrontier.next();
+        Assert.assertEquals("http://test.com/b", next.getUrl());
+        Assert.assertEquals(1, next.getDepth());
+        resumedFrontier.addLinks(next, Arrays.asList("http://test.com/a", "http://test.com/c"));
+        // Max document reached
+        Assert.assertNull(resumedFrontier.next());
+    }
+
+    @Test
+    public void addSeedDisallowedByRobots() {
+        RobotstxtServer robotstxtServer = Mockito.mock(RobotstxtServer.class);
+        Mockito.when(robotstxtServer.allows(Mockito.any(WebURL.class)))
+                .thenAnswer(invocation -> !((WebURL) invocation.getArgument(0)).getPath().startsWith("/private"));
+        BrowserCrawlFrontier browserCrawlFrontier = new BrowserCrawlFrontier(60, 10, -1, "", "", null, robotstxtServer);
+        // A seed and the pages of its sitemap
+        browserCrawlFrontier.addSeed("http://test.com/");
+        browserCrawlFrontier.addSeed("http://test.com/private/a");
+        browserCrawlFrontier.addSeed("http://test.com/b");
+
+        Assert.assertEquals("http://test.com/", browserCrawlFrontier.next().getUrl());
+        Assert.assertEquals("http://test.com/b", browserCrawlFrontier.next().getUrl());
+        Assert.assertNull(browserCrawlFrontier.next());
+    }
+}
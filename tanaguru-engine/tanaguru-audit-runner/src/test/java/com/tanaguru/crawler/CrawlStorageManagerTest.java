@@ -0,0 +1,111 @@
+package com.tanaguru.crawler;
+
+import edu.uci.ics.crawler4j.crawler.CrawlConfig;
+import edu.uci.ics.crawler4j.fetcher.PageFetcher;
+import edu.uci.ics.crawler4j.robotstxt.RobotstxtConfig;
+import edu.uci.ics.crawler4j.robotstxt.RobotstxtServer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.TimeUnit;
+
+public class CrawlStorageManagerTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path outputDir;
+    private CrawlStorageManager crawlStorageManager;
+
+    @Before
+    public void setup() throws IOException {
+        outputDir = temporaryFolder.getRoot().toPath().resolve("crawler");
+        crawlStorageManager = new CrawlStorageManager(outputDir);
+    }
+
+    @After
+    public void tearDown() {
+        crawlStorageManager.destroy();
+    }
+
+    @Test
+    public void createCrawlFolderIsUnique() throws IOException {
+        Path first = crawlStorageManager.createCrawlFolder();
+        Path second = crawlStorageManager.createCrawlFolder();
+
+        Assert.assertNotEquals(first, second);
+        Assert.assertTrue(Files.isDirectory(first));
+        Assert.assertTrue(Files.isDirectory(second));
+        Assert.assertEquals(crawlStorageManager.getProcessFolder(), first.getParent());
+    }
+
+    @Test
+    public void initDeletesStoppedRunnersFolders() throws IOException {
+        Path stopped = Files.createDirectories(outputDir.resolve("runner-stopped").resolve("crawl-1"));
+        Files.createFile(stopped.getParent().resolve(".lock"));
+        Path withoutLock = Files.createDirectories(outputDir.resolve("runner-old"));
+        Files.setLastModifiedTime(withoutLock, FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1)));
+        Path starting = Files.createDirectories(outputDir.resolve("runner-starting"));
+        Path other = Files.createDirectories(outputDir.resolve("other"));
+
+        CrawlStorageManager running = new CrawlStorageManager(outputDir);
+        running.init();
+        crawlStorageManager.init();
+
+        Assert.assertFalse(Files.exists(stopped.getParent()));
+        Assert.assertFalse(Files.exists(withoutLock));
+        Assert.assertTrue(Files.exists(starting));
+        Assert.assertTrue(Files.exists(other));
+        Path runningFolder = running.getProcessFolder();
+        Assert.assertTrue(Files.exists(runningFolder));
+
+        running.destroy();
+        Assert.assertFalse(Files.exists(runningFolder));
+    }
+
+    @Test
+    public void closeDeletesMemoryCrawlStorage() throws Exception {
+        Path storageFolder = crawlStorageManager.createCrawlFolder();
+        TanaguruCrawlerController crawlerController = createController(storageFolder, true);
+        crawlerController.addSeed("https://www.example.com/");
+
+        Assert.assertTrue(Files.isDirectory(storageFolder.resolve("memory")));
+        crawlerController.close();
+        Assert.assertFalse(Files.exists(storageFolder));
+    }
+
+    @Test
+    public void closeDeletesDiskCrawlStorage() throws Exception {
+        Path storageFolder = crawlStorageManager.createCrawlFolder();
+        TanaguruCrawlerController crawlerController = createController(storageFolder, false);
+        crawlerController.addSeed("https://www.example.com/");
+
+        Assert.assertTrue(Files.isDirectory(storageFolder.resolve("frontier")));
+        crawlerController.close();
+        Assert.assertFalse(Files.exists(storageFolder));
+    }
+
+    private static TanaguruCrawlerController createController(Path storageFolder, boolean inMemory) throws Exception {
+        CrawlConfig crawlConfig = new CrawlConfig();
+        crawlConfig.setCrawlStorageFolder(storageFolder.toString());
+        PageFetcher pageFetcher = new PageFetcher(crawlConfig);
+        RobotstxtConfig robotstxtConfig = new RobotstxtConfig();
+        robotstxtConfig.setEnabled(false);
+        return new TanaguruCrawlerControllerImpl(
+                crawlConfig,
+                pageFetcher,
+                new RobotstxtServer(robotstxtConfig, pageFetcher),
+                60,
+                10,
+                "",
+                "",
+                inMemory);
+    }
+}
@@ -0,0 +1,198 @@
+package com.tanaguru.crawler;
+
+import com.tanaguru.domain.constant.ECrawlUrlStatus;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+public class DistributedCrawlFrontierTest {
+
+    private DistributedCrawlFrontier createFrontier(InMemoryCrawlStore store, int maxDocument, boolean worker) {
+        DistributedCrawlFrontier distributedCrawlFrontier = new DistributedCrawlFrontier(
+                store, 1, 2, 60, maxDocument, -1, "", "", null, null);
+        if (worker) {
+            distributedCrawlFrontier.addSeedDomain("http://test.com/");
+        } else {
+            distributedCrawlFrontier.open();
+            distributedCrawlFrontier.addSeed("http://test.com/");
+        }
+        return distributedCrawlFrontier;
+    }
+
+    @Test
+    public void shareFrontier() {
+        InMemoryCrawlStore store = new InMemoryCrawlStore();
+        DistributedCrawlFrontier first = createFrontier(store, 3, false);
+        DistributedCrawlFrontier second = createFrontier(store, 3, true);
+
+        DistributedCrawlFrontier.ClaimedUrl seed = (DistributedCrawlFrontier.ClaimedUrl) first.next();
+        Assert.assertEquals("http://test.com/", seed.getUrl());
+        Assert.assertEquals(1, seed.getDocumentNumber());
+        first.addLinks(seed, Arrays.asList("http://test.com/a", "http://test.com/b"));
+        first.done(seed);
+
+        DistributedCrawlFrontier.ClaimedUrl a = (DistributedCrawlFrontier.ClaimedUrl) second.next();
+        Assert.assertEquals("http://test.com/a", a.getUrl());
+        Assert.assertEquals(2, a.getDocumentNumber());
+        second.addLinks(a, Arrays.asList("http://test.com/", "http://test.com/b", "http://test.com/c"));
+        second.done(a);
+
+        DistributedCrawlFrontier.ClaimedUrl b = (DistributedCrawlFrontier.ClaimedUrl) first.next();
+        Assert.assertEquals("http://test.com/b", b.getUrl());
+        Assert.assertEquals(3, b.getDocumentNumber());
+        first.done(b);
+
+        Assert.assertEquals(4, store.urls.size());
+        Assert.assertNull(second.next());
+        Assert.assertTrue(second.isOver());
+        Assert.assertNull(first.next());
+        Assert.assertTrue(second.finish());
+        Assert.assertFalse(first.finish());
+        Assert.assertNull(store.maxDocument);
+        Assert.assertTrue(store.urls.isEmpty());
+    }
+
+    @Test
+    public void finishOnlyWithoutClaimedUrl() {
+        InMemoryCrawlStore store = new InMemoryCrawlStore();
+        DistributedCrawlFrontier first = createFrontier(store, 3, false);
+        DistributedCrawlFrontier second = createFrontier(store, 3, true);
+
+        DistributedCrawlFrontier.CrawlUrl seed = first.next();
+        Assert.assertFalse(second.isOver());
+        Assert.assertFalse(second.finish());
+
+        first.done(seed);
+        Assert.assertTrue(second.finish());
+    }
+
+    @Test
+    public void releaseClaimsOfStoppedRunner() {
+        InMemoryCrawlStore store = new InMemoryCrawlStore();
+        DistributedCrawlFrontier first = createFrontier(store, 3, false);
+        DistributedCrawlFrontier second = createFrontier(store, 3, true);
+
+        DistributedCrawlFrontier.ClaimedUrl seed = (DistributedCrawlFrontier.ClaimedUrl) first.next();
+        first.interrupt();
+        Assert.assertNull(first.next());
+        Assert.assertFalse(first.isOver());
+        first.release();
+
+        DistributedCrawlFrontier.ClaimedUrl claimedAgain = (DistributedCrawlFrontier.ClaimedUrl) second.next();
+        Assert.assertEquals(seed.getUrl(), claimedAgain.getUrl());
+        Assert.assertEquals(seed.getDocumentNumber(), claimedAgain.getDocumentNumber());
+        second.done(claimedAgain);
+        Assert.assertNull(second.next());
+        Assert.assertTrue(second.finish());
+    }
+
+    /**
+     * Store of a single crawl following {@link DistributedCrawlStoreImpl}, where the claims become stale only when
+     * they are released
+     */
+    private static class InMemoryCrawlStore implements DistributedCrawlStore {
+        private final Map<String, StoredUrl> urls = new LinkedHashMap<>();
+        private Integer maxDocument;
+        private int documentCount;
+        private boolean finished;
+
+        @Override
+        public void open(long auditId, int maxDocument) {
+            if (this.maxDocument == null) {
+                this.maxDocument = maxDocument;
+            }
+        }
+
+        @Override
+        public void add(long auditId, String url, int depth) {
+            urls.putIfAbsent(url, new StoredUrl(url, depth));
+        }
+
+        @Override
+        public DistributedCrawlFrontier.ClaimedUrl claim(long auditId, long maxCrawlTime, int pagesPerDocument) {
+            Optional<StoredUrl> url = urls.values().stream()
+                    .filter(storedUrl -> storedUrl.status == ECrawlUrlStatus.CLAIMED && storedUrl.released)
+                    .findFirst();
+            if (!url.isPresent()) {
+                url = urls.values().stream()
+                        .filter(storedUrl -> storedUrl.status == ECrawlUrlStatus.QUEUED)
+                        .findFirst();
+                if (!url.isPresent() || maxDocument == null || finished || documentCount >= maxDocument) {
+                    return null;
+                }
+                url.get().documentNumber = ++documentCount;
+            }
+            url.get().status = ECrawlUrlStatus.CLAIMED;
+            url.get().released = false;
+            return new DistributedCrawlFrontier.ClaimedUrl(
+                    url.get().documentNumber, url.get().url, url.get().depth, url.get().documentNumber);
+        }
+
+        @Override
+        public void done(DistributedCrawlFrontier.ClaimedUrl claimedUrl) {
+            urls.get(claimedUrl.getUrl()).status = ECrawlUrlStatus.DONE;
+        }
+
+        @Override
+        public boolean isOver(long auditId, long maxCrawlTime) {
+            if (maxDocument == null || finished) {
+                return true;
+            }
+            if (count(ECrawlUrlStatus.CLAIMED) > 0) {
+                return false;
+            }
+            return documentCount >= maxDocument || count(ECrawlUrlStatus.QUEUED) == 0;
+        }
+
+        @Override
+        public boolean finish(long auditId) {
+            if (maxDocument == null || finished) {
+                return false;
+            }
+            finished = true;
+            urls.clear();
+            maxDocument = null;
+            return true;
+        }
+
+        @Override
+        public int release(long auditId) {
+            int released = 0;
+            for (StoredUrl storedUrl : urls.values()) {
+                if (storedUrl.status == ECrawlUrlStatus.CLAIMED) {
+                    storedUrl.released = true;
+                    released++;
+                }
+            }
+            return released;
+        }
+
+        @Override
+        public Collection<Long> findOpenAuditIds() {
+            return count(ECrawlUrlStatus.QUEUED) == 0 ? Collections.emptyList() : Collections.singletonList(1L);
+        }
+
+        private long count(ECrawlUrlStatus status) {
+            return urls.values().stream().filter(storedUrl -> storedUrl.status == status).count();
+        }
+    }
+
+    private static class StoredUrl {
+        private final String url;
+        private final int depth;
+        private ECrawlUrlStatus status = ECrawlUrlStatus.QUEUED;
+        private int documentNumber;
+        private boolean released;
+
+        private StoredUrl(String url, int depth) {
+            this.url = url;
+            this.depth = depth;
+        }
+    }
+}
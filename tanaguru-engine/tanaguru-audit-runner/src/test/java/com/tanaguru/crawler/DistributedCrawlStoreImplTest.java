@@ -0,0 +1,159 @@
+package com.tanaguru.crawler;
+
+import com.tanaguru.domain.constant.ECrawlUrlStatus;
+import com.tanaguru.domain.entity.audit.CrawlFrontierUrl;
+import com.tanaguru.domain.entity.audit.DistributedCrawl;
+import com.tanaguru.repository.CrawlFrontierUrlRepository;
+import com.tanaguru.repository.DistributedCrawlRepository;
+import com.tanaguru.service.PageService;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DistributedCrawlStoreImplTest {
+    private static final long AUDIT_ID = 12;
+    private static final long MAX_CRAWL_TIME = 60000;
+
+    @Mock
+    private CrawlFrontierUrlRepository crawlFrontierUrlRepository;
+
+    @Mock
+    private DistributedCrawlRepository distributedCrawlRepository;
+
+    @Mock
+    private PageService pageService;
+
+    @InjectMocks
+    private DistributedCrawlStoreImpl distributedCrawlStore;
+
+    @Test
+    public void claimQueuedUrl() {
+        CrawlFrontierUrl queuedUrl = createUrl(ECrawlUrlStatus.QUEUED, null);
+        Mockito.when(crawlFrontierUrlRepository.findClaimedBeforeForUpdate(eq(AUDIT_ID), any())).thenReturn(Collections.emptyList());
+        Mockito.when(crawlFrontierUrlRepository.findQueuedForUpdate(AUDIT_ID)).thenReturn(Collections.singletonList(queuedUrl));
+        Mockito.when(distributedCrawlRepository.incrementDocumentCount(eq(AUDIT_ID), any())).thenReturn(1);
+        Mockito.when(distributedCrawlRepository.findByAuditId(AUDIT_ID)).thenReturn(Optional.of(createCrawl(4, 10)));
+        Mockito.when(crawlFrontierUrlRepository.save(queuedUrl)).thenReturn(queuedUrl);
+
+        DistributedCrawlFrontier.ClaimedUrl claimedUrl = distributedCrawlStore.claim(AUDIT_ID, MAX_CRAWL_TIME, 3);
+
+        Assert.assertEquals(4, claimedUrl.getDocumentNumber());
+        Assert.assertEquals(ECrawlUrlStatus.CLAIMED, queuedUrl.getStatus());
+        Assert.assertNotNull(queuedUrl.getNode());
+        Assert.assertNotNull(queuedUrl.getDateClaim());
+        Mockito.verify(pageService, Mockito.never()).deletePageByAuditAndRankBetween(anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void claimStaleUrlDeletesItsPages() {
+        CrawlFrontierUrl staleUrl = createUrl(ECrawlUrlStatus.CLAIMED, 4);
+        Mockito.when(crawlFrontierUrlRepository.findClaimedBeforeForUpdate(eq(AUDIT_ID), any())).thenReturn(Collections.singletonList(staleUrl));
+        Mockito.when(crawlFrontierUrlRepository.save(staleUrl)).thenReturn(staleUrl);
+
+        DistributedCrawlFrontier.ClaimedUrl claimedUrl = distributedCrawlStore.claim(AUDIT_ID, MAX_CRAWL_TIME, 3);
+
+        Assert.assertEquals(4, claimedUrl.getDocumentNumber());
+        Mockito.verify(pageService).deletePageByAuditAndRankBetween(AUDIT_ID, 10, 12);
+        Mockito.verify(distributedCrawlRepository, Mockito.never()).incrementDocumentCount(anyLong(), any());
+    }
+
+    @Test
+    public void claimNothingAfterLimit() {
+        Mockito.when(crawlFrontierUrlRepository.findClaimedBeforeForUpdate(eq(AUDIT_ID), any())).thenReturn(Collections.emptyList());
+        Mockito.when(crawlFrontierUrlRepository.findQueuedForUpdate(AUDIT_ID)).thenReturn(
+                Collections.singletonList(createUrl(ECrawlUrlStatus.QUEUED, null)));
+        Mockito.when(distributedCrawlRepository.incrementDocumentCount(eq(AUDIT_ID), any())).thenReturn(0);
+
+        Assert.assertNull(distributedCrawlStore.claim(AUDIT_ID, MAX_CRAWL_TIME, 3));
+        Mockito.verify(crawlFrontierUrlRepository, Mockito.never()).save(any());
+    }
+
+    @Test
+    public void notOverWhileUrlsClaimed() {
+        Mockito.when(distributedCrawlRepository.findByAuditId(AUDIT_ID)).thenReturn(Optional.of(createCrawl(10, 10)));
+        Mockito.when(crawlFrontierUrlRepository.countByAuditIdAndStatus(AUDIT_ID, ECrawlUrlStatus.CLAIMED)).thenReturn(1L);
+
+        Assert.assertFalse(distributedCrawlStore.isOver(AUDIT_ID, MAX_CRAWL_TIME));
+    }
+
+    @Test
+    public void notOverWhileUrlsQueued() {
+        Mockito.when(distributedCrawlRepository.findByAuditId(AUDIT_ID)).thenReturn(Optional.of(createCrawl(4, 10)));
+        Mockito.when(crawlFrontierUrlRepository.countByAuditIdAndStatus(AUDIT_ID, ECrawlUrlStatus.CLAIMED)).thenReturn(0L);
+        Mockito.when(crawlFrontierUrlRepository.countByAuditIdAndStatus(AUDIT_ID, ECrawlUrlStatus.QUEUED)).thenReturn(2L);
+
+        Assert.assertFalse(distributedCrawlStore.isOver(AUDIT_ID, MAX_CRAWL_TIME));
+    }
+
+    @Test
+    public void overAfterMaxDocument() {
+        Mockito.when(distributedCrawlRepository.findByAuditId(AUDIT_ID)).thenReturn(Optional.of(createCrawl(10, 10)));
+        Mockito.when(crawlFrontierUrlRepository.countByAuditIdAndStatus(AUDIT_ID, ECrawlUrlStatus.CLAIMED)).thenReturn(0L);
+
+        Assert.assertTrue(distributedCrawlStore.isOver(AUDIT_ID, MAX_CRAWL_TIME));
+    }
+
+    @Test
+    public void overWithoutCrawl() {
+        Mockito.when(distributedCrawlRepository.findByAuditId(AUDIT_ID)).thenReturn(Optional.empty());
+
+        Assert.assertTrue(distributedCrawlStore.isOver(AUDIT_ID, MAX_CRAWL_TIME));
+    }
+
+    @Test
+    public void finishDeletesCrawl() {
+        Mockito.when(distributedCrawlRepository.finish(AUDIT_ID)).thenReturn(1);
+
+        Assert.assertTrue(distributedCrawlStore.finish(AUDIT_ID));
+        Mockito.verify(crawlFrontierUrlRepository).deleteAllByAuditId(AUDIT_ID);
+        Mockito.verify(distributedCrawlRepository).deleteByAuditId(AUDIT_ID);
+    }
+
+    @Test
+    public void finishOnlyOnce() {
+        Mockito.when(distributedCrawlRepository.finish(AUDIT_ID)).thenReturn(0);
+
+        Assert.assertFalse(distributedCrawlStore.finish(AUDIT_ID));
+        Mockito.verify(crawlFrontierUrlRepository, Mockito.never()).deleteAllByAuditId(anyLong());
+        Mockito.verify(distributedCrawlRepository, Mockito.never()).deleteByAuditId(anyLong());
+    }
+
+    @Test
+    public void releaseMakesClaimsStale() {
+        Mockito.when(crawlFrontierUrlRepository.setClaimDateByNode(eq(AUDIT_ID), anyString(), any())).thenReturn(2);
+
+        Assert.assertEquals(2, distributedCrawlStore.release(AUDIT_ID));
+        Mockito.verify(crawlFrontierUrlRepository).setClaimDateByNode(eq(AUDIT_ID), anyString(), eq(new Date(0)));
+    }
+
+    private DistributedCrawl createCrawl(int documentCount, int maxDocument) {
+        DistributedCrawl distributedCrawl = new DistributedCrawl();
+        distributedCrawl.setAuditId(AUDIT_ID);
+        distributedCrawl.setDocumentCount(documentCount);
+        distributedCrawl.setMaxDocument(maxDocument);
+        distributedCrawl.setDateStart(new Date());
+        return distributedCrawl;
+    }
+
+    private CrawlFrontierUrl createUrl(ECrawlUrlStatus status, Integer documentNumber) {
+        CrawlFrontierUrl crawlFrontierUrl = new CrawlFrontierUrl();
+        crawlFrontierUrl.setId(3);
+        crawlFrontierUrl.setAuditId(AUDIT_ID);
+        crawlFrontierUrl.setUrl("http://test.com/a");
+        crawlFrontierUrl.setDepth(1);
+        crawlFrontierUrl.setStatus(status);
+        crawlFrontierUrl.setDocumentNumber(documentNumber);
+        return crawlFrontierUrl;
+    }
+}
@@ -0,0 +1,65 @@
+package com.tanaguru.crawler;
+
+import com.tanaguru.helper.CrawlerRegexBuilder;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.zip.GZIPOutputStream;
+
+public class SitemapSeedLoaderTest {
+    private static final String SITEMAP = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+            "<urlset xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">" +
+            "<url><loc>http://test.com/old</loc><lastmod>2019-01-01</lastmod><priority>0.8</priority></url>" +
+            "<url><loc>http://test.com/recent</loc><lastmod>2020-06-01T10:00:00+00:00</lastmod><priority>0.8</priority></url>" +
+            "<url><loc>http://test.com/home</loc><priority>1.0</priority></url>" +
+            "<url><loc>http://test.com/default</loc></url>" +
+            "<url><loc>http://test.com/private/page</loc><priority>1.0</priority></url>" +
+            "<url><loc>http://other.com/page</loc><priority>1.0</priority></url>" +
+            "</urlset>";
+
+    private SitemapSeedLoader createLoader(int maxDocument) {
+        return new SitemapSeedLoader(
+                null,
+                Collections.singletonList("http://test.com/"),
+                "",
+                CrawlerRegexBuilder.buildRegexFromString("private"),
+                maxDocument);
+    }
+
+    @Test
+    public void readSitemapRanked() throws Exception {
+        SitemapSeedLoader sitemapSeedLoader = createLoader(10);
+        sitemapSeedLoader.readSitemap(new ByteArrayInputStream(SITEMAP.getBytes(StandardCharsets.UTF_8)));
+
+        Assert.assertEquals(
+                Arrays.asList("http://test.com/home", "http://test.com/recent", "http://test.com/old", "http://test.com/default"),
+                sitemapSeedLoader.getResult());
+    }
+
+    @Test
+    public void readGzippedSitemapMaxDocument() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            gzipOutputStream.write(SITEMAP.getBytes(StandardCharsets.UTF_8));
+        }
+
+        SitemapSeedLoader sitemapSeedLoader = createLoader(2);
+        sitemapSeedLoader.readSitemap(new ByteArrayInputStream(outputStream.toByteArray()));
+
+        Assert.assertEquals(Arrays.asList("http://test.com/home", "http://test.com/recent"), sitemapSeedLoader.getResult());
+    }
+
+    @Test
+    public void readRobotsSitemaps() throws IOException {
+        String robots = "User-agent: *\nDisallow: /private\nSitemap: http://test.com/sitemap_index.xml\nsitemap:http://test.com/news.xml.gz\n";
+        Assert.assertEquals(
+                Arrays.asList("http://test.com/sitemap_index.xml", "http://test.com/news.xml.gz"),
+                SitemapSeedLoader.readRobotsSitemaps(new ByteArrayInputStream(robots.getBytes(StandardCharsets.UTF_8))));
+    }
+}
@@ -1,6 +1,9 @@
 package com.tanaguru.crawler;
 
 import com.tanaguru.helper.CrawlerRegexBuilder;
+import com.tanaguru.helper.UrlCanonicalizer;
+import com.tanaguru.helper.UrlFilter;
+import edu.uci.ics.crawler4j.crawler.CrawlConfig;
 import edu.uci.ics.crawler4j.crawler.Page;
 import edu.uci.ics.crawler4j.url.WebURL;
 import org.junit.Assert;
@@ -12,7 +15,9 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 
-import java.util.regex.Pattern;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
 
 @RunWith(MockitoJUnitRunner.class)
 public class TanaguruCrawlerImplTest {
@@ -55,8 +60,8 @@ public class TanaguruCrawlerImplTest {
 
     @Test
     public void checkExclusionRegexTest_Empty_Valid(){
-        Mockito.when(tanaguruCrawlerController.getExclusionRegex()).thenReturn(
-                Pattern.compile(CrawlerRegexBuilder.buildRegexFromString(""))
+        Mockito.when(tanaguruCrawlerController.getExclusionFilter()).thenReturn(
+                UrlFilter.compile(CrawlerRegexBuilder.buildRegexFromString(""))
         );
 
         Assert.assertTrue(tanaguruCrawler.checkExclusionRegex(tanaguruCrawlerController, "http://test.com"));
@@ -64,8 +69,8 @@ public class TanaguruCrawlerImplTest {
 
     @Test
     public void checkExclusionRegexTest_Valid(){
-        Mockito.when(tanaguruCrawlerController.getExclusionRegex()).thenReturn(
-                Pattern.compile(CrawlerRegexBuilder.buildRegexFromString("test2"))
+        Mockito.when(tanaguruCrawlerController.getExclusionFilter()).thenReturn(
+                UrlFilter.compile(CrawlerRegexBuilder.buildRegexFromString("test2"))
         );
 
         Assert.assertTrue(tanaguruCrawler.checkExclusionRegex(tanaguruCrawlerController, "http://test.com"));
@@ -73,8 +78,8 @@ public class TanaguruCrawlerImplTest {
 
     @Test
     public void checkExclusionRegexTest_Invalid(){
-        Mockito.when(tanaguruCrawlerController.getExclusionRegex()).thenReturn(
-                Pattern.compile(CrawlerRegexBuilder.buildRegexFromString("test"))
+        Mockito.when(tanaguruCrawlerController.getExclusionFilter()).thenReturn(
+                UrlFilter.compile(CrawlerRegexBuilder.buildRegexFromString("test"))
         );
 
         Assert.assertFalse(tanaguruCrawler.checkExclusionRegex(tanaguruCrawlerController, "http://test.com"));
@@ -82,8 +87,8 @@ public class TanaguruCrawlerImplTest {
 
     @Test
     public void checkExclusionRegexTest_ValidMultiple(){
-        Mockito.when(tanaguruCrawlerController.getExclusionRegex()).thenReturn(
-                Pattern.compile(CrawlerRegexBuilder.buildRegexFromString("test2;test3"))
+        Mockito.when(tanaguruCrawlerController.getExclusionFilter()).thenReturn(
+                UrlFilter.compile(CrawlerRegexBuilder.buildRegexFromString("test2;test3"))
         );
 
         Assert.assertTrue(tanaguruCrawler.checkExclusionRegex(tanaguruCrawlerController, "http://test.com"));
@@ -91,8 +96,8 @@ public class TanaguruCrawlerImplTest {
 
     @Test
     public void checkExclusionRegexTest_InvalidMultiple(){
-        Mockito.when(tanaguruCrawlerController.getExclusionRegex()).thenReturn(
-                Pattern.compile(CrawlerRegexBuilder.buildRegexFromString("test2;test"))
+        Mockito.when(tanaguruCrawlerController.getExclusionFilter()).thenReturn(
+                UrlFilter.compile(CrawlerRegexBuilder.buildRegexFromString("test2;test"))
         );
 
         Assert.assertFalse(tanaguruCrawler.checkExclusionRegex(tanaguruCrawlerController, "http://test.com"));
@@ -100,8 +105,8 @@ public class TanaguruCrawlerImplTest {
 
     @Test
     public void checkInclusionRegexTest_Empty_Valid(){
-        Mockito.when(tanaguruCrawlerController.getInclusionRegex()).thenReturn(
-                Pattern.compile(CrawlerRegexBuilder.buildRegexFromString(""))
+        Mockito.when(tanaguruCrawlerController.getInclusionFilter()).thenReturn(
+                UrlFilter.compile(CrawlerRegexBuilder.buildRegexFromString(""))
         );
 
         Assert.assertTrue(tanaguruCrawler.checkInclusionRegex(tanaguruCrawlerController, "http://test.com"));
@@ -109,8 +114,8 @@ public class TanaguruCrawlerImplTest {
 
     @Test
     public void checkInclusionRegexTest_Invalid(){
-        Mockito.when(tanaguruCrawlerController.getInclusionRegex()).thenReturn(
-                Pattern.compile(CrawlerRegexBuilder.buildRegexFromString("test2"))
+        Mockito.when(tanaguruCrawlerController.getInclusionFilter()).thenReturn(
+                UrlFilter.compile(CrawlerRegexBuilder.buildRegexFromString("test2"))
         );
 
         Assert.assertFalse(tanaguruCrawler.checkInclusionRegex(tanaguruCrawlerController, "http://test.com"));
@@ -118,8 +123,8 @@ public class TanaguruCrawlerImplTest {
 
     @Test
     public void checkInclusionRegexTest_Valid(){
-        Mockito.when(tanaguruCrawlerController.getInclusionRegex()).thenReturn(
-                Pattern.compile(CrawlerRegexBuilder.buildRegexFromString("test"))
+        Mockito.when(tanaguruCrawlerController.getInclusionFilter()).thenReturn(
+                UrlFilter.compile(CrawlerRegexBuilder.buildRegexFromString("test"))
         );
 
         Assert.assertTrue(tanaguruCrawler.checkInclusionRegex(tanaguruCrawlerController, "http://test.com"));
@@ -127,8 +132,8 @@ public class TanaguruCrawlerImplTest {
 
     @Test
     public void checkInclusionRegexTest_InvalidMultiple(){
-        Mockito.when(tanaguruCrawlerController.getInclusionRegex()).thenReturn(
-                Pattern.compile(CrawlerRegexBuilder.buildRegexFromString("test2;test3"))
+        Mockito.when(tanaguruCrawlerController.getInclusionFilter()).thenReturn(
+                UrlFilter.compile(CrawlerRegexBuilder.buildRegexFromString("test2;test3"))
         );
 
         Assert.assertFalse(tanaguruCrawler.checkInclusionRegex(tanaguruCrawlerController, "http://test.com"));
@@ -136,10 +141,40 @@ public class TanaguruCrawlerImplTest {
 
     @Test
     public void checkInclusionRegexTest_ValidMultiple(){
-        Mockito.when(tanaguruCrawlerController.getInclusionRegex()).thenReturn(
-                Pattern.compile(CrawlerRegexBuilder.buildRegexFromString("test2;test"))
+        Mockito.when(tanaguruCrawlerController.getInclusionFilter()).thenReturn(
+                UrlFilter.compile(CrawlerRegexBuilder.buildRegexFromString("test2;test"))
         );
 
         Assert.assertTrue(tanaguruCrawler.checkInclusionRegex(tanaguruCrawlerController, "http://test.com"));
     }
+
+    @Test
+    public void shouldVisitLinkFromOtherSeedDomainLater() {
+        TanaguruCrawlerControllerImpl controller = Mockito.mock(TanaguruCrawlerControllerImpl.class);
+        Set<Long> visited = new HashSet<>();
+        Mockito.when(controller.getConfig()).thenReturn(new CrawlConfig());
+        Mockito.when(controller.getResult()).thenReturn(new ArrayList<>());
+        Mockito.when(controller.getMaxDocument()).thenReturn(10);
+        Mockito.when(controller.getMaxCrawlTime()).thenReturn(60000L);
+        Mockito.when(controller.getExclusionFilter()).thenReturn(UrlFilter.compile(""));
+        Mockito.when(controller.getInclusionFilter()).thenReturn(UrlFilter.compile(""));
+        Mockito.when(controller.markVisited(Mockito.anyString()))
+                .thenAnswer(invocation -> visited.add(UrlCanonicalizer.fingerprint(invocation.getArgument(0))));
+        TanaguruCrawler crawler = new TanaguruCrawler() {{
+            myController = controller;
+        }};
+        crawler.onStart();
+
+        // Seeds on domains a.com and b.com, a page of a.com links to a page of b.com before b.com does
+        WebURL link = webUrl("http://b.com/contact");
+        Assert.assertFalse(crawler.shouldVisit(new Page(webUrl("http://a.com/")), link));
+        Assert.assertTrue(crawler.shouldVisit(new Page(webUrl("http://b.com/")), link));
+        Assert.assertFalse(crawler.shouldVisit(new Page(webUrl("http://b.com/about")), link));
+    }
+
+    private static WebURL webUrl(String url) {
+        WebURL webURL = new WebURL();
+        webURL.setURL(url);
+        return webURL;
+    }
 }
@@ -0,0 +1,71 @@
+package com.tanaguru.driver.blocking;
+
+import com.tanaguru.domain.constant.EBlockedResourceType;
+import com.tanaguru.driver.ResourceBlocking;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+public class ResourceBlockerTest {
+
+    @Test
+    public void parseNormalizesDomainsAndBlocksImages() {
+        ResourceBlocking resourceBlocking = ResourceBlocking.parse("Media; font", "*.Ads.example.com;.tracker.net;tracker.net", true);
+
+        Assert.assertTrue(resourceBlocking.isBlocked(EBlockedResourceType.MEDIA));
+        Assert.assertTrue(resourceBlocking.isBlocked(EBlockedResourceType.FONT));
+        Assert.assertTrue(resourceBlocking.isBlocked(EBlockedResourceType.IMAGE));
+        Assert.assertFalse(resourceBlocking.isBlocked(EBlockedResourceType.BEACON));
+        Assert.assertEquals(2, resourceBlocking.getDomains().size());
+        Assert.assertEquals("ads.example.com", resourceBlocking.getDomains().get(0));
+        Assert.assertTrue(ResourceBlocking.parse(null, "", false).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseRejectsUnknownTypes() {
+        ResourceBlocking.parse("stylesheet", null, false);
+    }
+
+    @Test
+    public void chromeUrlPatterns() {
+        ResourceBlocker resourceBlocker = new ResourceBlocker(ResourceBlocking.parse("font;beacon", "tracker.net", false));
+
+        List<String> patterns = resourceBlocker.getChromeUrlPatterns();
+        Assert.assertTrue(patterns.contains("*://tracker.net/*"));
+        Assert.assertTrue(patterns.contains("*://*.tracker.net/*"));
+        Assert.assertTrue(patterns.contains("*.woff2"));
+        Assert.assertTrue(patterns.contains("*.woff2?*"));
+        Assert.assertFalse(patterns.contains("*.png"));
+    }
+
+    @Test
+    public void firefoxPreferences() {
+        ResourceBlocker resourceBlocker = new ResourceBlocker(ResourceBlocking.parse("image;beacon", "tracker.net", false));
+
+        Map<String, Object> preferences = resourceBlocker.getFirefoxPreferences("proxy.local:3128", "localhost,*.intranet");
+        Assert.assertEquals(2, preferences.get("permissions.default.image"));
+        Assert.assertEquals(false, preferences.get("beacon.enabled"));
+        Assert.assertNull(preferences.get("gfx.downloadable_fonts.enabled"));
+        Assert.assertEquals(2, preferences.get("network.proxy.type"));
+
+        String url = (String) preferences.get("network.proxy.autoconfig_url");
+        String script = new String(Base64.getDecoder().decode(url.substring(url.indexOf(',') + 1)), StandardCharsets.UTF_8);
+        Assert.assertEquals(resourceBlocker.getProxyAutoConfig("proxy.local:3128", "localhost,*.intranet"), script);
+        Assert.assertTrue(script.contains("[\"tracker.net\"]"));
+        Assert.assertTrue(script.contains("[\"localhost\",\"*.intranet\"]"));
+        Assert.assertTrue(script.contains("return \"PROXY proxy.local:3128\";"));
+    }
+
+    @Test
+    public void firefoxPreferencesWithoutDomainsKeepTheProxy() {
+        ResourceBlocker resourceBlocker = new ResourceBlocker(ResourceBlocking.parse("media", "", false));
+
+        Map<String, Object> preferences = resourceBlocker.getFirefoxPreferences("", "");
+        Assert.assertEquals(5, preferences.get("media.autoplay.default"));
+        Assert.assertFalse(preferences.containsKey("network.proxy.type"));
+    }
+}
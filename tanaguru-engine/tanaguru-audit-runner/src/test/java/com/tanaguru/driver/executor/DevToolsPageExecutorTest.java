@@ -0,0 +1,103 @@
+package com.tanaguru.driver.executor;
+
+import com.google.gson.Gson;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.SessionId;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class DevToolsPageExecutorTest {
+    private final Gson gson = new Gson();
+    private final List<Map<?, ?>> requests = new ArrayList<>();
+
+    private HttpServer server;
+    private int status = 200;
+    private String response = "{\"value\":{}}";
+    private DevToolsPageExecutor pageExecutor;
+
+    @Before
+    public void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/session/abc/goog/cdp/execute", (exchange) -> {
+            try (InputStream body = exchange.getRequestBody()) {
+                requests.add(gson.fromJson(new String(body.readAllBytes(), StandardCharsets.UTF_8), Map.class));
+            }
+            byte[] content = response.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(status, content.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(content);
+            }
+        });
+        server.start();
+        pageExecutor = new DevToolsPageExecutor(
+                new URL("http://127.0.0.1:" + server.getAddress().getPort()),
+                new SessionId("abc"),
+                Duration.ofSeconds(10));
+    }
+
+    @After
+    public void tearDown() {
+        pageExecutor.close();
+        server.stop(0);
+    }
+
+    @Test
+    public void executeCoreScriptReturnsValue() {
+        response = "{\"value\":{\"result\":{\"type\":\"string\",\"value\":\"{\\\"tags\\\":[]}\"}}}";
+
+        Assert.assertEquals("{\"tags\":[]}", pageExecutor.executeCoreScript("return JSON.stringify(loadTanaguruTests());"));
+        Map<?, ?> params = (Map<?, ?>) requests.get(0).get("params");
+        Assert.assertEquals("Runtime.evaluate", requests.get(0).get("cmd"));
+        Assert.assertEquals("(function() {\nreturn JSON.stringify(loadTanaguruTests());\n})()", params.get("expression"));
+        Assert.assertEquals(true, params.get("returnByValue"));
+        // Gson reads the numbers as doubles
+        Assert.assertEquals(10000.0, params.get("timeout"));
+    }
+
+    @Test(expected = JavascriptException.class)
+    public void executeCoreScriptThrowsScriptErrors() {
+        response = "{\"value\":{\"result\":{\"type\":\"object\"},\"exceptionDetails\":{\"text\":\"Uncaught\"," +
+                "\"exception\":{\"description\":\"ReferenceError: loadTanaguruTests is not defined\"}}}}";
+
+        pageExecutor.executeCoreScript("return JSON.stringify(loadTanaguruTests());");
+    }
+
+    @Test
+    public void takeScreenshotOfEmulatedViewport() {
+        pageExecutor.setResolution(new Dimension(320, 1080));
+        response = "{\"value\":{\"data\":\"/9j/\"}}";
+
+        Assert.assertEquals("/9j/", pageExecutor.takeScreenshot());
+        Assert.assertEquals("Emulation.setDeviceMetricsOverride", requests.get(0).get("cmd"));
+        Assert.assertEquals(320.0, ((Map<?, ?>) requests.get(0).get("params")).get("width"));
+        Map<?, ?> params = (Map<?, ?>) requests.get(1).get("params");
+        Assert.assertEquals("jpeg", params.get("format"));
+        Assert.assertEquals(0.5, ((Map<?, ?>) params.get("clip")).get("scale"));
+        Assert.assertEquals(1080.0, ((Map<?, ?>) params.get("clip")).get("height"));
+    }
+
+    @Test(expected = WebDriverException.class)
+    public void commandErrorThrows() {
+        status = 500;
+        response = "{\"value\":{\"error\":\"unknown error\",\"message\":\"unhandled inspector error\"}}";
+
+        pageExecutor.getPageSource();
+    }
+}
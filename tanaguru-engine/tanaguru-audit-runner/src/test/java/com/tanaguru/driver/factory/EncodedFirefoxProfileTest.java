@@ -0,0 +1,33 @@
+package com.tanaguru.driver.factory;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.FirefoxProfile;
+
+import java.io.IOException;
+import java.util.Map;
+
+public class EncodedFirefoxProfileTest {
+
+    @Test
+    public void encodedOnce() throws IOException {
+        FirefoxProfile template = new FirefoxProfile();
+        template.setPreference("browser.startup.page", 0);
+        template.setPreference("general.useragent.override", "tanaguru");
+        EncodedFirefoxProfile profile = new EncodedFirefoxProfile(template);
+
+        FirefoxOptions firefoxOptions = new FirefoxOptions();
+        firefoxOptions.setProfile(profile);
+        Map<?, ?> options = (Map<?, ?>) firefoxOptions.asMap().get(FirefoxOptions.FIREFOX_OPTIONS);
+        Assert.assertSame(profile.toJson(), options.get("profile"));
+
+        FirefoxProfile decoded = FirefoxProfile.fromJson(profile.toJson());
+        Assert.assertEquals("tanaguru", decoded.getStringPreference("general.useragent.override", null));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void preferencesCanNotChange() throws IOException {
+        new EncodedFirefoxProfile(new FirefoxProfile()).setPreference("browser.startup.page", 1);
+    }
+}
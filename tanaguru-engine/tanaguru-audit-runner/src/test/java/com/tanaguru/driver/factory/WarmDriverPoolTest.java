@@ -0,0 +1,95 @@
+package com.tanaguru.driver.factory;
+
+import com.tanaguru.domain.constant.BrowserName;
+import com.tanaguru.driver.ResourceBlocking;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+
+public class WarmDriverPoolTest {
+    private final List<RemoteWebDriver> createdDrivers = new ArrayList<>();
+    private final List<BrowserName> createdBrowsers = new ArrayList<>();
+    private WarmDriverPool warmDriverPool;
+
+    @Before
+    public void setup() {
+        warmDriverPool = new WarmDriverPool((browserName, resourceBlocking) -> {
+            RemoteWebDriver driver = Mockito.mock(RemoteWebDriver.class);
+            createdDrivers.add(driver);
+            createdBrowsers.add(browserName);
+            return driver;
+        }, 2, 300, Mockito.mock(ScheduledExecutorService.class));
+    }
+
+    @Test
+    public void warmDriversFollowTheDemand() {
+        Assert.assertNull(warmDriverPool.take(BrowserName.FIREFOX, ResourceBlocking.NONE));
+        warmDriverPool.refill();
+        Assert.assertEquals(1, warmDriverPool.getIdleCount());
+
+        RemoteWebDriver driver = warmDriverPool.take(BrowserName.FIREFOX, ResourceBlocking.parse("", "", false));
+        Assert.assertSame(createdDrivers.get(0), driver);
+        warmDriverPool.refill();
+        Assert.assertEquals(2, warmDriverPool.getIdleCount());
+
+        // A third demand does not exceed the maximum of idle browsers
+        warmDriverPool.take(BrowserName.FIREFOX, ResourceBlocking.NONE);
+        warmDriverPool.refill();
+        Assert.assertEquals(2, warmDriverPool.getIdleCount());
+        Assert.assertEquals(4, createdDrivers.size());
+    }
+
+    @Test
+    public void warmDriversByBrowserAndBlocking() {
+        warmDriverPool.take(BrowserName.CHROME, ResourceBlocking.NONE);
+        warmDriverPool.refill();
+
+        Assert.assertNull(warmDriverPool.take(BrowserName.FIREFOX, ResourceBlocking.NONE));
+        Assert.assertNull(warmDriverPool.take(BrowserName.CHROME, ResourceBlocking.parse("image", "", false)));
+        Assert.assertNotNull(warmDriverPool.take(BrowserName.CHROME, ResourceBlocking.NONE));
+        Assert.assertEquals(BrowserName.CHROME, createdBrowsers.get(0));
+    }
+
+    @Test
+    public void lostDriverIsReplaced() {
+        warmDriverPool.take(BrowserName.FIREFOX, ResourceBlocking.NONE);
+        warmDriverPool.refill();
+        RemoteWebDriver lostDriver = createdDrivers.get(0);
+        Mockito.when(lostDriver.getWindowHandle()).thenThrow(new WebDriverException("lost"));
+
+        Assert.assertNull(warmDriverPool.take(BrowserName.FIREFOX, ResourceBlocking.NONE));
+        Mockito.verify(lostDriver).quit();
+    }
+
+    @Test
+    public void shutdownQuitsIdleDrivers() {
+        warmDriverPool.take(BrowserName.FIREFOX, ResourceBlocking.NONE);
+        warmDriverPool.refill();
+        warmDriverPool.shutdown();
+
+        Mockito.verify(createdDrivers.get(0)).quit();
+        Assert.assertEquals(0, warmDriverPool.getIdleCount());
+        Assert.assertNull(warmDriverPool.take(BrowserName.FIREFOX, ResourceBlocking.NONE));
+        warmDriverPool.refill();
+        Assert.assertEquals(1, createdDrivers.size());
+    }
+
+    @Test
+    public void takeDuringShutdown() {
+        ScheduledExecutorService executor = Mockito.mock(ScheduledExecutorService.class);
+        Mockito.doThrow(new RejectedExecutionException("shut down")).when(executor).execute(Mockito.any());
+        WarmDriverPool pool = new WarmDriverPool((browserName, resourceBlocking) -> Mockito.mock(RemoteWebDriver.class),
+                2, 300, executor);
+
+        // The pool is shut down between the demand and the refill, the caller starts a cold driver
+        Assert.assertNull(pool.take(BrowserName.FIREFOX, ResourceBlocking.NONE));
+    }
+}
@@ -0,0 +1,52 @@
+package com.tanaguru.driver.replay;
+
+import com.tanaguru.runner.factory.ScriptFactory;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+public class ReplayWebDriverTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private ReplayWebDriver replayWebDriver;
+
+    @Before
+    public void setup() throws IOException {
+        Path fixtureDirectory = temporaryFolder.newFolder("home").toPath();
+        Files.write(fixtureDirectory.resolve(ReplayFixture.RESULT_FILE), "{\"tags\":[]}".getBytes(StandardCharsets.UTF_8));
+        Files.write(fixtureDirectory.resolve(ReplayFixture.TITLE_FILE), "Home\n".getBytes(StandardCharsets.UTF_8));
+
+        ReplayFixture fixture = ReplayFixture.read(fixtureDirectory);
+        replayWebDriver = new ReplayWebDriver(Arrays.asList(fixture), new byte[]{1, 2, 3}, 0, 0);
+    }
+
+    @Test
+    public void readWithoutResult() throws IOException {
+        Assert.assertNull(ReplayFixture.read(temporaryFolder.newFolder("empty").toPath()));
+    }
+
+    @Test
+    public void replayRecordedPage() {
+        replayWebDriver.get("http://test.com/page");
+        replayWebDriver.manage().window().setSize(new Dimension(1024, 1080));
+
+        Assert.assertEquals("http://test.com/page", replayWebDriver.getCurrentUrl());
+        Assert.assertEquals("Home", replayWebDriver.getTitle());
+        Assert.assertEquals("", replayWebDriver.getPageSource());
+        Assert.assertEquals("{\"tags\":[]}", replayWebDriver.executeScript("var a = 1;\n" + ScriptFactory.RESULT_STATEMENT));
+        Assert.assertEquals("{\"tags\":[]}", replayWebDriver.executeScript("var a = 1;\n" + String.format(ScriptFactory.CHUNKED_RESULT_STATEMENT, 100)));
+        Assert.assertNull(replayWebDriver.executeScript("window.scrollTo(0, 0);"));
+        Assert.assertArrayEquals(new byte[]{1, 2, 3}, replayWebDriver.getScreenshotAs(OutputType.BYTES));
+    }
+}
@@ -0,0 +1,107 @@
+package com.tanaguru.politeness;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class HostRateLimiterTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private MeterRegistry meterRegistry;
+
+    @Before
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    public void acquirePublishesHostLimits() throws InterruptedException {
+        HostRateLimiter hostRateLimiter = new HostRateLimiter(meterRegistry, true, 2, 10, 4, "example.com:1:2; invalid");
+        hostRateLimiter.acquire("https://www.example.com/page").release(200);
+        hostRateLimiter.acquire("https://other.org/").release(200);
+
+        Assert.assertEquals(1, meterRegistry.get(HostRateLimiter.RATE_GAUGE).tag("host", "www.example.com").gauge().value(), 0);
+        Assert.assertEquals(2.1, meterRegistry.get(HostRateLimiter.RATE_GAUGE).tag("host", "other.org").gauge().value(), 0.001);
+        Assert.assertEquals(2, meterRegistry.get(HostRateLimiter.CONCURRENCY_GAUGE).tag("host", "other.org").gauge().value(), 0);
+        Assert.assertTrue(Double.isNaN(hostRateLimiter.getRate("https://unknown.org/")));
+    }
+
+    @Test
+    public void disabledNeverWaits() throws InterruptedException {
+        HostRateLimiter hostRateLimiter = new HostRateLimiter(meterRegistry, false, 0.1, 0.1, 1, "");
+        for (int i = 0; i < 10; i++) {
+            hostRateLimiter.acquire("https://example.com/").release(HostRateLimiter.UNKNOWN_STATUS);
+        }
+        Assert.assertTrue(meterRegistry.find(HostRateLimiter.RATE_GAUGE).gauges().isEmpty());
+    }
+
+    @Test
+    public void tokensPaceRequests() {
+        HostBucket bucket = new HostBucket(2, 10, 4, 0);
+        Assert.assertEquals(0, bucket.tryAcquire(0));
+        bucket.release(true, 1000, 0, 0);
+        // The healthy response raised the rate to 2.1 requests by second
+        Assert.assertEquals(SECOND / 2.1, bucket.tryAcquire(0), SECOND / 100);
+        Assert.assertEquals(0, bucket.tryAcquire(SECOND / 2));
+    }
+
+    @Test
+    public void concurrencyLimitsRunningRequests() {
+        HostBucket bucket = new HostBucket(10, 10, 4, 0);
+        Assert.assertEquals(0, bucket.tryAcquire(0));
+        Assert.assertEquals(-1, bucket.tryAcquire(SECOND));
+        bucket.release(true, SECOND, 0, SECOND);
+        Assert.assertEquals(0, bucket.tryAcquire(SECOND));
+    }
+
+    @Test
+    public void throttlingHalvesLimitsOncePerWindow() {
+        HostBucket bucket = new HostBucket(4, 10, 4, 0);
+        long now = 0;
+        for (int i = 0; i < 10; i++) {
+            now += SECOND;
+            bucket.tryAcquire(now);
+            bucket.release(true, 1000, 0, now);
+        }
+        Assert.assertEquals(5, bucket.getRate(), 0.001);
+        Assert.assertTrue(bucket.getConcurrencyLimit() > 2);
+
+        double concurrencyLimit = bucket.getConcurrencyLimit();
+        bucket.release(false, 1000, 0, now);
+        Assert.assertEquals(2.5, bucket.getRate(), 0.001);
+        Assert.assertEquals(concurrencyLimit / 2, bucket.getConcurrencyLimit(), 0.001);
+
+        bucket.release(false, 1000, 0, now + 1);
+        Assert.assertEquals(2.5, bucket.getRate(), 0.001);
+    }
+
+    @Test
+    public void risingResponseTimesHalveLimits() {
+        HostBucket bucket = new HostBucket(4, 10, 4, 0);
+        long now = 0;
+        for (int i = 0; i < 10; i++) {
+            now += SECOND;
+            bucket.release(true, SECOND / 10, 0, now);
+        }
+        double rate = bucket.getRate();
+        for (int i = 0; i < 3; i++) {
+            now += SECOND;
+            bucket.release(true, SECOND, 0, now);
+        }
+        Assert.assertTrue(bucket.getRate() < rate);
+    }
+
+    @Test
+    public void retryAfterBlocksHost() {
+        HostBucket bucket = new HostBucket(10, 10, 4, 0);
+        bucket.tryAcquire(0);
+        bucket.release(false, 1000, 30 * SECOND, 0);
+        Assert.assertEquals(30 * SECOND - SECOND, bucket.tryAcquire(SECOND));
+        Assert.assertFalse(bucket.isIdle(SECOND, 0));
+        Assert.assertEquals(0, bucket.tryAcquire(31 * SECOND));
+    }
+}
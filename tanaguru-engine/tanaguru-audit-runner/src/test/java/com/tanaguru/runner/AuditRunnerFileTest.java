@@ -0,0 +1,107 @@
+package com.tanaguru.runner;
+
+import com.tanaguru.domain.entity.audit.Audit;
+import com.tanaguru.driver.replay.ReplayFixture;
+import com.tanaguru.driver.replay.ReplayWebDriver;
+import com.tanaguru.runner.factory.ScriptFactory;
+import com.tanaguru.runner.listener.AuditRunnerListener;
+import com.tanaguru.runner.metrics.AuditTimings;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+
+public class AuditRunnerFileTest {
+    private static final long LATENCY = 100;
+    private static final List<Integer> RESOLUTIONS = Arrays.asList(1024, 320);
+    private static final List<String> DOCUMENTS = Arrays.asList(
+            "http://127.0.0.1/key/a.html",
+            "http://127.0.0.1/key/b.html",
+            "http://127.0.0.1/key/c.html",
+            "http://127.0.0.1/key/d.html");
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private List<ReplayFixture> fixtures;
+    private AuditRunnerListener listener;
+
+    @Before
+    public void setup() throws IOException {
+        Path fixtureDirectory = temporaryFolder.newFolder("home").toPath();
+        Files.write(fixtureDirectory.resolve(ReplayFixture.RESULT_FILE), "{\"tags\":[]}".getBytes(StandardCharsets.UTF_8));
+        fixtures = Collections.singletonList(ReplayFixture.read(fixtureDirectory));
+        listener = Mockito.mock(AuditRunnerListener.class);
+    }
+
+    @Test
+    public void auditDocumentsOnLanes() {
+        AuditRunner auditRunner = createRunner(DOCUMENTS);
+
+        long start = System.currentTimeMillis();
+        auditRunner.run();
+        long duration = System.currentTimeMillis() - start;
+
+        for (int i = 0; i < DOCUMENTS.size(); i++) {
+            ArgumentCaptor<Integer> ranks = ArgumentCaptor.forClass(Integer.class);
+            Mockito.verify(listener, Mockito.times(2)).onAuditNewPage(
+                    eq(auditRunner), any(), eq(DOCUMENTS.get(i)), ranks.capture(), anyInt(), any(), isNull(), any(), isNull());
+            Assert.assertEquals(Arrays.asList(2 * i + 1, 2 * i + 2), ranks.getAllValues());
+        }
+        Mockito.verify(listener).onAuditStart(auditRunner);
+        Mockito.verify(listener).onAuditEnd(auditRunner);
+        // Two documents on each driver, one page load then two scripts for each of them
+        Assert.assertTrue("Audit took " + duration + " ms", duration < 4 * 3 * LATENCY);
+    }
+
+    @Test
+    public void auditPageOnceAcrossLanes() {
+        String document = DOCUMENTS.get(0);
+        createRunner(Arrays.asList(document, document)).run();
+
+        ArgumentCaptor<Integer> ranks = ArgumentCaptor.forClass(Integer.class);
+        Mockito.verify(listener, Mockito.times(2)).onAuditNewPage(
+                any(), any(), eq(document), ranks.capture(), anyInt(), any(), isNull(), any(), isNull());
+        Assert.assertTrue("Page ranks " + ranks.getAllValues(),
+                ranks.getAllValues().equals(Arrays.asList(1, 2)) || ranks.getAllValues().equals(Arrays.asList(3, 4)));
+    }
+
+    private AuditRunner createRunner(List<String> documents) {
+        AuditRunner auditRunner = new AuditRunnerFile(
+                new Audit(),
+                documents,
+                null,
+                null,
+                createDriver(),
+                "var a = 1;\n" + ScriptFactory.RESULT_STATEMENT,
+                0,
+                RESOLUTIONS,
+                "",
+                "",
+                "",
+                false,
+                new AuditTimings(new SimpleMeterRegistry(), "upload", "replay"));
+        auditRunner.addListener(listener);
+        auditRunner.setLaneDrivers(Collections.singletonList(createDriver()));
+        return auditRunner;
+    }
+
+    private RemoteWebDriver createDriver() {
+        return new ReplayWebDriver(fixtures, new byte[0], LATENCY, LATENCY);
+    }
+}
@@ -0,0 +1,207 @@
+package com.tanaguru.runner;
+
+import com.tanaguru.domain.entity.audit.Audit;
+import com.tanaguru.driver.replay.ReplayFixture;
+import com.tanaguru.driver.replay.ReplayWebDriver;
+import com.tanaguru.runner.factory.ScriptFactory;
+import com.tanaguru.runner.listener.AuditRunnerListener;
+import com.tanaguru.runner.metrics.AuditTimings;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import static org.mockito.ArgumentMatchers.*;
+
+public class AuditRunnerPageTest {
+    private static final long LATENCY = 300;
+    private static final List<Integer> RESOLUTIONS = Arrays.asList(1024, 768, 320);
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private List<ReplayFixture> fixtures;
+    private AuditRunnerListener listener;
+
+    @Before
+    public void setup() throws IOException {
+        Path fixtureDirectory = temporaryFolder.newFolder("home").toPath();
+        Files.write(fixtureDirectory.resolve(ReplayFixture.RESULT_FILE), "{\"tags\":[]}".getBytes(StandardCharsets.UTF_8));
+        Files.write(fixtureDirectory.resolve(ReplayFixture.TITLE_FILE), "Home\n".getBytes(StandardCharsets.UTF_8));
+        fixtures = Collections.singletonList(ReplayFixture.read(fixtureDirectory));
+        listener = Mockito.mock(AuditRunnerListener.class);
+    }
+
+    @Test
+    public void auditResolutionsOneAfterTheOther() {
+        AuditRunner auditRunner = createRunner();
+        auditRunner.run();
+
+        assertPagesAudited();
+    }
+
+    @Test
+    public void auditResolutionsInParallel() {
+        AuditRunner auditRunner = createRunner();
+        auditRunner.setResolutionDrivers(Arrays.asList(createDriver(), createDriver()));
+
+        long start = System.currentTimeMillis();
+        auditRunner.run();
+        long duration = System.currentTimeMillis() - start;
+
+        assertPagesAudited();
+        // One page load then one script on each driver, instead of one page load then three scripts
+        Assert.assertTrue("Audit took " + duration + " ms", duration < 3 * LATENCY);
+    }
+
+    @Test
+    public void resumeFromCheckpoint() {
+        AuditRunner auditRunner = createRunner(Arrays.asList("http://test.com/done", "http://test.com/page"));
+        auditRunner.resume(4, "1");
+        auditRunner.run();
+
+        ArgumentCaptor<Integer> ranks = ArgumentCaptor.forClass(Integer.class);
+        Mockito.verify(listener, Mockito.times(3)).onAuditNewPage(
+                any(), any(), eq("http://test.com/page"), ranks.capture(), anyInt(), any(), isNull(), any(), isNull());
+        Assert.assertEquals(Arrays.asList(4, 5, 6), ranks.getAllValues());
+        Mockito.verify(listener).onAuditCheckpoint(any(), eq(7), eq("2"));
+        Mockito.verify(listener, Mockito.never()).onAuditNewPage(
+                any(), any(), eq("http://test.com/done"), anyInt(), anyInt(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void checkpointEveryNumberOfPages() {
+        AuditRunner auditRunner = createRunner(Arrays.asList(
+                "http://test.com/a", "http://test.com/b", "http://test.com/c"));
+        auditRunner.setCheckpointInterval(2, 0);
+        auditRunner.run();
+
+        Mockito.verify(listener).onAuditCheckpoint(any(), eq(7), eq("2"));
+        Mockito.verify(listener, Mockito.never()).onAuditCheckpoint(any(), anyInt(), eq("1"));
+        Mockito.verify(listener, Mockito.never()).onAuditCheckpoint(any(), anyInt(), eq("3"));
+    }
+
+    @Test
+    public void baseAuditStoresContentHash() {
+        AuditRunner auditRunner = createRunner();
+        auditRunner.setIncremental(true);
+        auditRunner.run();
+
+        ArgumentCaptor<String> contentHashes = ArgumentCaptor.forClass(String.class);
+        Mockito.verify(listener, Mockito.times(3)).onAuditNewPage(
+                any(), any(), eq("http://test.com/page"), anyInt(), anyInt(), any(), isNull(), any(), contentHashes.capture());
+        Assert.assertEquals(3, contentHashes.getAllValues().stream().filter(Objects::nonNull).distinct().count());
+        Mockito.verify(listener, Mockito.never()).onAuditUnchangedPage(
+                any(), any(), any(), anyInt(), anyInt(), any(), any(), any());
+    }
+
+    @Test
+    public void scheduledAuditReusesUnchangedPages() {
+        Audit audit = new Audit();
+        audit.setScheduledFrom(new Audit());
+        AuditRunner auditRunner = createRunner(audit, Collections.singletonList("http://test.com/page"));
+        auditRunner.setIncremental(true);
+        Mockito.when(listener.onAuditUnchangedPage(any(), any(), any(), anyInt(), anyInt(), notNull(), any(), any())).thenReturn(true);
+        auditRunner.run();
+
+        Mockito.verify(listener, Mockito.times(3)).onAuditUnchangedPage(
+                any(), any(), eq("http://test.com/page"), anyInt(), anyInt(), notNull(), any(), any());
+        Mockito.verify(listener, Mockito.never()).onAuditNewPage(
+                any(), any(), any(), anyInt(), anyInt(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void unchangedResolutionKeepsItsRankOneAfterTheOther() {
+        assertUnchangedResolutionRank(createScheduledRunner());
+    }
+
+    @Test
+    public void unchangedResolutionKeepsItsRankInParallel() {
+        AuditRunner auditRunner = createScheduledRunner();
+        auditRunner.setResolutionDrivers(Arrays.asList(createDriver(), createDriver()));
+        assertUnchangedResolutionRank(auditRunner);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setResolutionDriversRequiresOneDriverByResolution() {
+        createRunner().setResolutionDrivers(Collections.singletonList(createDriver()));
+    }
+
+    private AuditRunner createScheduledRunner() {
+        Audit audit = new Audit();
+        audit.setScheduledFrom(new Audit());
+        AuditRunner auditRunner = createRunner(audit, Collections.singletonList("http://test.com/page"));
+        auditRunner.setIncremental(true);
+        Mockito.when(listener.onAuditUnchangedPage(any(), any(), any(), anyInt(), eq(768), notNull(), any(), any())).thenReturn(true);
+        return auditRunner;
+    }
+
+    private void assertUnchangedResolutionRank(AuditRunner auditRunner) {
+        auditRunner.run();
+
+        ArgumentCaptor<Integer> unchangedRanks = ArgumentCaptor.forClass(Integer.class);
+        Mockito.verify(listener, Mockito.times(3)).onAuditUnchangedPage(
+                any(), any(), any(), unchangedRanks.capture(), anyInt(), notNull(), any(), any());
+        Assert.assertEquals(Arrays.asList(1, 2, 3), unchangedRanks.getAllValues());
+        ArgumentCaptor<Integer> ranks = ArgumentCaptor.forClass(Integer.class);
+        ArgumentCaptor<Integer> widths = ArgumentCaptor.forClass(Integer.class);
+        Mockito.verify(listener, Mockito.times(2)).onAuditNewPage(
+                any(), any(), any(), ranks.capture(), widths.capture(), any(), any(), any(), notNull());
+        Assert.assertEquals(Arrays.asList(1, 3), ranks.getAllValues());
+        Assert.assertEquals(Arrays.asList(1024, 320), widths.getAllValues());
+    }
+
+    private void assertPagesAudited() {
+        ArgumentCaptor<String> names = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Integer> ranks = ArgumentCaptor.forClass(Integer.class);
+        ArgumentCaptor<Integer> widths = ArgumentCaptor.forClass(Integer.class);
+        Mockito.verify(listener, Mockito.times(3)).onAuditNewPage(
+                any(), names.capture(), eq("http://test.com/page"), ranks.capture(), widths.capture(), any(), isNull(), any(), isNull());
+        Assert.assertEquals(Arrays.asList("Home_1024", "Home_768", "Home_320"), names.getAllValues());
+        Assert.assertEquals(Arrays.asList(1, 2, 3), ranks.getAllValues());
+        Assert.assertEquals(RESOLUTIONS, widths.getAllValues());
+    }
+
+    private AuditRunner createRunner() {
+        return createRunner(Collections.singletonList("http://test.com/page"));
+    }
+
+    private AuditRunner createRunner(List<String> urls) {
+        return createRunner(new Audit(), urls);
+    }
+
+    private AuditRunner createRunner(Audit audit, List<String> urls) {
+        AuditRunner auditRunner = new AuditRunnerPage(
+                audit,
+                urls,
+                createDriver(),
+                "var a = 1;\n" + ScriptFactory.RESULT_STATEMENT,
+                0,
+                RESOLUTIONS,
+                "",
+                "",
+                "",
+                false,
+                new AuditTimings(new SimpleMeterRegistry(), "page", "replay"));
+        auditRunner.addListener(listener);
+        return auditRunner;
+    }
+
+    private RemoteWebDriver createDriver() {
+        return new ReplayWebDriver(fixtures, new byte[0], LATENCY, LATENCY);
+    }
+}
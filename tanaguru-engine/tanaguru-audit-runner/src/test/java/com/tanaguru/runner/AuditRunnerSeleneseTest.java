@@ -0,0 +1,122 @@
+package com.tanaguru.runner;
+
+import com.tanaguru.domain.entity.audit.Audit;
+import com.tanaguru.driver.replay.ReplayFixture;
+import com.tanaguru.driver.replay.ReplayWebDriver;
+import com.tanaguru.runner.factory.ScriptFactory;
+import com.tanaguru.runner.listener.AuditRunnerListener;
+import com.tanaguru.runner.metrics.AuditTimings;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jp.vmi.selenium.selenese.Parser;
+import jp.vmi.selenium.selenese.Runner;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+
+public class AuditRunnerSeleneseTest {
+    private static final long LATENCY = 100;
+    private static final List<Integer> RESOLUTIONS = Arrays.asList(1024, 320);
+    // Both test cases open the shared page
+    private static final String SCENARIO = "{\"id\":\"project\",\"version\":\"2.0\",\"name\":\"project\"," +
+            "\"url\":\"http://test.com\",\"urls\":[\"http://test.com\"],\"plugins\":[],\"suites\":[],\"tests\":[" +
+            "{\"id\":\"first\",\"name\":\"first\",\"commands\":[" +
+            "{\"id\":\"1\",\"command\":\"open\",\"target\":\"/a\",\"targets\":[],\"value\":\"\"}," +
+            "{\"id\":\"2\",\"command\":\"open\",\"target\":\"/shared\",\"targets\":[],\"value\":\"\"}]}," +
+            "{\"id\":\"second\",\"name\":\"second\",\"commands\":[" +
+            "{\"id\":\"3\",\"command\":\"open\",\"target\":\"/b\",\"targets\":[],\"value\":\"\"}," +
+            "{\"id\":\"4\",\"command\":\"open\",\"target\":\"/shared\",\"targets\":[],\"value\":\"\"}]}]}";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private List<ReplayFixture> fixtures;
+
+    @Before
+    public void setup() throws IOException {
+        Path fixtureDirectory = temporaryFolder.newFolder("home").toPath();
+        Files.write(fixtureDirectory.resolve(ReplayFixture.RESULT_FILE), "{\"tags\":[]}".getBytes(StandardCharsets.UTF_8));
+        Files.write(fixtureDirectory.resolve(ReplayFixture.TITLE_FILE), "Home\n".getBytes(StandardCharsets.UTF_8));
+        fixtures = Collections.singletonList(ReplayFixture.read(fixtureDirectory));
+    }
+
+    @Test
+    public void countTestCases() {
+        Assume.assumeTrue("selenese runner is not available", isSeleneseRunnerAvailable());
+        Assert.assertEquals(2, AuditRunnerSelenese.getTestCaseCount(SCENARIO));
+    }
+
+    @Test
+    public void countNoTestCaseOfInvalidScenario() {
+        Assert.assertEquals(0, AuditRunnerSelenese.getTestCaseCount("not a scenario"));
+    }
+
+    @Test
+    public void auditTestCasesOnLanes() {
+        Assume.assumeTrue("selenese runner is not available", isSeleneseRunnerAvailable());
+        AuditRunnerListener listener = Mockito.mock(AuditRunnerListener.class);
+        AuditRunner auditRunner = new AuditRunnerSelenese(
+                new Audit(),
+                SCENARIO,
+                createDriver(),
+                "var a = 1;\n" + ScriptFactory.RESULT_STATEMENT,
+                0,
+                RESOLUTIONS,
+                "",
+                "",
+                "",
+                false,
+                new AuditTimings(new SimpleMeterRegistry(), "scenario", "replay"));
+        auditRunner.addListener(listener);
+        auditRunner.setLaneDrivers(Collections.singletonList(createDriver()));
+        auditRunner.run();
+
+        // Each test case keeps the ranks of its two pages at the two resolutions
+        Assert.assertEquals(Arrays.asList(1, 2), getRanks(listener, "http://test.com/a"));
+        Assert.assertEquals(Arrays.asList(5, 6), getRanks(listener, "http://test.com/b"));
+        List<Integer> sharedRanks = getRanks(listener, "http://test.com/shared");
+        Assert.assertTrue("Shared page ranks " + sharedRanks,
+                sharedRanks.equals(Arrays.asList(3, 4)) || sharedRanks.equals(Arrays.asList(7, 8)));
+        Mockito.verify(listener).onAuditEnd(auditRunner);
+    }
+
+    private static List<Integer> getRanks(AuditRunnerListener listener, String url) {
+        ArgumentCaptor<Integer> ranks = ArgumentCaptor.forClass(Integer.class);
+        Mockito.verify(listener, Mockito.atLeastOnce()).onAuditNewPage(
+                any(), any(), eq(url), ranks.capture(), anyInt(), any(), isNull(), any(), isNull());
+        return ranks.getAllValues();
+    }
+
+    /**
+     * @return False if only the api of the selenese runner is on the classpath
+     */
+    private static boolean isSeleneseRunnerAvailable() {
+        try (InputStream input = new ByteArrayInputStream(SCENARIO.getBytes(StandardCharsets.UTF_8))) {
+            Parser.parse("selenese.side", input, new Runner().getCommandFactory());
+            return true;
+        } catch (IOException | UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    private RemoteWebDriver createDriver() {
+        return new ReplayWebDriver(fixtures, new byte[0], LATENCY, LATENCY);
+    }
+}
@@ -0,0 +1,175 @@
+package com.tanaguru.runner.factory;
+
+import com.tanaguru.domain.constant.EAuditParameter;
+import com.tanaguru.domain.constant.EAuditType;
+import com.tanaguru.domain.entity.audit.Audit;
+import com.tanaguru.domain.entity.audit.AuditCheckpoint;
+import com.tanaguru.domain.entity.audit.Resource;
+import com.tanaguru.domain.entity.audit.Scenario;
+import com.tanaguru.domain.entity.audit.parameter.AuditAuditParameterValue;
+import com.tanaguru.domain.entity.audit.parameter.AuditParameter;
+import com.tanaguru.domain.entity.audit.parameter.AuditParameterValue;
+import com.tanaguru.driver.factory.TanaguruDriverFactory;
+import com.tanaguru.repository.AuditCheckpointRepository;
+import com.tanaguru.repository.AuditReferenceRepository;
+import com.tanaguru.repository.ResourceRepository;
+import com.tanaguru.repository.ScenarioRepository;
+import com.tanaguru.repository.TanaguruTestRepository;
+import com.tanaguru.runner.AuditRunner;
+import com.tanaguru.runner.metrics.AuditRunnerMetrics;
+import com.tanaguru.runner.metrics.AuditTimings;
+import com.tanaguru.service.PageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.powermock.reflect.Whitebox;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AuditRunnerFactoryImplTest {
+    @Mock
+    private PageService pageService;
+
+    @Mock
+    private TanaguruDriverFactory tanaguruDriverFactory;
+
+    @Mock
+    private AuditReferenceRepository auditReferenceRepository;
+
+    @Mock
+    private TanaguruTestRepository tanaguruTestRepository;
+
+    @Mock
+    private ScriptFactory scriptFactory;
+
+    @Mock
+    private ResourceRepository resourceRepository;
+
+    @Mock
+    private ScenarioRepository scenarioRepository;
+
+    @Mock
+    private AuditRunnerMetrics auditRunnerMetrics;
+
+    @Mock
+    private AuditCheckpointRepository auditCheckpointRepository;
+
+    @Mock
+    private AuditRunner auditRunner;
+
+    @InjectMocks
+    private AuditRunnerFactoryImpl auditRunnerFactory;
+
+    @Test
+    public void resumeDeletesPagesAfterCheckpoint() {
+        Audit audit = new Audit();
+        audit.setId(12);
+        Mockito.when(auditRunner.getAudit()).thenReturn(audit);
+        AuditCheckpoint checkpoint = new AuditCheckpoint();
+        checkpoint.setAudit(audit);
+        checkpoint.setNextRank(5);
+        checkpoint.setProgress("[4]");
+
+        auditRunnerFactory.resume(auditRunner, checkpoint);
+
+        InOrder inOrder = Mockito.inOrder(pageService, auditRunner);
+        inOrder.verify(pageService).deletePageByAuditFromRank(12, 5);
+        inOrder.verify(auditRunner).resume(5, "[4]");
+    }
+
+    @Test
+    public void quitDriversWhenConfigurationFails() {
+        Whitebox.setInternalState(auditRunnerFactory, "parallelResolutions", true);
+        Audit audit = createAudit(EAuditType.PAGE, EAuditParameter.PAGE_URLS, "http://test.com");
+        RemoteWebDriver tanaguruDriver = Mockito.mock(RemoteWebDriver.class);
+        RemoteWebDriver resolutionDriver = Mockito.mock(RemoteWebDriver.class);
+        Mockito.when(tanaguruDriverFactory.create(any(), any())).thenReturn(tanaguruDriver, resolutionDriver);
+        Mockito.when(auditCheckpointRepository.findByAudit(audit)).thenThrow(new IllegalStateException("database down"));
+
+        try {
+            auditRunnerFactory.create(audit);
+            Assert.fail("The configuration error is expected");
+        } catch (Exception e) {
+            Assert.assertEquals("database down", e.getMessage());
+        }
+        Mockito.verify(tanaguruDriver).quit();
+        Mockito.verify(resolutionDriver).quit();
+    }
+
+    @Test
+    public void quitDriverWhenRunnerCreationFails() {
+        Audit audit = createAudit(EAuditType.UPLOAD, EAuditParameter.DOM_ID, "3");
+        Resource bundle = new Resource();
+        bundle.setName("assets.zip");
+        bundle.setContent("");
+        Mockito.when(resourceRepository.findById(3L)).thenReturn(Optional.of(bundle));
+        RemoteWebDriver tanaguruDriver = Mockito.mock(RemoteWebDriver.class);
+        Mockito.when(tanaguruDriverFactory.create(any(), any())).thenReturn(tanaguruDriver);
+
+        try {
+            auditRunnerFactory.create(audit);
+            Assert.fail("The missing document is expected");
+        } catch (Exception e) {
+            Assert.assertTrue(e instanceof IllegalArgumentException);
+        }
+        Mockito.verify(tanaguruDriver).quit();
+    }
+
+    @Test
+    public void noLaneForUnboundedTestCases() throws Exception {
+        Whitebox.setInternalState(auditRunnerFactory, "parallelTestCases", 2);
+        Audit audit = createAudit(EAuditType.SCENARIO, EAuditParameter.SCENARIO_ID, "5");
+        Scenario scenario = new Scenario();
+        scenario.setContent(Base64.getEncoder().encodeToString(("{\"tests\":[" +
+                "{\"id\":\"t1\",\"name\":\"login\",\"commands\":[{\"command\":\"open\"}]}," +
+                "{\"id\":\"t2\",\"name\":\"cart\",\"commands\":[{\"command\":\"while\"},{\"command\":\"click\"}]}]}")
+                .getBytes(StandardCharsets.UTF_8)));
+        Mockito.when(scenarioRepository.findById(5L)).thenReturn(Optional.of(scenario));
+        Mockito.when(tanaguruDriverFactory.create(any(), any())).thenReturn(Mockito.mock(RemoteWebDriver.class));
+        Mockito.when(auditCheckpointRepository.findByAudit(audit)).thenReturn(Optional.empty());
+
+        Assert.assertNotNull(auditRunnerFactory.create(audit));
+        Mockito.verify(tanaguruDriverFactory, Mockito.times(1)).create(any(), any());
+    }
+
+    private Audit createAudit(EAuditType type, EAuditParameter target, String targetValue) {
+        Audit audit = new Audit();
+        audit.setId(12);
+        audit.setType(type);
+        Collection<AuditAuditParameterValue> parameters = new ArrayList<>();
+        for (Map.Entry<EAuditParameter, String> parameter : Map.of(
+                EAuditParameter.WAIT_TIME, "0",
+                EAuditParameter.BASICAUTH_URL, "",
+                EAuditParameter.BASICAUTH_LOGIN, "",
+                EAuditParameter.BASICAUTH_PASSWORD, "",
+                EAuditParameter.WEBDRIVER_BROWSER, "firefox",
+                EAuditParameter.ENABLE_SCREENSHOT, "false",
+                EAuditParameter.WEBDRIVER_RESOLUTIONS, "1024;320",
+                target, targetValue).entrySet()) {
+            AuditParameter auditParameter = new AuditParameter();
+            auditParameter.setCode(parameter.getKey());
+            AuditAuditParameterValue parameterValue = new AuditAuditParameterValue();
+            parameterValue.setAuditParameterValue(new AuditParameterValue(auditParameter, parameter.getValue(), false));
+            parameters.add(parameterValue);
+        }
+        audit.setParameters(parameters);
+        Mockito.when(auditRunnerMetrics.start(any(), any())).thenReturn(
+                new AuditTimings(new SimpleMeterRegistry(), type.name().toLowerCase(), "firefox"));
+        return audit;
+    }
+}
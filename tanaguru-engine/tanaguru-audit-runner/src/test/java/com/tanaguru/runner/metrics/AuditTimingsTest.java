@@ -0,0 +1,83 @@
+package com.tanaguru.runner.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AuditTimingsTest {
+    private MeterRegistry meterRegistry;
+    private AuditTimings auditTimings;
+
+    @Before
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        auditTimings = new AuditTimings(meterRegistry, "page", "firefox");
+    }
+
+    @Test
+    public void recordTaggedByResolution() {
+        auditTimings.record(EAuditRunnerStage.PAGE_LOAD, System.nanoTime());
+        auditTimings.record(EAuditRunnerStage.CORE_SCRIPT, 1024, System.nanoTime());
+        auditTimings.record(EAuditRunnerStage.CORE_SCRIPT, 1024, System.nanoTime());
+
+        Timer pageLoad = meterRegistry.get(AuditTimings.STAGE_TIMER)
+                .tags("stage", "page_load", "type", "page", "browser", "firefox", "resolution", "none")
+                .timer();
+        Timer coreScript = meterRegistry.get(AuditTimings.STAGE_TIMER)
+                .tags("stage", "core_script", "resolution", "1024")
+                .timer();
+        Assert.assertEquals(1, pageLoad.count());
+        Assert.assertEquals(2, coreScript.count());
+    }
+
+    @Test
+    public void recordWithoutResolutionAfterResolution() {
+        auditTimings.record(EAuditRunnerStage.RESULT_ANALYSIS, 320, System.nanoTime());
+        auditTimings.record(EAuditRunnerStage.PAGE_LOAD, System.nanoTime());
+
+        Assert.assertEquals(1, meterRegistry.get(AuditTimings.STAGE_TIMER)
+                .tags("stage", "page_load", "resolution", "none")
+                .timer()
+                .count());
+        Assert.assertNull(meterRegistry.find(AuditTimings.STAGE_TIMER)
+                .tags("stage", "page_load", "resolution", "320")
+                .timer());
+    }
+
+    @Test
+    public void rollupContainsRecordedStagesOnly() {
+        auditTimings.record(EAuditRunnerStage.SCREENSHOT, System.nanoTime());
+
+        String rollup = auditTimings.getRollup();
+        Assert.assertTrue(rollup.contains("screenshot : 1,"));
+        Assert.assertFalse(rollup.contains("core_script"));
+    }
+
+    @Test
+    public void recordErrorCountedByStage() {
+        auditTimings.recordError(EAuditRunnerStage.RESULT_PARSING);
+
+        Assert.assertEquals(1, meterRegistry.get(AuditTimings.STAGE_ERROR_COUNTER)
+                .tag("stage", "result_parsing")
+                .counter()
+                .count(), 0);
+    }
+
+    @Test
+    public void recordResultSizeTaggedByFormat() {
+        auditTimings.recordResultSize(1200, false);
+        auditTimings.recordResultSize(300, true);
+
+        Assert.assertEquals(1200, meterRegistry.get(AuditTimings.RESULT_SIZE_SUMMARY)
+                .tags("format", "json", "browser", "firefox")
+                .summary()
+                .totalAmount(), 0);
+        Assert.assertEquals(300, meterRegistry.get(AuditTimings.RESULT_SIZE_SUMMARY)
+                .tag("format", "compact")
+                .summary()
+                .totalAmount(), 0);
+    }
+}
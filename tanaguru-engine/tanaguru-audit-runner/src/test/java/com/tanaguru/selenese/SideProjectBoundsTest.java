@@ -0,0 +1,46 @@
+package com.tanaguru.selenese;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SideProjectBoundsTest {
+    private static final String SIDE = "{\"tests\":[" +
+            "{\"id\":\"t1\",\"name\":\"login\",\"commands\":[" +
+            "{\"command\":\"open\"},{\"command\":\"type\"},{\"command\":\"click\"},{\"command\":\"store\"}]}," +
+            "{\"id\":\"t2\",\"name\":\"search\",\"commands\":[{\"command\":\"open\"}]}," +
+            "{\"id\":\"t3\",\"name\":\"cart\",\"commands\":[" +
+            "{\"command\":\"times\"},{\"command\":\"click\"},{\"command\":\"end\"}]}]," +
+            "\"suites\":[" +
+            "{\"name\":\"journeys\",\"tests\":[\"t1\",\"t2\"]}," +
+            "{\"name\":\"all\",\"tests\":[\"t1\",\"t3\"]}]}";
+
+    @Test
+    public void maxPagesOfTestCasesAndSuites() {
+        SideProjectBounds bounds = new SideProjectBounds(SIDE);
+        Assert.assertEquals(3, bounds.getTestCount());
+        Assert.assertEquals(Integer.valueOf(3), bounds.getMaxPages("login"));
+        Assert.assertEquals(Integer.valueOf(1), bounds.getMaxPages("search"));
+        Assert.assertNull(bounds.getMaxPages("cart"));
+        Assert.assertEquals(Integer.valueOf(4), bounds.getMaxPages("journeys"));
+        Assert.assertNull(bounds.getMaxPages("all"));
+        Assert.assertNull(bounds.getMaxPages("unknown"));
+    }
+
+    @Test
+    public void boundedOnlyIfEveryTestCaseIsBounded() {
+        Assert.assertFalse(new SideProjectBounds(SIDE).isBounded());
+        Assert.assertTrue(new SideProjectBounds("{\"tests\":[" +
+                "{\"id\":\"t1\",\"name\":\"login\",\"commands\":[{\"command\":\"open\"}]}," +
+                "{\"id\":\"t2\",\"name\":\"search\",\"commands\":[{\"command\":\"open\"}]}]," +
+                "\"suites\":[{\"name\":\"journeys\",\"tests\":[\"t1\",\"t2\"]}]}").isBounded());
+        Assert.assertFalse(new SideProjectBounds("{\"tests\":[]}").isBounded());
+    }
+
+    @Test
+    public void invalidProject() {
+        SideProjectBounds bounds = new SideProjectBounds("<html></html>");
+        Assert.assertEquals(0, bounds.getTestCount());
+        Assert.assertNull(bounds.getMaxPages("login"));
+        Assert.assertFalse(bounds.isBounded());
+    }
+}
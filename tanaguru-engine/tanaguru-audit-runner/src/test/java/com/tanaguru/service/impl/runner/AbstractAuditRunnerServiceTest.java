@@ -0,0 +1,102 @@
+package com.tanaguru.service.impl.runner;
+
+import com.tanaguru.domain.constant.EAuditStatus;
+import com.tanaguru.domain.entity.audit.Audit;
+import com.tanaguru.domain.entity.audit.AuditCheckpoint;
+import com.tanaguru.repository.AuditCheckpointRepository;
+import com.tanaguru.repository.AuditRepository;
+import com.tanaguru.runner.AuditRunner;
+import com.tanaguru.service.AuditService;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Date;
+import java.util.Optional;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AbstractAuditRunnerServiceTest {
+    @Mock
+    private AuditRepository auditRepository;
+
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private AuditCheckpointRepository auditCheckpointRepository;
+
+    @Mock
+    private AuditRunner auditRunner;
+
+    @InjectMocks
+    private AuditRequestServiceSyncStandaloneImpl auditRunnerService;
+
+    private final Audit audit = new Audit();
+
+    @Before
+    public void setup() {
+        Mockito.when(auditRunner.getAudit()).thenReturn(audit);
+    }
+
+    @Test
+    public void checkpointCreated() {
+        Mockito.when(auditCheckpointRepository.findByAudit(audit)).thenReturn(Optional.empty());
+        auditRunnerService.onAuditCheckpoint(auditRunner, 3, "2");
+
+        ArgumentCaptor<AuditCheckpoint> checkpoints = ArgumentCaptor.forClass(AuditCheckpoint.class);
+        Mockito.verify(auditCheckpointRepository).save(checkpoints.capture());
+        Assert.assertSame(audit, checkpoints.getValue().getAudit());
+        Assert.assertEquals(3, checkpoints.getValue().getNextRank());
+        Assert.assertEquals("2", checkpoints.getValue().getProgress());
+    }
+
+    @Test
+    public void checkpointUpdated() {
+        AuditCheckpoint checkpoint = new AuditCheckpoint();
+        checkpoint.setAudit(audit);
+        checkpoint.setNextRank(3);
+        checkpoint.setProgress("2");
+        Mockito.when(auditCheckpointRepository.findByAudit(audit)).thenReturn(Optional.of(checkpoint));
+        auditRunnerService.onAuditCheckpoint(auditRunner, 7, "4");
+
+        Mockito.verify(auditCheckpointRepository).save(checkpoint);
+        Assert.assertEquals(7, checkpoint.getNextRank());
+        Assert.assertEquals("4", checkpoint.getProgress());
+        Assert.assertNotNull(checkpoint.getDateUpdate());
+    }
+
+    @Test
+    public void newAuditStartsFromFirstRank() {
+        Mockito.when(auditCheckpointRepository.findByAudit(audit)).thenReturn(Optional.empty());
+        auditRunnerService.onAuditStart(auditRunner);
+
+        Assert.assertEquals(EAuditStatus.RUNNING, audit.getStatus());
+        Assert.assertNotNull(audit.getDateStart());
+        ArgumentCaptor<AuditCheckpoint> checkpoints = ArgumentCaptor.forClass(AuditCheckpoint.class);
+        Mockito.verify(auditCheckpointRepository).save(checkpoints.capture());
+        Assert.assertEquals(1, checkpoints.getValue().getNextRank());
+        Assert.assertNull(checkpoints.getValue().getProgress());
+    }
+
+    @Test
+    public void resumedAuditKeepsItsCheckpoint() {
+        Date dateStart = new Date(0);
+        audit.setDateStart(dateStart);
+        AuditCheckpoint checkpoint = new AuditCheckpoint();
+        checkpoint.setAudit(audit);
+        checkpoint.setNextRank(12);
+        Mockito.when(auditCheckpointRepository.findByAudit(audit)).thenReturn(Optional.of(checkpoint));
+        auditRunnerService.onAuditStart(auditRunner);
+
+        Assert.assertEquals(EAuditStatus.RUNNING, audit.getStatus());
+        Assert.assertSame(dateStart, audit.getDateStart());
+        Mockito.verify(auditCheckpointRepository, Mockito.never()).save(Mockito.any());
+        Assert.assertEquals(12, checkpoint.getNextRank());
+    }
+}
@@ -0,0 +1,91 @@
+package com.tanaguru.service.impl.runner;
+
+import com.tanaguru.domain.dto.AuditRequest;
+import com.tanaguru.domain.entity.audit.Audit;
+import com.tanaguru.repository.AuditRepository;
+import com.tanaguru.runner.AuditRunner;
+import com.tanaguru.runner.factory.AuditRunnerFactory;
+import com.tanaguru.service.AuditService;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AuditRequestConsumerServiceImplTest {
+    private static final long AUDIT_ID = 12;
+    private static final long OFFSET = 41;
+
+    @Mock
+    private AuditRepository auditRepository;
+
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private Consumer<String, AuditRequest> auditRequestConsumer;
+
+    @Mock
+    private AuditRunnerFactory auditRunnerFactory;
+
+    @Mock
+    private AuditRunner auditRunner;
+
+    @InjectMocks
+    private AuditRequestConsumerServiceImpl auditRequestConsumerService;
+
+    private final Audit audit = new Audit();
+
+    @Before
+    public void setup() throws Exception {
+        AuditRequest auditRequest = new AuditRequest();
+        auditRequest.setIdAudit(AUDIT_ID);
+        TopicPartition partition = new TopicPartition("AUDIT_REQUEST", 0);
+        Mockito.when(auditRequestConsumer.poll(Mockito.any(Duration.class))).thenReturn(new ConsumerRecords<>(
+                Collections.singletonMap(partition, Collections.singletonList(
+                        new ConsumerRecord<>("AUDIT_REQUEST", 0, OFFSET, null, auditRequest)))));
+        Mockito.when(auditRepository.findById(AUDIT_ID)).thenReturn(Optional.of(audit));
+        Mockito.when(auditRunnerFactory.create(audit)).thenReturn(auditRunner);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void recordOfEndedAuditCommitted() {
+        auditRequestConsumerService.checkRecords();
+
+        Mockito.verify(auditRunner).run();
+        ArgumentCaptor<Map<TopicPartition, OffsetAndMetadata>> offsets = ArgumentCaptor.forClass(Map.class);
+        Mockito.verify(auditRequestConsumer).commitSync(offsets.capture());
+        Assert.assertEquals(OFFSET + 1, offsets.getValue().values().iterator().next().offset());
+    }
+
+    @Test
+    public void recordOfSuspendedAuditNotCommitted() {
+        Mockito.when(auditRunner.getAudit()).thenReturn(audit);
+        // The server shuts down while the audit runs
+        Mockito.doAnswer(invocation -> {
+            auditRequestConsumerService.cleanRunningAudit();
+            return null;
+        }).when(auditRunner).run();
+
+        auditRequestConsumerService.checkRecords();
+
+        Mockito.verify(auditRunner).suspend();
+        Mockito.verify(auditRequestConsumer, Mockito.never()).commitSync(Mockito.anyMap());
+    }
+}
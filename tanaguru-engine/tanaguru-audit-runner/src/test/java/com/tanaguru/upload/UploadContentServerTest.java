@@ -0,0 +1,104 @@
+package com.tanaguru.upload;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+public class UploadContentServerTest {
+    private final UploadContentServer uploadContentServer = new UploadContentServer(0, 0);
+
+    @After
+    public void stop() {
+        uploadContentServer.stop();
+    }
+
+    @Test
+    public void serveDocumentsAndAssets() throws IOException {
+        Map<String, byte[]> assets = UploadBundle.read(zip("/css/style.css", "body {}"), 1024);
+        UploadContentServer.PublishedContent publishedContent = uploadContentServer.publish(
+                Collections.singletonMap("index.html", "<link href=\"css/style.css\">"), assets);
+
+        HttpURLConnection document = open(publishedContent.getUrl("index.html"));
+        Assert.assertEquals(200, document.getResponseCode());
+        Assert.assertEquals("text/html; charset=utf-8", document.getContentType());
+        Assert.assertEquals("<link href=\"css/style.css\">", read(document));
+
+        HttpURLConnection asset = open(new URL(new URL(publishedContent.getUrl("index.html")), "css/style.css").toString());
+        Assert.assertEquals("text/css", asset.getContentType());
+        Assert.assertEquals("body {}", read(asset));
+
+        Assert.assertEquals(200, open(publishedContent.getUrl("")).getResponseCode());
+        Assert.assertEquals(404, open(publishedContent.getUrl("missing.html")).getResponseCode());
+    }
+
+    @Test
+    public void shareAndReleaseContent() throws IOException {
+        Map<String, String> documents = Collections.singletonMap("index.html", "<p>test</p>");
+        UploadContentServer.PublishedContent first = uploadContentServer.publish(documents, Collections.emptyMap());
+        UploadContentServer.PublishedContent second = uploadContentServer.publish(documents, Collections.emptyMap());
+        Assert.assertSame(first, second);
+
+        uploadContentServer.release(first);
+        Assert.assertEquals(200, open(second.getUrl("index.html")).getResponseCode());
+
+        // Released content is not kept by a cache of size 0
+        uploadContentServer.release(second);
+        Assert.assertEquals(0, uploadContentServer.getContentCount());
+        Assert.assertEquals(404, open(second.getUrl("index.html")).getResponseCode());
+    }
+
+    @Test
+    public void keepReleasedContentInCache() throws IOException {
+        UploadContentServer cachingServer = new UploadContentServer(0, 1);
+        try {
+            // More than half of the cache
+            Map<String, String> documents = Collections.singletonMap("index.html", "<p>" + "a".repeat(600 * 1024) + "</p>");
+            for (int i = 0; i < 2; i++) {
+                cachingServer.release(cachingServer.publish(documents, Collections.emptyMap()));
+            }
+
+            Assert.assertEquals(1, cachingServer.getContentCount());
+            UploadContentServer.PublishedContent cached = cachingServer.publish(documents, Collections.emptyMap());
+            Assert.assertEquals(200, open(cached.getUrl("index.html")).getResponseCode());
+        } finally {
+            cachingServer.stop();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void bundleLargerThanMaxSize() throws IOException {
+        UploadBundle.read(zip("script.js", "var a = 1;"), 5);
+    }
+
+    private static String zip(String path, String content) throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(result)) {
+            zip.putNextEntry(new ZipEntry(path));
+            zip.write(content.getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        return Base64.getEncoder().encodeToString(result.toByteArray());
+    }
+
+    private static HttpURLConnection open(String url) throws IOException {
+        return (HttpURLConnection) new URL(url).openConnection();
+    }
+
+    private static String read(HttpURLConnection connection) throws IOException {
+        try (InputStream body = connection.getInputStream()) {
+            return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.tanaguru.webextresult;
+
+import com.tanaguru.domain.entity.pageresult.ElementResult;
+import com.tanaguru.driver.executor.PageExecutor;
+import org.junit.Assert;
+import org.junit.Test;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.ScriptTimeoutException;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+public class ChunkedResultReaderTest {
+    private static final String SUMMARY = "{\"chunked\":2,\"tags\":[{\"id\":\"1\"}],\"tests\":[" +
+            "{\"id\":3,\"name\":\"a\",\"type\":\"failed\",\"counter\":3,\"elements\":3}," +
+            "{\"id\":4,\"name\":\"b\",\"type\":\"inapplicable\",\"elements\":0}," +
+            "{\"id\":5,\"name\":\"c\",\"type\":\"passed\",\"counter\":2,\"elements\":2}]}";
+
+    @Test
+    public void readElementsByChunks() {
+        ChunkPageExecutor pageExecutor = new ChunkPageExecutor(-1);
+        ChunkedResultReader reader = new ChunkedResultReader(pageExecutor);
+
+        Assert.assertTrue(ChunkedResultReader.isChunked(SUMMARY));
+        Assert.assertFalse(ChunkedResultReader.isChunked("{\"tags\":[]}"));
+
+        List<WebextTestResult> tests = new ArrayList<>(reader.read(SUMMARY).getTests());
+        Assert.assertEquals(3, tests.size());
+        Assert.assertEquals(5, reader.getTotalElements());
+        Assert.assertEquals(3, pageExecutor.scripts.size());
+        Assert.assertTrue(pageExecutor.scripts.get(0).contains("tests[0].data.slice(0, 2)"));
+        Assert.assertTrue(pageExecutor.scripts.get(1).contains("tests[0].data.slice(2, 3)"));
+        Assert.assertTrue(pageExecutor.scripts.get(2).contains("tests[2].data.slice(0, 2)"));
+
+        List<ElementResult> elements = new ArrayList<>(tests.get(0).getData());
+        Assert.assertEquals(3, elements.size());
+        Assert.assertEquals("/0/2", elements.get(2).getXpath());
+        Assert.assertFalse(tests.get(1).getData().iterator().hasNext());
+        Assert.assertEquals(2, tests.get(2).getData().size());
+        Assert.assertEquals(2, new ArrayList<>(tests.get(2).getData()).size());
+        Assert.assertEquals(2, new ArrayList<>(tests.get(2).getData()).size());
+        // The elements are read once, whatever the number of iterations
+        Assert.assertEquals(3, pageExecutor.scripts.size());
+
+        Assert.assertFalse(reader.isPartial());
+        Assert.assertEquals(5, reader.getRetrievedElements());
+        Assert.assertEquals(3, reader.getChunks());
+
+        reader.release();
+        Assert.assertTrue(pageExecutor.scripts.get(3).startsWith("delete window.__tanaguruResult"));
+    }
+
+    @Test
+    public void partialResultAfterFailedChunk() {
+        ChunkedResultReader reader = new ChunkedResultReader(new ChunkPageExecutor(1));
+        List<WebextTestResult> tests = new ArrayList<>(reader.read(SUMMARY).getTests());
+
+        Iterator<ElementResult> elements = tests.get(0).getData().iterator();
+        Assert.assertEquals("/0/0", elements.next().getXpath());
+        Assert.assertEquals("/0/1", elements.next().getXpath());
+        Assert.assertFalse(elements.hasNext());
+        Assert.assertFalse(tests.get(2).getData().iterator().hasNext());
+
+        Assert.assertTrue(reader.isPartial());
+        Assert.assertEquals("a", reader.getFailedTest());
+        Assert.assertEquals(2, reader.getRetrievedElements());
+        Assert.assertTrue(reader.getError() instanceof ScriptTimeoutException);
+    }
+
+    /**
+     * Page answering the chunk scripts with elements whose xpath is /test/index, timing out after a number of chunks
+     */
+    private static class ChunkPageExecutor implements PageExecutor {
+        private final List<String> scripts = new ArrayList<>();
+        private final int failAfter;
+
+        ChunkPageExecutor(int failAfter) {
+            this.failAfter = failAfter;
+        }
+
+        @Override
+        public void setResolution(Dimension resolution) {
+        }
+
+        @Override
+        public String executeCoreScript(String coreScript) {
+            scripts.add(coreScript);
+            if (!coreScript.contains(".data.slice(")) {
+                return null;
+            }
+            if (scripts.size() > failAfter && failAfter >= 0) {
+                throw new ScriptTimeoutException("timeout");
+            }
+            String[] indexes = coreScript.replaceAll("(?s).*tests\\[(\\d+)\\]\\.data\\.slice\\((\\d+), (\\d+)\\).*", "$1 $2 $3")
+                    .split(" ");
+            StringBuilder strb = new StringBuilder("[");
+            for (int i = Integer.parseInt(indexes[1]); i < Integer.parseInt(indexes[2]); i++) {
+                if (strb.length() > 1) {
+                    strb.append(',');
+                }
+                strb.append("{\"status\":\"failed\",\"xpath\":\"/").append(indexes[0]).append('/').append(i).append("\"}");
+            }
+            return strb.append(']').toString();
+        }
+
+        @Override
+        public String getPageSource() {
+            return null;
+        }
+
+        @Override
+        public String takeScreenshot() {
+            return null;
+        }
+    }
+}
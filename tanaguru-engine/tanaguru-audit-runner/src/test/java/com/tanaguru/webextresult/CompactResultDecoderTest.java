@@ -0,0 +1,122 @@
+package com.tanaguru.webextresult;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.tanaguru.domain.constant.TestStatusName;
+import com.tanaguru.domain.entity.pageresult.ElementResult;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The compact results are encoded by scripts/compact-result.js. Its encoding of webextresult/plain-result.json is
+ * kept in webextresult/compact-result.json, regenerated with webextresult/encode-result.js. The tests running the
+ * script itself are skipped when node is not installed.
+ */
+public class CompactResultDecoderTest {
+    private static final String NODE = "node";
+    private static final long NODE_TIMEOUT = 30;
+
+    private final Gson gson = new Gson();
+    private final CompactResultDecoder decoder = new CompactResultDecoder();
+
+    @Test
+    public void decodeScriptEncoding() throws Exception {
+        String plainResult = readResource("/webextresult/plain-result.json");
+        String compactResult = readResource("/webextresult/compact-result.json");
+        Assert.assertTrue(CompactResultDecoder.isCompact(compactResult));
+        Assert.assertFalse(CompactResultDecoder.isCompact(plainResult));
+
+        WebextPageResult pageResult = decoder.decode(compactResult);
+        Assert.assertEquals(gson.toJson(gson.fromJson(plainResult, WebextPageResult.class)), gson.toJson(pageResult));
+
+        List<ElementResult> elements = new ArrayList<>(pageResult.getTests().iterator().next().getData());
+        Assert.assertSame(TestStatusName.STATUS_FAILED, elements.get(0).getStatus());
+        Assert.assertSame(elements.get(0).getCssSelector(), elements.get(1).getCssSelector());
+        Assert.assertSame(elements.get(0).getRole(), elements.get(1).getRole());
+        Assert.assertSame(elements.get(0).getIsNotExposedDueTo(), elements.get(1).getIsNotExposedDueTo());
+    }
+
+    @Test
+    public void scriptEncodingMatchesFixture() throws Exception {
+        Assert.assertEquals(
+                readResource("/webextresult/compact-result.json"),
+                encodeWithScript(readResource("/webextresult/plain-result.json")));
+    }
+
+    @Test
+    public void encodeWithScriptAndDecode() throws Exception {
+        WebextPageResult pageResult = gson.fromJson(readResource("/webextresult/plain-result.json"), WebextPageResult.class);
+        WebextTestResult test = new WebextTestResult();
+        test.setName("img-title");
+        test.setDescription("img has a title");
+        test.setType(TestStatusName.STATUS_INAPPLICABLE);
+        test.setData(new ArrayList<>());
+        pageResult.getTests().add(test);
+        // Differs from the previous string in the low surrogate of its first character
+        pageResult.getTests().iterator().next().getData().iterator().next().setAccessibleName("\ud83d\ude01b");
+        String compact = encodeWithScript(gson.toJson(pageResult));
+
+        // Each string of the table only carries what differs from the previous one
+        Assert.assertTrue(compact, compact.contains("\"img-title\",3,\" has a title\""));
+        Assert.assertTrue(compact, compact.contains("0,\"\ud83d\ude00b\""));
+        Assert.assertEquals(gson.toJson(pageResult), gson.toJson(decoder.decode(compact)));
+    }
+
+    @Test(expected = JsonSyntaxException.class)
+    public void decodeRejectsUnknownFormat() {
+        decoder.decode("{\"format\":2,\"strings\":[]}");
+    }
+
+    private static String readResource(String name) throws IOException, URISyntaxException {
+        return new String(Files.readAllBytes(getResourcePath(name)), StandardCharsets.UTF_8);
+    }
+
+    private static Path getResourcePath(String name) throws URISyntaxException {
+        return Paths.get(CompactResultDecoderTest.class.getResource(name).toURI());
+    }
+
+    /**
+     * @return The encoding of a plain result by scripts/compact-result.js
+     */
+    private static String encodeWithScript(String plainResult) throws Exception {
+        Assume.assumeTrue("node is not installed", isNodeInstalled());
+        Process process = new ProcessBuilder(
+                NODE,
+                getResourcePath("/webextresult/encode-result.js").toString(),
+                getResourcePath("/scripts/compact-result.js").toString())
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        try (OutputStream input = process.getOutputStream()) {
+            input.write(plainResult.getBytes(StandardCharsets.UTF_8));
+        }
+        String result;
+        try (InputStream output = process.getInputStream()) {
+            result = new String(output.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        Assert.assertTrue(process.waitFor(NODE_TIMEOUT, TimeUnit.SECONDS));
+        Assert.assertEquals(0, process.exitValue());
+        return result;
+    }
+
+    private static boolean isNodeInstalled() throws InterruptedException {
+        try {
+            Process process = new ProcessBuilder(NODE, "--version").start();
+            return process.waitFor(NODE_TIMEOUT, TimeUnit.SECONDS) && process.exitValue() == 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
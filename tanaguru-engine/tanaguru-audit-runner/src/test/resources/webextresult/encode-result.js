@@ -0,0 +1,5 @@
+// Encode the page result read on the standard input with the compact-result.js script given as argument :
+// node encode-result.js ../../../main/resources/scripts/compact-result.js < plain-result.json > compact-result.json
+var fs = require('fs');
+eval(fs.readFileSync(process.argv[2], 'utf8'));
+process.stdout.write(JSON.stringify(encodeTanaguruResult(JSON.parse(fs.readFileSync(0, 'utf8')))));
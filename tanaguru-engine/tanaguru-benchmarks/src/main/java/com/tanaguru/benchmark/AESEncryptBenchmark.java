@@ -0,0 +1,44 @@
+package com.tanaguru.benchmark;
+
+import com.tanaguru.helper.AESEncrypt;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encryption of the page sources and screenshots stored in database
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AESEncryptBenchmark {
+    private static final String KEY = "change_Me_Please";
+
+    @Param({"1024", "1048576"})
+    private int payloadSize;
+
+    private String message;
+    private String encryptedMessage;
+
+    @Setup
+    public void setup() {
+        char[] content = new char[payloadSize];
+        Arrays.fill(content, 'a');
+        message = new String(content);
+        encryptedMessage = AESEncrypt.encrypt(message, KEY);
+    }
+
+    @Benchmark
+    public String encrypt() {
+        return AESEncrypt.encrypt(message, KEY);
+    }
+
+    @Benchmark
+    public String decrypt() {
+        return AESEncrypt.decrypt(encryptedMessage, KEY);
+    }
+}
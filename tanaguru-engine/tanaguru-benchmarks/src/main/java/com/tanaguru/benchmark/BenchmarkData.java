@@ -0,0 +1,114 @@
+package com.tanaguru.benchmark;
+
+import com.google.gson.Gson;
+import com.tanaguru.domain.constant.TestStatusName;
+import com.tanaguru.domain.entity.audit.TanaguruTest;
+import com.tanaguru.domain.entity.pageresult.ElementResult;
+import com.tanaguru.domain.entity.pageresult.ElementRole;
+import com.tanaguru.domain.jsonmapper.JsonTanaguruWebextTest;
+import com.tanaguru.webextresult.WebextPageResult;
+import com.tanaguru.webextresult.WebextTestResult;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.*;
+
+/**
+ * Fixtures shared by the benchmarks, built from the resources of the engine
+ */
+public final class BenchmarkData {
+    private static final String[] ELEMENT_STATUSES = {
+            TestStatusName.STATUS_FAILED,
+            TestStatusName.STATUS_SUCCESS,
+            TestStatusName.STATUS_CANT_TELL,
+            TestStatusName.STATUS_NOT_TESTED};
+    private static final String[] TEST_STATUSES = {
+            TestStatusName.STATUS_FAILED,
+            TestStatusName.STATUS_SUCCESS,
+            TestStatusName.STATUS_INAPPLICABLE,
+            TestStatusName.STATUS_CANT_TELL};
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * @param path The classpath resource
+     * @return The content of the resource
+     * @throws IOException If the resource cannot be read
+     */
+    public static String readResource(String path) throws IOException {
+        return StreamUtils.copyToString(new ClassPathResource(path).getInputStream(), Charset.defaultCharset());
+    }
+
+    /**
+     * @return The tests of tests/act.json, as inserted by TestHierarchyServiceImpl, with ids starting at 1
+     * @throws IOException If the resource cannot be read
+     */
+    public static List<TanaguruTest> loadActTests() throws IOException {
+        List<TanaguruTest> tests = new ArrayList<>();
+        long id = 1;
+        for (JsonTanaguruWebextTest webextTest : new Gson().fromJson(readResource("tests/act.json"), JsonTanaguruWebextTest[].class)) {
+            TanaguruTest test = new TanaguruTest();
+            test.setId(id++);
+            test.setName(webextTest.getName());
+            test.setQuery(webextTest.getQuery());
+            test.setExpectedNbElements(webextTest.getExpectedNbElements());
+            test.setTags(webextTest.getTags());
+            test.setAnalyzeElements(webextTest.getAnalyzeElements());
+            test.setDescription(webextTest.getDescription());
+            test.setFilter(webextTest.getFilter());
+            tests.add(test);
+        }
+        return tests;
+    }
+
+    /**
+     * Build a page result with the shape of the core script output
+     *
+     * @param tests The tests of the result
+     * @param elementsByTest The number of elements of each test
+     * @return The page result
+     */
+    public static WebextPageResult createPageResult(Collection<TanaguruTest> tests, int elementsByTest) {
+        Collection<WebextTestResult> testResults = new ArrayList<>();
+        int rank = 0;
+        for (TanaguruTest test : tests) {
+            WebextTestResult testResult = new WebextTestResult();
+            testResult.setId(test.getId());
+            testResult.setName(test.getName());
+            testResult.setDescription(test.getDescription());
+            testResult.setLang("en");
+            testResult.setType(TEST_STATUSES[rank % TEST_STATUSES.length]);
+            testResult.setTags(test.getTags());
+            testResult.setCounter(elementsByTest);
+            testResult.setRessources(Collections.singletonMap("act", Collections.singletonList("97a4e1")));
+            testResult.setMarks(new HashMap<>());
+
+            Collection<ElementResult> elementResults = new ArrayList<>();
+            for (int i = 0; i < elementsByTest; i++) {
+                ElementRole role = new ElementRole();
+                role.setImplicit("button");
+                ElementResult elementResult = new ElementResult();
+                elementResult.setStatus(ELEMENT_STATUSES[i % ELEMENT_STATUSES.length]);
+                elementResult.setXpath("/html/body/main/div[" + (i + 1) + "]/button[1]");
+                elementResult.setCssSelector("main > div:nth-child(" + (i + 1) + ") > button");
+                elementResult.setAccessibleName("Button " + i);
+                elementResult.setRole(role);
+                elementResult.setCanBeReachedUsingKeyboardWith(Collections.singletonList("Tab"));
+                elementResult.setIsNotExposedDueTo(Collections.emptyList());
+                elementResult.setIsNotVisibleDueTo(Collections.emptyList());
+                elementResults.add(elementResult);
+            }
+            testResult.setData(elementResults);
+            testResults.add(testResult);
+            rank++;
+        }
+
+        WebextPageResult pageResult = new WebextPageResult();
+        pageResult.setTags(new ArrayList<>());
+        pageResult.setTests(testResults);
+        return pageResult;
+    }
+}
@@ -0,0 +1,227 @@
+package com.tanaguru.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import com.tanaguru.domain.entity.pageresult.ElementResult;
+import com.tanaguru.domain.entity.pageresult.ElementRole;
+import com.tanaguru.webextresult.CompactResultDecoder;
+import com.tanaguru.webextresult.WebextPageResult;
+import com.tanaguru.webextresult.WebextTagResult;
+import com.tanaguru.webextresult.WebextTestResult;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Java version of scripts/compact-result.js, encoding a page result in the format of {@link CompactResultDecoder},
+ * to convert the recorded results of the benchmarks and compare the two formats
+ */
+public class CompactResultEncoder {
+    private final Gson gson = new Gson();
+
+    /**
+     * @param pageResult A page result
+     * @return Its compact encoding
+     */
+    public String encode(WebextPageResult pageResult) {
+        StringWriter result = new StringWriter();
+        try (JsonWriter writer = new JsonWriter(result)) {
+            new PageEncoder(pageResult).write(writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return result.toString();
+    }
+
+    private class PageEncoder {
+        private final WebextPageResult pageResult;
+        private final Map<String, Integer> stringIndexes = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+        private final Map<List<Integer>, Integer> roleIndexes = new HashMap<>();
+        private final List<List<Integer>> roles = new ArrayList<>();
+        private final Map<List<Integer>, Integer> listIndexes = new HashMap<>();
+        private final List<List<Integer>> lists = new ArrayList<>();
+
+        PageEncoder(WebextPageResult pageResult) {
+            this.pageResult = pageResult;
+            for (String status : CompactResultDecoder.STATUSES) {
+                stringIndexes.put(status, stringIndexes.size());
+            }
+        }
+
+        void write(JsonWriter writer) throws IOException {
+            // The tables are written first but filled while writing the tags and tests
+            String tags = toJson(this::writeTags);
+            String tests = toJson(this::writeTests);
+
+            writer.beginObject();
+            writer.name("format").value(CompactResultDecoder.FORMAT);
+            writer.name("strings").beginArray();
+            String previous = "";
+            for (String value : strings) {
+                int prefix = commonPrefix(previous, value);
+                writer.value(prefix).value(value.substring(prefix));
+                previous = value;
+            }
+            writer.endArray();
+            writeIndexLists(writer.name("roles"), roles);
+            writeIndexLists(writer.name("lists"), lists);
+            writer.name("tags").jsonValue(tags);
+            writer.name("tests").jsonValue(tests);
+            writer.endObject();
+        }
+
+        private String toJson(JsonWriterConsumer consumer) throws IOException {
+            StringWriter result = new StringWriter();
+            try (JsonWriter writer = new JsonWriter(result)) {
+                consumer.accept(writer);
+            }
+            return result.toString();
+        }
+
+        private void writeTags(JsonWriter writer) throws IOException {
+            writer.beginArray();
+            for (WebextTagResult tag : emptyIfNull(pageResult.getTags())) {
+                writer.beginArray()
+                        .value(stringIndex(tag.getId()))
+                        .value(stringIndex(tag.getName()))
+                        .value(stringIndex(tag.getStatus()))
+                        .value(tag.getNbfailures())
+                        .endArray();
+            }
+            writer.endArray();
+        }
+
+        private void writeTests(JsonWriter writer) throws IOException {
+            writer.beginArray();
+            for (WebextTestResult test : emptyIfNull(pageResult.getTests())) {
+                writer.beginObject();
+                if (test.getId() != null) {
+                    writer.name("id").value(test.getId());
+                }
+                writer.name("name").value(stringIndex(test.getName()));
+                writer.name("description").value(stringIndex(test.getDescription()));
+                writer.name("lang").value(stringIndex(test.getLang()));
+                writer.name("type").value(stringIndex(test.getType()));
+                writer.name("counter").value(test.getCounter());
+                if (test.getTags() != null) {
+                    writer.name("tags").beginArray();
+                    for (String tag : test.getTags()) {
+                        writer.value(stringIndex(tag));
+                    }
+                    writer.endArray();
+                }
+                writeElements(writer.name("elements"), emptyIfNull(test.getData()));
+                if (test.getRessources() != null) {
+                    writer.name("ressources").jsonValue(gson.toJson(test.getRessources()));
+                }
+                if (test.getMarks() != null) {
+                    writer.name("marks").jsonValue(gson.toJson(test.getMarks()));
+                }
+                writer.endObject();
+            }
+            writer.endArray();
+        }
+
+        private void writeElements(JsonWriter writer, Collection<ElementResult> elements) throws IOException {
+            writer.beginObject();
+            writeColumn(writer, "status", elements, element -> stringIndex(element.getStatus()));
+            writeColumn(writer, "xpath", elements, element -> stringIndex(element.getXpath()));
+            writeColumn(writer, "cssSelector", elements, element -> stringIndex(element.getCssSelector()));
+            writeColumn(writer, "accessibleName", elements, element -> stringIndex(element.getAccessibleName()));
+            writeColumn(writer, "role", elements, element -> roleIndex(element.getRole()));
+            writeColumn(writer, "canBeReachedUsingKeyboardWith", elements, element -> listIndex(element.getCanBeReachedUsingKeyboardWith()));
+            writeColumn(writer, "isNotVisibleDueTo", elements, element -> listIndex(element.getIsNotVisibleDueTo()));
+            writeColumn(writer, "isNotExposedDueTo", elements, element -> listIndex(element.getIsNotExposedDueTo()));
+            writer.endObject();
+        }
+
+        private void writeColumn(JsonWriter writer, String name, Collection<ElementResult> elements,
+                                 Function<ElementResult, Integer> index) throws IOException {
+            writer.name(name).beginArray();
+            for (ElementResult element : elements) {
+                writer.value(index.apply(element));
+            }
+            writer.endArray();
+        }
+
+        private void writeIndexLists(JsonWriter writer, List<List<Integer>> indexLists) throws IOException {
+            writer.beginArray();
+            for (List<Integer> indexes : indexLists) {
+                writer.beginArray();
+                for (Integer index : indexes) {
+                    writer.value(index);
+                }
+                writer.endArray();
+            }
+            writer.endArray();
+        }
+
+        private int stringIndex(String value) {
+            if (value == null) {
+                return -1;
+            }
+            return stringIndexes.computeIfAbsent(value, key -> {
+                strings.add(key);
+                return stringIndexes.size();
+            });
+        }
+
+        private int roleIndex(ElementRole role) {
+            if (role == null) {
+                return -1;
+            }
+            return index(roleIndexes, roles, Arrays.asList(stringIndex(role.getImplicit()), stringIndex(role.getExplicit())));
+        }
+
+        private int listIndex(Collection<String> values) {
+            if (values == null) {
+                return -1;
+            }
+            List<Integer> indexes = new ArrayList<>(values.size());
+            for (String value : values) {
+                indexes.add(stringIndex(value));
+            }
+            return index(listIndexes, lists, indexes);
+        }
+
+        private int index(Map<List<Integer>, Integer> indexes, List<List<Integer>> table, List<Integer> value) {
+            return indexes.computeIfAbsent(value, key -> {
+                table.add(key);
+                return table.size() - 1;
+            });
+        }
+    }
+
+    private interface JsonWriterConsumer {
+        void accept(JsonWriter writer) throws IOException;
+    }
+
+    /**
+     * @return The length of the common prefix of two strings, never splitting a surrogate pair
+     */
+    private static int commonPrefix(String previous, String value) {
+        int max = Math.min(previous.length(), value.length());
+        int prefix = 0;
+        while (prefix < max && previous.charAt(prefix) == value.charAt(prefix)) {
+            prefix++;
+        }
+        if (prefix > 0 && Character.isHighSurrogate(value.charAt(prefix - 1))) {
+            prefix--;
+        }
+        return prefix;
+    }
+
+    private static <T> Collection<T> emptyIfNull(Collection<T> values) {
+        return values == null ? Collections.emptyList() : values;
+    }
+}
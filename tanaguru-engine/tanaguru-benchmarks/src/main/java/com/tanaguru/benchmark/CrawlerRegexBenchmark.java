@@ -0,0 +1,63 @@
+package com.tanaguru.benchmark;
+
+import com.tanaguru.helper.CrawlerRegexBuilder;
+import com.tanaguru.helper.UrlFilter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Inclusion and exclusion regex of the crawler, matched against each discovered url,
+ * with the regex as built today and with the compiled url filter
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CrawlerRegexBenchmark {
+    private static final String EXCLUSION_LIST = "\\.pdf;\\.zip;/logout;/admin/;\\?print=;/wp-json/;\\.jpg;\\.png;/cart";
+    private static final int URL_COUNT = 1_000_000;
+
+    private Pattern exclusionPattern;
+    private UrlFilter exclusionFilter;
+    private final List<String> urls = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        exclusionPattern = Pattern.compile(CrawlerRegexBuilder.buildRegexFromString(EXCLUSION_LIST));
+        exclusionFilter = UrlFilter.compile(CrawlerRegexBuilder.buildRegexFromString(EXCLUSION_LIST));
+        for (int i = 0; i < URL_COUNT; i++) {
+            urls.add("https://www.example.com/category-" + (i % 20) + "/article-" + i + (i % 10 == 0 ? ".pdf" : "?page=" + i));
+        }
+    }
+
+    @Benchmark
+    public Pattern build() {
+        return Pattern.compile(CrawlerRegexBuilder.buildRegexFromString(EXCLUSION_LIST));
+    }
+
+    @Benchmark
+    public UrlFilter buildFilter() {
+        return UrlFilter.compile(CrawlerRegexBuilder.buildRegexFromString(EXCLUSION_LIST));
+    }
+
+    @Benchmark
+    public void match(Blackhole blackhole) {
+        for (String url : urls) {
+            blackhole.consume(exclusionPattern.matcher(url).matches());
+        }
+    }
+
+    @Benchmark
+    public void matchFilter(Blackhole blackhole) {
+        for (String url : urls) {
+            blackhole.consume(exclusionFilter.matches(url));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.tanaguru.benchmark;
+
+import com.tanaguru.helper.ImageHelper;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Screenshot processing : scale and jpeg compression of a full hd capture
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ImageHelperBenchmark {
+    private static final int WIDTH = 1920;
+    private static final int HEIGHT = 1080;
+
+    private BufferedImage screenshot;
+    private BufferedImage scaledScreenshot;
+
+    @Setup
+    public void setup() {
+        screenshot = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = screenshot.createGraphics();
+        for (int y = 0; y < HEIGHT; y += 40) {
+            graphics.setColor(new Color((y * 7) % 256, (y * 13) % 256, (y * 17) % 256));
+            graphics.fillRect(0, y, WIDTH, 40);
+            graphics.setColor(Color.BLACK);
+            graphics.drawString("Lorem ipsum dolor sit amet " + y, 20, y + 25);
+        }
+        graphics.dispose();
+        scaledScreenshot = ImageHelper.scaleImage(screenshot, 0.5f);
+    }
+
+    @Benchmark
+    public BufferedImage scale() {
+        return ImageHelper.scaleImage(screenshot, 0.5f);
+    }
+
+    @Benchmark
+    public byte[] compress() throws IOException {
+        return ImageHelper.compressImage(scaledScreenshot, 1f, "jpg");
+    }
+}
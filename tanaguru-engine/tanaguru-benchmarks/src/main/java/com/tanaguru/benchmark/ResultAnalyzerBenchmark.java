@@ -0,0 +1,106 @@
+package com.tanaguru.benchmark;
+
+import com.tanaguru.domain.entity.audit.*;
+import com.tanaguru.domain.entity.pageresult.ElementResult;
+import com.tanaguru.domain.entity.pageresult.StatusResult;
+import com.tanaguru.domain.entity.pageresult.TestHierarchyResult;
+import com.tanaguru.domain.entity.pageresult.TestResult;
+import com.tanaguru.repository.*;
+import com.tanaguru.service.ResultAnalyzerService;
+import com.tanaguru.service.impl.ResultAnalyzerServiceImpl;
+import com.tanaguru.service.impl.TestHierarchyResultServiceImpl;
+import com.tanaguru.webextresult.WebextPageResult;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+
+/**
+ * Aggregation of a page result in status, test and test hierarchy results.
+ * Repositories are mocked and return the saved entity, only the in memory work is measured
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultAnalyzerBenchmark {
+    private static final int TESTS_BY_RULE = 3;
+
+    @Param({"5", "50"})
+    private int elementsByTest;
+
+    private ResultAnalyzerService resultAnalyzerService;
+    private WebextPageResult pageResult;
+    private Audit audit;
+    private Page page;
+
+    @Setup
+    public void setup() throws IOException {
+        List<TanaguruTest> tests = BenchmarkData.loadActTests();
+        Map<Long, TanaguruTest> testById = new HashMap<>();
+        tests.forEach(test -> testById.put(test.getId(), test));
+
+        TestHierarchy reference = createTestHierarchy(1, null, Collections.emptyList());
+        Collection<TestHierarchy> rules = new ArrayList<>();
+        for (int i = 0; i < tests.size(); i += TESTS_BY_RULE) {
+            List<TanaguruTest> ruleTests = tests.subList(i, Math.min(i + TESTS_BY_RULE, tests.size()));
+            TestHierarchy rule = createTestHierarchy(rules.size() + 2L, reference, ruleTests);
+            ruleTests.forEach(test -> test.setTestHierarchies(Collections.singletonList(rule)));
+            rules.add(rule);
+        }
+        reference.setChildren(rules);
+
+        audit = new Audit();
+        page = new Page();
+        AuditReference auditReference = new AuditReference();
+        auditReference.setAudit(audit);
+        auditReference.setTestHierarchy(reference);
+
+        AuditReferenceRepository auditReferenceRepository = Mockito.mock(AuditReferenceRepository.class);
+        Mockito.when(auditReferenceRepository.findAllByAudit(any())).thenReturn(Collections.singletonList(auditReference));
+        TanaguruTestRepository tanaguruTestRepository = Mockito.mock(TanaguruTestRepository.class);
+        Mockito.when(tanaguruTestRepository.getOne(anyLong())).thenAnswer(invocation -> testById.get(invocation.<Long>getArgument(0)));
+        TestHierarchyResultRepository testHierarchyResultRepository = Mockito.mock(TestHierarchyResultRepository.class);
+        Mockito.when(testHierarchyResultRepository.save(any(TestHierarchyResult.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        ElementResultRepository elementResultRepository = Mockito.mock(ElementResultRepository.class);
+        Mockito.when(elementResultRepository.save(any(ElementResult.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        TestResultRepository testResultRepository = Mockito.mock(TestResultRepository.class);
+        Mockito.when(testResultRepository.save(any(TestResult.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        StatusResultRepository statusResultRepository = Mockito.mock(StatusResultRepository.class);
+        Mockito.when(statusResultRepository.save(any(StatusResult.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        resultAnalyzerService = new ResultAnalyzerServiceImpl(
+                testHierarchyResultRepository,
+                auditReferenceRepository,
+                elementResultRepository,
+                testResultRepository,
+                tanaguruTestRepository,
+                statusResultRepository,
+                new TestHierarchyResultServiceImpl(testHierarchyResultRepository, Mockito.mock(PageRepository.class)));
+        pageResult = BenchmarkData.createPageResult(tests, elementsByTest);
+    }
+
+    private static TestHierarchy createTestHierarchy(long id, TestHierarchy parent, Collection<TanaguruTest> tests) {
+        TestHierarchy testHierarchy = new TestHierarchy();
+        testHierarchy.setId(id);
+        testHierarchy.setCode(String.valueOf(id));
+        testHierarchy.setParent(parent);
+        testHierarchy.setReference(parent == null ? testHierarchy : parent);
+        testHierarchy.setTanaguruTests(new ArrayList<>(tests));
+        testHierarchy.setChildren(Collections.emptyList());
+        return testHierarchy;
+    }
+
+    @Benchmark
+    public Page extractWebextPageResult() {
+        resultAnalyzerService.extractWebextPageResult(pageResult, audit, page);
+        return page;
+    }
+}
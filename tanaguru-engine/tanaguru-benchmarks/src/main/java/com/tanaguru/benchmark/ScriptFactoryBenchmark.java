@@ -0,0 +1,36 @@
+package com.tanaguru.benchmark;
+
+import com.tanaguru.domain.entity.audit.TanaguruTest;
+import com.tanaguru.runner.factory.ScriptFactory;
+import com.tanaguru.runner.factory.ScriptFactoryImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Build of the script executed on each page, with the core script and the act.json tests
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScriptFactoryBenchmark {
+    private final ScriptFactory scriptFactory = new ScriptFactoryImpl();
+    private String coreScript;
+    private Collection<TanaguruTest> tests;
+
+    @Setup
+    public void setup() throws IOException {
+        coreScript = BenchmarkData.readResource("scripts/content.js");
+        tests = BenchmarkData.loadActTests();
+    }
+
+    @Benchmark
+    public String create() {
+        return scriptFactory.create(coreScript, tests);
+    }
+}
@@ -0,0 +1,46 @@
+package com.tanaguru.benchmark;
+
+import com.google.gson.Gson;
+import com.tanaguru.webextresult.CompactResultDecoder;
+import com.tanaguru.webextresult.WebextPageResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of the core script result, as done by the runner for each page and resolution, in the plain json and compact
+ * formats. The size of the transferred result is printed at setup, run with -prof gc to compare the allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WebextResultParsingBenchmark {
+    @Param({"5", "50"})
+    private int elementsByTest;
+
+    @Param({"json", "compact"})
+    private String format;
+
+    private final Gson gson = new Gson();
+    private final CompactResultDecoder compactResultDecoder = new CompactResultDecoder();
+    private String result;
+
+    @Setup
+    public void setup() throws IOException {
+        WebextPageResult pageResult = BenchmarkData.createPageResult(BenchmarkData.loadActTests(), elementsByTest);
+        result = "compact".equals(format) ? new CompactResultEncoder().encode(pageResult) : gson.toJson(pageResult);
+        System.out.println("Result size (" + format + ", " + elementsByTest + " elements by test) : "
+                + result.length() + " chars");
+    }
+
+    @Benchmark
+    public WebextPageResult parse() {
+        return CompactResultDecoder.isCompact(result)
+                ? compactResultDecoder.decode(result)
+                : gson.fromJson(result, WebextPageResult.class);
+    }
+}
@@ -1,8 +1,10 @@
 package com.tanaguru.helper;
 
 import javax.crypto.Cipher;
+import javax.crypto.CipherInputStream;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
+import java.io.InputStream;
 import java.util.Base64;
 
 public class AESEncrypt {
@@ -30,4 +32,21 @@ public class AESEncrypt {
             throw new IllegalStateException(e.getMessage());
         }
     }
+
+    /**
+     * Decrypt a Base64 encrypted message while it is read, without buffering the whole decrypted message
+     * @param encryptedMessage The Base64 encrypted message stream
+     * @param key The encryption key
+     * @return The decrypted message stream
+     */
+    public static InputStream decryptStream(InputStream encryptedMessage, String key) {
+        try {
+            Cipher cipher = Cipher.getInstance("AES/ECB/PKCS5Padding");
+            SecretKey secretKey = new SecretKeySpec(key.getBytes(), "AES");
+            cipher.init(Cipher.DECRYPT_MODE, secretKey);
+            return new CipherInputStream(Base64.getDecoder().wrap(encryptedMessage), cipher);
+        } catch (Exception e) {
+            throw new IllegalStateException(e.getMessage());
+        }
+    }
 }
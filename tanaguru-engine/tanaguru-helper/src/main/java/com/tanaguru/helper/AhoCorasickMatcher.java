@@ -0,0 +1,107 @@
+package com.tanaguru.helper;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Aho-Corasick automaton searching several ascii keywords in a single pass, ignoring the ascii case
+ * as the (?i) flag of a regex does
+ */
+class AhoCorasickMatcher {
+    private static final int ALPHABET_SIZE = 128;
+    private static final int ROOT = 0;
+
+    private final int[][] transitions;
+    private final boolean[] terminals;
+
+    /**
+     * @param keywords The keywords, only made of ascii characters
+     */
+    AhoCorasickMatcher(Collection<String> keywords) {
+        List<int[]> trie = new ArrayList<>();
+        List<Boolean> trieTerminals = new ArrayList<>();
+        trie.add(newState());
+        trieTerminals.add(false);
+
+        for (String keyword : keywords) {
+            int state = ROOT;
+            for (int i = 0; i < keyword.length(); i++) {
+                int c = foldCase(keyword.charAt(i));
+                if (trie.get(state)[c] == -1) {
+                    trie.get(state)[c] = trie.size();
+                    trie.add(newState());
+                    trieTerminals.add(false);
+                }
+                state = trie.get(state)[c];
+            }
+            trieTerminals.set(state, true);
+        }
+
+        transitions = trie.toArray(new int[0][]);
+        terminals = new boolean[transitions.length];
+        for (int i = 0; i < terminals.length; i++) {
+            terminals[i] = trieTerminals.get(i);
+        }
+
+        // Breadth first completion of the trie into an automaton following the failure links
+        int[] failures = new int[transitions.length];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < ALPHABET_SIZE; c++) {
+            int next = transitions[ROOT][c];
+            if (next == -1) {
+                transitions[ROOT][c] = ROOT;
+            } else {
+                failures[next] = ROOT;
+                queue.add(next);
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            terminals[state] |= terminals[failures[state]];
+            for (int c = 0; c < ALPHABET_SIZE; c++) {
+                int next = transitions[state][c];
+                if (next == -1) {
+                    transitions[state][c] = transitions[failures[state]][c];
+                } else {
+                    failures[next] = transitions[failures[state]][c];
+                    queue.add(next);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param text The text to search in
+     * @return True if the text contains one of the keywords
+     */
+    boolean find(CharSequence text) {
+        if (terminals[ROOT]) {
+            return true;
+        }
+
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            state = c < ALPHABET_SIZE ? transitions[state][foldCase(c)] : ROOT;
+            if (terminals[state]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int[] newState() {
+        int[] state = new int[ALPHABET_SIZE];
+        Arrays.fill(state, -1);
+        return state;
+    }
+
+    private static int foldCase(char c) {
+        return c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c;
+    }
+}
@@ -0,0 +1,57 @@
+package com.tanaguru.helper;
+
+import org.springframework.core.io.AbstractResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * A resource decrypted on the fly from an AES encrypted column value.
+ * Each call to getInputStream decrypts the content again, so the decrypted content is never held in memory.
+ */
+public class EncryptedContentResource extends AbstractResource {
+    private final String encryptedContent;
+    private final String key;
+    private final boolean base64Content;
+    private final String description;
+    private long contentLength = -1;
+
+    /**
+     * @param encryptedContent The encrypted value, as stored in database
+     * @param key The encryption key
+     * @param base64Content True if the decrypted value is itself Base64 encoded binary content
+     * @param description The resource description
+     */
+    public EncryptedContentResource(String encryptedContent, String key, boolean base64Content, String description) {
+        this.encryptedContent = encryptedContent;
+        this.key = key;
+        this.base64Content = base64Content;
+        this.description = description;
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        InputStream decrypted = AESEncrypt.decryptStream(
+                new ByteArrayInputStream(encryptedContent.getBytes(StandardCharsets.ISO_8859_1)), key);
+        return base64Content ? Base64.getDecoder().wrap(decrypted) : decrypted;
+    }
+
+    /**
+     * Length of the decrypted content, computed once by reading the content without keeping it
+     */
+    @Override
+    public long contentLength() throws IOException {
+        if (contentLength < 0) {
+            contentLength = super.contentLength();
+        }
+        return contentLength;
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+}
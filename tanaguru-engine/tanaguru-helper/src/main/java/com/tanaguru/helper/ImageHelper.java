@@ -47,6 +47,10 @@ public class ImageHelper {
         return outputImage;
     }
 
+    public static BufferedImage scaleImageToWidth(BufferedImage image, int width){
+        return width >= image.getWidth() ? image : scaleImage(image, (float) width / image.getWidth());
+    }
+
     public static byte[] compressImage(BufferedImage picture, float quality, String format) throws IOException {
         Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
         if (!writers.hasNext())
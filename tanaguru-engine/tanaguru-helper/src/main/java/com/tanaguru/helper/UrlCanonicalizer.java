@@ -0,0 +1,160 @@
+package com.tanaguru.helper;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Canonical form of the urls, used to detect already visited pages.
+ * Both the audit runners and the crawler deduplicate on it.
+ */
+public class UrlCanonicalizer {
+    private static final int HTTP_DEFAULT_PORT = 80;
+    private static final int HTTPS_DEFAULT_PORT = 443;
+    private static final String TRACKING_PARAMETER_PREFIX = "utm_";
+    private static final Set<String> TRACKING_PARAMETERS = new HashSet<>(Arrays.asList(
+            "gclid", "dclid", "fbclid", "msclkid", "yclid", "igshid", "mc_cid", "mc_eid", "_ga", "_gl"));
+
+    private UrlCanonicalizer() {
+    }
+
+    /**
+     * Remove the anchor of an url, unless it contains a path as used by
+     * frameworks routing with the hash (Vue.js for example)
+     *
+     * @param url The url
+     * @return The url without anchor
+     */
+    public static String removeFragment(String url) {
+        int firstHash = url.indexOf('#');
+        int lastSlash = url.lastIndexOf('/');
+        return firstHash != -1 && lastSlash != -1 && lastSlash < firstHash ?
+                url.substring(0, firstHash) :
+                url;
+    }
+
+    /**
+     * Create the canonical form of an url :
+     * lower case scheme and host, no default port, no dot segment, no trailing slash except for the root,
+     * sorted query parameters without tracking parameters and anchor removed as in {@link #removeFragment(String)}
+     *
+     * @param url The url
+     * @return The canonical url, or the url without anchor if it cannot be parsed
+     */
+    public static String canonicalize(String url) {
+        String withoutFragment = removeFragment(url.trim());
+        URI uri;
+        try {
+            uri = new URI(withoutFragment).normalize();
+        } catch (URISyntaxException e) {
+            return withoutFragment;
+        }
+
+        if (uri.getScheme() == null || uri.getHost() == null) {
+            return withoutFragment;
+        }
+
+        String scheme = uri.getScheme().toLowerCase(Locale.ROOT);
+        StringBuilder strb = new StringBuilder(scheme);
+        strb.append("://");
+        if (uri.getRawUserInfo() != null) {
+            strb.append(uri.getRawUserInfo());
+            strb.append("@");
+        }
+        strb.append(uri.getHost().toLowerCase(Locale.ROOT));
+        if (uri.getPort() != -1 && uri.getPort() != getDefaultPort(scheme)) {
+            strb.append(":");
+            strb.append(uri.getPort());
+        }
+
+        String path = uri.getRawPath();
+        if (path == null || path.isEmpty()) {
+            path = "/";
+        } else if (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        strb.append(path);
+
+        String query = canonicalizeQuery(uri.getRawQuery());
+        if (!query.isEmpty()) {
+            strb.append("?");
+            strb.append(query);
+        }
+
+        if (uri.getRawFragment() != null) {
+            strb.append("#");
+            strb.append(uri.getRawFragment());
+        }
+        return strb.toString();
+    }
+
+    /**
+     * Compute a 64 bits fingerprint of the canonical form of an url,
+     * to keep large sets of visited urls small in memory
+     *
+     * @param url The url
+     * @return The fingerprint
+     */
+    public static long fingerprint(String url) {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("MD5")
+                    .digest(canonicalize(url).getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        long result = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            result = (result << 8) | (digest[i] & 0xff);
+        }
+        return result;
+    }
+
+    private static String canonicalizeQuery(String query) {
+        if (query == null || query.isEmpty()) {
+            return "";
+        }
+
+        List<String> parameters = new ArrayList<>();
+        for (String parameter : query.split("&")) {
+            if (!parameter.isEmpty() && !isTrackingParameter(getParameterName(parameter))) {
+                parameters.add(parameter);
+            }
+        }
+
+        // Stable sort, values of a repeated parameter keep their order
+        parameters.sort(Comparator.comparing(UrlCanonicalizer::getParameterName));
+        return String.join("&", parameters);
+    }
+
+    private static String getParameterName(String parameter) {
+        int separator = parameter.indexOf('=');
+        return separator == -1 ? parameter : parameter.substring(0, separator);
+    }
+
+    private static boolean isTrackingParameter(String name) {
+        String lowerCaseName = name.toLowerCase(Locale.ROOT);
+        return lowerCaseName.startsWith(TRACKING_PARAMETER_PREFIX) || TRACKING_PARAMETERS.contains(lowerCaseName);
+    }
+
+    private static int getDefaultPort(String scheme) {
+        switch (scheme) {
+            case "http":
+                return HTTP_DEFAULT_PORT;
+            case "https":
+                return HTTPS_DEFAULT_PORT;
+            default:
+                return -1;
+        }
+    }
+}
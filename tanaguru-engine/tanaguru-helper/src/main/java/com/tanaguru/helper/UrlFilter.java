@@ -0,0 +1,169 @@
+package com.tanaguru.helper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Compiled inclusion or exclusion rule of the crawler, matching urls as
+ * {@code Pattern.compile(regex).matcher(url).matches()} does.
+ * Rules built by the {@link CrawlerRegexBuilder} are split on their alternatives : the literal ones are searched
+ * in a single pass with an Aho-Corasick automaton and only the other ones are searched with a regex.
+ * Any other regex is matched as is.
+ */
+public class UrlFilter {
+    private static final String BEGIN_REGEX = "(?i)(.*)(";
+    private static final String END_REGEX = ")(.*)$";
+    private static final String CASE_INSENSITIVE_FLAG = "(?i)";
+    private static final String REGEX_META_CHARACTERS = ".[]{}()*+?^$|";
+
+    private final Pattern pattern;
+    private final AhoCorasickMatcher literalMatcher;
+    private final Pattern alternativesPattern;
+    private final boolean decomposed;
+
+    private UrlFilter(Pattern pattern, AhoCorasickMatcher literalMatcher, Pattern alternativesPattern, boolean decomposed) {
+        this.pattern = pattern;
+        this.literalMatcher = literalMatcher;
+        this.alternativesPattern = alternativesPattern;
+        this.decomposed = decomposed;
+    }
+
+    /**
+     * Compile a crawler rule
+     *
+     * @param regex The rule regex, empty if there is no rule
+     * @return The compiled filter
+     */
+    public static UrlFilter compile(String regex) {
+        Pattern pattern = Pattern.compile(regex);
+        List<String> alternatives = getBuiltAlternatives(regex);
+        if (alternatives == null) {
+            return new UrlFilter(pattern, null, null, false);
+        }
+
+        Collection<String> literals = new ArrayList<>();
+        Collection<String> regexAlternatives = new ArrayList<>();
+        for (String alternative : alternatives) {
+            String literal = toLiteral(alternative);
+            if (literal == null) {
+                regexAlternatives.add(alternative);
+            } else {
+                literals.add(literal);
+            }
+        }
+
+        return new UrlFilter(
+                pattern,
+                literals.isEmpty() ? null : new AhoCorasickMatcher(literals),
+                regexAlternatives.isEmpty() ? null :
+                        Pattern.compile(CASE_INSENSITIVE_FLAG + "(?:" + String.join("|", regexAlternatives) + ")"),
+                true);
+    }
+
+    /**
+     * @return True if the rule is empty and must be ignored
+     */
+    public boolean isEmpty() {
+        return pattern.pattern().isEmpty();
+    }
+
+    /**
+     * @param url The url to test
+     * @return True if the url matches the rule
+     */
+    public boolean matches(String url) {
+        // The dot of the built regex does not match line terminators, such urls are left to the regex
+        if (!decomposed || containsLineTerminator(url)) {
+            return pattern.matcher(url).matches();
+        }
+        return (literalMatcher != null && literalMatcher.find(url)) ||
+                (alternativesPattern != null && alternativesPattern.matcher(url).find());
+    }
+
+    /**
+     * @param regex A regex
+     * @return The top level alternatives of a regex built by the CrawlerRegexBuilder, null for any other regex
+     */
+    private static List<String> getBuiltAlternatives(String regex) {
+        if (regex.length() <= BEGIN_REGEX.length() + END_REGEX.length() ||
+                !regex.startsWith(BEGIN_REGEX) ||
+                !regex.endsWith(END_REGEX)) {
+            return null;
+        }
+
+        String expression = regex.substring(BEGIN_REGEX.length(), regex.length() - END_REGEX.length());
+        // Quotes, inline flags and named groups would not survive the split
+        if (expression.contains("\\Q") || expression.contains("(?")) {
+            return null;
+        }
+
+        List<String> result = new ArrayList<>();
+        int depth = 0;
+        boolean inClass = false;
+        int start = 0;
+        for (int i = 0; i < expression.length(); i++) {
+            char c = expression.charAt(i);
+            if (c == '\\') {
+                // Neither would back references
+                if (i + 1 < expression.length() && Character.isDigit(expression.charAt(i + 1))) {
+                    return null;
+                }
+                i++;
+            } else if (inClass) {
+                inClass = c != ']';
+            } else if (c == '[') {
+                inClass = true;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth < 0) {
+                return null;
+            } else if (c == '|' && depth == 0) {
+                result.add(expression.substring(start, i));
+                start = i + 1;
+            }
+        }
+
+        if (depth != 0 || inClass) {
+            return null;
+        }
+        result.add(expression.substring(start));
+        return result;
+    }
+
+    /**
+     * @param alternative A regex alternative
+     * @return The ascii text matched by the alternative, or null if it is not a literal
+     */
+    private static String toLiteral(String alternative) {
+        StringBuilder strb = new StringBuilder();
+        for (int i = 0; i < alternative.length(); i++) {
+            char c = alternative.charAt(i);
+            if (c == '\\') {
+                if (i + 1 == alternative.length() || Character.isLetterOrDigit(alternative.charAt(i + 1))) {
+                    return null;
+                }
+                c = alternative.charAt(++i);
+            } else if (REGEX_META_CHARACTERS.indexOf(c) != -1) {
+                return null;
+            }
+
+            if (c > 127) {
+                return null;
+            }
+            strb.append(c);
+        }
+        return strb.toString();
+    }
+
+    private static boolean containsLineTerminator(String url) {
+        for (int i = 0; i < url.length(); i++) {
+            char c = url.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,49 @@
+package com.tanaguru.helper;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class UrlCanonicalizerTest {
+
+    @Test
+    public final void testSchemeHostAndPort() {
+        Assert.assertEquals("http://test.com/", UrlCanonicalizer.canonicalize("HTTP://Test.COM:80"));
+        Assert.assertEquals("https://test.com/page", UrlCanonicalizer.canonicalize("https://TEST.com:443/page/"));
+        Assert.assertEquals("https://test.com:8443/Page", UrlCanonicalizer.canonicalize("https://test.com:8443/Page"));
+    }
+
+    @Test
+    public final void testPath() {
+        Assert.assertEquals("http://test.com/b", UrlCanonicalizer.canonicalize("http://test.com/a/../b/"));
+        Assert.assertEquals("http://test.com/a/b", UrlCanonicalizer.canonicalize("http://test.com/a/./b"));
+    }
+
+    @Test
+    public final void testQuery() {
+        Assert.assertEquals(
+                "http://test.com/?a=1&b=2&b=1",
+                UrlCanonicalizer.canonicalize("http://test.com/?b=2&utm_source=mail&a=1&b=1&gclid=x"));
+        Assert.assertEquals("http://test.com/", UrlCanonicalizer.canonicalize("http://test.com/?utm_medium=a&"));
+    }
+
+    @Test
+    public final void testFragment() {
+        Assert.assertEquals("http://test.com/page", UrlCanonicalizer.canonicalize("http://test.com/page#top"));
+        Assert.assertEquals("http://test.com/#/route", UrlCanonicalizer.canonicalize("http://test.com/#/route"));
+    }
+
+    @Test
+    public final void testFingerprint() {
+        Assert.assertEquals(
+                UrlCanonicalizer.fingerprint("http://test.com/?a=1&b=2"),
+                UrlCanonicalizer.fingerprint("HTTP://test.com:80?b=2&a=1#top"));
+        Assert.assertNotEquals(
+                UrlCanonicalizer.fingerprint("http://test.com/a"),
+                UrlCanonicalizer.fingerprint("http://test.com/b"));
+    }
+
+    @Test
+    public final void testInvalidUrl() {
+        Assert.assertEquals("not an/url", UrlCanonicalizer.canonicalize(" not an/url#anchor"));
+    }
+}
@@ -0,0 +1,52 @@
+package com.tanaguru.helper;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+public class UrlFilterTest {
+    private static final List<String> URLS = Arrays.asList(
+            "http://test.com/",
+            "http://TEST.com/Admin/page",
+            "http://test.com/file.PDF",
+            "http://test.com/filexpdf",
+            "http://test.com/page-12/print",
+            "http://test.com/été",
+            "http://test.com/a\nadmin");
+
+    private void assertSameAsRegex(String regex) {
+        UrlFilter urlFilter = UrlFilter.compile(regex);
+        Pattern pattern = Pattern.compile(regex);
+        for (String url : URLS) {
+            Assert.assertEquals(regex + " on " + url, pattern.matcher(url).matches(), urlFilter.matches(url));
+        }
+    }
+
+    @Test
+    public final void testEmpty() {
+        Assert.assertTrue(UrlFilter.compile("").isEmpty());
+        Assert.assertFalse(UrlFilter.compile(CrawlerRegexBuilder.buildRegexFromString("admin")).isEmpty());
+    }
+
+    @Test
+    public final void testLiterals() {
+        assertSameAsRegex(CrawlerRegexBuilder.buildRegexFromString("admin"));
+        assertSameAsRegex(CrawlerRegexBuilder.buildRegexFromString("\\.pdf;/print;test2"));
+    }
+
+    @Test
+    public final void testRegexAlternatives() {
+        assertSameAsRegex(CrawlerRegexBuilder.buildRegexFromString("page-[0-9]+;\\.pdf"));
+        assertSameAsRegex(CrawlerRegexBuilder.buildRegexFromString("(admin|print)$;[|]"));
+        assertSameAsRegex(CrawlerRegexBuilder.buildRegexFromString("été;.pdf"));
+    }
+
+    @Test
+    public final void testOtherRegex() {
+        assertSameAsRegex("http://test\\.com/.*");
+        assertSameAsRegex("(?i)(.*)((?-i)admin|pdf)(.*)$");
+    }
+}
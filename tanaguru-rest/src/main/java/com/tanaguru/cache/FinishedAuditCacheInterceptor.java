@@ -0,0 +1,134 @@
+package com.tanaguru.cache;
+
+import com.tanaguru.domain.constant.EAuditStatus;
+import com.tanaguru.domain.entity.audit.Audit;
+import com.tanaguru.repository.AuditRepository;
+import com.tanaguru.service.TanaguruUserDetailsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answer conditional requests on @see FinishedAuditCacheable endpoints without calling them
+ * once their @see Audit is DONE, and serve them from the @see FinishedAuditResponseCache when enabled.
+ */
+@Component
+public class FinishedAuditCacheInterceptor implements HandlerInterceptor {
+    public static final String RESPONSE_CACHE_KEY_ATTRIBUTE = FinishedAuditCacheInterceptor.class.getName() + ".KEY";
+
+    private final AuditRepository auditRepository;
+    private final TanaguruUserDetailsService tanaguruUserDetailsService;
+    private final FinishedAuditResponseCache responseCache;
+    private final String cacheControl;
+    private final String schemaVersion;
+
+    @Autowired
+    public FinishedAuditCacheInterceptor(
+            AuditRepository auditRepository,
+            TanaguruUserDetailsService tanaguruUserDetailsService,
+            FinishedAuditResponseCache responseCache,
+            @Value("${audit.result.cache.max-age:86400}") long maxAge,
+            @Value("${audit.result.cache.version:1}") String schemaVersion) {
+        this.auditRepository = auditRepository;
+        this.tanaguruUserDetailsService = tanaguruUserDetailsService;
+        this.responseCache = responseCache;
+        this.cacheControl = CacheControl.maxAge(maxAge, TimeUnit.SECONDS).cachePrivate().getHeaderValue();
+        this.schemaVersion = schemaVersion;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!(handler instanceof HandlerMethod) ||
+                !("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod()))) {
+            return true;
+        }
+
+        FinishedAuditCacheable cacheable = ((HandlerMethod) handler).getMethodAnnotation(FinishedAuditCacheable.class);
+        if (cacheable == null) {
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, String> pathVariables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (pathVariables == null || pathVariables.get(cacheable.id()) == null) {
+            return true;
+        }
+
+        long id;
+        try {
+            id = Long.parseLong(pathVariables.get(cacheable.id()));
+        } catch (NumberFormatException e) {
+            return true;
+        }
+
+        Optional<Audit> auditOptional = findAudit(cacheable.source(), id);
+        if (auditOptional.isEmpty()) {
+            return true;
+        }
+
+        // Let the endpoint handle unfinished audits and raise its own access errors
+        Audit audit = auditOptional.get();
+        if (audit.getStatus() != EAuditStatus.DONE || audit.getDateEnd() == null ||
+                !tanaguruUserDetailsService.currentUserCanShowAudit(audit, pathVariables.get(cacheable.shareCode()))) {
+            return true;
+        }
+
+        String etag = getETag(audit);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return false;
+        }
+
+        if (responseCache.isEnabled()) {
+            String key = etag + request.getRequestURI() + '?' + request.getQueryString();
+            byte[] body = responseCache.get(key);
+            if (body != null) {
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.setContentLength(body.length);
+                if ("GET".equals(request.getMethod())) {
+                    response.getOutputStream().write(body);
+                }
+                return false;
+            }
+            request.setAttribute(RESPONSE_CACHE_KEY_ATTRIBUTE, key);
+        }
+        return true;
+    }
+
+    /**
+     * @param audit A finished @see Audit
+     * @return The strong ETag of all the results of the @see Audit
+     */
+    public String getETag(Audit audit) {
+        return "\"" + audit.getId() + '-' + audit.getDateEnd().getTime() + '-' + schemaVersion + "\"";
+    }
+
+    private Optional<Audit> findAudit(FinishedAuditCacheable.Source source, long id) {
+        switch (source) {
+            case AUDIT:
+                return auditRepository.findById(id);
+            case PAGE:
+                return auditRepository.findByPageId(id);
+            case TEST_RESULT:
+                return auditRepository.findByTestResultId(id);
+            case TEST_HIERARCHY_RESULT:
+                return auditRepository.findByTestHierarchyResultId(id);
+            default:
+                return Optional.empty();
+        }
+    }
+}
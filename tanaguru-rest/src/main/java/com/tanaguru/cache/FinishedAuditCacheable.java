@@ -0,0 +1,38 @@
+package com.tanaguru.cache;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Mark a GET endpoint whose response only depends on the results of a finished @see Audit.
+ * Once the audit is DONE, the response gets a strong ETag and Cache-Control headers, and
+ * a request with a matching If-None-Match header is answered with 304 before the endpoint is called.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface FinishedAuditCacheable {
+
+    /**
+     * @return The kind of entity identified by the id path variable
+     */
+    Source source();
+
+    /**
+     * @return The name of the path variable holding the entity id
+     */
+    String id() default "id";
+
+    /**
+     * @return The name of the path variable holding the audit share code
+     */
+    String shareCode() default "shareCode";
+
+    enum Source {
+        AUDIT,
+        PAGE,
+        TEST_RESULT,
+        TEST_HIERARCHY_RESULT
+    }
+}
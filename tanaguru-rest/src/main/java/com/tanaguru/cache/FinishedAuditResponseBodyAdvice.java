@@ -0,0 +1,59 @@
+package com.tanaguru.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Store the serialized body of @see FinishedAuditCacheable endpoints in the @see FinishedAuditResponseCache
+ */
+@ControllerAdvice
+public class FinishedAuditResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FinishedAuditResponseBodyAdvice.class);
+
+    private final FinishedAuditResponseCache responseCache;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public FinishedAuditResponseBodyAdvice(FinishedAuditResponseCache responseCache, ObjectMapper objectMapper) {
+        this.responseCache = responseCache;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return responseCache.isEnabled() &&
+                returnType.hasMethodAnnotation(FinishedAuditCacheable.class) &&
+                MappingJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType, Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request, ServerHttpResponse response) {
+        if (body != null && request instanceof ServletServerHttpRequest && response instanceof ServletServerHttpResponse &&
+                ((ServletServerHttpResponse) response).getServletResponse().getStatus() == HttpStatus.OK.value()) {
+            Object key = ((ServletServerHttpRequest) request).getServletRequest()
+                    .getAttribute(FinishedAuditCacheInterceptor.RESPONSE_CACHE_KEY_ATTRIBUTE);
+            if (key != null) {
+                try {
+                    responseCache.put((String) key, objectMapper.writeValueAsBytes(body));
+                } catch (JsonProcessingException e) {
+                    LOGGER.warn("Unable to cache response for {} : {}", key, e.getMessage());
+                }
+            }
+        }
+        return body;
+    }
+}
@@ -0,0 +1,53 @@
+package com.tanaguru.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Server side cache of serialized finished audit responses, evicted by least recent use
+ * once the total size of the cached bodies exceeds audit.result.cache.max-bytes.
+ * A max size of 0 disables the cache.
+ */
+@Component
+public class FinishedAuditResponseCache {
+    private final long maxBytes;
+    private final LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long currentBytes = 0;
+
+    public FinishedAuditResponseCache(@Value("${audit.result.cache.max-bytes:0}") long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public boolean isEnabled() {
+        return maxBytes > 0;
+    }
+
+    public synchronized byte[] get(String key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(String key, byte[] body) {
+        if (!isEnabled() || body.length > maxBytes) {
+            return;
+        }
+        byte[] previous = entries.put(key, body);
+        if (previous != null) {
+            currentBytes -= previous.length;
+        }
+        currentBytes += body.length;
+
+        Iterator<Map.Entry<String, byte[]>> iterator = entries.entrySet().iterator();
+        while (currentBytes > maxBytes && iterator.hasNext()) {
+            currentBytes -= iterator.next().getValue().length;
+            iterator.remove();
+        }
+    }
+
+    public synchronized long getCurrentBytes() {
+        return currentBytes;
+    }
+}
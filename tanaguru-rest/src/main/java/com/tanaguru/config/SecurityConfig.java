@@ -68,6 +68,9 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                         "/configuration/security",
                         "/swagger-ui.html",
                         "/webjars/**").permitAll()
+                // The metrics of the audits are only exposed by the audit runner server
+                .antMatchers("/actuator/health/**", "/actuator/info").permitAll()
+                .antMatchers("/actuator/**").denyAll()
                 .and().exceptionHandling().
                 authenticationEntryPoint(authenticationEntryPoint)
                 .and().sessionManagement()
@@ -1,5 +1,7 @@
 package com.tanaguru.config;
 
+import com.tanaguru.cache.FinishedAuditCacheInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,6 +15,13 @@ public class TanaguruWebMvcConfigurer {
     @Value("${cors.origins}")
     private String corsOrigins;
 
+    private final FinishedAuditCacheInterceptor finishedAuditCacheInterceptor;
+
+    @Autowired
+    public TanaguruWebMvcConfigurer(FinishedAuditCacheInterceptor finishedAuditCacheInterceptor) {
+        this.finishedAuditCacheInterceptor = finishedAuditCacheInterceptor;
+    }
+
     @Bean
     public WebMvcConfigurer corsConfigurer() {
         return new WebMvcConfigurer() {
@@ -21,8 +30,8 @@ public class TanaguruWebMvcConfigurer {
                 registry.addMapping("/**")
                         .allowedOrigins(corsOrigins)
                         .allowedMethods("HEAD", "GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS")
-                        .allowedHeaders("Content-Type", "X-Requested-With", "accept", "Origin", "Access-Control-Request-Method", "Access-Control-Request-Headers", "Authorization")
-                        .exposedHeaders("Access-Control-Allow-Origin", "Access-Control-Allow-Credentials")
+                        .allowedHeaders("Content-Type", "X-Requested-With", "accept", "Origin", "Access-Control-Request-Method", "Access-Control-Request-Headers", "Authorization", "If-None-Match")
+                        .exposedHeaders("Access-Control-Allow-Origin", "Access-Control-Allow-Credentials", "ETag")
                         .allowCredentials(true).maxAge(3600);
             }
          
@@ -31,6 +40,7 @@ public class TanaguruWebMvcConfigurer {
                 final LocaleChangeInterceptor localeChangeInterceptor = new LocaleChangeInterceptor();
                 localeChangeInterceptor.setParamName("lang");
                 registry.addInterceptor(localeChangeInterceptor);
+                registry.addInterceptor(finishedAuditCacheInterceptor);
             }
            
         };
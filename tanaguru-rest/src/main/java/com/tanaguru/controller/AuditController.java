@@ -4,9 +4,7 @@ import com.tanaguru.domain.constant.*;
 import com.tanaguru.domain.dto.AuditCommandDTO;
 import com.tanaguru.domain.dto.DemoCommandDTO;
 import com.tanaguru.domain.entity.audit.Audit;
-import com.tanaguru.domain.entity.audit.Page;
 import com.tanaguru.domain.entity.audit.TestHierarchy;
-import com.tanaguru.domain.entity.membership.Act;
 import com.tanaguru.domain.entity.membership.project.Project;
 import com.tanaguru.domain.exception.CustomEntityNotFoundException;
 import com.tanaguru.domain.exception.CustomForbiddenException;
@@ -16,8 +14,8 @@ import com.tanaguru.domain.exception.CustomForbiddenException;
 import com.tanaguru.domain.exception.CustomInvalidEntityException;
 import com.tanaguru.factory.AuditFactory;
 import com.tanaguru.helper.JsonHttpHeaderBuilder;
-import com.tanaguru.repository.ActRepository;
 import com.tanaguru.repository.AuditRepository;
+import com.tanaguru.repository.PageContentRepository;
 import com.tanaguru.repository.ProjectRepository;
 import com.tanaguru.repository.TestHierarchyRepository;
 import com.tanaguru.service.*;
@@ -56,11 +54,11 @@ public class AuditController {
     private final AuditFactory auditFactory;
     private final AuditRunnerService auditRunnerService;
     private final ProjectRepository projectRepository;
-    private final ActRepository actRepository;
     private final TestHierarchyRepository testHierarchyRepository;
     private final AsyncAuditService asyncAuditService;
     private final ProjectService projectService;
     private final TanaguruUserDetailsService tanaguruUserDetailsService;
+    private final PageContentRepository pageContentRepository;
 
     @Autowired
     public AuditController(
@@ -68,19 +66,19 @@ public class AuditController {
             AuditService auditService, AuditFactory auditFactory,
             AuditRunnerService auditRunnerService,
             ProjectRepository projectRepository,
-            ActRepository actRepository,
-            TestHierarchyRepository testHierarchyRepository, AsyncAuditService asyncAuditService, ProjectService projectService, TanaguruUserDetailsService tanaguruUserDetailsService) {
+            TestHierarchyRepository testHierarchyRepository, AsyncAuditService asyncAuditService, ProjectService projectService, TanaguruUserDetailsService tanaguruUserDetailsService,
+            PageContentRepository pageContentRepository) {
 
         this.auditRepository = auditRepository;
         this.auditService = auditService;
         this.auditFactory = auditFactory;
         this.auditRunnerService = auditRunnerService;
         this.projectRepository = projectRepository;
-        this.actRepository = actRepository;
         this.testHierarchyRepository = testHierarchyRepository;
         this.asyncAuditService = asyncAuditService;
         this.projectService = projectService;
         this.tanaguruUserDetailsService = tanaguruUserDetailsService;
+        this.pageContentRepository = pageContentRepository;
     }
 
     /**
@@ -133,16 +131,10 @@ public class AuditController {
     boolean hasScreenshotByAudit(
             @PathVariable long id,
             @ApiParam(required = false) @PathVariable(required = false) String shareCode) {
-        Audit audit = auditRepository.findById(id)
-                .orElseThrow(() -> new CustomEntityNotFoundException(CustomError.AUDIT_NOT_FOUND, id));
-
-        for (Page page : audit.getPages()) {
-            if (page.getPageContent().getScreenshot() != null) {
-                return true;
-            }
+        if (!auditRepository.existsById(id)) {
+            throw new CustomEntityNotFoundException(CustomError.AUDIT_NOT_FOUND, id);
         }
-        return false;
-
+        return pageContentRepository.existsByPage_Audit_IdAndScreenshotIsNotNull(id);
     }
 
 
@@ -208,6 +200,75 @@ public class AuditController {
                 .orElseThrow(() -> new CustomEntityNotFoundException(CustomError.PROJECT_NOT_FOUND, id)));
     }
 
+    /**
+     * Get all @see Audit paginated for a given project id
+     *
+     * @param id The id of the @see Project
+     * @return A page of @see Audit
+     */
+    @ApiOperation(
+            value = "Get all audits paginated for a given Project id",
+            notes = "User must have SHOW_AUDIT authority on project"
+                    + "\nIf project not found, exception raise : PROJECT_NOT_FOUND with project id"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(code = 400, message = "Invalid parameters"),
+            @ApiResponse(code = 401, message = "Unauthorized : ACCESS_DENIED message"),
+            @ApiResponse(code = 403, message = "Forbidden for current session"),
+            @ApiResponse(code = 404, message = "Project not found : PROJECT_NOT_FOUND error")
+    })
+    @PreAuthorize(
+            "@tanaguruUserDetailsServiceImpl.currentUserHasAuthorityOnProject(" +
+                    "T(com.tanaguru.domain.constant.ProjectAuthorityName).SHOW_AUDIT, " +
+                    "#id)")
+    @GetMapping("/by-project-paginated/{id}")
+    public @ResponseBody
+    org.springframework.data.domain.Page<Audit> getAuditsByProjectPaginated(@PathVariable long id,
+                                                                            @RequestParam(defaultValue = "0") @ApiParam(required = false) int page,
+                                                                            @RequestParam(defaultValue = "10") @ApiParam(required = false) int size,
+                                                                            @RequestParam(defaultValue = "date") @ApiParam(required = false) EAuditSortFields sortBy,
+                                                                            @RequestParam(defaultValue = "desc") @ApiParam(required = false) ESortOrder order) {
+        PageRequest pageRequest = PageRequest.of(
+                page,
+                size,
+                Sort.by(order == ESortOrder.asc ? Direction.ASC : Direction.DESC, sortBy.getProperty())
+                        .and(Sort.by(Direction.DESC, "audit.id")));
+        return auditService.findAllByProject(projectRepository.findById(id)
+                .orElseThrow(() -> new CustomEntityNotFoundException(CustomError.PROJECT_NOT_FOUND, id)), pageRequest);
+    }
+
+    /**
+     * Get the next @see Audit for a given project id after a given audit id, newest first
+     *
+     * @param id     The id of the @see Project
+     * @param lastId The id of the last @see Audit already fetched
+     * @param size   The maximum number of @see Audit to return
+     * @return A collection of @see Audit
+     */
+    @ApiOperation(
+            value = "Get the next audits for a given Project id after a given audit id, newest first",
+            notes = "User must have SHOW_AUDIT authority on project"
+                    + "\nIf project not found, exception raise : PROJECT_NOT_FOUND with project id"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(code = 400, message = "Invalid parameters"),
+            @ApiResponse(code = 401, message = "Unauthorized : ACCESS_DENIED message"),
+            @ApiResponse(code = 403, message = "Forbidden for current session"),
+            @ApiResponse(code = 404, message = "Project not found : PROJECT_NOT_FOUND error")
+    })
+    @PreAuthorize(
+            "@tanaguruUserDetailsServiceImpl.currentUserHasAuthorityOnProject(" +
+                    "T(com.tanaguru.domain.constant.ProjectAuthorityName).SHOW_AUDIT, " +
+                    "#id)")
+    @GetMapping("/by-project/{id}/after")
+    public @ResponseBody
+    Collection<Audit> getAuditsByProjectAfter(@PathVariable long id,
+                                              @RequestParam(required = false) @ApiParam(required = false) Long lastId,
+                                              @RequestParam(defaultValue = "10") @ApiParam(required = false) int size) {
+        return auditService.findAllByProjectAfter(projectRepository.findById(id)
+                .orElseThrow(() -> new CustomEntityNotFoundException(CustomError.PROJECT_NOT_FOUND, id)), lastId, size);
+    }
+
     /**
      * Get all @see Audit paginated for a given project id and of a given type
      *
@@ -263,8 +324,7 @@ public class AuditController {
     Audit getLastAuditByProject(@PathVariable long id) {
         Project project = projectRepository.findById(id)
                 .orElseThrow(() -> new CustomEntityNotFoundException(CustomError.PROJECT_NOT_FOUND, id));
-        Optional<Act> actOptional = actRepository.findFirstByProjectOrderByDateDesc(project);
-        return actOptional.map(Act::getAudit).orElse(null);
+        return auditService.findLastByProject(project).orElse(null);
     }
 
     @ApiOperation(
@@ -287,8 +347,7 @@ public class AuditController {
     Audit getLastAuditByProjectAndAuditType(@PathVariable long id, @PathVariable EAuditType type) {
         Project project = projectRepository.findById(id)
                 .orElseThrow(() -> new CustomEntityNotFoundException(CustomError.PROJECT_NOT_FOUND, id));
-        Optional<Act> actOptional = actRepository.findFirstByProjectAndAudit_TypeOrderByDateDesc(project, type);
-        return actOptional.map(Act::getAudit).orElse(null);
+        return auditService.findLastByProjectAndType(project, type).orElse(null);
     }
 
     /**
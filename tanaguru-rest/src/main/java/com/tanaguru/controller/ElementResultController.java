@@ -1,6 +1,8 @@
 package com.tanaguru.controller;
 
+import com.tanaguru.cache.FinishedAuditCacheable;
 import com.tanaguru.domain.constant.CustomError;
+import com.tanaguru.domain.dto.ElementResultDTO;
 import com.tanaguru.domain.entity.pageresult.ElementResult;
 import com.tanaguru.domain.entity.pageresult.TestResult;
 import com.tanaguru.domain.exception.CustomEntityNotFoundException;
@@ -18,12 +20,16 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Collection;
+
 /**
  * @author rcharre
  */
 @RestController
 @RequestMapping("/element-results")
 public class ElementResultController {
+    private static final int MAX_AFTER_SIZE = 500;
+
     private final TestResultRepository testResultRepository;
     private final TanaguruUserDetailsService tanaguruUserDetailsService;
     private final ElementResultRepository elementResultRepository;
@@ -53,6 +59,7 @@ public class ElementResultController {
             @ApiResponse(code = 404, message = "TestResult not found : TEST_RESULT_NOT_FOUND error"
                     + "\nCannot access element results for test : CANNOT_ACCESS_ELEMENT_RESULTS_FOR_TEST error")
     })
+    @FinishedAuditCacheable(source = FinishedAuditCacheable.Source.TEST_RESULT)
     @GetMapping("/by-test-result/{id}/{shareCode}")
     public @ResponseBody
     Page<ElementResult> getAllElementResultByTestResult(
@@ -69,4 +76,46 @@ public class ElementResultController {
             throw new CustomForbiddenException(CustomError.CANNOT_ACCESS_ELEMENT_RESULTS_FOR_TEST, id );
         }
     }
+
+    /**
+     * Get the next @see ElementResult for a given @see TestResult id after a given element result id, ordered by id
+     *
+     * @param id The @TestResult id
+     * @param after The id of the last @see ElementResult already fetched, 0 for the first call
+     * @param size The maximum number of @see ElementResult to return, at most {@value #MAX_AFTER_SIZE}
+     * @param status The optional statuses to filter on
+     * @return A collection of @see ElementResultDTO
+     */
+    @ApiOperation(
+            value = "Get the next ElementResult for a given TestResult id after a given element result id",
+            notes = "If test result not found, exception raise : TEST_RESULT_NOT_FOUND with test result id"
+                    + "\nOr if user can't access element results for test, exception raise : CANNOT_ACCESS_ELEMENT_RESULTS_FOR_TEST with test result id"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(code = 400, message = "Invalid parameters"),
+            @ApiResponse(code = 403, message = "Forbidden for current session or invalid sharecode"),
+            @ApiResponse(code = 404, message = "TestResult not found : TEST_RESULT_NOT_FOUND error"
+                    + "\nCannot access element results for test : CANNOT_ACCESS_ELEMENT_RESULTS_FOR_TEST error")
+    })
+    @FinishedAuditCacheable(source = FinishedAuditCacheable.Source.TEST_RESULT)
+    @GetMapping(value = "/by-test-result/{id}/{shareCode}", params = "after")
+    public @ResponseBody
+    Collection<ElementResultDTO> getElementResultByTestResultAfter(
+            @PathVariable long id,
+            @PathVariable(required = false) @ApiParam(required = false) String shareCode,
+            @RequestParam long after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) @ApiParam(required = false) Collection<String> status) {
+        long auditId = testResultRepository.findAuditIdById(id)
+                .orElseThrow(() -> new CustomEntityNotFoundException(CustomError.TEST_RESULT_NOT_FOUND, id ));
+
+        if(tanaguruUserDetailsService.currentUserCanShowAudit(auditId, shareCode)){
+            PageRequest pageRequest = PageRequest.of(0, Math.max(1, Math.min(size, MAX_AFTER_SIZE)));
+            return status == null || status.isEmpty() ?
+                    elementResultRepository.findAllDTOByTestResultAfter(id, after, pageRequest) :
+                    elementResultRepository.findAllDTOByTestResultAndStatusAfter(id, status, after, pageRequest);
+        }else{
+            throw new CustomForbiddenException(CustomError.CANNOT_ACCESS_ELEMENT_RESULTS_FOR_TEST, id );
+        }
+    }
 }
@@ -1,5 +1,7 @@
 package com.tanaguru.controller;
 
+import com.tanaguru.cache.FinishedAuditCacheable;
+import com.tanaguru.config.PropertyConfig;
 import com.tanaguru.domain.constant.CustomError;
 import com.tanaguru.domain.constant.EAuditParameter;
 import com.tanaguru.domain.entity.audit.Audit;
@@ -7,6 +9,8 @@ import com.tanaguru.domain.entity.audit.Page;
 import com.tanaguru.domain.entity.audit.PageContent;
 import com.tanaguru.domain.exception.CustomEntityNotFoundException;
 import com.tanaguru.domain.exception.CustomForbiddenException;
+import com.tanaguru.helper.EncryptedContentResource;
+import com.tanaguru.helper.ImageHelper;
 import com.tanaguru.repository.AuditRepository;
 import com.tanaguru.repository.PageContentRepository;
 import com.tanaguru.repository.PageRepository;
@@ -18,15 +22,29 @@ import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
 /**
  * @author rcharre
  */
 @RestController
 @RequestMapping("/page-contents")
 public class PageContentController {
+    private static final float THUMBNAIL_QUALITY_COMPRESSION = 0.8f;
+    private static final int MIN_THUMBNAIL_WIDTH = 16;
 
     private final PageContentRepository pageContentRepository;
     private final PageRepository pageRepository;
@@ -77,6 +95,129 @@ public class PageContentController {
         }
     }
 
+    /**
+     * Stream the screenshot of a given page id as a jpeg image
+     *
+     * @param id The @Page id
+     * @param width The optional thumbnail width
+     * @return The screenshot
+     */
+    @ApiOperation(
+            value = "Get the screenshot of a given Page id as a jpeg image",
+            notes = "User must have SHOW_AUDIT authority on page's project or a valid sharecode"
+                    + "\nSupports Range requests, and thumbnails with the width parameter"
+                    + "\nIf page not found, exception raise : PAGE_NOT_FOUND with page id"
+                    + "\nIf user cannot access page content, exception raise : CANNOT_ACCESS_PAGE_CONTENT_FOR_PAGE with page id"
+                    + "\nIf page has no screenshot, or a thumbnail is asked for a screenshot that can not be decoded,"
+                    + " exception raise : SCREENSHOT_NOT_FOUND with page id"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(code = 400, message = "Invalid parameters"),
+            @ApiResponse(code = 403, message = "Forbidden for current session or invalid sharecode"),
+            @ApiResponse(code = 404, message = "Page not found : PAGE_NOT_FOUND error"
+                    + "\nCannot access page content : CANNOT_ACCESS_PAGE_CONTENT_FOR_PAGE error"
+                    + "\nNo screenshot for page : SCREENSHOT_NOT_FOUND error")
+    })
+    @FinishedAuditCacheable(source = FinishedAuditCacheable.Source.PAGE)
+    @GetMapping(value = "/screenshot/by-page/{id}/{shareCode}", produces = MediaType.IMAGE_JPEG_VALUE)
+    public ResponseEntity<Resource> getScreenshotByPage(
+            @PathVariable long id,
+            @PathVariable(required = false) @ApiParam(required = false) String shareCode,
+            @RequestParam(required = false) @ApiParam(required = false) Integer width,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) @ApiParam(required = false) String range) throws IOException {
+        checkCanShowPageContent(id, shareCode);
+
+        EncryptedContentResource screenshot = new EncryptedContentResource(
+                pageContentRepository.findEncryptedScreenshotByPageId(id)
+                        .orElseThrow(() -> new CustomEntityNotFoundException(CustomError.SCREENSHOT_NOT_FOUND, id)),
+                PropertyConfig.cryptoKey,
+                true,
+                "screenshot of page " + id);
+
+        Resource body;
+        if (width != null) {
+            BufferedImage image;
+            try (InputStream inputStream = screenshot.getInputStream()) {
+                image = ImageIO.read(inputStream);
+            }
+            if (image == null) {
+                throw new CustomEntityNotFoundException(CustomError.SCREENSHOT_NOT_FOUND, id);
+            }
+            body = new ByteArrayResource(ImageHelper.compressImage(
+                    ImageHelper.scaleImageToWidth(image, Math.max(width, MIN_THUMBNAIL_WIDTH)),
+                    THUMBNAIL_QUALITY_COMPRESSION,
+                    "jpg"));
+        } else {
+            body = getStreamedBody(screenshot, range);
+        }
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "inline")
+                .contentType(MediaType.IMAGE_JPEG)
+                .body(body);
+    }
+
+    /**
+     * Stream the source of a given page id as an html document
+     *
+     * @param id The @Page id
+     * @return The page source
+     */
+    @ApiOperation(
+            value = "Get the source of a given Page id as an html document",
+            notes = "User must have SHOW_AUDIT authority on page's project or a valid sharecode"
+                    + "\nSupports Range requests. The document is sandboxed and its scripts are not executed"
+                    + "\nIf page not found, exception raise : PAGE_NOT_FOUND with page id"
+                    + "\nIf user cannot access page content, exception raise : CANNOT_ACCESS_PAGE_CONTENT_FOR_PAGE with page id"
+                    + "\nIf page has no source, exception raise : PAGE_SOURCE_NOT_FOUND with page id"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(code = 400, message = "Invalid parameters"),
+            @ApiResponse(code = 403, message = "Forbidden for current session or invalid sharecode"),
+            @ApiResponse(code = 404, message = "Page not found : PAGE_NOT_FOUND error"
+                    + "\nCannot access page content : CANNOT_ACCESS_PAGE_CONTENT_FOR_PAGE error"
+                    + "\nNo source for page : PAGE_SOURCE_NOT_FOUND error")
+    })
+    @FinishedAuditCacheable(source = FinishedAuditCacheable.Source.PAGE)
+    @GetMapping(value = "/source/by-page/{id}/{shareCode}", produces = MediaType.TEXT_HTML_VALUE)
+    public ResponseEntity<Resource> getSourceByPage(
+            @PathVariable long id,
+            @PathVariable(required = false) @ApiParam(required = false) String shareCode,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) @ApiParam(required = false) String range) {
+        checkCanShowPageContent(id, shareCode);
+
+        EncryptedContentResource source = new EncryptedContentResource(
+                pageContentRepository.findEncryptedSourceByPageId(id)
+                        .orElseThrow(() -> new CustomEntityNotFoundException(CustomError.PAGE_SOURCE_NOT_FOUND, id)),
+                PropertyConfig.cryptoKey,
+                false,
+                "source of page " + id);
+
+        //The audited page source must not run in the api origin
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "inline")
+                .header("Content-Security-Policy", "sandbox")
+                .header("X-Content-Type-Options", "nosniff")
+                .contentType(new MediaType(MediaType.TEXT_HTML, Charset.defaultCharset()))
+                .body(getStreamedBody(source, range));
+    }
+
+    private void checkCanShowPageContent(long pageId, String shareCode) {
+        Audit audit = auditRepository.findByPageId(pageId)
+                .orElseThrow(() -> new CustomEntityNotFoundException(CustomError.PAGE_NOT_FOUND, pageId));
+        if (!tanaguruUserDetailsService.currentUserCanShowAudit(audit, shareCode)) {
+            throw new CustomForbiddenException(CustomError.CANNOT_ACCESS_PAGE_CONTENT_FOR_PAGE, pageId);
+        }
+    }
+
+    /**
+     * Without Range header the content is streamed as it is decrypted, without content length.
+     * Otherwise the decrypted length is computed first so that Spring can serve the requested regions.
+     */
+    private Resource getStreamedBody(EncryptedContentResource resource, String range) {
+        return range == null ? new InputStreamResource(resource.getInputStream()) : resource;
+    }
+
     @ApiOperation(
             value = "Get first PageContent for a given Audit id",
             notes = "User must have SHOW_AUDIT authority on audit's project or a valid sharecode"
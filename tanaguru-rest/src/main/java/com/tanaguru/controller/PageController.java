@@ -1,5 +1,6 @@
 package com.tanaguru.controller;
 
+import com.tanaguru.cache.FinishedAuditCacheable;
 import com.tanaguru.domain.constant.CustomError;
 import com.tanaguru.domain.entity.audit.Page;
 import com.tanaguru.domain.exception.CustomEntityNotFoundException;
@@ -61,6 +62,7 @@ public class PageController {
             @ApiResponse(code = 404, message = "Page not found : PAGE_NOT_FOUND error"
                     + "\nCannot access page content for page : CANNOT_ACCESS_PAGE_CONTENT_FOR_PAGE error")
     })
+    @FinishedAuditCacheable(source = FinishedAuditCacheable.Source.PAGE)
     @GetMapping("/{id}/{shareCode}")
     public @ResponseBody
     Page getPage(
@@ -93,6 +95,7 @@ public class PageController {
             @ApiResponse(code = 403, message = "Forbidden for current session or invalid sharecode"),
             @ApiResponse(code = 404, message = "Cannot access pages for audit : CANNOT_ACCESS_PAGES_FOR_AUDIT error")
     })
+    @FinishedAuditCacheable(source = FinishedAuditCacheable.Source.AUDIT)
     @GetMapping("/by-audit/{id}/{shareCode}")
     public @ResponseBody
     Collection<Page> getPagesByAudit(
@@ -122,6 +125,7 @@ public class PageController {
             @ApiResponse(code = 403, message = "Forbidden for current session or invalid sharecode"),
             @ApiResponse(code = 404, message = "Cannot access pages for audit : CANNOT_ACCESS_PAGES_FOR_AUDIT error")
     })
+    @FinishedAuditCacheable(source = FinishedAuditCacheable.Source.AUDIT)
     @GetMapping("/by-audit-paginated/{id}/{shareCode}")
     public @ResponseBody
     org.springframework.data.domain.Page<Page> getPaginatedPagesByAudit(
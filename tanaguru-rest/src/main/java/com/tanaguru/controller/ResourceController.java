@@ -125,10 +125,10 @@ public class ResourceController {
                 .orElseThrow(() -> new CustomEntityNotFoundException(CustomError.PROJECT_NOT_FOUND, resourceDTO.getProjectId() ));
 
         Resource resource = new Resource();
-        resource.setContent(
-                new String(Base64.getDecoder().decode(resourceDTO.getContent()))
-        );
         resource.setName(resourceDTO.getName());
+        byte[] content = Base64.getDecoder().decode(resourceDTO.getContent());
+        // Asset bundles are binary, they are kept encoded
+        resource.setContent(resource.isAssetBundle() ? resourceDTO.getContent() : new String(content));
         resource.setProject(project);
         return resourceRepository.save(resource);
     }
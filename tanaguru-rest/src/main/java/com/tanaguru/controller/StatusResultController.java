@@ -1,5 +1,6 @@
 package com.tanaguru.controller;
 
+import com.tanaguru.cache.FinishedAuditCacheable;
 import com.tanaguru.domain.constant.CustomError;
 import com.tanaguru.domain.dto.StatusResultDTO;
 import com.tanaguru.domain.entity.audit.Audit;
@@ -64,6 +65,7 @@ public class StatusResultController {
                     + "\nTest hierarchy not found : TEST_HIERARCHY_NOT_FOUND error"
                     + "\nCannot find test hierarchy for page : CANNOT_FIND_TEST_HIERARCHY_FOR_PAGE error")
     })
+    @FinishedAuditCacheable(source = FinishedAuditCacheable.Source.PAGE, id = "pageId", shareCode = "sharecode")
     @GetMapping("/by-page-and-test-hierarchy/{pageId}/{testHierarchyId}/{sharecode}")
     public @ResponseBody
     StatusResultDTO getByPageAndTestHierarchy(
@@ -105,6 +107,7 @@ public class StatusResultController {
                     + "\nCannot find main reference for audit : CANNOT_FIND_MAIN_REFERENCE_AUDIT error"
                     + "\nCannot find main hierarchy result for given page : CANNOT_FIND_MAIN_HIERARCHY_RESULT_FOR_PAGE error")
     })
+    @FinishedAuditCacheable(source = FinishedAuditCacheable.Source.PAGE, shareCode = "sharecode")
     @GetMapping("/main-result-by-page/{id}/{sharecode}")
     public @ResponseBody
     StatusResultDTO getMainStatusResultByPage(
@@ -138,6 +141,7 @@ public class StatusResultController {
                     + "\nCannot show audit : CANNOT_SHOW_AUDIT error"
                     + "\nCannot find main reference for audit : CANNOT_FIND_MAIN_REFERENCE_AUDIT error")
     })
+    @FinishedAuditCacheable(source = FinishedAuditCacheable.Source.AUDIT, shareCode = "sharecode")
     @GetMapping("/main-result-by-audit/{id}/{sharecode}")
     public @ResponseBody
     Collection<StatusResultDTO> getMainTestHierarchyResultByAudit(
@@ -1,5 +1,6 @@
 package com.tanaguru.controller;
 
+import com.tanaguru.cache.FinishedAuditCacheable;
 import com.tanaguru.domain.constant.CustomError;
 import com.tanaguru.domain.dto.AuditSynthesisDTO;
 import com.tanaguru.domain.dto.TestHierarchyResultDTO;
@@ -80,6 +81,7 @@ public class TestHierarchyResultController {
                     + "\nTest hierarchy not found : TEST_HIERARCHY_NOT_FOUND error"
                     + "\nCannot find test hierarchy for the page : CANNOT_FIND_TEST_HIERARCHY_FOR_PAGE error")
     })
+    @FinishedAuditCacheable(source = FinishedAuditCacheable.Source.PAGE, id = "pageId", shareCode = "sharecode")
     @GetMapping("/by-page-and-test-hierarchy/{pageId}/{testHierarchyId}/{sharecode}")
     public @ResponseBody
     TestHierarchyResultDTO getByPageAndTestHierarchy(
@@ -116,6 +118,7 @@ public class TestHierarchyResultController {
             @ApiResponse(code = 404, message = "Test hierarchy result  not found : TEST_HIERARCHY_RESULT_NOT_FOUND error"
                     + "\nCannot show audit : CANNOT_SHOW_AUDIT error")
     })
+    @FinishedAuditCacheable(source = FinishedAuditCacheable.Source.TEST_HIERARCHY_RESULT, shareCode = "sharecode")
     @GetMapping("/by-parent/{id}/{sharecode}")
     public @ResponseBody
     Collection<TestHierarchyResultDTO> getByParent(
@@ -151,6 +154,7 @@ public class TestHierarchyResultController {
                     + "\nCannot find main reference audit : CANNOT_FIND_MAIN_REFERENCE_AUDIT error"
                     + "\nCannot find main hierarchy result for page : CANNOT_FIND_MAIN_HIERARCHY_RESULT_FOR_PAGE error")
     })
+    @FinishedAuditCacheable(source = FinishedAuditCacheable.Source.PAGE, shareCode = "sharecode")
     @GetMapping("/main-result-by-page/{id}/{sharecode}")
     public @ResponseBody
     TestHierarchyResultDTO getMainTestHierarchyResultByPage(
@@ -186,6 +190,7 @@ public class TestHierarchyResultController {
                     + "\nCannot show audit : CANNOT_SHOW_AUDIT error"
                     + "\nCannot find main reference of the audit : CANNOT_FIND_MAIN_REFERENCE_AUDIT error")
     })
+    @FinishedAuditCacheable(source = FinishedAuditCacheable.Source.AUDIT, shareCode = "sharecode")
     @GetMapping("/main-result-by-audit/{id}/{sharecode}")
     public @ResponseBody
     Collection<TestHierarchyResultDTO> getMainTestHierarchyResultByAudit(
@@ -221,6 +226,7 @@ public class TestHierarchyResultController {
                     + "\nCannot show audit : CANNOT_SHOW_AUDIT error"
                     + "\nTest hierarchy not found : TEST_HIERARCHY_NOT_FOUND error")
     })
+    @FinishedAuditCacheable(source = FinishedAuditCacheable.Source.AUDIT, shareCode = "sharecode")
     @GetMapping("/test-hierarchy-result-by-audit/{testHierarchyId}/{id}/{sharecode}")
     public @ResponseBody
     Collection<TestHierarchyResultDTO> getTestHierarchyResultByAudit(
@@ -256,6 +262,7 @@ public class TestHierarchyResultController {
                     + "\nCannot show audit : CANNOT_SHOW_AUDIT error"
                     + "\nTest hierarchy not found : TEST_HIERARCHY_NOT_FOUND error")
     })
+    @FinishedAuditCacheable(source = FinishedAuditCacheable.Source.AUDIT, shareCode = "sharecode")
     @GetMapping("/reduced-test-hierarchy-result-by-audit/{testHierarchyId}/{id}/{sharecode}")
     public @ResponseBody
     TestHierarchyResultDTO getReducedTestHierarchyResultByAudit(
@@ -289,6 +296,7 @@ public class TestHierarchyResultController {
                     + "\nCannot show audit : CANNOT_SHOW_AUDIT error"
                     + "\nTest hierarchy not found : TEST_HIERARCHY_NOT_FOUND error")
     })
+    @FinishedAuditCacheable(source = FinishedAuditCacheable.Source.AUDIT, shareCode = "sharecode")
     @GetMapping("/reduced-children-test-hierarchy-result-by-audit/{testHierarchyId}/{id}/{sharecode}")
     public @ResponseBody
     Collection<TestHierarchyResultDTO> getReducedChildrenTestHierarchyResultByAudit(
@@ -326,6 +334,7 @@ public class TestHierarchyResultController {
                     + "\nCannot show audit : CANNOT_SHOW_AUDIT error"
                     + "\nTest hierarchy not found : TEST_HIERARCHY_NOT_FOUND error")
     })
+    @FinishedAuditCacheable(source = FinishedAuditCacheable.Source.AUDIT, id = "auditId", shareCode = "sharecode")
     @GetMapping("/synthesis-by-audit-and-test-hierarchy/{auditId}/{referenceId}/{sharecode}")
     public @ResponseBody
     AuditSynthesisDTO getSynthesisByAuditAndTestHierarchy(
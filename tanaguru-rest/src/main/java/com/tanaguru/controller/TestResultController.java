@@ -1,5 +1,6 @@
 package com.tanaguru.controller;
 
+import com.tanaguru.cache.FinishedAuditCacheable;
 import com.tanaguru.domain.constant.CustomError;
 import com.tanaguru.domain.entity.audit.Page;
 import com.tanaguru.domain.entity.audit.TestHierarchy;
@@ -61,6 +62,7 @@ public class TestResultController {
             @ApiResponse(code = 404, message = "Page not found : PAGE_NOT_FOUND error"
                     + "\nUser cannot access page result : USER_CANNOT_ACCESS_PAGE_RESULT error")
     })
+    @FinishedAuditCacheable(source = FinishedAuditCacheable.Source.PAGE)
     @GetMapping("/by-page/{id}/{shareCode}")
     public @ResponseBody
     Collection<TestResult> getAllTestResultByPage(
@@ -94,6 +96,7 @@ public class TestResultController {
             @ApiResponse(code = 404, message = "Test hierarchy result not found : TEST_HIERARCHY_RESULT_NOT_FOUND error"
                     + "\nCannot access result audit : CANNOT_ACCESS_RESULT_AUDIT error")
     })
+    @FinishedAuditCacheable(source = FinishedAuditCacheable.Source.TEST_HIERARCHY_RESULT)
     @GetMapping("/by-test-hierarchy-result/{id}/{shareCode}")
     public @ResponseBody
     Collection<TestResult> getAllTestResultByTestHierarchyResult(
@@ -124,6 +127,7 @@ public class TestResultController {
                     + "\nPage not found : PAGE_NOT_FOUND error"
                     + "\nCannot access result audit : CANNOT_ACCESS_RESULT_AUDIT error")
     })
+    @FinishedAuditCacheable(source = FinishedAuditCacheable.Source.PAGE, id = "pageId")
     @GetMapping("/by-reference-and-page/{referenceId}/{pageId}/{shareCode}")
     public @ResponseBody
     Collection<TestResult> getAllTestResultByReference(
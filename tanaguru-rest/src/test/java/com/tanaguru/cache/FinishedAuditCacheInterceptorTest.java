@@ -0,0 +1,155 @@
+package com.tanaguru.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tanaguru.domain.constant.EAuditStatus;
+import com.tanaguru.domain.entity.audit.Audit;
+import com.tanaguru.repository.AuditRepository;
+import com.tanaguru.service.TanaguruUserDetailsService;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class FinishedAuditCacheInterceptorTest {
+    private static final long AUDIT_ID = 1;
+
+    private final AuditRepository auditRepository = Mockito.mock(AuditRepository.class);
+    private final TanaguruUserDetailsService tanaguruUserDetailsService = Mockito.mock(TanaguruUserDetailsService.class);
+    private final ResultController resultController = new ResultController();
+    private final Audit audit = new Audit();
+
+    @Before
+    public void setUp() {
+        audit.setId(AUDIT_ID);
+        audit.setStatus(EAuditStatus.DONE);
+        audit.setDateEnd(new Date(1000));
+        Mockito.when(auditRepository.findById(AUDIT_ID)).thenReturn(Optional.of(audit));
+        Mockito.when(tanaguruUserDetailsService.currentUserCanShowAudit(ArgumentMatchers.any(Audit.class), ArgumentMatchers.any()))
+                .thenReturn(true);
+    }
+
+    @Test
+    public void cacheHit() throws Exception {
+        MockMvc mockMvc = createMockMvc(1024);
+        MvcResult first = mockMvc.perform(get("/results/" + AUDIT_ID))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-1000-1\""))
+                .andExpect(header().exists(HttpHeaders.CACHE_CONTROL))
+                .andReturn();
+
+        mockMvc.perform(get("/results/" + AUDIT_ID))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(first.getResponse().getContentAsByteArray()));
+        Assert.assertEquals(1, resultController.calls.get());
+    }
+
+    @Test
+    public void notModified() throws Exception {
+        MockMvc mockMvc = createMockMvc(0);
+        mockMvc.perform(get("/results/" + AUDIT_ID).header(HttpHeaders.IF_NONE_MATCH, "\"1-1000-1\""))
+                .andExpect(status().isNotModified());
+        Assert.assertEquals(0, resultController.calls.get());
+    }
+
+    @Test
+    public void newEndDateInvalidatesCachedResponse() throws Exception {
+        MockMvc mockMvc = createMockMvc(1024);
+        mockMvc.perform(get("/results/" + AUDIT_ID)).andExpect(status().isOk());
+
+        audit.setDateEnd(new Date(2000));
+        mockMvc.perform(get("/results/" + AUDIT_ID).header(HttpHeaders.IF_NONE_MATCH, "\"1-1000-1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-2000-1\""));
+        Assert.assertEquals(2, resultController.calls.get());
+    }
+
+    @Test
+    public void runningAuditIsNotCached() throws Exception {
+        audit.setStatus(EAuditStatus.RUNNING);
+        MockMvc mockMvc = createMockMvc(1024);
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/results/" + AUDIT_ID))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                    .andExpect(header().doesNotExist(HttpHeaders.CACHE_CONTROL));
+        }
+        Assert.assertEquals(2, resultController.calls.get());
+    }
+
+    @Test
+    public void forbiddenAuditIsNotCached() throws Exception {
+        Mockito.when(tanaguruUserDetailsService.currentUserCanShowAudit(ArgumentMatchers.any(Audit.class), ArgumentMatchers.any()))
+                .thenReturn(false);
+        MockMvc mockMvc = createMockMvc(1024);
+        mockMvc.perform(get("/results/" + AUDIT_ID).header(HttpHeaders.IF_NONE_MATCH, "\"1-1000-1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CACHE_CONTROL));
+        Assert.assertEquals(1, resultController.calls.get());
+    }
+
+    @Test
+    public void disabledResponseCacheCallsEndpoint() throws Exception {
+        MockMvc mockMvc = createMockMvc(0);
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/results/" + AUDIT_ID))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists(HttpHeaders.ETAG));
+        }
+        Assert.assertEquals(2, resultController.calls.get());
+    }
+
+    @Test
+    public void endpointWithoutAnnotationIsNotCached() throws Exception {
+        MockMvc mockMvc = createMockMvc(1024);
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/uncached/" + AUDIT_ID))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist(HttpHeaders.CACHE_CONTROL));
+        }
+        Assert.assertEquals(2, resultController.calls.get());
+        Mockito.verifyNoInteractions(auditRepository);
+    }
+
+    private MockMvc createMockMvc(long maxBytes) {
+        FinishedAuditResponseCache responseCache = new FinishedAuditResponseCache(maxBytes);
+        return MockMvcBuilders.standaloneSetup(resultController)
+                .addInterceptors(new FinishedAuditCacheInterceptor(auditRepository, tanaguruUserDetailsService, responseCache, 60, "1"))
+                .setControllerAdvice(new FinishedAuditResponseBodyAdvice(responseCache, new ObjectMapper()))
+                .build();
+    }
+
+    @RestController
+    static class ResultController {
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @FinishedAuditCacheable(source = FinishedAuditCacheable.Source.AUDIT)
+        @GetMapping("/results/{id}")
+        public Map<String, Object> getResults(@PathVariable long id) {
+            return Collections.singletonMap("call", calls.incrementAndGet());
+        }
+
+        @GetMapping("/uncached/{id}")
+        public Map<String, Object> getUncached(@PathVariable long id) {
+            return Collections.singletonMap("call", calls.incrementAndGet());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.tanaguru.cache;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FinishedAuditResponseCacheTest {
+
+    @Test
+    public void disabledCacheStoresNothing() {
+        FinishedAuditResponseCache cache = new FinishedAuditResponseCache(0);
+        cache.put("a", new byte[10]);
+        Assert.assertFalse(cache.isEnabled());
+        Assert.assertNull(cache.get("a"));
+    }
+
+    @Test
+    public void evictLeastRecentlyUsedOverMaxBytes() {
+        FinishedAuditResponseCache cache = new FinishedAuditResponseCache(25);
+        cache.put("a", new byte[10]);
+        cache.put("b", new byte[10]);
+        cache.get("a");
+        cache.put("c", new byte[10]);
+
+        Assert.assertNotNull(cache.get("a"));
+        Assert.assertNull(cache.get("b"));
+        Assert.assertNotNull(cache.get("c"));
+        Assert.assertEquals(20, cache.getCurrentBytes());
+    }
+
+    @Test
+    public void ignoreBodyLargerThanMaxBytes() {
+        FinishedAuditResponseCache cache = new FinishedAuditResponseCache(5);
+        cache.put("a", new byte[10]);
+        Assert.assertNull(cache.get("a"));
+        Assert.assertEquals(0, cache.getCurrentBytes());
+    }
+}